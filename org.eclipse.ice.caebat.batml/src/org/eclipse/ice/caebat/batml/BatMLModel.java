@@ -90,14 +90,8 @@ public class BatMLModel extends Item {
 		// if so just skip this creation stuff
 		if (project != null && project.isAccessible()) {
 
-			// Refresh the project space
-			try {
-				project.refreshLocal(IResource.DEPTH_INFINITE, null);
-			} catch (CoreException e) {
-				logger.error(getClass().getName() + " Exception!", e);
-			}
-
-			// Load in the default information
+			// Load in the default information. The batml folder is refreshed
+			// after the schema files are written.
 			loadInput(null);
 		}
 	}
@@ -225,10 +219,9 @@ public class BatMLModel extends Item {
 			}
 			
 			// Make sure that ICE can find the files to load
-			try {
-				project.refreshLocal(IResource.DEPTH_INFINITE, null);
-			} catch (CoreException e) {
-				logger.error("[BatML Model] ERROR: Could not refresh project workspace!");
+			refreshResource(project.getFolder("batml"), IResource.DEPTH_ONE);
+			if (input != null) {
+				refreshResource(project.getFile(input), IResource.DEPTH_ZERO);
 			}
 		}
 		// Load up either a default file, or the newly imported one.
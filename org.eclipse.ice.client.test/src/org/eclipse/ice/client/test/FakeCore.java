@@ -18,8 +18,15 @@ import java.io.FileWriter;
 import java.net.URI;
 import java.util.ArrayList;
 
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.ice.core.iCore.BatchOperation;
+import org.eclipse.ice.core.iCore.BatchRequest;
+import org.eclipse.ice.core.iCore.BatchResponse;
+import org.eclipse.ice.core.iCore.BatchResult;
 import org.eclipse.ice.core.iCore.ICore;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.ICEObject.ICEObject;
@@ -315,6 +322,12 @@ public class FakeCore implements ICore {
 		return retForm;
 	}
 
+	@Override
+	public Response getItem(int itemId, String since, Request request) {
+		// The web version is not used by the FakeCore
+		return null;
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -459,6 +472,17 @@ public class FakeCore implements ICore {
 		return outputFile;
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#getItemOutput(int, long)
+	 */
+	@Override
+	public Response getItemOutput(int itemId, long offset) {
+		// The web version is not used by the FakeCore
+		return null;
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -494,6 +518,60 @@ public class FakeCore implements ICore {
 		return null;
 	}
 
+	/**
+	 * This operation performs the operations of the batch in order with the
+	 * other operations of the FakeCore.
+	 * 
+	 * @see ICore#processBatch(BatchRequest)
+	 */
+	@Override
+	public BatchResponse processBatch(BatchRequest request) {
+
+		// Local Declarations
+		BatchResponse response = new BatchResponse();
+		ArrayList<Integer> createdIds = new ArrayList<Integer>();
+
+		for (int i = 0; i < request.getOperations().size(); i++) {
+			BatchOperation operation = request.getOperations().get(i);
+			BatchResult result = new BatchResult(i);
+			// Find the Item
+			int itemId = operation.getItemId();
+			if (operation.getItemRef() >= 0
+					&& operation.getItemRef() < createdIds.size()) {
+				itemId = createdIds.get(operation.getItemRef());
+			}
+			result.setItemId(itemId);
+			// Perform the operation
+			FormStatus status = null;
+			switch (operation.getType()) {
+			case CREATE:
+				itemId = Integer.parseInt(createItem(operation.getItemType()));
+				result.setItemId(itemId);
+				result.setSuccess(itemId > 0);
+				break;
+			case UPDATE:
+				status = updateItem(operation.getForm(),
+						operation.getClientId());
+				break;
+			case PROCESS:
+				status = processItem(itemId, operation.getActionName(),
+						operation.getClientId());
+				break;
+			case STATUS:
+				status = getItemStatus(itemId);
+				break;
+			}
+			if (status != null) {
+				result.setStatus(status);
+				result.setSuccess(status != FormStatus.InfoError);
+			}
+			createdIds.add(itemId);
+			response.getResults().add(result);
+		}
+
+		return response;
+	}
+
 	@Override
 	public String createItem(String itemType, IProject project) {
 		// TODO Auto-generated method stub
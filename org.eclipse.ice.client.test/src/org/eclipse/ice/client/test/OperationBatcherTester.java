@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.client.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.eclipse.ice.client.internal.OperationBatcher;
+import org.eclipse.ice.core.iCore.BatchOperation;
+import org.eclipse.ice.core.iCore.BatchRequest;
+import org.eclipse.ice.core.iCore.BatchResponse;
+import org.eclipse.ice.core.iCore.BatchResult;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link OperationBatcher}.
+ *
+ * @author Jay Jay Billings
+ */
+public class OperationBatcherTester {
+
+	/**
+	 * The sizes of the batches that were sent.
+	 */
+	private final List<Integer> batchSizes = Collections
+			.synchronizedList(new ArrayList<Integer>());
+
+	/**
+	 * This operation pretends to be the Core. It returns a result for each
+	 * operation that carries the operation's Item id.
+	 *
+	 * @param request
+	 *            The batch
+	 * @return The results
+	 */
+	private BatchResponse send(BatchRequest request) {
+		BatchResponse response = new BatchResponse();
+		batchSizes.add(request.getOperations().size());
+		for (int i = 0; i < request.getOperations().size(); i++) {
+			BatchResult result = new BatchResult(i);
+			result.setItemId(request.getOperations().get(i).getItemId());
+			result.setSuccess(true);
+			response.getResults().add(result);
+		}
+		return response;
+	}
+
+	/**
+	 * This operation creates a STATUS operation for an Item.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @return The operation
+	 */
+	private BatchOperation createOperation(int itemId) {
+		BatchOperation operation = new BatchOperation(
+				BatchOperation.Type.STATUS);
+		operation.setItemId(itemId);
+		return operation;
+	}
+
+	/**
+	 * This operation checks that operations from many threads are sent
+	 * together and that every caller gets its own result.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkBatching() throws InterruptedException {
+
+		// Collect operations for a long time so that they all make it
+		final OperationBatcher batcher = new OperationBatcher(this::send, 500,
+				100);
+		final int[] ids = new int[10];
+
+		// Submit one operation from each thread
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < ids.length; i++) {
+			final int id = i + 1;
+			Thread thread = new Thread(() -> {
+				ids[id - 1] = batcher.execute(createOperation(id)).getItemId();
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// Everything went in one batch and every caller got its own result
+		assertEquals(1, batchSizes.size());
+		assertEquals(10, batchSizes.get(0).intValue());
+		for (int i = 0; i < ids.length; i++) {
+			assertEquals(i + 1, ids[i]);
+		}
+
+		batcher.shutdown();
+
+		return;
+	}
+
+	/**
+	 * This operation checks that full batches and batches without a window are
+	 * sent immediately.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkImmediateSends() throws Exception {
+
+		// A full batch does not wait for the window
+		OperationBatcher batcher = new OperationBatcher(this::send, 60000, 3);
+		List<Future<BatchResult>> results = new ArrayList<Future<BatchResult>>();
+		for (int i = 0; i < 3; i++) {
+			results.add(batcher.submit(createOperation(i)));
+		}
+		for (int i = 0; i < 3; i++) {
+			assertTrue(results.get(i).isDone());
+			assertEquals(i, results.get(i).get().getItemId());
+		}
+
+		// Flushing sends a partial batch
+		Future<BatchResult> result = batcher.submit(createOperation(7));
+		assertFalse(result.isDone());
+		batcher.flush();
+		assertEquals(7, result.get().getItemId());
+
+		// Without a window, every operation is sent on its own
+		batcher.setWindow(0);
+		assertEquals(8, batcher.execute(createOperation(8)).getItemId());
+		assertEquals(3, batchSizes.size());
+		assertEquals(1, batchSizes.get(2).intValue());
+
+		batcher.shutdown();
+
+		return;
+	}
+
+	/**
+	 * This operation checks that every caller gets a failed result if the
+	 * batch can not be sent.
+	 */
+	@Test
+	public void checkFailures() {
+
+		// Create a batcher that can't reach the Core
+		OperationBatcher batcher = new OperationBatcher(request -> {
+			throw new IllegalStateException("Connection refused");
+		}, 0, 10);
+
+		BatchResult result = batcher.execute(createOperation(1));
+		assertFalse(result.isSuccess());
+		assertNotNull(result.getMessage());
+		assertTrue(result.getMessage().contains("Connection refused"));
+
+		batcher.shutdown();
+
+		return;
+	}
+}
@@ -13,19 +13,19 @@
 package org.eclipse.ice.client.widgets.moose.components;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.ice.datastructures.ICEObject.ChangeEvent;
 import org.eclipse.ice.datastructures.ICEObject.Component;
+import org.eclipse.ice.datastructures.ICEObject.IChangeListener;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
-import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
 import org.eclipse.ice.datastructures.componentVisitor.IComponentVisitor;
 import org.eclipse.ice.datastructures.componentVisitor.SelectiveComponentVisitor;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.TreeComposite;
+import org.eclipse.ice.datastructures.form.TreeCompositeIndex;
 import org.eclipse.ice.reactor.plant.Boundary;
 import org.eclipse.ice.reactor.plant.Branch;
 import org.eclipse.ice.reactor.plant.CoreChannel;
@@ -68,7 +68,7 @@ import org.eclipse.ice.reactor.plant.WetWell;
  * @author Jordan Deyton
  *
  */
-public class PlantBlockManager implements IUpdateableListener {
+public class PlantBlockManager implements IChangeListener {
 
 	/**
 	 * The tree of Components. This comes from a root TreeComposite read in from
@@ -158,11 +158,13 @@ public class PlantBlockManager implements IUpdateableListener {
 	public void setTree(TreeComposite tree) {
 		// Check the parameter before proceeding.
 		if (tree != null && tree != this.tree) {
-			// Unregister from the old components tree.
-			this.tree.unregister(this);
+			// Stop listening to the old components tree and its children.
+			this.tree.removeChangeListener(this);
 
 			// Remove all components from the plant and this class' meta data.
-			for (PlantComponent plantComp : componentMap.values()) {
+			for (TreeComposite child : componentMap.keySet()) {
+				child.removeChangeListener(this);
+				PlantComponent plantComp = componentMap.get(child);
 				if (plantComp != null) {
 					plant.removeComponent(plantComp.getId());
 				}
@@ -175,12 +177,16 @@ public class PlantBlockManager implements IUpdateableListener {
 			// Reset the ID counter.
 			id = 0;
 
-			// Update the reference to the new components tree.
+			// Update the reference to the new components tree and listen to
+			// it. Children added while the plant is being built are skipped
+			// when their events arrive.
 			this.tree = tree;
-			// Update the plant and this class' meta data from the new tree.
-			update(tree);
-			// Register with the new components tree.
-			tree.register(this);
+			tree.addChangeListener(this);
+			// Create the plant and this class' meta data from the new tree.
+			for (int i = 0; i < tree.getNumberOfChildren(); i++) {
+				addChildComponent(tree.getChildAtIndex(i));
+			}
+			updateEntries();
 		}
 
 		return;
@@ -196,77 +202,99 @@ public class PlantBlockManager implements IUpdateableListener {
 	}
 
 	/**
-	 * Implements IUpdateableListener. This method is called when the Components
-	 * {@link #tree} updates. It looks for new and removed components and adds
-	 * or removes them from the {@link #plant} as necessary.
+	 * Implements IChangeListener. This method is called with the changes to
+	 * the Components {@link #tree} and its children. Children that were added
+	 * to or removed from the tree are added to or removed from the
+	 * {@link #plant}, as are children whose active flags changed. Only the
+	 * children named by the events are visited.
 	 */
 	@Override
-	public void update(IUpdateable component) {
-
-		// Update the plant and meta data based on the current children of the
-		// components tree.
-		if (component == tree) {
-			// Create a set containing all TreeComposites in the component map.
-			// When a TreeComposite is found to still be a child of the
-			// "Components" TreeComposite, it will be removed from this set. Any
-			// TreeComposites remaining in the set afterward have been removed
-			// from the "Components" TreeComposite and should be removed from
-			// both the component map and the PlantComposite.
-			Set<TreeComposite> removedComponents = Collections
-					.newSetFromMap(new IdentityHashMap<TreeComposite, Boolean>(
-							componentMap.size()));
-			removedComponents.addAll(componentMap.keySet());
-
-			// Loop over the existing children in the tree.
-			for (int i = 0; i < tree.getNumberOfChildren(); i++) {
-				TreeComposite child = tree.getChildAtIndex(i);
-
-				// If the child TreeComposite does not already have a
-				// corresponding PlantComponent in the component Map, try to
-				// create a new one and add it to the PlantComposite.
-				if (!componentMap.containsKey(child)) {
-					// Create a plant component for the child.
-					PlantComponent plantComp = createPlantComponent(child);
-					if (plantComp != null) {
-						plantComp.setId(id++);
-						plantComp.setName(child.getName());
-						plantComp.setDescription(child.getDescription());
-						// Only add the child to the plant if it is active.
-						if (child.isActive()) {
-							plant.addPlantComponent(plantComp);
-						}
+	public void changed(List<ChangeEvent> events) {
+
+		// Local Declarations
+		boolean childrenChanged = false;
+
+		for (ChangeEvent event : events) {
+			IUpdateable source = event.getSource();
+			if (source == tree) {
+				// Add or remove the PlantComponent of a child of the tree.
+				if (event.getType() == ChangeEvent.Type.CHILD_ADDED) {
+					addChildComponent((TreeComposite) event.getChild());
+					childrenChanged = true;
+				} else if (event.getType() == ChangeEvent.Type.CHILD_REMOVED) {
+					removeChildComponent((TreeComposite) event.getChild());
+					childrenChanged = true;
+				}
+			} else if (ChangeEvent.ACTIVE.equals(event.getProperty())
+					&& componentMap.containsKey(source)) {
+				// If a node's active flag has changed, add or remove the
+				// associated PlantComponent to or from the plant.
+				TreeComposite treeNode = (TreeComposite) source;
+				PlantComponent plantComp = componentMap.get(treeNode);
+				if (plantComp != null) {
+					if (treeNode.isActive()) {
+						plant.addPlantComponent(plantComp);
+					} else {
+						plant.removeComponent(plantComp.getId());
 					}
-					componentMap.put(child, plantComp);
-				} else {
-					// The child is still a child of "Components", so remove it
-					// from the set of components.
-					removedComponents.remove(child);
 				}
 			}
+		}
 
-			// Remove all PlantComponents for TreeComposites that remain in the
-			// set of removed TreeComposites.
-			for (TreeComposite child : removedComponents) {
-				PlantComponent plantComp = componentMap.remove(child);
-				plant.removeComponent(plantComp.getId());
-			}
+		// Sync the Entries once for the whole batch of changes.
+		if (childrenChanged) {
+			updateEntries();
+		}
 
-			// TODO This is overkill, but the difficulty lies in making sure
-			// Junctions (or HeatExchangers) are hooked up to their Pipes (or
-			// Junctions) properly. Until we can come up with a better way to
-			// link Entries and the model, this loop will have to suffice.
-			// Sync all of the Entries with the plant model.
-			for (EntryListener listener : entryListeners) {
-				listener.updateEntry();
+		return;
+	}
+
+	/**
+	 * Creates a PlantComponent for a child of the Components {@link #tree}
+	 * and adds it to the {@link #plant} if the child is active. Nothing is
+	 * done if the child already has one.
+	 * 
+	 * @param child
+	 *            The new child of the tree.
+	 */
+	private void addChildComponent(TreeComposite child) {
+
+		// If the child TreeComposite does not already have a corresponding
+		// PlantComponent in the component Map, try to create a new one and
+		// add it to the PlantComposite.
+		if (child != null && !componentMap.containsKey(child)) {
+			// Create a plant component for the child.
+			PlantComponent plantComp = createPlantComponent(child);
+			if (plantComp != null) {
+				plantComp.setId(id++);
+				plantComp.setName(child.getName());
+				plantComp.setDescription(child.getDescription());
+				// Only add the child to the plant if it is active.
+				if (child.isActive()) {
+					plant.addPlantComponent(plantComp);
+				}
 			}
-		} else if (componentMap.containsKey(component)) {
-			// If a node's active flag has changed, add or remove the associated
-			// PlantComponent to or from the plant.
-			TreeComposite treeNode = (TreeComposite) component;
-			PlantComponent plantComp = componentMap.get(component);
-			if (treeNode.isActive()) {
-				plant.addPlantComponent(plantComp);
-			} else {
+			componentMap.put(child, plantComp);
+			// Listen for changes to the child's active flag.
+			child.addChangeListener(this);
+		}
+
+		return;
+	}
+
+	/**
+	 * Removes the PlantComponent of a former child of the Components
+	 * {@link #tree} from the {@link #plant}.
+	 * 
+	 * @param child
+	 *            The child that was removed from the tree.
+	 */
+	private void removeChildComponent(TreeComposite child) {
+
+		if (child != null && componentMap.containsKey(child)) {
+			child.removeChangeListener(this);
+			PlantComponent plantComp = componentMap.remove(child);
+			if (plantComp != null) {
 				plant.removeComponent(plantComp.getId());
 			}
 		}
@@ -274,6 +302,22 @@ public class PlantBlockManager implements IUpdateableListener {
 		return;
 	}
 
+	/**
+	 * Syncs all of the Entries with the plant model.
+	 */
+	private void updateEntries() {
+
+		// TODO This is overkill, but the difficulty lies in making sure
+		// Junctions (or HeatExchangers) are hooked up to their Pipes (or
+		// Junctions) properly. Until we can come up with a better way to
+		// link Entries and the model, this loop will have to suffice.
+		for (EntryListener listener : entryListeners) {
+			listener.updateEntry();
+		}
+
+		return;
+	}
+
 	/**
 	 * Gets an initialized PlantComponent corresponding to a
 	 * {@link TreeComposite} with the specified name in the components
@@ -285,18 +329,22 @@ public class PlantBlockManager implements IUpdateableListener {
 	 *         otherwise.
 	 */
 	protected PlantComponent getPlantComponent(String name) {
-		// TODO This could be optimized by keeping track of TreeComposite names.
 
 		// Set the default return value.
 		PlantComponent component = null;
 
-		// Loop over the currently known TreeComposites and find the first one
-		// whose name matches the specified name.
-		for (TreeComposite composite : componentMap.keySet()) {
-			if (composite.getName().equals(name)) {
-				// Get the PlantComponent for the matching TreeComposite.
-				component = componentMap.get(composite);
-				break;
+		// Look up the children of the components tree with the name in the
+		// path index and return the first one that has a PlantComponent.
+		TreeCompositeIndex index = tree.getIndex();
+		String treePath = index.getPath(tree);
+		if (treePath != null && name != null) {
+			for (TreeComposite composite : index.getNodes(
+					TreeCompositeIndex.getChildPath(treePath, name))) {
+				if (componentMap.containsKey(composite)) {
+					// Get the PlantComponent for the matching TreeComposite.
+					component = componentMap.get(composite);
+					break;
+				}
 			}
 		}
 
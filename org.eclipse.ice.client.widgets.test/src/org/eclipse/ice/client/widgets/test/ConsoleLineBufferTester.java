@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.client.widgets.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.eclipse.ice.client.widgets.ConsoleLineBuffer;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link ConsoleLineBuffer}.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class ConsoleLineBufferTester {
+
+	/**
+	 * This operation checks that lines are drained as a single batch in the
+	 * order they were posted.
+	 */
+	@Test
+	public void checkDrain() {
+
+		ConsoleLineBuffer buffer = new ConsoleLineBuffer();
+
+		// Nothing to drain at first
+		assertNull(buffer.drain());
+
+		// The first line signals that a drain is needed, later ones do not
+		assertTrue(buffer.add("one"));
+		assertFalse(buffer.add("two"));
+		assertFalse(buffer.add("three"));
+		assertEquals(3, buffer.size());
+
+		// Drain it
+		assertEquals("one\ntwo\nthree\n", buffer.drain());
+		assertEquals(0, buffer.size());
+		assertNull(buffer.drain());
+
+		// The next line signals again
+		assertTrue(buffer.add("four"));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the oldest lines are dropped and reported
+	 * when the buffer overflows.
+	 */
+	@Test
+	public void checkDroppedLines() {
+
+		ConsoleLineBuffer buffer = new ConsoleLineBuffer(2);
+		assertEquals(2, buffer.getPendingLimit());
+
+		// Overflow the buffer
+		buffer.add("a");
+		buffer.add("b");
+		buffer.add("c");
+		buffer.add("d");
+		assertEquals(2, buffer.size());
+		assertEquals(2, buffer.getTotalDropped());
+
+		// The drained text should start with the indicator
+		String text = buffer.drain();
+		String[] lines = text.split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].contains("2 lines dropped"));
+		assertEquals("c", lines[1]);
+		assertEquals("d", lines[2]);
+
+		// The indicator is only reported once, but the total is kept
+		buffer.add("e");
+		assertEquals("e\n", buffer.drain());
+		assertEquals(2, buffer.getTotalDropped());
+
+		// Shrinking the limit drops lines too
+		buffer.setPendingLimit(5);
+		for (int i = 0; i < 5; i++) {
+			buffer.add(String.valueOf(i));
+		}
+		buffer.setPendingLimit(1);
+		assertEquals(1, buffer.size());
+		assertEquals(6, buffer.getTotalDropped());
+
+		// Bad limits are rejected
+		try {
+			buffer.setPendingLimit(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(1, buffer.getPendingLimit());
+		}
+
+		return;
+	}
+}
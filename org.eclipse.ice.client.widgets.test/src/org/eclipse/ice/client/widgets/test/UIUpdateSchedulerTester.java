@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.client.widgets.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ice.client.widgets.UIUpdateScheduler;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link UIUpdateScheduler}. It
+ * uses an executor that queues work so that the test controls when the "UI
+ * thread" runs.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class UIUpdateSchedulerTester {
+
+	/**
+	 * This operation checks that refreshes for the same widget and element are
+	 * collapsed and that the counters are correct.
+	 */
+	@Test
+	public void checkCoalescing() {
+
+		final List<Runnable> posted = new ArrayList<Runnable>();
+		final List<String> refreshed = new ArrayList<String>();
+		UIUpdateScheduler scheduler = new UIUpdateScheduler(posted::add);
+		Object widget = new Object();
+		Object otherWidget = new Object();
+
+		// Schedule a lot of refreshes for one widget and one for another
+		for (int i = 0; i < 100; i++) {
+			scheduler.schedule(widget, () -> refreshed.add("widget"));
+		}
+		scheduler.schedule(otherWidget, () -> refreshed.add("other"));
+		assertTrue(scheduler.isPending(widget, widget));
+		assertTrue(scheduler.isPending(otherWidget, otherWidget));
+
+		// Only one flush should have been posted
+		assertEquals(1, posted.size());
+		assertEquals(101, scheduler.getRequestedCount());
+		assertEquals(99, scheduler.getSkippedCount());
+		assertEquals(0, scheduler.getPerformedCount());
+
+		// Run the flush and check the refreshes
+		posted.remove(0).run();
+		assertEquals(2, refreshed.size());
+		assertEquals("widget", refreshed.get(0));
+		assertEquals("other", refreshed.get(1));
+		assertEquals(2, scheduler.getPerformedCount());
+		assertFalse(scheduler.isPending(widget, widget));
+
+		// New requests post a new flush
+		scheduler.schedule(widget, "a", () -> refreshed.add("a"));
+		scheduler.schedule(widget, "b", () -> refreshed.add("b"));
+		scheduler.schedule(widget, "a", () -> refreshed.add("a2"));
+		assertEquals(1, posted.size());
+		posted.remove(0).run();
+		assertEquals(4, refreshed.size());
+		assertEquals("a", refreshed.get(2));
+		assertEquals("b", refreshed.get(3));
+
+		// Check the reset
+		scheduler.resetCounters();
+		assertEquals(0, scheduler.getRequestedCount());
+		assertEquals(0, scheduler.getSkippedCount());
+		assertEquals(0, scheduler.getPerformedCount());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that elements are compared by identity and that a
+	 * failing refresh does not stop the others.
+	 */
+	@Test
+	public void checkIdentityAndFailures() {
+
+		final List<Runnable> posted = new ArrayList<Runnable>();
+		final List<String> refreshed = new ArrayList<String>();
+		UIUpdateScheduler scheduler = new UIUpdateScheduler(posted::add);
+		Object widget = new Object();
+
+		// Equal but distinct elements are refreshed separately
+		String first = new String("element");
+		String second = new String("element");
+		scheduler.schedule(widget, first, () -> {
+			throw new IllegalStateException();
+		});
+		scheduler.schedule(widget, second, () -> refreshed.add("second"));
+		assertEquals(0, scheduler.getSkippedCount());
+
+		// The failure is logged and the second refresh still runs
+		posted.remove(0).run();
+		assertEquals(1, refreshed.size());
+		assertEquals(1, scheduler.getPerformedCount());
+
+		return;
+	}
+}
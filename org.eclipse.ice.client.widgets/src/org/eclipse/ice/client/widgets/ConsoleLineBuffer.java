@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.client.widgets;
+
+import java.util.ArrayDeque;
+
+/**
+ * This class accumulates lines of console output that are posted from
+ * producer threads until the UI thread drains them as a single batch. It is
+ * the buffer behind the {@link EclipseStreamingTextWidget}.
+ *
+ * The number of pending lines is bounded. If producers post lines faster than
+ * the display drains them the oldest pending lines are discarded and counted,
+ * so that memory does not grow without bound and the console can report how
+ * many lines it skipped.
+ *
+ * This class is thread safe.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class ConsoleLineBuffer {
+
+	/**
+	 * The default maximum number of pending lines.
+	 */
+	public static final int DEFAULT_PENDING_LIMIT = 20000;
+
+	/**
+	 * The lines that have been posted but not yet drained.
+	 */
+	private final ArrayDeque<String> pending;
+
+	/**
+	 * The maximum number of pending lines.
+	 */
+	private int pendingLimit;
+
+	/**
+	 * The number of lines discarded since the last drain.
+	 */
+	private long dropped = 0;
+
+	/**
+	 * The total number of lines discarded since the buffer was created.
+	 */
+	private long totalDropped = 0;
+
+	/**
+	 * The constructor. It uses {@link #DEFAULT_PENDING_LIMIT}.
+	 */
+	public ConsoleLineBuffer() {
+		this(DEFAULT_PENDING_LIMIT);
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param limit
+	 *            The maximum number of pending lines. It must be positive.
+	 */
+	public ConsoleLineBuffer(int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException(
+					"ConsoleLineBuffer Error: The pending line limit must be "
+							+ "positive.");
+		}
+		pendingLimit = limit;
+		pending = new ArrayDeque<String>(Math.min(limit, 1024));
+	}
+
+	/**
+	 * This operation adds a line to the buffer, discarding the oldest pending
+	 * line if the buffer is full.
+	 *
+	 * @param line
+	 *            The line
+	 * @return True if the buffer was empty before the line was added, which
+	 *         signals that a drain should be scheduled.
+	 */
+	public synchronized boolean add(String line) {
+		boolean wasEmpty = pending.isEmpty() && dropped == 0;
+		if (pending.size() >= pendingLimit) {
+			pending.pollFirst();
+			dropped++;
+			totalDropped++;
+		}
+		pending.addLast(line);
+		return wasEmpty;
+	}
+
+	/**
+	 * This operation sets the maximum number of pending lines. Lines over the
+	 * new limit are discarded immediately.
+	 *
+	 * @param limit
+	 *            The new limit. It must be positive.
+	 */
+	public synchronized void setPendingLimit(int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException(
+					"ConsoleLineBuffer Error: The pending line limit must be "
+							+ "positive.");
+		}
+		pendingLimit = limit;
+		while (pending.size() > pendingLimit) {
+			pending.pollFirst();
+			dropped++;
+			totalDropped++;
+		}
+	}
+
+	/**
+	 * This operation returns the maximum number of pending lines.
+	 *
+	 * @return The limit
+	 */
+	public synchronized int getPendingLimit() {
+		return pendingLimit;
+	}
+
+	/**
+	 * This operation returns the number of pending lines.
+	 *
+	 * @return The number of lines waiting to be drained
+	 */
+	public synchronized int size() {
+		return pending.size();
+	}
+
+	/**
+	 * This operation returns the total number of lines that have been
+	 * discarded because the display could not keep up.
+	 *
+	 * @return The total number of dropped lines
+	 */
+	public synchronized long getTotalDropped() {
+		return totalDropped;
+	}
+
+	/**
+	 * This operation removes all pending lines and returns them as a single
+	 * block of text. If lines were discarded since the last drain, the block
+	 * starts with a marker line that reports how many.
+	 *
+	 * @return The text, with one line per posted line, or null if there was
+	 *         nothing to drain.
+	 */
+	public String drain() {
+
+		String[] lines;
+		long skipped;
+
+		// Swap the contents out quickly so producers are not blocked while the
+		// text is built
+		synchronized (this) {
+			if (pending.isEmpty() && dropped == 0) {
+				return null;
+			}
+			lines = pending.toArray(new String[pending.size()]);
+			pending.clear();
+			skipped = dropped;
+			dropped = 0;
+		}
+
+		// Build the block of text
+		int length = 0;
+		for (String line : lines) {
+			length += line.length() + 1;
+		}
+		StringBuilder builder = new StringBuilder(length + 64);
+		if (skipped > 0) {
+			builder.append("... ").append(skipped)
+					.append(" lines dropped because output arrived faster "
+							+ "than it could be displayed ...\n");
+		}
+		for (String line : lines) {
+			builder.append(line).append('\n');
+		}
+
+		return builder.toString();
+	}
+
+}
@@ -12,10 +12,14 @@
  *******************************************************************************/
 package org.eclipse.ice.client.widgets;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -23,8 +27,9 @@ import org.eclipse.e4.core.contexts.ContextInjectionFactory;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.ice.client.widgets.providers.IEntryCompositeProvider;
 import org.eclipse.ice.client.widgets.providers.Default.DefaultEntryCompositeProvider;
-import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
-import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
+import org.eclipse.ice.datastructures.ICEObject.ChangeEvent;
+import org.eclipse.ice.datastructures.ICEObject.IChangeListener;
+import org.eclipse.ice.datastructures.entry.AbstractEntry;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.swt.SWT;
@@ -50,10 +55,16 @@ import org.slf4j.LoggerFactory;
  * DataComponents. It can take a message manager for posting messages and it can
  * be configured to post save events.
  *
+ * The composite listens to the ChangeEvents of the DataComponent and its
+ * Entries. Added and removed Entries only create or dispose their own
+ * EntryComposites and an EntryComposite is only re-created when its Entry
+ * becomes ready or its allowed values change. The EntryComposites update their
+ * own values.
+ *
  * @author Jay Jay Billings, Jordan H. Deyton, Anna Wojtowicz, Alex McCaskey
  */
 public class DataComponentComposite extends Composite
-		implements IUpdateableListener {
+		implements IChangeListener {
 
 	/**
 	 * Reference to the logger service.
@@ -82,6 +93,25 @@ public class DataComponentComposite extends Composite
 	// previous code attempted to accomplish), we should try to maintain the
 	// same order in the DataComponentComposite.
 
+	/**
+	 * The allowed values of the rendered Entries when their EntryComposites
+	 * were created. An EntryComposite is re-created when these change.
+	 */
+	private final Map<IEntry, List<String>> renderedAllowedValues = new IdentityHashMap<IEntry, List<String>>();
+
+	/**
+	 * The Entries of the DataComponent that this composite listens to. Only
+	 * AbstractEntries fire ChangeEvents.
+	 */
+	private final Set<AbstractEntry> watchedEntries = Collections
+			.newSetFromMap(new IdentityHashMap<AbstractEntry, Boolean>());
+
+	/**
+	 * The ChangeEvents that have been received but not yet applied on the UI
+	 * thread.
+	 */
+	private final List<ChangeEvent> pendingEvents = new ArrayList<ChangeEvent>();
+
 	/**
 	 * The message manager that should be used by EntryComposites created by
 	 * this composite.
@@ -142,10 +172,8 @@ public class DataComponentComposite extends Composite
 		// Save the data component.
 		dataComp = comp;
 
-		// Register with the DataComponent if it is not null.
-		if (dataComp != null) {
-			dataComp.register(this);
-		}
+		// Listen to the DataComponent and its Entries if it is not null.
+		watch();
 
 		// Get the E4 Context. For now I need to grab it from the singleton.
 		context = PlatformUI.getWorkbench().getService(IEclipseContext.class);
@@ -154,11 +182,11 @@ public class DataComponentComposite extends Composite
 		// this Form using the ContextInjectionFactory.
 		ContextInjectionFactory.inject(this, context);
 
-		// Add a dispose listener which unregisters from the DataComponent
+		// Add a dispose listener which stops listening to the DataComponent
 		addDisposeListener(new DisposeListener() {
 			@Override
 			public void widgetDisposed(DisposeEvent e) {
-				dataComp.unregister(DataComponentComposite.this);
+				unwatch(dataComp);
 			}
 		});
 
@@ -193,11 +221,15 @@ public class DataComponentComposite extends Composite
 	 * This operation handles a re-draw of EntryComposites that have been
 	 * recently changed. This method attempts to avoid a complete redraw of all
 	 * EntryComposites and only re-draws those that have been recently changed.
+	 * The whole composite is only laid out again if EntryComposites were added
+	 * or removed. Otherwise only the changed EntryComposites are laid out.
 	 */
 	public void refresh() {
 
 		// Local Declarations
 		List<IEntry> entries = dataComp.retrieveAllEntries();
+		List<Control> changed = new ArrayList<Control>();
+		boolean structureChanged = false;
 
 		// If there's an empty label set and it's not longer necessary, dispose
 		if (!entries.isEmpty() && emptyLabel != null) {
@@ -217,6 +249,7 @@ public class DataComponentComposite extends Composite
 				// (reset vs. cloned/destructive copy).
 				entryComp.setEntry(entry);
 				entryComp.refresh();
+				changed.add(entryComp.getComposite());
 			}
 		}
 
@@ -235,7 +268,7 @@ public class DataComponentComposite extends Composite
 			// First, if the Entry isn't supposed to be displayed, dispose it
 			// and move on (she ain't worth it, man...)
 			if (entry == null || !entry.isReady()) {
-				disposeEntry(i);
+				structureChanged |= disposeEntry(i);
 				continue;
 
 			} else if (entryComp == null && entry.isReady()) {
@@ -248,6 +281,7 @@ public class DataComponentComposite extends Composite
 				entryComp = entryMap.get(i);
 				entryComp.getEntry().setValue(value);
 				entryComp.refresh();
+				structureChanged = true;
 
 			} else {
 
@@ -275,13 +309,20 @@ public class DataComponentComposite extends Composite
 						entryComp = entryMap.get(i);
 						entryComp.getEntry().setValue(value);
 						entryComp.refresh();
+						structureChanged = true;
 					}
 				}
 			}
 		}
 
-		// Layout the DataComponentComposite. This can redraw stale widgets.
-		layout();
+		// Layout the DataComponentComposite if its structure changed. This can
+		// redraw stale widgets. Otherwise only lay out the changed widgets.
+		if (structureChanged) {
+			layout();
+		} else if (!changed.isEmpty()) {
+			changed.removeIf(control -> control.isDisposed());
+			layout(changed.toArray(new Control[changed.size()]));
+		}
 
 		return;
 
@@ -299,13 +340,10 @@ public class DataComponentComposite extends Composite
 		// If the Component is not null, store it and register as a listener
 		if (component != null && component != dataComp) {
 
-			// Unregister from the previous DataComponent if possible.
-			if (dataComp != null) {
-				dataComp.unregister(this);
-			}
-			// Set the reference to the component and register with it.
+			// Set the reference to the component. The listeners are swapped
+			// on the UI thread with the EntryComposites.
+			final DataComponent oldComp = dataComp;
 			dataComp = component;
-			dataComp.register(this);
 
 			// FIXME Currently, the only reference to this method is inside a
 			// method that is run from the UI thread. However, it could
@@ -320,6 +358,10 @@ public class DataComponentComposite extends Composite
 			PlatformUI.getWorkbench().getDisplay().syncExec(new Runnable() {
 				@Override
 				public void run() {
+					// Stop listening to the previous DataComponent and listen
+					// to the new one.
+					unwatch(oldComp);
+					watch();
 					// Dispose the old EntryComposites.
 					disposeEntries();
 					// Render the new EntryComposites.
@@ -354,13 +396,7 @@ public class DataComponentComposite extends Composite
 		// If the list is not null and not empty, try to render the Entries.
 		if (entries != null && !entries.isEmpty()) {
 			// If the empty label has been rendered dispose of it.
-			if (emptyLabel != null) {
-				emptyLabel.dispose();
-				emptyLabel = null;
-				// Restore the default layout. Use the super method because the
-				// overridden method is not necessary.
-				super.setLayout(layout);
-			}
+			removeEmptyLabel();
 			// Create EntryComposites for all ready Entries.
 			for (int i = 0; i < entries.size(); i++) {
 				IEntry entry = entries.get(i);
@@ -414,6 +450,7 @@ public class DataComponentComposite extends Composite
 
 		// Clear the list
 		entryMap.clear();
+		renderedAllowedValues.clear();
 
 		return;
 	}
@@ -464,6 +501,7 @@ public class DataComponentComposite extends Composite
 
 		// Add theIEntryComposite to the Map
 		entryMap.put(index, entryComposite);
+		renderedAllowedValues.put(entry, getAllowedValues(entry));
 
 		// Lastly, reorder the EntryComposites on this DataComponentComposite
 		// to be in the correct order (according to their index in the entryMap)
@@ -540,16 +578,19 @@ public class DataComponentComposite extends Composite
 	 * @param index
 	 *            The index of the AbstractEntryComposite in the entryMap that
 	 *            will be removed.
+	 * @return True if an AbstractEntryComposite was removed, false if there
+	 *         was none at the index.
 	 */
-	private void disposeEntry(int index) {
+	private boolean disposeEntry(int index) {
 
 		// Remove the Control
 		IEntryComposite composite = entryMap.remove(index);
 		if (composite != null) {
+			renderedAllowedValues.remove(composite.getEntry());
 			composite.getComposite().dispose();
 		}
 
-		return;
+		return composite != null;
 	}
 
 	/*
@@ -609,29 +650,281 @@ public class DataComponentComposite extends Composite
 		return;
 	}
 
+	/**
+	 * This operation starts listening to the ChangeEvents of the current
+	 * DataComponent and its Entries.
+	 */
+	private void watch() {
+		if (dataComp != null) {
+			dataComp.addChangeListener(this);
+			for (IEntry entry : dataComp.retrieveAllEntries()) {
+				watchEntry(entry);
+			}
+		}
+	}
+
+	/**
+	 * This operation stops listening to a DataComponent and to all of the
+	 * watched Entries.
+	 *
+	 * @param component
+	 *            The DataComponent, which may be null
+	 */
+	private void unwatch(DataComponent component) {
+		if (component != null) {
+			component.removeChangeListener(this);
+		}
+		for (AbstractEntry entry : watchedEntries) {
+			entry.removeChangeListener(this);
+		}
+		watchedEntries.clear();
+	}
+
+	/**
+	 * This operation starts listening to the ChangeEvents of an Entry if it
+	 * fires them.
+	 *
+	 * @param entry
+	 *            The Entry
+	 */
+	private void watchEntry(IEntry entry) {
+		if (entry instanceof AbstractEntry
+				&& watchedEntries.add((AbstractEntry) entry)) {
+			((AbstractEntry) entry).addChangeListener(this);
+		}
+	}
+
+	/**
+	 * This operation stops listening to the ChangeEvents of an Entry.
+	 *
+	 * @param entry
+	 *            The Entry
+	 */
+	private void unwatchEntry(IEntry entry) {
+		if (entry instanceof AbstractEntry && watchedEntries.remove(entry)) {
+			((AbstractEntry) entry).removeChangeListener(this);
+		}
+	}
+
+	/**
+	 * This operation returns a copy of the allowed values of an Entry.
+	 *
+	 * @param entry
+	 *            The Entry
+	 * @return The allowed values or null if the Entry does not have any
+	 */
+	private List<String> getAllowedValues(IEntry entry) {
+		try {
+			List<String> allowed = entry.getAllowedValues();
+			return (allowed != null ? new ArrayList<String>(allowed) : null);
+		} catch (UnsupportedOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * This operation returns the key of the EntryComposite of an Entry in the
+	 * entryMap.
+	 *
+	 * @param entry
+	 *            The Entry
+	 * @return The key or -1 if the Entry is not rendered
+	 */
+	private int getRenderedIndex(IEntry entry) {
+		synchronized (entryMap) {
+			for (Map.Entry<Integer, IEntryComposite> mapEntry : entryMap
+					.entrySet()) {
+				if (mapEntry.getValue().getEntry() == entry) {
+					return mapEntry.getKey();
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * This operation moves the EntryComposites at or after an index in the
+	 * entryMap so that their keys match the indices of their Entries after an
+	 * Entry was added or removed.
+	 *
+	 * @param index
+	 *            The first key that should be moved
+	 * @param offset
+	 *            The amount that is added to the keys
+	 */
+	private void shiftEntries(int index, int offset) {
+		synchronized (entryMap) {
+			SortedMap<Integer, IEntryComposite> tail = new TreeMap<Integer, IEntryComposite>(
+					entryMap.tailMap(index));
+			entryMap.keySet().removeAll(tail.keySet());
+			for (Map.Entry<Integer, IEntryComposite> mapEntry : tail
+					.entrySet()) {
+				entryMap.put(mapEntry.getKey() + offset, mapEntry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * This operation returns true if every EntryComposite in the entryMap is
+	 * keyed on the index of its Entry in the DataComponent.
+	 *
+	 * @return True if the entryMap matches the DataComponent
+	 */
+	private boolean isConsistent() {
+		List<IEntry> entries = dataComp.retrieveAllEntries();
+		synchronized (entryMap) {
+			for (Map.Entry<Integer, IEntryComposite> mapEntry : entryMap
+					.entrySet()) {
+				int index = mapEntry.getKey();
+				if (index >= entries.size() || entries.get(index) != mapEntry
+						.getValue().getEntry()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * This operation disposes the empty label if it is displayed and restores
+	 * the default layout.
+	 */
+	private void removeEmptyLabel() {
+		if (emptyLabel != null) {
+			emptyLabel.dispose();
+			emptyLabel = null;
+			// Use the super method because the overridden method is not
+			// necessary.
+			super.setLayout(layout);
+		}
+	}
+
+	/**
+	 * This operation applies the ChangeEvents that were queued by
+	 * {@link #changed(List)}. Added and removed Entries are applied in order
+	 * and then the Entries whose values or properties changed are checked for
+	 * new readiness and allowed values. It must be called on the UI thread.
+	 */
+	private void applyPendingEvents() {
+
+		// Take the queued events
+		List<ChangeEvent> events;
+		synchronized (pendingEvents) {
+			events = new ArrayList<ChangeEvent>(pendingEvents);
+			pendingEvents.clear();
+		}
+		if (events.isEmpty() || dataComp == null) {
+			return;
+		}
+
+		boolean structureChanged = false;
+		Set<IEntry> changedEntries = Collections
+				.newSetFromMap(new IdentityHashMap<IEntry, Boolean>());
+
+		for (ChangeEvent event : events) {
+			Object source = event.getSource();
+			if (source == dataComp
+					&& event.getType() == ChangeEvent.Type.CHILD_ADDED) {
+				// Move the following EntryComposites down and render the new
+				// Entry if it is ready.
+				IEntry entry = (IEntry) event.getChild();
+				watchEntry(entry);
+				shiftEntries(event.getIndex(), 1);
+				if (entry.isReady()) {
+					// The empty label can not be ordered with the
+					// EntryComposites, so remove it first.
+					removeEmptyLabel();
+					renderEntry(entry, event.getIndex());
+					structureChanged = true;
+				}
+			} else if (source == dataComp
+					&& event.getType() == ChangeEvent.Type.CHILD_REMOVED) {
+				// Dispose the EntryComposite of the Entry and move the
+				// following EntryComposites up.
+				IEntry entry = (IEntry) event.getChild();
+				unwatchEntry(entry);
+				changedEntries.remove(entry);
+				structureChanged |= disposeEntry(event.getIndex());
+				shiftEntries(event.getIndex() + 1, -1);
+			} else if (watchedEntries.contains(source)) {
+				changedEntries.add((IEntry) source);
+			}
+		}
+
+		// Check the Entries that changed now that the indices are current.
+		List<IEntry> entries = null;
+		for (IEntry entry : changedEntries) {
+			int index = getRenderedIndex(entry);
+			if (index >= 0 && !entry.isReady()) {
+				structureChanged |= disposeEntry(index);
+			} else if (index < 0 && entry.isReady()) {
+				if (entries == null) {
+					entries = dataComp.retrieveAllEntries();
+				}
+				for (int i = 0; i < entries.size(); i++) {
+					if (entries.get(i) == entry) {
+						removeEmptyLabel();
+						renderEntry(entry, i);
+						structureChanged = true;
+						break;
+					}
+				}
+			} else if (index >= 0) {
+				// Re-render Entries only if their allowed values changed
+				List<String> allowed = getAllowedValues(entry);
+				List<String> rendered = renderedAllowedValues.get(entry);
+				if (allowed == null ? rendered != null
+						: !allowed.equals(rendered)) {
+					disposeEntry(index);
+					renderEntry(entry, index);
+					structureChanged = true;
+				}
+			}
+		}
+
+		// If events arrived out of step with the last full render, or the
+		// empty label is out of date, render everything again.
+		if (!isConsistent() || entryMap.isEmpty() == (emptyLabel == null)) {
+			logger.debug(getClass().getName() + " Message: "
+					+ "Re-rendering all Entries of " + dataComp.getName());
+			disposeEntries();
+			renderEntries();
+		} else if (structureChanged) {
+			// Layout the DataComponentComposite if its structure changed.
+			// This can redraw stale widgets.
+			layout();
+		}
+
+		return;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
 	 * @see
-	 * org.eclipse.ice.datastructures.ICEObject.IUpdateableListener#update(org
-	 * .eclipse.ice.datastructures.ICEObject.IUpdateable)
+	 * org.eclipse.ice.datastructures.ICEObject.IChangeListener#changed(java.
+	 * util.List)
 	 */
 	@Override
-	public void update(IUpdateable component) {
-
-		// When the DataComponent has updated, refresh on the Eclipse UI thread.
-		if (component == dataComp) {
-			PlatformUI.getWorkbench().getDisplay().syncExec(new Runnable() {
-				@Override
-				public void run() {
-					if (!DataComponentComposite.this.isDisposed()) {
-						refresh();
-					} else {
-						dataComp.unregister(DataComponentComposite.this);
-					}
-				}
-			});
+	public void changed(List<ChangeEvent> events) {
+
+		// Queue the events and apply them on the Eclipse UI thread. The
+		// scheduler collapses all of the requests that arrive before the UI
+		// thread gets to them into one, so the queued events are applied
+		// together and the caller is not blocked.
+		synchronized (pendingEvents) {
+			pendingEvents.addAll(events);
 		}
+		UIUpdateScheduler.getDefault().schedule(this, new Runnable() {
+			@Override
+			public void run() {
+				if (!DataComponentComposite.this.isDisposed()) {
+					applyPendingEvents();
+				} else {
+					unwatch(dataComp);
+				}
+			}
+		});
 
 		return;
 	}
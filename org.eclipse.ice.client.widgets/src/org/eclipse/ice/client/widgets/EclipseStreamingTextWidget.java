@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.ice.client.widgets;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.eclipse.ice.iclient.uiwidgets.IStreamingTextWidget;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IWorkbenchPage;
@@ -27,6 +29,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * This class is an IStreamingTextWidget that writes to an Eclipse console.
+ * 
+ * Text posted from any thread is accumulated in a {@link ConsoleLineBuffer}
+ * and written to the console in batches, at most once per frame interval, by
+ * a single Runnable on the UI thread. This keeps fast producers from flooding
+ * the SWT event queue. The size of the console is bounded by its water marks,
+ * so the console itself discards the oldest output when it grows too large.
  * 
  * @author Jay Jay Billings
  */
@@ -60,6 +69,75 @@ public class EclipseStreamingTextWidget implements IStreamingTextWidget {
 	 */
 	private MessageConsoleStream msgStream = null;
 
+	/**
+	 * The default minimum number of milliseconds between two flushes to the
+	 * console.
+	 */
+	public static final int DEFAULT_FRAME_INTERVAL = 50;
+
+	/**
+	 * The default maximum number of characters retained in the console.
+	 */
+	public static final int DEFAULT_RETAINED_CHARACTERS = 1000000;
+
+	/**
+	 * The buffer that holds posted lines until they are flushed.
+	 */
+	private final ConsoleLineBuffer buffer = new ConsoleLineBuffer();
+
+	/**
+	 * True if a flush has been scheduled on the UI thread but has not run yet.
+	 */
+	private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+	/**
+	 * The minimum number of milliseconds between two flushes.
+	 */
+	private volatile int frameInterval = DEFAULT_FRAME_INTERVAL;
+
+	/**
+	 * The maximum number of characters retained in the console, or zero for
+	 * no limit.
+	 */
+	private volatile int retainedCharacters = DEFAULT_RETAINED_CHARACTERS;
+
+	/**
+	 * The time of the last flush, in milliseconds. It is only accessed on the
+	 * UI thread.
+	 */
+	private long lastFlushTime = 0;
+
+	/**
+	 * The Runnable that flushes the buffer to the console. It only runs on the
+	 * UI thread and reschedules itself with a timer if the last flush was less
+	 * than a frame interval ago.
+	 */
+	private final Runnable flushRunnable = new Runnable() {
+		@Override
+		public void run() {
+			// Wait for the console if it is not available yet. The lines stay
+			// in the buffer and display() flushes them.
+			if (msgStream == null) {
+				flushScheduled.set(false);
+				return;
+			}
+
+			// Hold off until the frame interval has passed
+			long wait = lastFlushTime + frameInterval
+					- System.currentTimeMillis();
+			if (wait > 0) {
+				Display.getCurrent().timerExec((int) wait, this);
+				return;
+			}
+
+			// Clear the flag before draining so that lines posted from now on
+			// schedule another flush
+			flushScheduled.set(false);
+			lastFlushTime = System.currentTimeMillis();
+			flush();
+		}
+	};
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -82,16 +160,126 @@ public class EclipseStreamingTextWidget implements IStreamingTextWidget {
 	@Override
 	public void postText(final String sText) {
 
-		// Must sync with the display thread
-		Display.getDefault().asyncExec(new Runnable() {
-			@Override
-			public void run() {
-				// Push the text, if possible
-				if (msgStream != null) {
-					msgStream.println(sText);
+		// Buffer the text and make sure that a flush is coming
+		buffer.add(sText);
+		scheduleFlush();
+
+		return;
+	}
+
+	/**
+	 * This operation sets the minimum number of milliseconds between two
+	 * flushes of posted text to the console.
+	 * 
+	 * @param interval
+	 *            The interval. Values less than zero are ignored.
+	 */
+	public void setFrameInterval(int interval) {
+		if (interval >= 0) {
+			frameInterval = interval;
+		}
+	}
+
+	/**
+	 * This operation returns the minimum number of milliseconds between two
+	 * flushes of posted text to the console.
+	 * 
+	 * @return The interval
+	 */
+	public int getFrameInterval() {
+		return frameInterval;
+	}
+
+	/**
+	 * This operation sets the maximum number of characters the console
+	 * retains. It is the high water mark of the console. When the console
+	 * grows beyond it, the console discards its oldest output until it is
+	 * down to four fifths of the limit.
+	 * 
+	 * @param characters
+	 *            The number of characters, or zero to retain everything.
+	 *            Values less than zero are ignored.
+	 */
+	public void setRetainedCharacters(int characters) {
+		if (characters >= 0) {
+			retainedCharacters = characters;
+			Display.getDefault().asyncExec(new Runnable() {
+				@Override
+				public void run() {
+					applyWaterMarks();
 				}
+			});
+		}
+	}
+
+	/**
+	 * This operation returns the maximum number of characters the console
+	 * retains.
+	 * 
+	 * @return The number of characters, or zero if there is no limit
+	 */
+	public int getRetainedCharacters() {
+		return retainedCharacters;
+	}
+
+	/**
+	 * This operation sets the water marks of the console from the retained
+	 * character limit. It must be called on the UI thread.
+	 */
+	private void applyWaterMarks() {
+		if (console != null) {
+			int limit = retainedCharacters;
+			if (limit > 0) {
+				console.setWaterMarks(limit * 4 / 5, limit);
+			} else {
+				console.setWaterMarks(-1, 0);
 			}
-		});
+		}
+	}
+
+	/**
+	 * This operation sets the maximum number of lines that may be waiting to
+	 * be displayed. If output arrives faster than it can be displayed, the
+	 * oldest waiting lines are dropped and the console reports how many.
+	 * 
+	 * @param lines
+	 *            The number of lines. It must be positive.
+	 */
+	public void setPendingLineLimit(int lines) {
+		buffer.setPendingLimit(lines);
+	}
+
+	/**
+	 * This operation returns the total number of lines that were dropped
+	 * because output arrived faster than it could be displayed.
+	 * 
+	 * @return The number of dropped lines
+	 */
+	public long getDroppedLineCount() {
+		return buffer.getTotalDropped();
+	}
+
+	/**
+	 * This operation schedules a flush on the UI thread unless one is already
+	 * scheduled.
+	 */
+	private void scheduleFlush() {
+		if (flushScheduled.compareAndSet(false, true)) {
+			Display.getDefault().asyncExec(flushRunnable);
+		}
+	}
+
+	/**
+	 * This operation writes everything in the buffer to the console in one
+	 * write. It must be called on the UI thread.
+	 */
+	private void flush() {
+
+		// Write the batch
+		String text = buffer.drain();
+		if (text != null) {
+			msgStream.print(text);
+		}
 
 		return;
 	}
@@ -118,6 +306,8 @@ public class EclipseStreamingTextWidget implements IStreamingTextWidget {
 					// Create the console instance that will be used to display
 					// text from this widget.
 					console = new MessageConsole("CLI", null);
+					// Bound the size of the console
+					applyWaterMarks();
 					// Add the console to the console manager
 					ConsolePlugin.getDefault().getConsoleManager()
 							.addConsoles(new IConsole[] { console });
@@ -128,6 +318,10 @@ public class EclipseStreamingTextWidget implements IStreamingTextWidget {
 					msgStream = console.newMessageStream();
 					msgStream.setActivateOnWrite(true);
 					msgStream.println("Streaming output console activated.");
+					// Flush anything that was posted before the console existed
+					if (buffer.size() > 0) {
+						scheduleFlush();
+					}
 				} catch (PartInitException e) {
 					// Complain
 					logger.error("EclipseStreamingTextWidget Message: "
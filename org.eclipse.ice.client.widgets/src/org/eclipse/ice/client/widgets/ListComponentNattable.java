@@ -50,6 +50,8 @@ import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Composite;
 
+import ca.odell.glazedlists.util.concurrent.Lock;
+
 /**
  * Displays the information contained in a ListComponent as a Nattable.
  * 
@@ -176,7 +178,8 @@ public class ListComponentNattable {
 
 		// Create the data layer of the table
 		accessor = new ListComponentColumnPropertyAccessor(list);
-		IDataProvider dataProvider = new ListDataProvider(list, accessor);
+		IDataProvider dataProvider = new ReadLockedDataProvider(list,
+				accessor);
 		DataLayer dataLayer = new DataLayer(dataProvider);
 		GlazedListsEventLayer eventLayer = new GlazedListsEventLayer(dataLayer,
 				list);
@@ -380,4 +383,70 @@ public class ListComponentNattable {
 		return table;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * This data provider reads the ListComponent while holding its read lock
+	 * so that the table does not see the list while a background producer,
+	 * such as a reader, is changing it.
+	 * 
+	 * @author Jay Jay Billings
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static class ReadLockedDataProvider extends ListDataProvider {
+
+		/**
+		 * The list, which provides the lock.
+		 */
+		private final ListComponent lockedList;
+
+		/**
+		 * The constructor
+		 * 
+		 * @param list
+		 *            The ListComponent to read
+		 * @param accessor
+		 *            The accessor for the columns of the list
+		 */
+		public ReadLockedDataProvider(ListComponent list,
+				IColumnPropertyAccessor accessor) {
+			super(list, accessor);
+			lockedList = list;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see org.eclipse.nebula.widgets.nattable.data.ListDataProvider#
+		 * getRowCount()
+		 */
+		@Override
+		public int getRowCount() {
+			Lock lock = lockedList.getReadWriteLock().readLock();
+			lock.lock();
+			try {
+				return super.getRowCount();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see org.eclipse.nebula.widgets.nattable.data.ListDataProvider#
+		 * getDataValue(int, int)
+		 */
+		@Override
+		public Object getDataValue(int columnIndex, int rowIndex) {
+			Lock lock = lockedList.getReadWriteLock().readLock();
+			lock.lock();
+			try {
+				// Rows may have been removed since the table was laid out
+				return rowIndex < lockedList.size()
+						? super.getDataValue(columnIndex, rowIndex) : null;
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+}
@@ -13,13 +13,15 @@
 package org.eclipse.ice.client.widgets;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.ice.client.common.TreeCompositeLabelProvider;
+import org.eclipse.ice.datastructures.ICEObject.ChangeEvent;
 import org.eclipse.ice.datastructures.ICEObject.Component;
-import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
-import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
+import org.eclipse.ice.datastructures.ICEObject.IChangeListener;
 import org.eclipse.ice.datastructures.form.TreeComposite;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IContributionItem;
@@ -59,11 +61,16 @@ import org.slf4j.LoggerFactory;
  * TreeComposite parents since it cannot directly mark regular components as
  * active.
  * 
+ * The viewer listens to the ChangeEvents of the input tree and of the children
+ * of the loaded TreeComposites. Added and removed children only update the
+ * items of their parent from the first child that changed and property
+ * changes only update the labels of the changed TreeComposites.
+ * 
  * @author Jay Jay Billings, Jordan H. Deyton
  * 
  */
 public class TreeCompositeViewer extends ViewPart
-		implements IUpdateableListener, ITabbedPropertySheetPageContributor {
+		implements IChangeListener, ITabbedPropertySheetPageContributor {
 
 	/**
 	 * Logger for handling event messages and other information.
@@ -125,6 +132,18 @@ public class TreeCompositeViewer extends ViewPart
 	 */
 	protected final IdentityHashMap<TreeComposite, List<TreeComposite>> childMap;
 
+	/**
+	 * The TreeComposites that this viewer listens to. These are the input tree
+	 * and the children of the loaded TreeComposites.
+	 */
+	private final Set<TreeComposite> watchedTrees;
+
+	/**
+	 * The ChangeEvents that have been received but not yet applied on the UI
+	 * thread.
+	 */
+	private final List<ChangeEvent> pendingEvents;
+
 	/**
 	 * The default constructor.
 	 */
@@ -141,6 +160,9 @@ public class TreeCompositeViewer extends ViewPart
 		// Initialize the meta data containers.
 		parentMap = new IdentityHashMap<Component, TreeComposite>();
 		childMap = new IdentityHashMap<TreeComposite, List<TreeComposite>>();
+		watchedTrees = Collections
+				.newSetFromMap(new IdentityHashMap<TreeComposite, Boolean>());
+		pendingEvents = new ArrayList<ChangeEvent>();
 	}
 
 	/**
@@ -454,25 +476,20 @@ public class TreeCompositeViewer extends ViewPart
 	public void setInput(TreeComposite tree, ICEFormEditor source) {
 
 		if (tree != inputTree) {
-			// Unregister from the old root TreeComposite, if possible.
-			if (tree != null) {
-				tree.unregister(this);
-			}
 			// Set the reference to the new root TreeComposite.
 			inputTree = tree;
 
-			// Clear the old meta data (parent and child maps).
+			// Clear the old meta data (parent and child maps). This also stops
+			// listening to the old root TreeComposite and its children.
 			clearMetaData();
 
 			if (inputTree != null) {
+				// Listen to the root element. Its children are listened to as
+				// they are loaded.
+				watch(inputTree);
 				// Load the root element. This also builds the meta data
 				// associated with it.
 				loadTree(inputTree);
-				// Register with the root element. This also has the effect of
-				// registering with all of its child data nodes and,
-				// recursively, all of its child TreeComposites. New and deleted
-				// children are registered and unregistered automatically.
-				inputTree.register(this);
 			}
 
 			// Send the updated tree to the TreeViewer.
@@ -550,18 +567,72 @@ public class TreeCompositeViewer extends ViewPart
 			children.clear();
 
 			// Add all non-default child components to the list.
-			for (int i = 0; i < childCount; i++) {
-				TreeComposite child = tree.getChildAtIndex(i);
-				if (!("ICE Object".equals(child.getName()))) {
-					children.add(child);
-					parentMap.put(child, tree);
-				}
+			for (TreeComposite child : getDisplayedChildren(tree)) {
+				children.add(child);
+				parentMap.put(child, tree);
+				watch(child);
+			}
+		}
+
+		return children;
+	}
+
+	/**
+	 * This operation returns the children of a TreeComposite that are shown
+	 * in the TreeViewer. Children that have not been set up (i.e., their name
+	 * is still the default, <code>"ICE Object"</code>) are not shown.
+	 * 
+	 * @param tree
+	 *            The TreeComposite
+	 * @return The non-default children in order
+	 */
+	private List<TreeComposite> getDisplayedChildren(TreeComposite tree) {
+
+		int childCount = tree.getNumberOfChildren();
+		List<TreeComposite> children = new ArrayList<TreeComposite>(
+				childCount);
+		for (int i = 0; i < childCount; i++) {
+			TreeComposite child = tree.getChildAtIndex(i);
+			if (!("ICE Object".equals(child.getName()))) {
+				children.add(child);
 			}
 		}
 
 		return children;
 	}
 
+	/**
+	 * This operation starts listening to the ChangeEvents of a TreeComposite.
+	 * 
+	 * @param tree
+	 *            The TreeComposite
+	 */
+	private void watch(TreeComposite tree) {
+		if (watchedTrees.add(tree)) {
+			tree.addChangeListener(this);
+		}
+	}
+
+	/**
+	 * This operation removes a TreeComposite that is no longer shown and its
+	 * loaded descendants from the meta data and stops listening to them.
+	 * 
+	 * @param tree
+	 *            The TreeComposite
+	 */
+	private void forget(TreeComposite tree) {
+		parentMap.remove(tree);
+		if (watchedTrees.remove(tree)) {
+			tree.removeChangeListener(this);
+		}
+		List<TreeComposite> children = childMap.remove(tree);
+		if (children != null) {
+			for (TreeComposite child : children) {
+				forget(child);
+			}
+		}
+	}
+
 	/**
 	 * Clears the meta data used to speed up synchronization between the model
 	 * (a TreeComposite) and the view (a TreeViewer). This includes resetting
@@ -569,6 +640,12 @@ public class TreeCompositeViewer extends ViewPart
 	 */
 	private void clearMetaData() {
 
+		// Stop listening to the TreeComposites.
+		for (TreeComposite tree : watchedTrees) {
+			tree.removeChangeListener(this);
+		}
+		watchedTrees.clear();
+
 		// Clear the map for looking up parents in the tree.
 		parentMap.clear();
 
@@ -579,40 +656,151 @@ public class TreeCompositeViewer extends ViewPart
 		childMap.clear();
 	}
 
-	// ---- Implements IUpdateableListener ---- //
 	/**
-	 * This method is only called by TreeComposites and their child data nodes
-	 * (Components). It updates the TreeViewer specifically for the updated
-	 * element rather than, say, refreshing the entire tree.
+	 * This operation brings the cached children of a TreeComposite up to date
+	 * after children were added or removed. Only the items from the first
+	 * child that changed on are replaced in the TreeViewer.
 	 * 
-	 * @param component
-	 *            The component (a TreeComposite or Component) that has been
-	 *            updated.
+	 * @param tree
+	 *            The TreeComposite whose children changed
 	 */
-	@Override
-	public void update(IUpdateable component) {
+	private void updateChildren(TreeComposite tree) {
 
-		// Only proceed if the component is one of the TreeComposites with
-		// allocated UI resources or if it is a child of a displayed
-		// TreeComposite.
-		if (childMap.containsKey(component)
-				|| parentMap.containsKey(component)) {
-			// Create a final reference to the object that can be used in the
-			// UI thread.
-			final Object element = component;
-			PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
-				@Override
-				public void run() {
-					// To be used when a particular TreeComposite has added or
-					// removed children.
-					treeViewer.refresh(element);
+		List<TreeComposite> children = childMap.get(tree);
+
+		// If the children were never loaded, only the number of children shown
+		// for the tree can be stale.
+		if (children == null) {
+			if (parentMap.containsKey(tree)) {
+				treeViewer.setChildCount(tree, tree.getNumberOfChildren());
+			}
+			return;
+		}
+
+		// Find the first child that changed.
+		List<TreeComposite> newChildren = getDisplayedChildren(tree);
+		int first = 0;
+		while (first < children.size() && first < newChildren.size()
+				&& children.get(first) == newChildren.get(first)) {
+			first++;
+		}
+		if (first == children.size() && first == newChildren.size()) {
+			return;
+		}
+
+		// Forget the removed children and listen to the new ones.
+		Set<TreeComposite> kept = Collections
+				.newSetFromMap(new IdentityHashMap<TreeComposite, Boolean>());
+		kept.addAll(newChildren);
+		for (TreeComposite child : children.subList(first, children.size())) {
+			if (!kept.contains(child)) {
+				forget(child);
+			}
+		}
+		children.subList(first, children.size()).clear();
+		for (TreeComposite child : newChildren.subList(first,
+				newChildren.size())) {
+			children.add(child);
+			parentMap.put(child, tree);
+			watch(child);
+		}
+
+		// Update the items from the first changed child on.
+		treeViewer.setChildCount(tree, children.size());
+		for (int i = first; i < children.size(); i++) {
+			TreeComposite child = children.get(i);
+			treeViewer.replace(tree, i, child);
+			treeViewer.setChildCount(child, child.getNumberOfChildren());
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation applies the ChangeEvents that were queued by
+	 * {@link #changed(List)}. It must be called on the UI thread.
+	 */
+	private void applyPendingEvents() {
+
+		// Take the queued events
+		List<ChangeEvent> events;
+		synchronized (pendingEvents) {
+			events = new ArrayList<ChangeEvent>(pendingEvents);
+			pendingEvents.clear();
+		}
+
+		// Sort out the trees whose children changed and the ones whose labels
+		// changed. Each tree is only updated once per batch.
+		Set<TreeComposite> changedParents = Collections
+				.newSetFromMap(new IdentityHashMap<TreeComposite, Boolean>());
+		Set<TreeComposite> changedLabels = Collections
+				.newSetFromMap(new IdentityHashMap<TreeComposite, Boolean>());
+		for (ChangeEvent event : events) {
+			if (!watchedTrees.contains(event.getSource())) {
+				continue;
+			}
+			TreeComposite tree = (TreeComposite) event.getSource();
+			if (event.getType() == ChangeEvent.Type.CHILD_ADDED
+					|| event.getType() == ChangeEvent.Type.CHILD_REMOVED) {
+				changedParents.add(tree);
+			} else if (event.getType() == ChangeEvent.Type.PROPERTY_CHANGED) {
+				changedLabels.add(tree);
+				if (ChangeEvent.NAME.equals(event.getProperty())) {
+					// Renamed default children are shown by their parent.
+					TreeComposite parent = parentMap.get(tree);
+					if (parent != null) {
+						changedParents.add(parent);
+					}
+					if (tree == inputTree) {
+						setPartName(inputTree.getName() + " -- Tree View");
+					}
 				}
-			});
+			}
+		}
+
+		for (TreeComposite tree : changedParents) {
+			updateChildren(tree);
+		}
+		for (TreeComposite tree : changedLabels) {
+			if (parentMap.containsKey(tree)) {
+				treeViewer.update(tree, null);
+			}
 		}
 
 		return;
 	}
 
+	// ---- Implements IChangeListener ---- //
+	/**
+	 * This method is only called by the input tree and the children of the
+	 * loaded TreeComposites. It queues the events and updates the TreeViewer
+	 * for the changed elements rather than, say, refreshing the entire tree.
+	 * 
+	 * @param events
+	 *            The ChangeEvents of a TreeComposite
+	 */
+	@Override
+	public void changed(List<ChangeEvent> events) {
+
+		// Queue the events and apply them on the UI thread. Requests that
+		// arrive before the UI thread gets to them are collapsed into one by
+		// the scheduler, so the queued events are applied together.
+		synchronized (pendingEvents) {
+			pendingEvents.addAll(events);
+		}
+		UIUpdateScheduler.getDefault().schedule(this, new Runnable() {
+			@Override
+			public void run() {
+				if (treeViewer != null
+						&& !treeViewer.getControl().isDisposed()) {
+					applyPendingEvents();
+				}
+			}
+		});
+
+		return;
+	}
+
 	// ---------------------------------------- //
 
 	// ---- Implements ITabbedPropertySheetPageContributor ---- //
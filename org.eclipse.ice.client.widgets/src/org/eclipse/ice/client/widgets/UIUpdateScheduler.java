@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.client.widgets;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.swt.widgets.Display;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class coalesces UI refresh requests that are posted from data model
+ * notifications. Widgets schedule a refresh for themselves, or for an element
+ * they display, and every request for the same widget and element that is
+ * already pending is collapsed into the pending one. Widgets and elements are
+ * compared by identity, so deep equals() and hashCode() implementations on
+ * data structures are never called. All pending refreshes are run
+ * together, in the order they were first requested, by a single Runnable
+ * posted with asyncExec, so the notifying thread never blocks on the UI
+ * thread.
+ *
+ * Counters for requested, performed and skipped refreshes are available for
+ * profiling. A refresh is skipped when it is collapsed into a pending one.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class UIUpdateScheduler {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(UIUpdateScheduler.class);
+
+	/**
+	 * The shared scheduler that posts to the default Display.
+	 */
+	private static UIUpdateScheduler defaultScheduler;
+
+	/**
+	 * The executor that runs the flush on the UI thread.
+	 */
+	private final Executor uiExecutor;
+
+	/**
+	 * The pending refreshes, keyed on the widget and element they refresh. It
+	 * is also the lock for the scheduler's state.
+	 */
+	private final Map<RefreshKey, Runnable> pending = new LinkedHashMap<RefreshKey, Runnable>();
+
+	/**
+	 * True if a flush has been posted to the UI thread but has not run yet.
+	 */
+	private boolean flushPosted = false;
+
+	/**
+	 * The number of refreshes that were requested.
+	 */
+	private final AtomicLong requested = new AtomicLong();
+
+	/**
+	 * The number of refreshes that were performed.
+	 */
+	private final AtomicLong performed = new AtomicLong();
+
+	/**
+	 * The number of refreshes that were collapsed into a pending refresh.
+	 */
+	private final AtomicLong skipped = new AtomicLong();
+
+	/**
+	 * The Runnable that runs all of the pending refreshes.
+	 */
+	private final Runnable flush = new Runnable() {
+		@Override
+		public void run() {
+			flush();
+		}
+	};
+
+	/**
+	 * The key of a pending refresh. It compares the widget and element by
+	 * identity.
+	 *
+	 * @author Jay Jay Billings
+	 *
+	 */
+	private static final class RefreshKey {
+
+		/**
+		 * The widget that requested the refresh.
+		 */
+		private final Object owner;
+
+		/**
+		 * The element to refresh.
+		 */
+		private final Object element;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param owner
+		 *            The widget that requested the refresh
+		 * @param element
+		 *            The element to refresh
+		 */
+		private RefreshKey(Object owner, Object element) {
+			this.owner = owner;
+			this.element = element;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof RefreshKey)) {
+				return false;
+			}
+			RefreshKey key = (RefreshKey) other;
+			return owner == key.owner && element == key.element;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(owner)
+					+ System.identityHashCode(element);
+		}
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param executor
+	 *            The executor that runs work on the UI thread, usually
+	 *            Display.asyncExec.
+	 */
+	public UIUpdateScheduler(Executor executor) {
+		uiExecutor = executor;
+	}
+
+	/**
+	 * This operation returns the shared scheduler for the default Display.
+	 *
+	 * @return The scheduler
+	 */
+	public static synchronized UIUpdateScheduler getDefault() {
+		if (defaultScheduler == null) {
+			final Display display = Display.getDefault();
+			defaultScheduler = new UIUpdateScheduler(new Executor() {
+				@Override
+				public void execute(Runnable command) {
+					if (!display.isDisposed()) {
+						display.asyncExec(command);
+					}
+				}
+			});
+		}
+		return defaultScheduler;
+	}
+
+	/**
+	 * This operation schedules a refresh of a whole widget. If a refresh of
+	 * the widget is already pending the request is collapsed into it and the
+	 * new Runnable is discarded.
+	 *
+	 * @param owner
+	 *            The widget that needs to be refreshed
+	 * @param refresh
+	 *            The refresh that will run on the UI thread
+	 */
+	public void schedule(Object owner, Runnable refresh) {
+		schedule(owner, owner, refresh);
+	}
+
+	/**
+	 * This operation schedules a refresh of one element displayed by a
+	 * widget. If a refresh of the same element by the same widget is already
+	 * pending the request is collapsed into it and the new Runnable is
+	 * discarded.
+	 *
+	 * @param owner
+	 *            The widget that requested the refresh
+	 * @param element
+	 *            The element that needs to be refreshed
+	 * @param refresh
+	 *            The refresh that will run on the UI thread
+	 */
+	public void schedule(Object owner, Object element, Runnable refresh) {
+
+		boolean post = false;
+		RefreshKey key = new RefreshKey(owner, element);
+		requested.incrementAndGet();
+
+		synchronized (pending) {
+			if (pending.containsKey(key)) {
+				skipped.incrementAndGet();
+				return;
+			}
+			pending.put(key, refresh);
+			if (!flushPosted) {
+				flushPosted = true;
+				post = true;
+			}
+		}
+
+		// Post outside of the lock
+		if (post) {
+			uiExecutor.execute(flush);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns true if a refresh of the element by the widget is
+	 * waiting to run.
+	 *
+	 * @param owner
+	 *            The widget
+	 * @param element
+	 *            The element, which is the widget itself for whole-widget
+	 *            refreshes
+	 * @return True if the refresh is pending
+	 */
+	public boolean isPending(Object owner, Object element) {
+		synchronized (pending) {
+			return pending.containsKey(new RefreshKey(owner, element));
+		}
+	}
+
+	/**
+	 * This operation runs all of the pending refreshes. It is called on the UI
+	 * thread.
+	 */
+	private void flush() {
+
+		// Take the current batch. Requests made while it runs start a new one.
+		List<Runnable> batch;
+		synchronized (pending) {
+			batch = new ArrayList<Runnable>(pending.values());
+			pending.clear();
+			flushPosted = false;
+		}
+
+		for (Runnable refresh : batch) {
+			try {
+				refresh.run();
+				performed.incrementAndGet();
+			} catch (RuntimeException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns the number of refreshes that were requested.
+	 *
+	 * @return The number of requests
+	 */
+	public long getRequestedCount() {
+		return requested.get();
+	}
+
+	/**
+	 * This operation returns the number of refreshes that were performed.
+	 *
+	 * @return The number of refreshes that ran
+	 */
+	public long getPerformedCount() {
+		return performed.get();
+	}
+
+	/**
+	 * This operation returns the number of refreshes that were skipped because
+	 * they were collapsed into a pending refresh.
+	 *
+	 * @return The number of skipped refreshes
+	 */
+	public long getSkippedCount() {
+		return skipped.get();
+	}
+
+	/**
+	 * This operation resets the counters.
+	 */
+	public void resetCounters() {
+		requested.set(0);
+		performed.set(0);
+		skipped.set(0);
+	}
+
+}
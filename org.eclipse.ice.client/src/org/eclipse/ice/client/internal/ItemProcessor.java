@@ -12,11 +12,10 @@
  *******************************************************************************/
 package org.eclipse.ice.client.internal;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -27,6 +26,8 @@ import org.eclipse.ice.iclient.uiwidgets.IExtraInfoWidget;
 import org.eclipse.ice.iclient.uiwidgets.IFormWidget;
 import org.eclipse.ice.iclient.uiwidgets.IStreamingTextWidget;
 import org.eclipse.ice.iclient.uiwidgets.IWidgetClosedListener;
+import org.eclipse.ice.item.FileTailService;
+import org.eclipse.ice.item.IFileTailListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,7 +45,9 @@ import org.slf4j.LoggerFactory;
  * IExtraInfoWidgets when they are closed. The ItemProcessor will attempt to
  * push streaming input if it is available for an Item to the
  * IStreamingTextWidget that is supplied during configuration. It will also set
- * the label of the widget.
+ * the label of the widget. The output is followed with the shared
+ * FileTailService, which posts each line to the widget as soon as it is
+ * written.
  * </p>
  * <p>
  * All of the set operations, with the exception of setPollTime() and
@@ -136,6 +139,54 @@ public class ItemProcessor implements IWidgetClosedListener, Runnable {
 	 */
 	private IStreamingTextWidget streamingTextWidget;
 
+	/**
+	 * This class posts the lines of the output file to the streaming text
+	 * widget. It keeps the last line until its end is written.
+	 */
+	private class OutputPoster implements IFileTailListener {
+
+		/**
+		 * The bytes of the line that has not been posted yet.
+		 */
+		private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see IFileTailListener#dataAppended(File, ByteBuffer)
+		 */
+		@Override
+		public synchronized void dataAppended(File file, ByteBuffer data) {
+			while (data.hasRemaining()) {
+				byte next = data.get();
+				if (next == '\n') {
+					post();
+				} else if (next != '\r') {
+					line.write(next);
+				}
+			}
+		}
+
+		/**
+		 * This operation posts the line that has not been posted yet, even if
+		 * its end was not written.
+		 */
+		private synchronized void post() {
+			streamingTextWidget
+					.postText(new String(line.toByteArray(), StandardCharsets.UTF_8));
+			line.reset();
+		}
+
+		/**
+		 * This operation posts the last line if anything was written to it.
+		 */
+		private synchronized void finish() {
+			if (line.size() > 0) {
+				post();
+			}
+		}
+	}
+
 	/**
 	 * <p>
 	 * The constructor
@@ -417,9 +468,7 @@ public class ItemProcessor implements IWidgetClosedListener, Runnable {
 		AtomicBoolean posted = new AtomicBoolean();
 		HashMap<FormStatus, String> statusMessageMap = new HashMap<FormStatus, String>();
 		File outputFile = null;
-		FileReader outputFileReader = null;
-		BufferedReader outputFileBufferedReader = null;
-		String nextLine = null;
+		OutputPoster outputPoster = null;
 
 		// Setup the message map. This map contains the messages that will be
 		// posted to the IFormWidget based on the status of the process.
@@ -439,25 +488,9 @@ public class ItemProcessor implements IWidgetClosedListener, Runnable {
 		// Try processing the Item - FIXME - client id is hardwired
 		status = iceCore.processItem(itemId, actionName, 1);
 
-		// Grab the output file handle
+		// Follow the output file if it is available
 		outputFile = iceCore.getItemOutputFile(itemId);
-		// Open the file if it is available
-		if (outputFile != null && outputFile.exists()
-				&& streamingTextWidget != null) {
-			try {
-				// Create the readers
-				outputFileReader = new FileReader(outputFile);
-				outputFileBufferedReader = new BufferedReader(outputFileReader);
-				// Set the widget label
-				streamingTextWidget.setLabel(formWidget.getForm().getName()
-						+ " " + formWidget.getForm().getId() + " Live Output");
-				// Open the widget
-				streamingTextWidget.display();
-			} catch (FileNotFoundException e) {
-				// Complain that the file could not be opened
-				logger.error(getClass().getName() + " Exception!",e);
-			}
-		}
+		outputPoster = startStreaming(outputFile);
 
 		// The event loop - until status != FormStatus.NeedsInfo or
 		// FormStatus.Processing
@@ -497,6 +530,8 @@ public class ItemProcessor implements IWidgetClosedListener, Runnable {
 					} else if (widgetCancelled.get()) {
 						// If the widget was cancelled, try to kill the task
 						iceCore.cancelItemProcess(itemId, actionName);
+						// Stop following the output
+						stopStreaming(outputFile, outputPoster);
 						// Update the status
 						status = iceCore.getItemStatus(itemId);
 						// Update the IFormWidget's status
@@ -512,34 +547,16 @@ public class ItemProcessor implements IWidgetClosedListener, Runnable {
 			// Update the IFormWidget's status
 			formWidget.updateStatus(statusMessageMap.get(status));
 
-			// Read the file if it was opened correctly
-			if (outputFileBufferedReader != null && streamingTextWidget != null) {
-				// Get everything currently there
-				try {
-					while ((nextLine = outputFileBufferedReader.readLine()) != null) {
-						// Write it to the streaming text widget
-						streamingTextWidget.postText(nextLine);
-					}
-				} catch (IOException e) {
-					// Complain because the next line could not be read
-					logger.error(getClass().getName() + " Exception!",e);
-				}
+			// Items that wait for resources, such as queued job launches, only
+			// create their output files once they start, so keep looking
+			if (outputPoster == null) {
+				outputFile = iceCore.getItemOutputFile(itemId);
+				outputPoster = startStreaming(outputFile);
 			}
 
 			// The Form is completely processed, it is time to break out of the
 			// loop.
 			if (status.equals(FormStatus.Processed)) {
-				try {
-					// Close the readers
-					if (outputFileBufferedReader != null) {
-						outputFileBufferedReader.close();
-						outputFileReader.close();
-					}
-				} catch (IOException e) {
-					// Complain
-					logger.error(getClass().getName() + " Exception!",e);
-				}
-
 				break;
 			} else {
 				// Otherwise, put the thread to sleep for a bit so that it does
@@ -555,6 +572,9 @@ public class ItemProcessor implements IWidgetClosedListener, Runnable {
 
 		}
 
+		// Post the rest of the output and stop following it
+		stopStreaming(outputFile, outputPoster);
+
 		// Update the IFormWidget's status one final time
 		formWidget.updateStatus(statusMessageMap.get(status));
 
@@ -565,6 +585,70 @@ public class ItemProcessor implements IWidgetClosedListener, Runnable {
 
 	}
 
+	/**
+	 * <p>
+	 * This operation opens the streaming text widget and starts following the
+	 * output file if it exists.
+	 * </p>
+	 * 
+	 * @param outputFile
+	 *            <p>
+	 *            The output file or null if the Item does not have one yet
+	 *            </p>
+	 * @return <p>
+	 *         The poster that follows the file or null if the file is not
+	 *         followed
+	 *         </p>
+	 */
+	private OutputPoster startStreaming(File outputFile) {
+
+		// Local Declarations
+		OutputPoster outputPoster = null;
+
+		// Open the file if it is available
+		if (outputFile != null && outputFile.exists()
+				&& streamingTextWidget != null) {
+			// Set the widget label
+			streamingTextWidget.setLabel(formWidget.getForm().getName()
+					+ " " + formWidget.getForm().getId() + " Live Output");
+			// Open the widget
+			streamingTextWidget.display();
+			// Follow the file
+			outputPoster = new OutputPoster();
+			FileTailService.getInstance().subscribe(outputFile, outputPoster);
+		}
+
+		return outputPoster;
+	}
+
+	/**
+	 * <p>
+	 * This operation posts the rest of the output file to the streaming text
+	 * widget and stops following the file.
+	 * </p>
+	 * 
+	 * @param outputFile
+	 *            <p>
+	 *            The output file
+	 *            </p>
+	 * @param outputPoster
+	 *            <p>
+	 *            The listener that posts the output or null if the output is
+	 *            not streamed
+	 *            </p>
+	 */
+	private void stopStreaming(File outputFile, OutputPoster outputPoster) {
+
+		if (outputPoster != null) {
+			FileTailService tailService = FileTailService.getInstance();
+			tailService.drain(outputFile);
+			tailService.unsubscribe(outputFile, outputPoster);
+			outputPoster.finish();
+		}
+
+		return;
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -0,0 +1,316 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.client.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.ice.core.iCore.BatchOperation;
+import org.eclipse.ice.core.iCore.BatchRequest;
+import org.eclipse.ice.core.iCore.BatchResponse;
+import org.eclipse.ice.core.iCore.BatchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class collects the operations submitted by any number of threads for a
+ * short window of time and sends them to the Core as a single
+ * {@link BatchRequest}. Each caller receives the result of its own operation,
+ * so callers do not need to know that their operations were batched.
+ *
+ * The window starts with the first operation submitted after a batch was
+ * sent. A batch is sent early if it reaches the maximum size. If the window is
+ * zero, every operation is sent immediately on the calling thread. The thread
+ * that closes the windows is only started once a window greater than zero is
+ * used and is stopped when the window is set back to zero or the batcher is
+ * shut down.
+ *
+ * @author Jay Jay Billings
+ */
+public class OperationBatcher {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(OperationBatcher.class);
+
+	/**
+	 * The default maximum number of operations in a batch.
+	 */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+	/**
+	 * The function that sends a batch to the Core and returns its response.
+	 */
+	private final Function<BatchRequest, BatchResponse> sender;
+
+	/**
+	 * The maximum number of operations in a batch.
+	 */
+	private final int maxBatchSize;
+
+	/**
+	 * The time in milliseconds that operations are collected before they are
+	 * sent.
+	 */
+	private volatile long window;
+
+	/**
+	 * The operations waiting to be sent. It is also the lock for the batch.
+	 */
+	private List<PendingOperation> pending = new ArrayList<PendingOperation>();
+
+	/**
+	 * The timer that sends a batch when its window closes, or null if it is
+	 * not running. It is guarded by the batcher's lock.
+	 */
+	private ScheduledExecutorService timer;
+
+	/**
+	 * An operation and the future result handed to its caller.
+	 */
+	private static class PendingOperation {
+
+		/**
+		 * The operation.
+		 */
+		private final BatchOperation operation;
+
+		/**
+		 * The result of the operation.
+		 */
+		private final CompletableFuture<BatchResult> result = new CompletableFuture<BatchResult>();
+
+		/**
+		 * The constructor.
+		 *
+		 * @param op
+		 *            The operation
+		 */
+		private PendingOperation(BatchOperation op) {
+			operation = op;
+		}
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param batchSender
+	 *            The function that sends a batch to the Core and returns its
+	 *            response
+	 * @param windowMillis
+	 *            The time in milliseconds that operations are collected before
+	 *            they are sent. Zero sends every operation immediately.
+	 * @param maxSize
+	 *            The maximum number of operations in a batch
+	 */
+	public OperationBatcher(Function<BatchRequest, BatchResponse> batchSender,
+			long windowMillis, int maxSize) {
+		if (batchSender == null || maxSize < 1) {
+			throw new IllegalArgumentException("OperationBatcher Error: "
+					+ "A sender and a positive batch size are required.");
+		}
+		sender = batchSender;
+		maxBatchSize = maxSize;
+		window = Math.max(0, windowMillis);
+	}
+
+	/**
+	 * This operation returns the time that operations are collected before
+	 * they are sent.
+	 *
+	 * @return The window in milliseconds
+	 */
+	public long getWindow() {
+		return window;
+	}
+
+	/**
+	 * This operation sets the time that operations are collected before they
+	 * are sent.
+	 *
+	 * @param windowMillis
+	 *            The window in milliseconds. Zero or less sends every operation
+	 *            immediately and stops the timer.
+	 */
+	public void setWindow(long windowMillis) {
+		window = Math.max(0, windowMillis);
+		if (window == 0) {
+			shutdown();
+		}
+	}
+
+	/**
+	 * This operation adds an operation to the current batch.
+	 *
+	 * @param operation
+	 *            The operation
+	 * @return The future result of the operation
+	 */
+	public Future<BatchResult> submit(BatchOperation operation) {
+
+		// Local Declarations
+		PendingOperation op = new PendingOperation(operation);
+		List<PendingOperation> full = null;
+
+		// Add the operation and take the batch if it is ready to go
+		synchronized (this) {
+			pending.add(op);
+			long delay = window;
+			if (delay == 0 || pending.size() >= maxBatchSize) {
+				full = pending;
+				pending = new ArrayList<PendingOperation>();
+			} else if (pending.size() == 1) {
+				// Open the window
+				getTimer().schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		if (full != null) {
+			send(full);
+		}
+
+		return op.result;
+	}
+
+	/**
+	 * This operation returns the timer, starting it if it is not running. It
+	 * must be called while holding the batcher's lock.
+	 *
+	 * @return The timer
+	 */
+	private ScheduledExecutorService getTimer() {
+		if (timer == null) {
+			timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "ICE Batch Timer");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return timer;
+	}
+
+	/**
+	 * This operation adds an operation to the current batch and waits for its
+	 * result.
+	 *
+	 * @param operation
+	 *            The operation
+	 * @return The result of the operation
+	 */
+	public BatchResult execute(BatchOperation operation) {
+		try {
+			return submit(operation).get();
+		} catch (InterruptedException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			Thread.currentThread().interrupt();
+			return fail(-1, "Interrupted while waiting for the result.");
+		} catch (ExecutionException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return fail(-1, e.getCause().getMessage());
+		}
+	}
+
+	/**
+	 * This operation sends the current batch immediately.
+	 */
+	public void flush() {
+		List<PendingOperation> batch;
+		synchronized (this) {
+			batch = pending;
+			pending = new ArrayList<PendingOperation>();
+		}
+		if (!batch.isEmpty()) {
+			send(batch);
+		}
+	}
+
+	/**
+	 * This operation sends a batch and hands the results to the callers.
+	 *
+	 * @param batch
+	 *            The operations
+	 */
+	private void send(List<PendingOperation> batch) {
+
+		// Local Declarations
+		BatchRequest request = new BatchRequest();
+		List<BatchResult> results = null;
+		String error = "No response from the Core.";
+
+		// Send the batch
+		for (PendingOperation op : batch) {
+			request.addOperation(op.operation);
+		}
+		try {
+			BatchResponse response = sender.apply(request);
+			if (response != null) {
+				results = response.getResults();
+			}
+		} catch (RuntimeException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			error = e.getClass().getSimpleName() + ": " + e.getMessage();
+		}
+
+		// Hand out the results in order
+		for (int i = 0; i < batch.size(); i++) {
+			BatchResult result = (results != null && i < results.size())
+					? results.get(i) : fail(i, error);
+			batch.get(i).result.complete(result);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation creates the result of an operation that could not be
+	 * sent.
+	 *
+	 * @param index
+	 *            The index of the operation in the batch
+	 * @param message
+	 *            The reason for the failure
+	 * @return The result
+	 */
+	private BatchResult fail(int index, String message) {
+		BatchResult result = new BatchResult(index);
+		result.setSuccess(false);
+		result.setMessage(message);
+		return result;
+	}
+
+	/**
+	 * This operation sends the current batch and stops the timer. The timer is
+	 * started again if another window is opened.
+	 */
+	public void shutdown() {
+		ScheduledExecutorService stopped;
+		synchronized (this) {
+			stopped = timer;
+			timer = null;
+		}
+		flush();
+		if (stopped != null) {
+			stopped.shutdown();
+		}
+	}
+
+}
@@ -13,25 +13,43 @@
 package org.eclipse.ice.client.internal;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.ice.core.iCore.BatchOperation;
+import org.eclipse.ice.core.iCore.BatchRequest;
+import org.eclipse.ice.core.iCore.BatchResponse;
 import org.eclipse.ice.core.iCore.ICore;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.FormDelta;
 import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.item.FileTailService;
 import org.eclipse.ice.item.ICompositeItemBuilder;
 import org.eclipse.ice.item.ItemBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.client.filter.GZIPContentEncodingFilter;
 import com.sun.jersey.api.client.filter.HTTPBasicAuthFilter;
 
 /**
@@ -57,6 +75,19 @@ import com.sun.jersey.api.client.filter.HTTPBasicAuthFilter;
  * The exact mechanism by which the HTTPS connection is made and utilized is not
  * modeled here. It is sufficient to say that ICE 2.0 uses the Jersey Client.
  * </p>
+ * <p>
+ * The updateItem(), processItem() and getItemStatus() operations are sent to
+ * the server's batch endpoint. If a batch window is set with
+ * setBatchWindow(), these operations and createItem() are collected from all
+ * threads for that long and sent together, which saves a round trip per
+ * operation when scripts work on many Items at once.
+ * </p>
+ * <p>
+ * The output file of an Item is mirrored into a local temporary file while
+ * the Item is processed. The mirror asks the server for the bytes after the
+ * ones it already has, so the output of a running job reaches the client as it
+ * is written and can be followed like a local file.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
@@ -112,6 +143,31 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	private WebResource baseResource = null;
 
+	/**
+	 * The most recent copy of each Form retrieved from the server, keyed by
+	 * Item id. It is also the lock for the ETags. Forms in the cache are never
+	 * handed out or modified, only copied.
+	 */
+	private final Map<Integer, Form> formCache = new HashMap<Integer, Form>();
+
+	/**
+	 * The ETag of each cached Form, keyed by Item id.
+	 */
+	private final Map<Integer, String> formTags = new HashMap<Integer, String>();
+
+	/**
+	 * The local mirrors of the output files that are being followed, keyed by
+	 * Item id.
+	 */
+	private final Map<Integer, File> outputMirrors = new HashMap<Integer, File>();
+
+	/**
+	 * The batcher that collects operations and sends them to the server's
+	 * batch endpoint. Its window is zero until setBatchWindow() is called.
+	 */
+	private final OperationBatcher batcher = new OperationBatcher(
+			this::processBatch, 0, OperationBatcher.DEFAULT_MAX_BATCH_SIZE);
+
 	/** ----- **/
 
 	/**
@@ -122,8 +178,9 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	public RemoteCoreProxy() {
 
-		// Create the client
+		// Create the client and let it accept compressed responses
 		client = new Client();
+		client.addFilter(new GZIPContentEncodingFilter(false));
 
 	}
 
@@ -194,6 +251,29 @@ public class RemoteCoreProxy implements ICore {
 		}
 	}
 
+	/**
+	 * This operation sets the time that createItem(), updateItem(),
+	 * processItem() and getItemStatus() calls are collected before they are
+	 * sent to the server as a single batch. Zero, the default, sends each
+	 * call on its own.
+	 * 
+	 * @param windowMillis
+	 *            The window in milliseconds
+	 */
+	public void setBatchWindow(long windowMillis) {
+		batcher.setWindow(windowMillis);
+	}
+
+	/**
+	 * This operation returns the time that calls are collected before they are
+	 * sent to the server as a single batch.
+	 * 
+	 * @return The window in milliseconds
+	 */
+	public long getBatchWindow() {
+		return batcher.getWindow();
+	}
+
 	/**
 	 * <p>
 	 * This operation connects to the ICE Core using Basic authentication over
@@ -257,8 +337,8 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	@Override
 	public void disconnect(int uniqueClientId) {
-		// TODO Auto-generated method stub
-
+		// Send the operations that are still waiting and stop the batch timer
+		batcher.shutdown();
 	}
 
 	/**
@@ -312,6 +392,15 @@ public class RemoteCoreProxy implements ICore {
 		} else {
 			return "-1";
 		}
+
+		// Batch the request if batching is enabled
+		if (batcher.getWindow() > 0) {
+			BatchOperation operation = new BatchOperation(
+					BatchOperation.Type.CREATE);
+			operation.setItemType(itemType);
+			return String.valueOf(batcher.execute(operation).getItemId());
+		}
+
 		// Get the available ItemTypes
 		id = resource.queryParam("type", itemType).accept(MediaType.TEXT_PLAIN)
 				.header("X-FOO", "BAR").post(String.class);
@@ -341,8 +430,18 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	@Override
 	public FormStatus getItemStatus(Integer id) {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Local Declarations
+		BatchOperation operation = new BatchOperation(
+				BatchOperation.Type.STATUS);
+
+		// Only send the request if the hostname is valid
+		if (host == null || id == null) {
+			return null;
+		}
+		operation.setItemId(id);
+
+		return batcher.execute(operation).getStatus();
 	}
 
 	/**
@@ -355,20 +454,117 @@ public class RemoteCoreProxy implements ICore {
 
 		// Local Declarations
 		Form itemForm = null;
-		WebResource resource = null;
-		String id = String.valueOf(itemId);
+		Form base = null;
+		String tag = null;
 
 		// Only load the resource if the hostname is valid
 		if (host != null) {
-			resource = baseResource.path("/items/" + id);
+			// Take a copy of the cached Form, if any, to use as the base of a
+			// delta. The lock is only held while the cache is read, not while
+			// the server is asked for the Form.
+			synchronized (formCache) {
+				Form cached = formCache.get(itemId);
+				if (cached != null) {
+					base = (Form) cached.clone();
+					tag = formTags.get(itemId);
+				}
+			}
+			itemForm = retrieveForm(itemId, base, tag);
+		}
+
+		return itemForm;
+	}
+
+	/**
+	 * This operation retrieves a Form from the server and updates the cache.
+	 * If there is a copy of the Form, the server is asked for the changes
+	 * since that copy, and nothing is transferred if there are none.
+	 * 
+	 * @param itemId
+	 *            The id of the Item
+	 * @param base
+	 *            A copy of the cached Form that will be updated with the
+	 *            changes and that is not shared with the cache, or null if
+	 *            the Form should be retrieved in full
+	 * @param tag
+	 *            The ETag of the base or null if there is no base
+	 * @return A copy of the up-to-date Form that is not shared with the cache
+	 *         or null if it could not be retrieved
+	 */
+	private Form retrieveForm(int itemId, Form base, String tag) {
 
-			// Get the available ItemTypes
-			itemForm = resource.accept(MediaType.APPLICATION_XML)
-					.header("X-FOO", "BAR").get(Form.class);
+		// Local Declarations
+		WebResource resource = baseResource.path("/items/" + itemId);
 
+		// Ask for the changes since the base
+		if (base == null) {
+			tag = null;
+		}
+		if (tag != null) {
+			resource = resource.queryParam("since", tag);
+		}
+		WebResource.Builder builder = resource
+				.accept(MediaType.APPLICATION_XML).header("X-FOO", "BAR");
+		if (tag != null) {
+			builder = builder.header("If-None-Match",
+					new EntityTag(tag).toString());
+		}
+		ClientResponse response = builder.get(ClientResponse.class);
+
+		// Handle the response
+		Form form = null;
+		int status = response.getStatus();
+		if (status == ClientResponse.Status.NOT_MODIFIED.getStatusCode()) {
+			// The cache is already up to date
+			response.close();
+			return base;
+		} else if (status == ClientResponse.Status.OK.getStatusCode()) {
+			if (response.getHeaders().getFirst(ICore.DELTA_HEADER) != null) {
+				// Apply the delta or start over if the copy can't take it
+				FormDelta delta = response.getEntity(FormDelta.class);
+				if (base != null && base.applyDelta(delta)) {
+					form = base;
+				} else {
+					response.close();
+					return retrieveForm(itemId, null, null);
+				}
+			} else {
+				form = response.getEntity(Form.class);
+			}
+		} else {
+			logger.error("RemoteCoreProxy Message: Unable to get Item "
+					+ itemId + ". Server returned " + status + ".");
 		}
 
-		return itemForm;
+		// Update the cache with a copy so that the Form that is handed out
+		// can be modified
+		EntityTag newTag = response.getEntityTag();
+		response.close();
+		Form cached = (form != null && newTag != null) ? (Form) form.clone()
+				: null;
+		synchronized (formCache) {
+			if (cached != null) {
+				formCache.put(itemId, cached);
+				formTags.put(itemId, newTag.getValue());
+			} else {
+				formCache.remove(itemId);
+				formTags.remove(itemId);
+			}
+		}
+
+		return form;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#getItem(int, String, Request)
+	 */
+	@Override
+	public Response getItem(int itemId, String since, Request request) {
+		// This operation is only implemented by the server. Clients call
+		// getItem(int), which uses it remotely.
+		return null;
 	}
 
 	/**
@@ -403,8 +599,20 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	@Override
 	public FormStatus updateItem(Form form, int uniqueClientId) {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Local Declarations
+		BatchOperation operation = new BatchOperation(
+				BatchOperation.Type.UPDATE);
+
+		// Only send the request if the hostname is valid
+		if (host == null || form == null) {
+			return null;
+		}
+		operation.setForm(form);
+		operation.setItemId(form.getItemID());
+		operation.setClientId(uniqueClientId);
+
+		return batcher.execute(operation).getStatus();
 	}
 
 	/**
@@ -415,10 +623,62 @@ public class RemoteCoreProxy implements ICore {
 	@Override
 	public FormStatus processItem(int itemId, String actionName,
 			int uniqueClientId) {
-		// TODO Auto-generated method stub
+
+		// Local Declarations
+		BatchOperation operation = new BatchOperation(
+				BatchOperation.Type.PROCESS);
+
+		// Only send the request if the hostname is valid
+		if (host == null) {
+			return null;
+		}
+		operation.setItemId(itemId);
+		operation.setActionName(actionName);
+		operation.setClientId(uniqueClientId);
+
+		return batcher.execute(operation).getStatus();
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#getItemOutput(int, long)
+	 */
+	@Override
+	public Response getItemOutput(int itemId, long offset) {
+		// This operation is only implemented by the server. Clients call
+		// getItemOutputFile(int), which uses it remotely.
 		return null;
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#processBatch(BatchRequest)
+	 */
+	@Override
+	public BatchResponse processBatch(BatchRequest request) {
+
+		// Local Declarations
+		WebResource resource = null;
+
+		// Only load the resource if the hostname is valid
+		if (host != null) {
+			resource = baseResource.path("/batch");
+		} else {
+			return null;
+		}
+
+		// Post the batch
+		BatchResponse response = resource.type(MediaType.APPLICATION_XML)
+				.accept(MediaType.APPLICATION_XML).header("X-FOO", "BAR")
+				.post(BatchResponse.class, request);
+		logger.debug("RemoteCoreProxy Message: Sent batch of "
+				+ request.getOperations().size() + " operations.");
+
+		return response;
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -437,8 +697,107 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	@Override
 	public File getItemOutputFile(int id) {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Only follow the output if the hostname is valid
+		if (host == null || baseResource == null) {
+			return null;
+		}
+
+		synchronized (outputMirrors) {
+			// Hand out the mirror if it is still being followed
+			File mirror = outputMirrors.get(id);
+			if (mirror != null) {
+				return mirror;
+			}
+
+			// Otherwise start a new one
+			try {
+				mirror = File.createTempFile("iceItem" + id + "Output", ".txt");
+				mirror.deleteOnExit();
+			} catch (IOException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+				return null;
+			}
+			final File file = mirror;
+			try {
+				ICEExecutors.execute(Workload.LAUNCH,
+						() -> mirrorOutput(id, file));
+			} catch (RejectedExecutionException e) {
+				logger.error("RemoteCoreProxy Message: Unable to follow the "
+						+ "output of Item " + id + ".", e);
+				file.delete();
+				return null;
+			}
+			outputMirrors.put(id, mirror);
+
+			return mirror;
+		}
+	}
+
+	/**
+	 * This operation copies the output file of an Item from the server into a
+	 * local file until the Item is no longer processing and every byte was
+	 * copied.
+	 * 
+	 * @param id
+	 *            The id of the Item
+	 * @param mirror
+	 *            The local file
+	 */
+	private void mirrorOutput(int id, File mirror) {
+
+		// Local Declarations
+		long offset = 0;
+		boolean lastPass = false;
+
+		try (FileOutputStream stream = new FileOutputStream(mirror)) {
+			while (true) {
+				// Ask for the bytes after the ones that were copied
+				ClientResponse response = baseResource
+						.path("/items/" + id + "/output")
+						.queryParam("offset", String.valueOf(offset))
+						.accept(MediaType.APPLICATION_OCTET_STREAM)
+						.header("X-FOO", "BAR").get(ClientResponse.class);
+				byte[] data = null;
+				if (response.getStatus() == ClientResponse.Status.OK
+						.getStatusCode()) {
+					data = response.getEntity(byte[].class);
+				}
+				response.close();
+
+				// Write them and ask again right away in case there are more
+				if (data != null && data.length > 0) {
+					stream.write(data);
+					stream.flush();
+					offset += data.length;
+					continue;
+				}
+
+				// Stop once the Item is done. The output is checked once more
+				// after that because the last bytes may have been written
+				// after the last request.
+				if (lastPass) {
+					break;
+				}
+				FormStatus status = getItemStatus(id);
+				if (status != FormStatus.Processing
+						&& status != FormStatus.NeedsInfo) {
+					lastPass = true;
+				} else {
+					Thread.sleep(FileTailService.RESCAN_INTERVAL);
+				}
+			}
+		} catch (IOException | ClientHandlerException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			synchronized (outputMirrors) {
+				outputMirrors.remove(id, mirror);
+			}
+		}
+
+		return;
 	}
 
 	/**
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.core.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.security.auth.Subject;
+
+import org.eclipse.ice.core.internal.AuthenticationCache;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link AuthenticationCache}.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class AuthenticationCacheTester {
+
+	/**
+	 * This operation checks that credentials are remembered only with the
+	 * right password and that the least recently used ones are dropped.
+	 */
+	@Test
+	public void checkCredentials() {
+
+		AuthenticationCache cache = new AuthenticationCache(60000, 60000, 2);
+		Subject subject = new Subject();
+
+		// Nothing is cached yet
+		assertNull(cache.getSubject("ice", "veryice"));
+
+		// Remember the user
+		cache.putSubject("ice", "veryice", subject);
+		assertSame(subject, cache.getSubject("ice", "veryice"));
+
+		// Other passwords and users don't match
+		assertNull(cache.getSubject("ice", "notice"));
+		assertNull(cache.getSubject("ic", "e:veryice"));
+
+		// Add two more users. The first one was used most recently, so the
+		// second one is dropped.
+		cache.putSubject("second", "password", new Subject());
+		cache.getSubject("ice", "veryice");
+		cache.putSubject("third", "password", new Subject());
+		assertEquals(2, cache.size());
+		assertNotNull(cache.getSubject("ice", "veryice"));
+		assertNull(cache.getSubject("second", "password"));
+
+		// Check the counters
+		assertEquals(3, cache.getHitCount());
+		assertEquals(4, cache.getMissCount());
+		assertEquals(3.0 / 7.0, cache.getHitRate(), 1.0e-12);
+
+		// Clear the cache
+		cache.clear();
+		assertNull(cache.getSubject("ice", "veryice"));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that credentials and tokens expire.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkExpiration() throws InterruptedException {
+
+		AuthenticationCache cache = new AuthenticationCache(50, 50, 10);
+		cache.putSubject("ice", "veryice", new Subject());
+		String token = cache.issueToken("ice", new Subject());
+		assertNotNull(cache.getSubject("ice", "veryice"));
+		assertNotNull(cache.getToken(token));
+
+		// Wait for them to expire
+		Thread.sleep(100);
+		assertNull(cache.getSubject("ice", "veryice"));
+		assertNull(cache.getToken(token));
+		assertEquals(0, cache.size());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that tokens identify the user to whom they were
+	 * issued and that they can be revoked.
+	 */
+	@Test
+	public void checkTokens() {
+
+		AuthenticationCache cache = new AuthenticationCache();
+		Subject subject = new Subject();
+
+		// Issue two tokens
+		String token = cache.issueToken("ice", subject);
+		String other = cache.issueToken("ice", subject);
+		assertNotNull(token);
+		assertTrue(token.length() >= 40);
+		assertTrue(!token.equals(other));
+
+		// Look them up
+		AuthenticationCache.Entry entry = cache.getToken(token);
+		assertEquals("ice", entry.getUserId());
+		assertSame(subject, entry.getSubject());
+		assertNull(cache.getToken("not a token"));
+		assertNull(cache.getToken(null));
+
+		// Revoke one
+		cache.revokeToken(token);
+		assertNull(cache.getToken(token));
+		assertNotNull(cache.getToken(other));
+
+		return;
+	}
+}
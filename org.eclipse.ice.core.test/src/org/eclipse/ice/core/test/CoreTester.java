@@ -13,6 +13,7 @@
 package org.eclipse.ice.core.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -21,9 +22,13 @@ import static org.junit.Assert.fail;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.ws.rs.core.Response;
+
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
@@ -31,11 +36,17 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ice.core.iCore.BatchOperation;
+import org.eclipse.ice.core.iCore.BatchRequest;
+import org.eclipse.ice.core.iCore.BatchResponse;
+import org.eclipse.ice.core.iCore.BatchResult;
+import org.eclipse.ice.core.iCore.ICore;
 import org.eclipse.ice.core.internal.Core;
 import org.eclipse.ice.core.internal.itemmanager.ItemManager;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.FormDelta;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.junit.Before;
 import org.junit.Test;
@@ -404,6 +415,29 @@ public class CoreTester {
 		System.out.println("CoreTester message: Returned Output File Name = " + retOutputName);
 		assertTrue(outputFile.getAbsolutePath().contains(outputFilename));
 
+		// Write some output and read it back through the web version, the way
+		// remote clients follow it
+		outputFile.getParentFile().mkdirs();
+		try {
+			Files.write(outputFile.toPath(),
+					"Line 1\nLine 2\n".getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			e.printStackTrace();
+			fail();
+		}
+		Response response = iCECore.getItemOutput(testItemId, 0);
+		assertEquals(200, response.getStatus());
+		assertEquals("Line 1\nLine 2\n", new String(
+				(byte[]) response.getEntity(), StandardCharsets.UTF_8));
+		response = iCECore.getItemOutput(testItemId, 7);
+		assertEquals(200, response.getStatus());
+		assertEquals("Line 2\n", new String((byte[]) response.getEntity(),
+				StandardCharsets.UTF_8));
+		// Nothing after the end and nothing for Items that don't exist
+		assertEquals(204, iCECore.getItemOutput(testItemId, 14).getStatus());
+		assertEquals(404, iCECore.getItemOutput(-1, 0).getStatus());
+		outputFile.delete();
+
 		// Check canceling by putting the fake item into a persistent
 		// "Processing" state and shutting it down.
 		fakeItemManager.processItem(fakeItem.getId(), "setProcessing");
@@ -572,8 +606,16 @@ public class CoreTester {
 
 		// Make sure posting a valid message works
 		assertEquals("OK", iCECore.postUpdateMessage(msg));
+		// The messages are delivered asynchronously, so wait for them
+		try {
+			assertTrue(iCECore.getUpdateDispatcher().awaitIdle(5000));
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+			fail();
+		}
 		// Get the FakeItem and make sure it was updated
 		assertTrue(fakeGeometryBuilder.getLastFakeItem().wasUpdated());
+		assertEquals(2, iCECore.getUpdateDispatcher().getProcessedCount());
 
 		// Make sure posting a null message fails
 		assertNull(iCECore.postUpdateMessage(null));
@@ -584,6 +626,127 @@ public class CoreTester {
 		return;
 	}
 
+	/**
+	 * This operation checks that the Core performs batches of operations and
+	 * returns their results in order.
+	 */
+	@Test
+	public void checkBatchOperations() {
+
+		// Local Declarations
+		FakeGeometryBuilder fakeGeometryBuilder = new FakeGeometryBuilder();
+		BatchRequest request = new BatchRequest();
+
+		// Register the ItemBuilders
+		iCECore.registerItem(fakeGeometryBuilder);
+
+		// Create two Items
+		BatchOperation create = new BatchOperation(BatchOperation.Type.CREATE);
+		create.setItemType(fakeGeometryBuilder.getItemName());
+		int first = request.addOperation(create);
+		create = new BatchOperation(BatchOperation.Type.CREATE);
+		create.setItemType(fakeGeometryBuilder.getItemName());
+		int second = request.addOperation(create);
+
+		// Process the first and check its status
+		BatchOperation process = new BatchOperation(BatchOperation.Type.PROCESS);
+		process.setItemRef(first);
+		process.setActionName("blend");
+		request.addOperation(process);
+		BatchOperation status = new BatchOperation(BatchOperation.Type.STATUS);
+		status.setItemRef(first);
+		request.addOperation(status);
+
+		// Check the status of the second
+		status = new BatchOperation(BatchOperation.Type.STATUS);
+		status.setItemRef(second);
+		request.addOperation(status);
+
+		// Refer to an operation that does not create an Item
+		status = new BatchOperation(BatchOperation.Type.STATUS);
+		status.setItemRef(2);
+		request.addOperation(status);
+
+		// Process the batch and check the results
+		BatchResponse response = iCECore.processBatch(request);
+		List<BatchResult> results = response.getResults();
+		assertEquals(6, results.size());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(i, results.get(i).getIndex());
+			assertTrue(results.get(i).isSuccess());
+		}
+		int firstId = results.get(0).getItemId();
+		assertTrue(firstId > 0);
+		assertTrue(results.get(1).getItemId() > 0);
+		assertTrue(firstId != results.get(1).getItemId());
+		assertEquals(firstId, results.get(2).getItemId());
+		assertEquals(FormStatus.Processed, results.get(2).getStatus());
+		assertEquals(FormStatus.Processed, results.get(3).getStatus());
+		assertEquals(results.get(1).getItemId(), results.get(4).getItemId());
+		assertNotNull(results.get(4).getStatus());
+		assertFalse(results.get(5).isSuccess());
+		assertNotNull(results.get(5).getMessage());
+
+		// The Items were really created
+		assertNotNull(fakeItemManager.retrieveItem(firstId));
+		assertEquals(FormStatus.Processed, iCECore.getItemStatus(firstId));
+
+		// An empty batch has no results
+		assertTrue(iCECore.processBatch(new BatchRequest()).getResults().isEmpty());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the ETags of Forms tell replaced Forms apart
+	 * so that a client never receives a 304 or a delta for a Form it does not
+	 * have.
+	 */
+	@Test
+	public void checkFormTags() {
+
+		// Local Declarations
+		FakeGeometryBuilder fakeGeometryBuilder = new FakeGeometryBuilder();
+
+		// Register the ItemBuilder and create an Item
+		iCECore.registerItem(fakeGeometryBuilder);
+		int id = Integer.parseInt(iCECore.createItem(fakeGeometryBuilder.getItemName()));
+		FakeItem item = fakeGeometryBuilder.getLastFakeItem();
+
+		// Get the Form and its tag
+		Response response = iCECore.getItem(id, null, null);
+		assertEquals(200, response.getStatus());
+		String tag = response.getEntityTag().getValue();
+		assertTrue(response.getEntity() instanceof Form);
+
+		// Change the Form and ask for a delta
+		Form form = item.getForm();
+		DataComponent component = new DataComponent();
+		component.setId(5);
+		form.addComponent(component);
+		response = iCECore.getItem(id, tag, null);
+		assertTrue(response.getEntity() instanceof FormDelta);
+		assertNotNull(response.getMetadata().getFirst(ICore.DELTA_HEADER));
+		String changedTag = response.getEntityTag().getValue();
+		assertFalse(tag.equals(changedTag));
+
+		// Replace the Form and bring its revision back to the same number. The
+		// tag must be different and the old tags must not get a delta.
+		item.replaceForm();
+		Form newForm = item.getForm();
+		assertFalse(form == newForm);
+		newForm.setRevision(form.getRevision());
+		response = iCECore.getItem(id, changedTag, null);
+		assertEquals(200, response.getStatus());
+		assertTrue(response.getEntity() instanceof Form);
+		assertNull(response.getMetadata().getFirst(ICore.DELTA_HEADER));
+		assertFalse(changedTag.equals(response.getEntityTag().getValue()));
+		response = iCECore.getItem(id, tag, null);
+		assertTrue(response.getEntity() instanceof Form);
+
+		return;
+	}
+
 	/**
 	 * This operation checks the Core's ability to make a client connection with
 	 * a given username, password, and Client ID.
@@ -148,6 +148,15 @@ public class FakeItem extends Item {
 		return loaded;
 	}
 
+	/**
+	 * This operation replaces the Form of the FakeItem with a new one, like
+	 * Items that rebuild their Forms when their input is reloaded.
+	 */
+	public void replaceForm() {
+		setupForm();
+		form.setItemID(getId());
+	}
+
 	/**
 	 * <p>
 	 * This operation returns true if the FakeItem was successfully updated,
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.core.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.ice.core.internal.UpdateDispatcher;
+import org.eclipse.ice.item.messaging.Message;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link UpdateDispatcher}.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class UpdateDispatcherTester {
+
+	/**
+	 * This operation creates a Message.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param id
+	 *            The id of the Message
+	 * @return The Message
+	 */
+	private Message createMessage(int itemId, int id) {
+		Message message = new Message();
+		message.setItemId(itemId);
+		message.setId(id);
+		message.setType("MESSAGE_POSTED");
+		return message;
+	}
+
+	/**
+	 * This operation checks that the Messages for each Item are delivered in
+	 * order and that the counters are correct.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkOrdering() throws InterruptedException {
+
+		// Record the order in which the Messages arrive for each Item
+		final List<Integer> first = Collections
+				.synchronizedList(new ArrayList<Integer>());
+		final List<Integer> second = Collections
+				.synchronizedList(new ArrayList<Integer>());
+		UpdateDispatcher dispatcher = new UpdateDispatcher(message -> {
+			(message.getItemId() == 1 ? first : second).add(message.getId());
+			return message.getId() % 10 != 0;
+		}, 4, 1000);
+
+		// Post a lot of small batches for two Items
+		for (int i = 0; i < 500; i += 5) {
+			for (int itemId = 1; itemId <= 2; itemId++) {
+				List<Message> batch = new ArrayList<Message>();
+				for (int j = i; j < i + 5; j++) {
+					batch.add(createMessage(itemId, j));
+				}
+				assertTrue(dispatcher.post(itemId, batch));
+			}
+		}
+		assertTrue(dispatcher.awaitIdle(10000));
+
+		// Check the order
+		assertEquals(500, first.size());
+		assertEquals(500, second.size());
+		for (int i = 0; i < 500; i++) {
+			assertEquals(i, first.get(i).intValue());
+			assertEquals(i, second.get(i).intValue());
+		}
+
+		// Check the counters
+		assertEquals(1000, dispatcher.getAcceptedCount());
+		assertEquals(1000, dispatcher.getProcessedCount());
+		assertEquals(100, dispatcher.getFailedCount());
+		assertEquals(0, dispatcher.getDroppedCount());
+		assertEquals(0, dispatcher.getPendingCount());
+		assertTrue(dispatcher.getProcessedRate() > 0.0);
+
+		dispatcher.shutdown();
+
+		return;
+	}
+
+	/**
+	 * This operation checks that Messages are rejected when an Item's queue
+	 * is full.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkBackPressure() throws InterruptedException {
+
+		// Block the only worker until the test releases it
+		final CountDownLatch release = new CountDownLatch(1);
+		UpdateDispatcher dispatcher = new UpdateDispatcher(message -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return true;
+		}, 1, 3);
+
+		// Fill the queue. The first Message may already have been taken by
+		// the worker.
+		List<Message> batch = new ArrayList<Message>();
+		batch.add(createMessage(1, 0));
+		batch.add(createMessage(1, 1));
+		batch.add(createMessage(1, 2));
+		assertTrue(dispatcher.post(1, batch));
+
+		// A batch that does not fit is rejected as a whole
+		List<Message> tooMany = new ArrayList<Message>();
+		for (int i = 0; i < 3; i++) {
+			tooMany.add(createMessage(1, 3 + i));
+		}
+		assertFalse(dispatcher.post(1, tooMany));
+		assertEquals(3, dispatcher.getDroppedCount());
+
+		// Other Items have their own queues
+		assertTrue(dispatcher.post(2,
+				Collections.singletonList(createMessage(2, 0))));
+
+		// Let everything through
+		release.countDown();
+		assertTrue(dispatcher.awaitIdle(10000));
+		assertEquals(4, dispatcher.getProcessedCount());
+
+		// Nothing is accepted after the shutdown
+		dispatcher.shutdown();
+		assertFalse(dispatcher.post(1,
+				Collections.singletonList(createMessage(1, 9))));
+
+		return;
+	}
+}
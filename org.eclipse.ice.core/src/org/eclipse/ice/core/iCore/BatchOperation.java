@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.core.iCore;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+
+import org.eclipse.ice.datastructures.form.Form;
+
+/**
+ * This class describes a single operation in a {@link BatchRequest}. Each
+ * operation corresponds to one of the operations on {@link ICore}:
+ * <ul>
+ * <li>CREATE - createItem(itemType)</li>
+ * <li>UPDATE - updateItem(form, clientId)</li>
+ * <li>PROCESS - processItem(itemId, actionName, clientId)</li>
+ * <li>STATUS - getItemStatus(itemId)</li>
+ * </ul>
+ *
+ * An operation may refer to an Item that is created earlier in the same batch
+ * by setting its item reference to the index of the CREATE operation instead
+ * of setting the Item id, which is not known until the batch is executed.
+ *
+ * @author Jay Jay Billings
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class BatchOperation {
+
+	/**
+	 * The types of operations that may be batched.
+	 */
+	public enum Type {
+		CREATE, UPDATE, PROCESS, STATUS
+	}
+
+	/**
+	 * The type of the operation.
+	 */
+	@XmlAttribute
+	private Type type;
+
+	/**
+	 * The type of Item to create.
+	 */
+	@XmlAttribute
+	private String itemType;
+
+	/**
+	 * The id of the Item on which to operate or -1 if it is not set.
+	 */
+	@XmlAttribute
+	private int itemId = -1;
+
+	/**
+	 * The index of the CREATE operation in the same batch that creates the
+	 * Item on which to operate or -1 if it is not set.
+	 */
+	@XmlAttribute
+	private int itemRef = -1;
+
+	/**
+	 * The name of the action to perform.
+	 */
+	@XmlAttribute
+	private String actionName;
+
+	/**
+	 * The unique id of the client that requested the operation.
+	 */
+	@XmlAttribute
+	private int clientId = 1;
+
+	/**
+	 * The Form that carries the new information for an UPDATE.
+	 */
+	@XmlElement(name = "Form")
+	private Form form;
+
+	/**
+	 * The nullary constructor used for persistence.
+	 */
+	public BatchOperation() {
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param operationType
+	 *            The type of the operation
+	 */
+	public BatchOperation(Type operationType) {
+		type = operationType;
+	}
+
+	/**
+	 * This operation returns the type of the operation.
+	 *
+	 * @return The type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * This operation sets the type of the operation.
+	 *
+	 * @param operationType
+	 *            The type
+	 */
+	public void setType(Type operationType) {
+		type = operationType;
+	}
+
+	/**
+	 * This operation returns the type of Item to create.
+	 *
+	 * @return The Item type
+	 */
+	public String getItemType() {
+		return itemType;
+	}
+
+	/**
+	 * This operation sets the type of Item to create.
+	 *
+	 * @param newItemType
+	 *            The Item type
+	 */
+	public void setItemType(String newItemType) {
+		itemType = newItemType;
+	}
+
+	/**
+	 * This operation returns the id of the Item on which to operate.
+	 *
+	 * @return The Item id or -1 if it is not set
+	 */
+	public int getItemId() {
+		return itemId;
+	}
+
+	/**
+	 * This operation sets the id of the Item on which to operate.
+	 *
+	 * @param id
+	 *            The Item id
+	 */
+	public void setItemId(int id) {
+		itemId = id;
+	}
+
+	/**
+	 * This operation returns the index of the CREATE operation in the same
+	 * batch that creates the Item on which to operate.
+	 *
+	 * @return The index or -1 if it is not set
+	 */
+	public int getItemRef() {
+		return itemRef;
+	}
+
+	/**
+	 * This operation sets the index of the CREATE operation in the same batch
+	 * that creates the Item on which to operate. The CREATE operation must
+	 * come before this one.
+	 *
+	 * @param index
+	 *            The index of the CREATE operation
+	 */
+	public void setItemRef(int index) {
+		itemRef = index;
+	}
+
+	/**
+	 * This operation returns the name of the action to perform.
+	 *
+	 * @return The action name
+	 */
+	public String getActionName() {
+		return actionName;
+	}
+
+	/**
+	 * This operation sets the name of the action to perform.
+	 *
+	 * @param name
+	 *            The action name
+	 */
+	public void setActionName(String name) {
+		actionName = name;
+	}
+
+	/**
+	 * This operation returns the unique id of the client that requested the
+	 * operation.
+	 *
+	 * @return The client id
+	 */
+	public int getClientId() {
+		return clientId;
+	}
+
+	/**
+	 * This operation sets the unique id of the client that requested the
+	 * operation.
+	 *
+	 * @param id
+	 *            The client id
+	 */
+	public void setClientId(int id) {
+		clientId = id;
+	}
+
+	/**
+	 * This operation returns the Form that carries the new information for an
+	 * UPDATE.
+	 *
+	 * @return The Form
+	 */
+	public Form getForm() {
+		return form;
+	}
+
+	/**
+	 * This operation sets the Form that carries the new information for an
+	 * UPDATE.
+	 *
+	 * @param newForm
+	 *            The Form
+	 */
+	public void setForm(Form newForm) {
+		form = newForm;
+	}
+
+}
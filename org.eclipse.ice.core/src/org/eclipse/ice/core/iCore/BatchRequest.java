@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.core.iCore;
+
+import java.util.ArrayList;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * This class is a list of {@link BatchOperation}s that are submitted to the
+ * Core together with {@link ICore#processBatch(BatchRequest)}. The results are
+ * returned in a {@link BatchResponse} in the same order.
+ *
+ * @author Jay Jay Billings
+ */
+@XmlRootElement(name = "BatchRequest")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class BatchRequest {
+
+	/**
+	 * The operations, in the order they were added.
+	 */
+	@XmlElement(name = "operation")
+	private ArrayList<BatchOperation> operations = new ArrayList<BatchOperation>();
+
+	/**
+	 * This operation adds an operation to the end of the batch.
+	 *
+	 * @param operation
+	 *            The operation
+	 * @return The index of the operation in the batch
+	 */
+	public int addOperation(BatchOperation operation) {
+		operations.add(operation);
+		return operations.size() - 1;
+	}
+
+	/**
+	 * This operation returns the operations in the batch.
+	 *
+	 * @return The operations, in order
+	 */
+	public ArrayList<BatchOperation> getOperations() {
+		return operations;
+	}
+
+	/**
+	 * This operation sets the operations in the batch.
+	 *
+	 * @param newOperations
+	 *            The operations, in order
+	 */
+	public void setOperations(ArrayList<BatchOperation> newOperations) {
+		operations = (newOperations != null) ? newOperations
+				: new ArrayList<BatchOperation>();
+	}
+
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.core.iCore;
+
+import java.util.ArrayList;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * This class holds the {@link BatchResult}s of a {@link BatchRequest}. There
+ * is one result for every operation in the request, in the same order.
+ *
+ * @author Jay Jay Billings
+ */
+@XmlRootElement(name = "BatchResponse")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class BatchResponse {
+
+	/**
+	 * The results, in the order of the operations.
+	 */
+	@XmlElement(name = "result")
+	private ArrayList<BatchResult> results = new ArrayList<BatchResult>();
+
+	/**
+	 * This operation returns the results.
+	 *
+	 * @return The results, in the order of the operations
+	 */
+	public ArrayList<BatchResult> getResults() {
+		return results;
+	}
+
+	/**
+	 * This operation sets the results.
+	 *
+	 * @param newResults
+	 *            The results, in the order of the operations
+	 */
+	public void setResults(ArrayList<BatchResult> newResults) {
+		results = (newResults != null) ? newResults
+				: new ArrayList<BatchResult>();
+	}
+
+}
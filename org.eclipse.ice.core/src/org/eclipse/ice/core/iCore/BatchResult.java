@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.core.iCore;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+
+/**
+ * This class is the result of a single {@link BatchOperation}. It records
+ * whether the operation succeeded, the id of the Item on which it operated
+ * (or that it created) and the status of that Item, if the operation returns
+ * one. If the operation failed, the message explains why.
+ *
+ * @author Jay Jay Billings
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class BatchResult {
+
+	/**
+	 * The index of the operation in the batch.
+	 */
+	@XmlAttribute
+	private int index;
+
+	/**
+	 * True if the operation succeeded.
+	 */
+	@XmlAttribute
+	private boolean success;
+
+	/**
+	 * The id of the Item on which the operation was performed or -1 if it is
+	 * not known.
+	 */
+	@XmlAttribute
+	private int itemId = -1;
+
+	/**
+	 * The status of the Item after the operation or null if the operation does
+	 * not return one.
+	 */
+	@XmlAttribute
+	private FormStatus status;
+
+	/**
+	 * A message that explains why the operation failed.
+	 */
+	@XmlAttribute
+	private String message;
+
+	/**
+	 * The nullary constructor used for persistence.
+	 */
+	public BatchResult() {
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param operationIndex
+	 *            The index of the operation in the batch
+	 */
+	public BatchResult(int operationIndex) {
+		index = operationIndex;
+	}
+
+	/**
+	 * This operation returns the index of the operation in the batch.
+	 *
+	 * @return The index
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * This operation sets the index of the operation in the batch.
+	 *
+	 * @param operationIndex
+	 *            The index
+	 */
+	public void setIndex(int operationIndex) {
+		index = operationIndex;
+	}
+
+	/**
+	 * This operation returns true if the operation succeeded.
+	 *
+	 * @return True if successful, false otherwise
+	 */
+	public boolean isSuccess() {
+		return success;
+	}
+
+	/**
+	 * This operation sets whether the operation succeeded.
+	 *
+	 * @param successful
+	 *            True if successful, false otherwise
+	 */
+	public void setSuccess(boolean successful) {
+		success = successful;
+	}
+
+	/**
+	 * This operation returns the id of the Item on which the operation was
+	 * performed.
+	 *
+	 * @return The Item id or -1 if it is not known
+	 */
+	public int getItemId() {
+		return itemId;
+	}
+
+	/**
+	 * This operation sets the id of the Item on which the operation was
+	 * performed.
+	 *
+	 * @param id
+	 *            The Item id
+	 */
+	public void setItemId(int id) {
+		itemId = id;
+	}
+
+	/**
+	 * This operation returns the status of the Item after the operation.
+	 *
+	 * @return The status or null if the operation does not return one
+	 */
+	public FormStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * This operation sets the status of the Item after the operation.
+	 *
+	 * @param itemStatus
+	 *            The status
+	 */
+	public void setStatus(FormStatus itemStatus) {
+		status = itemStatus;
+	}
+
+	/**
+	 * This operation returns the message that explains why the operation
+	 * failed.
+	 *
+	 * @return The message or null if there is none
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * This operation sets the message that explains why the operation failed.
+	 *
+	 * @param text
+	 *            The message
+	 */
+	public void setMessage(String text) {
+		message = text;
+	}
+
+}
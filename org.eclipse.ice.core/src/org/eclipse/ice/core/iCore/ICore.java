@@ -22,6 +22,10 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -195,10 +199,41 @@ public interface ICore {
 	 *            retrieved.
 	 * @return A Form that represents the Item managed by the core.
 	 */
+	public Form getItem(int itemId);
+
+	/**
+	 * This operation is the web version of {@link #getItem(int)}. The
+	 * response carries an ETag made from the instance and revision of the
+	 * Form, so a client that sends it back in an If-None-Match header receives
+	 * HTTP 304 (Not Modified) if the Form has not changed or been replaced. A
+	 * client that passes the ETag of its copy as the "since" query parameter
+	 * receives a FormDelta with only the Components that changed, marked by
+	 * the {@value #DELTA_HEADER} header, instead of the whole Form. Responses
+	 * are compressed if the client accepts gzip.
+	 *
+	 * @param itemId
+	 *            The identification number of the Item that should be
+	 *            retrieved.
+	 * @param since
+	 *            The ETag of the client's copy of the Form or null if the
+	 *            whole Form is required
+	 * @param request
+	 *            The HTTP request, which is used to evaluate the
+	 *            preconditions
+	 * @return The response, which contains a Form, a FormDelta or nothing
+	 */
 	@GET
 	@Path("items/{id}")
 	@Produces("application/xml")
-	public Form getItem(@PathParam("id") int itemId);
+	public Response getItem(@PathParam("id") int itemId,
+			@QueryParam("since") String since, @Context Request request);
+
+	/**
+	 * The name of the HTTP header that marks responses from
+	 * {@link #getItem(int, String, Request)} that contain a FormDelta instead
+	 * of a Form.
+	 */
+	public static final String DELTA_HEADER = "X-ICE-Form-Delta";
 
 	/**
 	 * This operation returns a list of the available Item types that can be
@@ -282,6 +317,34 @@ public interface ICore {
 	 */
 	public File getItemOutputFile(int id);
 
+	/**
+	 * This operation is the web version of {@link #getItemOutputFile(int)}. It
+	 * returns the bytes of the output file of the Item that follow the given
+	 * offset, at most {@value #OUTPUT_CHUNK_SIZE} of them at once, so that
+	 * remote clients can follow the output of a running Item by asking for
+	 * the bytes after the ones they already have. The response is HTTP 204
+	 * (No Content) if there are no bytes after the offset yet and HTTP 404
+	 * (Not Found) if the Item or its output file does not exist.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param offset
+	 *            The number of bytes of the output file that the client
+	 *            already has
+	 * @return The response, which contains the bytes or nothing
+	 */
+	@GET
+	@Path("items/{id}/output")
+	@Produces("application/octet-stream")
+	public Response getItemOutput(@PathParam("id") int itemId,
+			@QueryParam("offset") long offset);
+
+	/**
+	 * The largest number of bytes returned by
+	 * {@link #getItemOutput(int, long)} at once.
+	 */
+	public static final int OUTPUT_CHUNK_SIZE = 64 * 1024;
+
 	/**
 	 * This operation cancels the process with the specified name for the Item
 	 * identified.
@@ -413,11 +476,16 @@ public interface ICore {
 	 * the Core from remote processes. The message format can be found in the
 	 * documentation for the Updater.
 	 *
+	 * The messages are queued for the Item and delivered asynchronously, in
+	 * the order they were posted, so this operation returns as soon as they
+	 * are accepted. If the Item's queue is full, the messages are rejected
+	 * with HTTP 429 (Too Many Requests) and the client should retry later.
+	 *
 	 * @param message
 	 *            The message that should be passed on to the specified Item.
 	 *            This string must be in JSON and conform to the message format
 	 *            of the ICE Updater.
-	 * @return "OK" if the post was successful, null if not to conform to JAX-RS
+	 * @return "OK" if the post was accepted, null if not to conform to JAX-RS
 	 *         HTTP 200/204 return code conversion.
 	 */
 	@POST
@@ -425,5 +493,28 @@ public interface ICore {
 	@Consumes("application/x-www-form-urlencoded")
 	@Produces("text/plain")
 	public String postUpdateMessage(String message);
+
+	/**
+	 * This operation performs a batch of createItem(), updateItem(),
+	 * processItem() and getItemStatus() operations in a single request. The
+	 * operations on different Items are independent and may be performed
+	 * concurrently, but the operations on the same Item are always performed
+	 * in the order they appear in the batch. All CREATE operations are
+	 * performed first so that later operations can refer to the new Items by
+	 * the index of the operation that creates them.
+	 *
+	 * A failed operation does not stop the others. Its result is marked as
+	 * unsuccessful and explains why it failed.
+	 *
+	 * @param request
+	 *            The operations to perform
+	 * @return The results of the operations, in the order of the operations in
+	 *         the request
+	 */
+	@POST
+	@Path("batch")
+	@Consumes("application/xml")
+	@Produces("application/xml")
+	public BatchResponse processBatch(BatchRequest request);
 	
 }
\ No newline at end of file
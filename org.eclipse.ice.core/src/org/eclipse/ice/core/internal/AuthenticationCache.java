@@ -0,0 +1,398 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.security.auth.Subject;
+
+/**
+ * This class remembers the users that were recently authenticated so that the
+ * full JAAS login does not have to be repeated for every request.
+ *
+ * Credentials are never stored. They are identified by a SHA-256 hash of the
+ * user id and password with a random salt that is created for each instance of
+ * the cache, so the keys are useless outside of the running server. Entries
+ * expire after a fixed time and the least recently used entries are dropped
+ * when the cache is full.
+ *
+ * The cache also issues bearer tokens to authenticated users. A token is a
+ * random string that stands in for the user's credentials until it expires.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class AuthenticationCache {
+
+	/**
+	 * The default time in milliseconds that credentials are remembered.
+	 */
+	public static final long DEFAULT_CREDENTIAL_TTL = 5 * 60 * 1000;
+
+	/**
+	 * The default time in milliseconds that a bearer token is valid.
+	 */
+	public static final long DEFAULT_TOKEN_TTL = 60 * 60 * 1000;
+
+	/**
+	 * The default maximum number of credentials and of tokens that are
+	 * remembered.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	/**
+	 * The number of random bytes in the salt and in each token.
+	 */
+	private static final int RANDOM_BYTES = 32;
+
+	/**
+	 * An authenticated user.
+	 *
+	 * @author Jay Jay Billings
+	 *
+	 */
+	public static class Entry {
+
+		/**
+		 * The id of the user.
+		 */
+		private final String userId;
+
+		/**
+		 * The Subject created by the login.
+		 */
+		private final Subject subject;
+
+		/**
+		 * The time at which the entry expires, in milliseconds.
+		 */
+		private final long expiration;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param user
+		 *            The id of the user
+		 * @param loginSubject
+		 *            The Subject created by the login
+		 * @param expirationTime
+		 *            The time at which the entry expires
+		 */
+		private Entry(String user, Subject loginSubject, long expirationTime) {
+			userId = user;
+			subject = loginSubject;
+			expiration = expirationTime;
+		}
+
+		/**
+		 * This operation returns the id of the user.
+		 *
+		 * @return The user id
+		 */
+		public String getUserId() {
+			return userId;
+		}
+
+		/**
+		 * This operation returns the Subject created by the login.
+		 *
+		 * @return The Subject
+		 */
+		public Subject getSubject() {
+			return subject;
+		}
+	}
+
+	/**
+	 * The time in milliseconds that credentials are remembered.
+	 */
+	private final long credentialTtl;
+
+	/**
+	 * The time in milliseconds that a bearer token is valid.
+	 */
+	private final long tokenTtl;
+
+	/**
+	 * The authenticated users, keyed by the salted hash of their credentials,
+	 * in least recently used order.
+	 */
+	private final LinkedHashMap<String, Entry> credentials;
+
+	/**
+	 * The authenticated users, keyed by their bearer tokens.
+	 */
+	private final LinkedHashMap<String, Entry> tokens;
+
+	/**
+	 * The salt that is hashed with the credentials.
+	 */
+	private final byte[] salt = new byte[RANDOM_BYTES];
+
+	/**
+	 * The random number generator for the salt and the tokens.
+	 */
+	private final SecureRandom random = new SecureRandom();
+
+	/**
+	 * The number of lookups that found an authenticated user.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * The number of lookups that did not find an authenticated user.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * The constructor. It uses the default times and size.
+	 */
+	public AuthenticationCache() {
+		this(DEFAULT_CREDENTIAL_TTL, DEFAULT_TOKEN_TTL, DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param credentialLifetime
+	 *            The time in milliseconds that credentials are remembered
+	 * @param tokenLifetime
+	 *            The time in milliseconds that a bearer token is valid
+	 * @param maxEntries
+	 *            The maximum number of credentials and of tokens that are
+	 *            remembered
+	 */
+	public AuthenticationCache(long credentialLifetime, long tokenLifetime,
+			int maxEntries) {
+		if (credentialLifetime < 0 || tokenLifetime < 0 || maxEntries < 1) {
+			throw new IllegalArgumentException("AuthenticationCache Error: "
+					+ "Lifetimes must not be negative and the size must be "
+					+ "positive.");
+		}
+		credentialTtl = credentialLifetime;
+		tokenTtl = tokenLifetime;
+		credentials = createMap(maxEntries);
+		tokens = createMap(maxEntries);
+		random.nextBytes(salt);
+	}
+
+	/**
+	 * This operation creates a map that drops its least recently used entry
+	 * when it grows beyond a maximum size.
+	 *
+	 * @param maxEntries
+	 *            The maximum size
+	 * @return The map
+	 */
+	private static LinkedHashMap<String, Entry> createMap(
+			final int maxEntries) {
+		return new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * This operation returns the Subject of a user who was recently
+	 * authenticated with the same credentials.
+	 *
+	 * @param userId
+	 *            The user id
+	 * @param password
+	 *            The password
+	 * @return The Subject or null if the credentials are not in the cache or
+	 *         have expired
+	 */
+	public Subject getSubject(String userId, String password) {
+		Entry entry = lookup(credentials, hash(userId, password));
+		return (entry != null) ? entry.getSubject() : null;
+	}
+
+	/**
+	 * This operation remembers the Subject of a user who was authenticated.
+	 *
+	 * @param userId
+	 *            The user id
+	 * @param password
+	 *            The password
+	 * @param subject
+	 *            The Subject created by the login
+	 */
+	public void putSubject(String userId, String password, Subject subject) {
+		Entry entry = new Entry(userId, subject,
+				System.currentTimeMillis() + credentialTtl);
+		String key = hash(userId, password);
+		synchronized (credentials) {
+			credentials.put(key, entry);
+		}
+	}
+
+	/**
+	 * This operation issues a bearer token to a user who was authenticated.
+	 *
+	 * @param userId
+	 *            The user id
+	 * @param subject
+	 *            The Subject created by the login
+	 * @return The token
+	 */
+	public String issueToken(String userId, Subject subject) {
+		byte[] bytes = new byte[RANDOM_BYTES];
+		random.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(bytes);
+		Entry entry = new Entry(userId, subject,
+				System.currentTimeMillis() + tokenTtl);
+		synchronized (tokens) {
+			tokens.put(token, entry);
+		}
+		return token;
+	}
+
+	/**
+	 * This operation returns the user to whom a bearer token was issued.
+	 *
+	 * @param token
+	 *            The token
+	 * @return The user or null if the token is unknown or has expired
+	 */
+	public Entry getToken(String token) {
+		return (token != null) ? lookup(tokens, token) : null;
+	}
+
+	/**
+	 * This operation revokes a bearer token.
+	 *
+	 * @param token
+	 *            The token
+	 */
+	public void revokeToken(String token) {
+		synchronized (tokens) {
+			tokens.remove(token);
+		}
+	}
+
+	/**
+	 * This operation forgets all credentials and revokes all tokens.
+	 */
+	public void clear() {
+		synchronized (credentials) {
+			credentials.clear();
+		}
+		synchronized (tokens) {
+			tokens.clear();
+		}
+	}
+
+	/**
+	 * This operation looks up an entry and removes it if it has expired.
+	 *
+	 * @param map
+	 *            The map
+	 * @param key
+	 *            The key
+	 * @return The entry or null if it is missing or has expired
+	 */
+	private Entry lookup(Map<String, Entry> map, String key) {
+		Entry entry;
+		synchronized (map) {
+			entry = map.get(key);
+			if (entry != null
+					&& entry.expiration <= System.currentTimeMillis()) {
+				map.remove(key);
+				entry = null;
+			}
+		}
+		(entry != null ? hits : misses).incrementAndGet();
+		return entry;
+	}
+
+	/**
+	 * This operation computes the salted hash of a user's credentials.
+	 *
+	 * @param userId
+	 *            The user id
+	 * @param password
+	 *            The password
+	 * @return The hash, encoded as a string
+	 */
+	private String hash(String userId, String password) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(salt);
+			digest.update(userId.getBytes(StandardCharsets.UTF_8));
+			// The user id can't contain a colon, so this is unambiguous
+			digest.update((byte) ':');
+			digest.update(password.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * This operation returns the number of lookups that found an authenticated
+	 * user.
+	 *
+	 * @return The number of hits
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * This operation returns the number of lookups that did not find an
+	 * authenticated user.
+	 *
+	 * @return The number of misses
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * This operation returns the fraction of lookups that found an
+	 * authenticated user.
+	 *
+	 * @return The hit rate between 0 and 1
+	 */
+	public double getHitRate() {
+		long hitCount = hits.get();
+		long total = hitCount + misses.get();
+		return (total > 0) ? (double) hitCount / total : 0.0;
+	}
+
+	/**
+	 * This operation returns the number of remembered credentials.
+	 *
+	 * @return The number of credentials, including any that have expired but
+	 *         were not looked up since
+	 */
+	public int size() {
+		synchronized (credentials) {
+			return credentials.size();
+		}
+	}
+
+}
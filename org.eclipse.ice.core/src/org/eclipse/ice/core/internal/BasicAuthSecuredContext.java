@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.StringTokenizer;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.security.auth.Subject;
 import javax.security.auth.callback.Callback;
@@ -26,7 +27,6 @@ import javax.security.auth.callback.UnsupportedCallbackException;
 import javax.security.auth.login.LoginException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.servlet.http.HttpSession;
 
 import org.apache.commons.codec.binary.Base64;
 import org.eclipse.equinox.security.auth.ILoginContext;
@@ -39,6 +39,15 @@ import org.slf4j.LoggerFactory;
  * This class implements the HttpContext interface and provides basic
  * authentication for single users to the ICE Core server.
  * 
+ * Successful logins are remembered in an {@link AuthenticationCache}, so the
+ * JAAS login is only performed the first time a user presents a set of
+ * credentials and again after the cache entry expires. This works for clients
+ * that do not keep cookies, since the cache does not rely on the HTTP session.
+ * 
+ * If tokens are enabled, a client may POST to /token with its Basic
+ * credentials to receive a bearer token, which it can then present in an
+ * "Authorization: Bearer" header instead of its credentials.
+ * 
  * This class is based on and largely taken from the code in OSGi and Equinox:
  * Creating Highly Modular Java Systems.
  * 
@@ -70,6 +79,31 @@ public class BasicAuthSecuredContext implements HttpContext {
 	 */
 	private String realm;
 
+	/**
+	 * The path, relative to the servlet, where bearer tokens are issued.
+	 */
+	public static final String TOKEN_PATH = "/token";
+
+	/**
+	 * The users who were recently authenticated.
+	 */
+	private final AuthenticationCache cache;
+
+	/**
+	 * True if bearer tokens are issued and accepted.
+	 */
+	private volatile boolean tokensEnabled = false;
+
+	/**
+	 * The number of JAAS logins that were performed.
+	 */
+	private final AtomicLong loginCount = new AtomicLong();
+
+	/**
+	 * The total time spent in JAAS logins, in nanoseconds.
+	 */
+	private final AtomicLong loginTime = new AtomicLong();
+
 	/**
 	 * The constructor
 	 * 
@@ -84,12 +118,32 @@ public class BasicAuthSecuredContext implements HttpContext {
 	 */
 	public BasicAuthSecuredContext(URL resourceBase, URL configFile,
 			String realm) {
+		this(resourceBase, configFile, realm, new AuthenticationCache());
+	}
+
+	/**
+	 * The constructor
+	 * 
+	 * @param resourceBase
+	 *            A URL to the resource directory where files and data are
+	 *            stored for the plugin.
+	 * @param configFile
+	 *            A URL to the JAAS configuration file where the identity of the
+	 *            login module is provided.
+	 * @param realm
+	 *            The HTTP realm used in authentication.
+	 * @param authCache
+	 *            The cache of recently authenticated users.
+	 */
+	public BasicAuthSecuredContext(URL resourceBase, URL configFile,
+			String realm, AuthenticationCache authCache) {
 
 		// Set the resource base location, the location of the configuration
 		// file and the HTTP realm.
 		this.resourceBase = resourceBase;
 		this.configFile = configFile;
 		this.realm = realm;
+		cache = authCache;
 
 		// Print some diagnostic information.
 		logger.info("ICore Message: Resource URL = " + resourceBase.getPath());
@@ -165,9 +219,27 @@ public class BasicAuthSecuredContext implements HttpContext {
 		if (auth == null) {
 			return failAuthorization(request, response);
 		}
-		// Determine the authentication schemed
+		// Determine the authentication scheme. Fail if there are no
+		// credentials.
 		StringTokenizer tokens = new StringTokenizer(auth);
-		String authscheme = tokens.nextToken();
+		String authscheme = tokens.hasMoreTokens() ? tokens.nextToken() : null;
+		if (!tokens.hasMoreTokens()) {
+			return failAuthorization(request, response);
+		}
+
+		// Accept bearer tokens if they are enabled
+		if (tokensEnabled && "Bearer".equals(authscheme)) {
+			AuthenticationCache.Entry entry = cache.getToken(tokens
+					.nextToken());
+			if (entry == null) {
+				return failAuthorization(request, response);
+			}
+			request.setAttribute(HttpContext.REMOTE_USER, entry.getUserId());
+			request.setAttribute(HttpContext.AUTHENTICATION_TYPE, authscheme);
+			request.setAttribute(HttpContext.AUTHORIZATION,
+					entry.getSubject());
+			return true;
+		}
 
 		// Fail if HTTP Basic authentication is not used
 		if (!("Basic".equals(authscheme))) {
@@ -182,18 +254,32 @@ public class BasicAuthSecuredContext implements HttpContext {
 		// The userid is on the left side of the colon and the password on the
 		// right
 		int colon = credentials.indexOf(':');
+		if (colon < 0) {
+			return failAuthorization(request, response);
+		}
 		String userid = credentials.substring(0, colon);
 		String password = credentials.substring(colon + 1);
 
 		// Try to log in with the credentials
 		Subject subject = null;
 		try {
-			subject = login(request, userid, password);
+			subject = login(userid, password);
 		} catch (LoginException e) {
 			logger.error(getClass().getName() + " Exception!",e);
 			return failAuthorization(request, response);
 		}
 
+		// Issue a token if one was requested. The request is answered here,
+		// so it does not go on to the servlet.
+		if (tokensEnabled && "POST".equals(request.getMethod())
+				&& TOKEN_PATH.equals(request.getPathInfo())) {
+			response.setContentType("text/plain");
+			response.setHeader("Cache-Control", "no-store");
+			response.getWriter().write(cache.issueToken(userid, subject));
+			response.flushBuffer();
+			return false;
+		}
+
 		// Set the attributes on the HTTP request
 		request.setAttribute(HttpContext.REMOTE_USER, userid);
 		request.setAttribute(HttpContext.AUTHENTICATION_TYPE, authscheme);
@@ -203,36 +289,32 @@ public class BasicAuthSecuredContext implements HttpContext {
 	}
 
 	/**
-	 * This operation checks the credentials.
+	 * This operation checks the credentials. Credentials that were recently
+	 * accepted are found in the cache. Others are checked with a JAAS login
+	 * and added to the cache if they are accepted.
 	 * 
-	 * @param request
-	 *            The HTTP request
 	 * @param userid
 	 *            The userid
 	 * @param password
 	 *            The password
-	 * @return A Login Subject or null if authentication failed
+	 * @return A Login Subject
 	 * @throws LoginException
+	 *             if authentication failed
 	 */
-	private Subject login(HttpServletRequest request, final String userid,
-			final String password) throws LoginException {
+	private Subject login(final String userid, final String password)
+			throws LoginException {
 
-		// Make sure the session is valid
-		HttpSession session = request.getSession(false);
-		if (session == null) {
-			return null;
-		}
-		// Get the LoginContext that is configured for authentication
-		ILoginContext context = (ILoginContext) session
-				.getAttribute("securitycontext");
-		if (context != null) {
-			return context.getSubject();
+		// Use the cached Subject if the credentials were accepted recently
+		Subject result = cache.getSubject(userid, password);
+		if (result != null) {
+			return result;
 		}
-		// Create a login context if one does not exist. The Login context must
-		// be available as a plugin to the Equinox Extension Registry and
-		// provide an implementation of LoginModule.
-		context = LoginContextFactory.createContext("SimpleConfig", configFile,
-				new CallbackHandler() {
+
+		// Create a login context. The Login context must be available as a
+		// plugin to the Equinox Extension Registry and provide an
+		// implementation of LoginModule.
+		ILoginContext context = LoginContextFactory.createContext(
+				"SimpleConfig", configFile, new CallbackHandler() {
 					// Provide a callback handler to check the user name and
 					// password
 					@Override
@@ -251,10 +333,62 @@ public class BasicAuthSecuredContext implements HttpContext {
 						}
 					}
 				});
-		// Try the login and set the context on the session if it works
-		Subject result = context.getSubject();
-		session.setAttribute("securitycontext", context);
+		// Try the login and remember the Subject if it works
+		long start = System.nanoTime();
+		try {
+			result = context.getSubject();
+		} finally {
+			long elapsed = System.nanoTime() - start;
+			loginCount.incrementAndGet();
+			loginTime.addAndGet(elapsed);
+			logger.debug("BasicAuthSecuredContext Message: JAAS login for "
+					+ userid + " took " + (elapsed / 1000000) + " ms.");
+		}
+		if (result == null) {
+			throw new LoginException("Login failed");
+		}
+		cache.putSubject(userid, password, result);
 
 		return result;
 	}
+
+	/**
+	 * This operation enables or disables bearer tokens. Tokens are disabled by
+	 * default.
+	 * 
+	 * @param enabled
+	 *            True if tokens should be issued and accepted
+	 */
+	public void setTokensEnabled(boolean enabled) {
+		tokensEnabled = enabled;
+	}
+
+	/**
+	 * This operation returns the cache of recently authenticated users, which
+	 * provides the cache hit rate.
+	 * 
+	 * @return The cache
+	 */
+	public AuthenticationCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * This operation returns the number of JAAS logins that were performed.
+	 * 
+	 * @return The number of logins
+	 */
+	public long getLoginCount() {
+		return loginCount.get();
+	}
+
+	/**
+	 * This operation returns the average time of a JAAS login.
+	 * 
+	 * @return The average time in milliseconds or 0 if there were no logins
+	 */
+	public double getAverageLoginTime() {
+		long count = loginCount.get();
+		return (count > 0) ? loginTime.get() / (count * 1.0e6) : 0.0;
+	}
 }
@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ice.core.iCore.BatchOperation;
+import org.eclipse.ice.core.iCore.BatchRequest;
+import org.eclipse.ice.core.iCore.BatchResponse;
+import org.eclipse.ice.core.iCore.BatchResult;
+import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
+import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class performs the operations of a {@link BatchRequest} on an
+ * {@link ICore}.
+ *
+ * The operations are performed in two phases. First, all of the CREATE
+ * operations are performed in order on the calling thread, because creating
+ * Items assigns their ids. Second, the remaining operations are grouped by the
+ * Item on which they operate and the groups are performed concurrently by a
+ * limited number of workers on the shared {@link Workload#COMPUTE} pool of
+ * {@link ICEExecutors}. The operations in a group are performed in the order
+ * they appear in the batch, so the operations on any one Item are never
+ * reordered.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class BatchProcessor {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(BatchProcessor.class);
+
+	/**
+	 * The maximum number of operations accepted in one batch.
+	 */
+	public static final int MAX_OPERATIONS = 1000;
+
+	/**
+	 * The default number of workers per batch.
+	 */
+	public static final int DEFAULT_WORKERS = Math.max(2,
+			Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The Core that performs the operations.
+	 */
+	private final ICore core;
+
+	/**
+	 * The maximum number of workers that perform the groups of a batch.
+	 */
+	private final int maxWorkers;
+
+	/**
+	 * The constructor. It uses the default number of workers.
+	 *
+	 * @param target
+	 *            The Core that performs the operations
+	 */
+	public BatchProcessor(ICore target) {
+		this(target, DEFAULT_WORKERS);
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param target
+	 *            The Core that performs the operations
+	 * @param workerCount
+	 *            The maximum number of groups of a batch that are performed
+	 *            at the same time
+	 */
+	public BatchProcessor(ICore target, int workerCount) {
+		if (target == null || workerCount < 1) {
+			throw new IllegalArgumentException("BatchProcessor Error: "
+					+ "A Core and a positive worker count are required.");
+		}
+		core = target;
+		maxWorkers = workerCount;
+	}
+
+	/**
+	 * This operation performs the operations in a batch.
+	 *
+	 * @param request
+	 *            The batch
+	 * @return The results, in the order of the operations
+	 * @throws IllegalArgumentException
+	 *             if the batch has more than {@link #MAX_OPERATIONS}
+	 *             operations
+	 */
+	public BatchResponse process(BatchRequest request) {
+
+		// Local Declarations
+		BatchResponse response = new BatchResponse();
+		List<BatchOperation> operations = (request != null)
+				? request.getOperations() : new ArrayList<BatchOperation>();
+		int size = operations.size();
+		if (size > MAX_OPERATIONS) {
+			throw new IllegalArgumentException("BatchProcessor Error: "
+					+ "Batches are limited to " + MAX_OPERATIONS
+					+ " operations, but " + size + " were submitted.");
+		}
+		BatchResult[] results = new BatchResult[size];
+		int[] createdIds = new int[size];
+		Arrays.fill(createdIds, -1);
+
+		// Create the Items first, in order
+		for (int i = 0; i < size; i++) {
+			BatchOperation operation = operations.get(i);
+			if (operation != null
+					&& operation.getType() == BatchOperation.Type.CREATE) {
+				results[i] = perform(i, operation, -1);
+				createdIds[i] = results[i].getItemId();
+			}
+		}
+
+		// Group the other operations by Item, keeping their order
+		Map<Integer, List<Integer>> groups = new LinkedHashMap<Integer, List<Integer>>();
+		final int[] itemIds = new int[size];
+		for (int i = 0; i < size; i++) {
+			BatchOperation operation = operations.get(i);
+			if (results[i] != null) {
+				continue;
+			} else if (operation == null || operation.getType() == null) {
+				results[i] = fail(i, -1, "Missing operation type.");
+				continue;
+			}
+			// Find the Item
+			int ref = operation.getItemRef();
+			if (ref >= 0) {
+				if (ref >= i || createdIds[ref] <= 0) {
+					results[i] = fail(i, -1, "Item reference " + ref
+							+ " is not a successful earlier CREATE.");
+					continue;
+				}
+				itemIds[i] = createdIds[ref];
+			} else if (operation.getType() == BatchOperation.Type.UPDATE
+					&& operation.getItemId() < 0
+					&& operation.getForm() != null) {
+				itemIds[i] = operation.getForm().getItemID();
+			} else {
+				itemIds[i] = operation.getItemId();
+			}
+			List<Integer> group = groups.get(itemIds[i]);
+			if (group == null) {
+				group = new ArrayList<Integer>();
+				groups.put(itemIds[i], group);
+			}
+			group.add(i);
+		}
+
+		// Perform the groups concurrently. Each worker takes the next group
+		// that nobody has taken until there are none left. A single group
+		// does not need another thread.
+		final List<List<Integer>> groupList = new ArrayList<List<Integer>>(
+				groups.values());
+		if (groupList.size() == 1) {
+			for (int i : groupList.get(0)) {
+				results[i] = perform(i, operations.get(i), itemIds[i]);
+			}
+		} else if (!groupList.isEmpty()) {
+			final AtomicInteger nextGroup = new AtomicInteger();
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			int workerCount = Math.min(maxWorkers, groupList.size());
+			for (int w = 0; w < workerCount; w++) {
+				futures.add(ICEExecutors.submit(Workload.COMPUTE, () -> {
+					int g;
+					while ((g = nextGroup.getAndIncrement()) < groupList
+							.size()) {
+						for (int i : groupList.get(g)) {
+							results[i] = perform(i, operations.get(i),
+									itemIds[i]);
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+					Thread.currentThread().interrupt();
+					break;
+				} catch (ExecutionException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				}
+			}
+		}
+
+		// Collect the results. Anything left over was not performed.
+		for (int i = 0; i < size; i++) {
+			response.getResults().add((results[i] != null) ? results[i]
+					: fail(i, itemIds[i], "The operation was not performed."));
+		}
+
+		return response;
+	}
+
+	/**
+	 * This operation performs a single operation.
+	 *
+	 * @param index
+	 *            The index of the operation in the batch
+	 * @param operation
+	 *            The operation
+	 * @param itemId
+	 *            The id of the Item on which to operate, which is ignored for
+	 *            CREATE operations
+	 * @return The result
+	 */
+	private BatchResult perform(int index, BatchOperation operation,
+			int itemId) {
+
+		// Local Declarations
+		BatchResult result = new BatchResult(index);
+		result.setItemId(itemId);
+
+		try {
+			switch (operation.getType()) {
+			case CREATE:
+				int newId = Integer
+						.parseInt(core.createItem(operation.getItemType()));
+				result.setItemId(newId);
+				result.setSuccess(newId > 0);
+				if (newId <= 0) {
+					result.setMessage("Unable to create Item of type "
+							+ operation.getItemType() + ".");
+				}
+				break;
+			case UPDATE:
+				Form form = operation.getForm();
+				if (form == null) {
+					return fail(index, itemId, "UPDATE requires a Form.");
+				}
+				form.setItemID(itemId);
+				setStatus(result,
+						core.updateItem(form, operation.getClientId()));
+				break;
+			case PROCESS:
+				setStatus(result, core.processItem(itemId,
+						operation.getActionName(), operation.getClientId()));
+				break;
+			case STATUS:
+				setStatus(result, core.getItemStatus(itemId));
+				break;
+			}
+		} catch (RuntimeException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			result.setSuccess(false);
+			result.setMessage(e.getClass().getSimpleName() + ": "
+					+ e.getMessage());
+		}
+
+		return result;
+	}
+
+	/**
+	 * This operation sets the status of a result and marks it successful
+	 * unless the status is InfoError or Unacceptable.
+	 *
+	 * @param result
+	 *            The result
+	 * @param status
+	 *            The status of the Item
+	 */
+	private void setStatus(BatchResult result, FormStatus status) {
+		result.setStatus(status);
+		result.setSuccess(status != null && status != FormStatus.InfoError
+				&& status != FormStatus.Unacceptable);
+		if (!result.isSuccess()) {
+			result.setMessage("Item " + result.getItemId() + " returned "
+					+ status + ".");
+		}
+	}
+
+	/**
+	 * This operation creates the result of a failed operation.
+	 *
+	 * @param index
+	 *            The index of the operation in the batch
+	 * @param itemId
+	 *            The id of the Item or -1
+	 * @param message
+	 *            The reason for the failure
+	 * @return The result
+	 */
+	private BatchResult fail(int index, int itemId, String message) {
+		BatchResult result = new BatchResult(index);
+		result.setItemId(itemId);
+		result.setSuccess(false);
+		result.setMessage(message);
+		return result;
+	}
+
+}
@@ -17,17 +17,25 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.inject.Inject;
 import javax.servlet.ServletException;
 import javax.ws.rs.ApplicationPath;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Application;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -42,16 +50,20 @@ import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.ice.core.iCore.BatchRequest;
+import org.eclipse.ice.core.iCore.BatchResponse;
 import org.eclipse.ice.core.iCore.ICore;
 import org.eclipse.ice.core.internal.itemmanager.ItemManager;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.FormDelta;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.io.serializable.IIOService;
 import org.eclipse.ice.item.ICompositeItemBuilder;
 import org.eclipse.ice.item.ItemBuilder;
 import org.eclipse.ice.item.SerializedItemBuilder;
+import org.eclipse.ice.item.WorkspaceRefresher;
 import org.eclipse.ice.item.messaging.Message;
 import org.eclipse.ice.item.model.AbstractModelBuilder;
 import org.eclipse.ice.item.persistence.IPersistenceProvider;
@@ -61,14 +73,12 @@ import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceReference;
 import org.osgi.framework.ServiceRegistration;
-import org.osgi.service.http.HttpContext;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -146,10 +156,40 @@ public class Core extends Application implements ICore, BundleActivator {
 	private IPersistenceProvider provider;
 
 	/**
-	 * An AtomicBoolean to lock and unlock the update operation with hardware.
-	 * True if locked, false if not.
+	 * The HTTP status code returned when an update is rejected because the
+	 * Item's queue is full (Too Many Requests).
 	 */
-	private AtomicBoolean updateLock;
+	public static final int UPDATE_REJECTED_STATUS = 429;
+
+	/**
+	 * The JSON parser used for update messages. It is stateless and shared.
+	 */
+	private static final JsonParser jsonParser = new JsonParser();
+
+	/**
+	 * The Gson instance used to read update messages. It is thread safe and
+	 * shared.
+	 */
+	private static final Gson gson = new Gson();
+
+	/**
+	 * The dispatcher that delivers update messages to the Items on worker
+	 * threads so that postUpdateMessage() never blocks on an Item.
+	 */
+	private UpdateDispatcher updateDispatcher;
+
+	/**
+	 * The processor that performs batched operations.
+	 */
+	private BatchProcessor batchProcessor;
+
+	/**
+	 * A value that is unique to this instance of the Core. It is part of the
+	 * ETags of the Forms, with the instance tags of the Forms, so that ETags
+	 * from before a restart, when the revisions started over, are never
+	 * matched.
+	 */
+	private final String formTagEpoch = Long.toString(System.currentTimeMillis(), 36);
 
 	/**
 	 * This is the service registration used to register the Core as a service
@@ -175,8 +215,11 @@ public class Core extends Application implements ICore, BundleActivator {
 			throw new RuntimeException("ICore Message: Unable to load workspace!");
 		}
 
-		// Set the update lock
-		updateLock = new AtomicBoolean(false);
+		// Create the update dispatcher
+		updateDispatcher = new UpdateDispatcher(itemManager::postUpdateMessage);
+
+		// Create the batch processor
+		batchProcessor = new BatchProcessor(this);
 
 		return;
 	}
@@ -196,8 +239,11 @@ public class Core extends Application implements ICore, BundleActivator {
 			throw new RuntimeException("ICore Message: Unable to load workspace!");
 		}
 
-		// Set the update lock
-		updateLock = new AtomicBoolean(false);
+		// Create the update dispatcher
+		updateDispatcher = new UpdateDispatcher(itemManager::postUpdateMessage);
+
+		// Create the batch processor
+		batchProcessor = new BatchProcessor(this);
 
 		return;
 	}
@@ -298,6 +344,9 @@ public class Core extends Application implements ICore, BundleActivator {
 			bundleContext.ungetService(matDBServiceRef);
 		}
 
+		// Deliver the pending updates
+		updateDispatcher.shutdown();
+
 		// Unregister this service from the framework
 		registration.unregister();
 	}
@@ -448,6 +497,52 @@ public class Core extends Application implements ICore, BundleActivator {
 		return itemManager.retrieveItem(itemId);
 	}
 
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#getItem(int, String, Request)
+	 */
+	@Override
+	public Response getItem(int itemId, String since, Request request) {
+
+		// Get the Form
+		Form form = getItem(itemId);
+		if (form == null) {
+			return Response.status(Response.Status.NOT_FOUND).build();
+		}
+
+		// Read the revision once so the tag never claims more than was sent.
+		// The instance tag of the Form keeps the tags of a Form that replaced
+		// another one, for example after the input was reloaded or the Item
+		// switched to the Form of an Action, from matching the old ones.
+		String tagPrefix = formTagEpoch + "-" + form.getInstanceTag() + "-";
+		long revision = form.getRevision();
+		EntityTag tag = new EntityTag(tagPrefix + revision);
+
+		// Answer with 304 if the client is up to date
+		if (request != null) {
+			ResponseBuilder notModified = request.evaluatePreconditions(tag);
+			if (notModified != null) {
+				return notModified.tag(tag).build();
+			}
+		}
+
+		// Send a delta if the client has a copy of this Form
+		if (since != null && since.startsWith(tagPrefix)) {
+			try {
+				long baseRevision = Long.parseLong(since.substring(tagPrefix.length()));
+				FormDelta delta = form.createDelta(baseRevision);
+				if (delta != null) {
+					return Response.ok(delta).tag(tag).header(DELTA_HEADER, "true").build();
+				}
+			} catch (NumberFormatException e) {
+				logger.info("Core Message: Ignoring bad revision " + since + " for Item " + itemId + ".");
+			}
+		}
+
+		return Response.ok(form).tag(tag).build();
+	}
+
 	/**
 	 * (non-Javadoc)
 	 *
@@ -529,6 +624,46 @@ public class Core extends Application implements ICore, BundleActivator {
 		return itemManager.getOutputFile(id);
 	}
 
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#getItemOutput(int, long)
+	 */
+	@Override
+	public Response getItemOutput(int itemId, long offset) {
+
+		// Get the output file
+		File outputFile = getItemOutputFile(itemId);
+		if (outputFile == null || !outputFile.isFile()) {
+			return Response.status(Response.Status.NOT_FOUND).build();
+		}
+
+		// Read the bytes after the offset with a positional read so that any
+		// number of clients can follow the file at their own pace
+		try (FileChannel channel = FileChannel.open(outputFile.toPath(),
+				StandardOpenOption.READ)) {
+			long available = channel.size() - Math.max(offset, 0);
+			if (available <= 0) {
+				return Response.noContent().build();
+			}
+			ByteBuffer buffer = ByteBuffer
+					.allocate((int) Math.min(available, OUTPUT_CHUNK_SIZE));
+			long position = Math.max(offset, 0);
+			while (buffer.hasRemaining()) {
+				int count = channel.read(buffer, position);
+				if (count <= 0) {
+					break;
+				}
+				position += count;
+			}
+			byte[] bytes = Arrays.copyOf(buffer.array(), buffer.position());
+			return Response.ok(bytes).build();
+		} catch (IOException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return Response.serverError().build();
+		}
+	}
+
 	/**
 	 * (non-Javadoc)
 	 *
@@ -660,6 +795,11 @@ public class Core extends Application implements ICore, BundleActivator {
 
 				// Set the parameters
 				servletParams.put("javax.ws.rs.Application", Core.class.getName());
+				// Compress responses for clients that accept gzip
+				servletParams.put("com.sun.jersey.spi.container.ContainerRequestFilters",
+						"com.sun.jersey.api.container.filter.GZIPContentEncodingFilter");
+				servletParams.put("com.sun.jersey.spi.container.ContainerResponseFilters",
+						"com.sun.jersey.api.container.filter.GZIPContentEncodingFilter");
 
 				// Register the service
 				try {
@@ -678,8 +818,10 @@ public class Core extends Application implements ICore, BundleActivator {
 					// Resolve the URLs to be absolute
 					resourceURL = FileLocator.resolve(resourceURL);
 					configFileURL = FileLocator.resolve(configFileURL);
-					HttpContext httpContext = new BasicAuthSecuredContext(resourceURL, configFileURL,
+					BasicAuthSecuredContext httpContext = new BasicAuthSecuredContext(resourceURL, configFileURL,
 							"ICE Core Server Configuration");
+					// Issue bearer tokens if they were requested
+					httpContext.setTokensEnabled(System.getProperty("ICEAuthTokens") != null);
 					httpService.registerServlet("/ice", new ServletContainer(this), servletParams, httpContext);
 				} catch (ServletException | NamespaceException | IOException e) {
 					logger.error(getClass().getName() + " Exception!", e);
@@ -752,8 +894,12 @@ public class Core extends Application implements ICore, BundleActivator {
 			if (project.exists() && !project.isOpen()) {
 				project.open(null);
 				// Always refresh the project too in case users manipulated the
-				// files.
-				project.refreshLocal(IResource.DEPTH_INFINITE, null);
+				// files. The job profiles are loaded right away, so they are
+				// refreshed now and the rest of the project in the background.
+				WorkspaceRefresher refresher = WorkspaceRefresher.getInstance();
+				refresher.refresh(project.getFolder("jobProfiles"),
+						IResource.DEPTH_ONE);
+				refresher.requestRefresh(project, IResource.DEPTH_INFINITE);
 			}
 			// Add the project to the master table
 			projectTable.put("defaultUser", project);
@@ -833,16 +979,11 @@ public class Core extends Application implements ICore, BundleActivator {
 		// Create the ArrayList of messages
 		ArrayList<Message> messages = new ArrayList<Message>();
 
-		// Create the parser and gson utility
-		JsonParser parser = new JsonParser();
-		GsonBuilder builder = new GsonBuilder();
-		Gson gson = builder.create();
-
 		// Catch any exceptions and return the empty list
 		try {
 
 			// Make the string a json string
-			JsonElement messageJson = parser.parse(messageString);
+			JsonElement messageJson = jsonParser.parse(messageString);
 			JsonObject messageJsonObject = messageJson.getAsJsonObject();
 
 			// Get the Item id from the json
@@ -883,39 +1024,64 @@ public class Core extends Application implements ICore, BundleActivator {
 	@Override
 	public String postUpdateMessage(String message) {
 
-		// Lock the operation
-		updateLock.set(true);
-
 		// Local Declarations
 		String retVal = null;
 
-		// Print the message if debugging is enabled
-		// if (debuggingEnabled) {
-		logger.info("Core Message: " + "Update received with message: " + message);
-		// }
+		// Only log the full message when debugging
+		if (logger.isDebugEnabled()) {
+			logger.debug("Core Message: " + "Update received with message: " + message);
+		}
 
 		// Only process the message if it exists and is not empty
-		if (message != null && !message.isEmpty() && message.contains("=")) {
-			// Split the message on "=" since it is
-			// application/x-www-form-encoded
-			String[] messageParts = message.split("=");
-			if (messageParts.length > 1) {
-				// Get the message object.
-				ArrayList<Message> msgList = buildMessagesFromString(messageParts[1]);
-				// Post the messages if there are any. Fail otherwise.
-				if (!msgList.isEmpty()) {
-					for (int i = 0; i < msgList.size(); i++) {
-						Message msg = msgList.get(i);
-						itemManager.postUpdateMessage(msg);
-					}
-					// Set the return value
-					retVal = "OK";
+		int separator = (message != null) ? message.indexOf('=') : -1;
+		if (separator >= 0 && separator < message.length() - 1) {
+			// The message is application/x-www-form-encoded, so the content
+			// is everything after the first "="
+			ArrayList<Message> msgList = buildMessagesFromString(message.substring(separator + 1));
+			// Queue the messages if there are any. Fail otherwise.
+			if (!msgList.isEmpty()) {
+				// All messages in a post are for the same Item
+				int itemId = msgList.get(0).getItemId();
+				if (!updateDispatcher.post(itemId, msgList)) {
+					// Tell the client to back off
+					throw new WebApplicationException(Response.status(UPDATE_REJECTED_STATUS)
+							.entity("Update queue full for Item " + itemId).type("text/plain").build());
 				}
+				// Set the return value
+				retVal = "OK";
 			}
 		}
 
-		// Unlock the operation and return safely
-		return (updateLock.getAndSet(false)) ? retVal : null;
+		return retVal;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#processBatch(BatchRequest)
+	 */
+	@Override
+	public BatchResponse processBatch(BatchRequest request) {
+
+		// Reject batches that are too large to handle in one request
+		if (request != null && request.getOperations().size() > BatchProcessor.MAX_OPERATIONS) {
+			throw new WebApplicationException(Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+					.entity("Batches are limited to " + BatchProcessor.MAX_OPERATIONS + " operations")
+					.type("text/plain").build());
+		}
+
+		return batchProcessor.process(request);
+	}
+
+	/**
+	 * This operation returns the dispatcher that delivers update messages to
+	 * the Items. It provides the message rates and can be used to wait for
+	 * the pending updates to be delivered.
+	 *
+	 * @return The update dispatcher
+	 */
+	public UpdateDispatcher getUpdateDispatcher() {
+		return updateDispatcher;
 	}
 
 	/**
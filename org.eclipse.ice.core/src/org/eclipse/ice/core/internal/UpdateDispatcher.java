@@ -0,0 +1,618 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
+import org.eclipse.ice.item.messaging.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class delivers the update Messages posted to the Core to their Items
+ * without blocking the thread that posted them. Each Item has a bounded queue
+ * of Messages. Posting appends the Messages to the queue and returns
+ * immediately, or rejects all of them if the queue does not have room, which
+ * the Core reports to the client as HTTP 429 (Too Many Requests).
+ *
+ * The queues are drained by a limited number of workers that run on the
+ * shared {@link Workload#COMPUTE} pool of {@link ICEExecutors}. At most one
+ * worker drains the queue of a given Item at a time, so every Item receives
+ * its Messages in the order they were posted, while different Items are
+ * updated in parallel. A worker that has delivered {@link #BATCH_SIZE}
+ * Messages to one Item puts the rest of that queue at the back of the line so
+ * that a busy Item cannot starve the others. The queue of an Item is dropped
+ * when it is empty and created again by the next post.
+ *
+ * The numbers of accepted, dropped, processed and failed Messages are
+ * counted and their rates since the last reset are available for monitoring.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class UpdateDispatcher {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(UpdateDispatcher.class);
+
+	/**
+	 * The default maximum number of queued Messages per Item.
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+	/**
+	 * The default number of workers.
+	 */
+	public static final int DEFAULT_WORKERS = Math.max(2,
+			Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The maximum number of Messages a worker delivers to one Item before it
+	 * lets the other Items have a turn.
+	 */
+	public static final int BATCH_SIZE = 64;
+
+	/**
+	 * The handler that delivers a Message to its Item. It returns false if
+	 * the Message could not be delivered.
+	 */
+	private final Predicate<Message> handler;
+
+	/**
+	 * The maximum number of queued Messages per Item.
+	 */
+	private final int queueCapacity;
+
+	/**
+	 * The maximum number of workers that drain queues at the same time.
+	 */
+	private final int maxWorkers;
+
+	/**
+	 * The queues that hold Messages, keyed by Item id. Empty queues are
+	 * removed.
+	 */
+	private final ConcurrentHashMap<Integer, ItemQueue> queues = new ConcurrentHashMap<Integer, ItemQueue>();
+
+	/**
+	 * The queues that are waiting for a worker, in the order they became
+	 * ready.
+	 */
+	private final ConcurrentLinkedQueue<ItemQueue> ready = new ConcurrentLinkedQueue<ItemQueue>();
+
+	/**
+	 * The number of workers that are running.
+	 */
+	private final AtomicInteger activeWorkers = new AtomicInteger();
+
+	/**
+	 * True once the dispatcher was shut down.
+	 */
+	private volatile boolean shutdown = false;
+
+	/**
+	 * The number of Messages that have been queued but not delivered yet.
+	 */
+	private final AtomicLong outstanding = new AtomicLong();
+
+	/**
+	 * The number of accepted Messages.
+	 */
+	private final AtomicLong accepted = new AtomicLong();
+
+	/**
+	 * The number of Messages that were rejected because a queue was full or
+	 * no worker could be started.
+	 */
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * The number of Messages that were delivered.
+	 */
+	private final AtomicLong processed = new AtomicLong();
+
+	/**
+	 * The number of delivered Messages that the Item did not accept or that
+	 * threw an exception.
+	 */
+	private final AtomicLong failed = new AtomicLong();
+
+	/**
+	 * The time at which the counters were last reset, in nanoseconds.
+	 */
+	private volatile long resetTime = System.nanoTime();
+
+	/**
+	 * The results of offering Messages to the queue of an Item.
+	 */
+	private enum Offer {
+		/**
+		 * The Messages were queued.
+		 */
+		QUEUED,
+		/**
+		 * The Messages were rejected.
+		 */
+		REJECTED,
+		/**
+		 * The queue was removed and a new one must be used.
+		 */
+		RETIRED
+	}
+
+	/**
+	 * The queue of Messages for a single Item.
+	 *
+	 * @author Jay Jay Billings
+	 *
+	 */
+	private class ItemQueue {
+
+		/**
+		 * The id of the Item.
+		 */
+		private final int itemId;
+
+		/**
+		 * The Messages, in the order they were posted. It is also the lock for
+		 * the queue.
+		 */
+		private final ArrayDeque<Message> messages = new ArrayDeque<Message>();
+
+		/**
+		 * True if the queue is waiting for or being drained by a worker.
+		 */
+		private boolean scheduled = false;
+
+		/**
+		 * True if the queue was removed from the map of queues. Nothing can be
+		 * added to it afterward.
+		 */
+		private boolean retired = false;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param id
+		 *            The id of the Item
+		 */
+		private ItemQueue(int id) {
+			itemId = id;
+		}
+
+		/**
+		 * This operation adds all of the Messages to the queue if there is
+		 * room for them and makes sure that a worker will drain it.
+		 *
+		 * @param batch
+		 *            The Messages
+		 * @return The result of the offer
+		 */
+		private Offer offer(List<Message> batch) {
+			boolean submit = false;
+			synchronized (messages) {
+				if (retired) {
+					return Offer.RETIRED;
+				} else if (messages.size() + batch.size() > queueCapacity) {
+					return Offer.REJECTED;
+				}
+				messages.addAll(batch);
+				outstanding.addAndGet(batch.size());
+				if (!scheduled) {
+					scheduled = true;
+					submit = true;
+				}
+			}
+			if (submit) {
+				ready.add(this);
+				try {
+					startWorker();
+				} catch (RejectedExecutionException e) {
+					// Take the Messages back unless a running worker already
+					// picked the queue up. They are at the front, since the
+					// queue was empty when it was not scheduled. Messages
+					// that were added by other posts in the meantime wait for
+					// the next worker.
+					if (ready.remove(this)) {
+						synchronized (messages) {
+							for (int i = 0; i < batch.size(); i++) {
+								messages.pollFirst();
+							}
+							scheduled = !messages.isEmpty();
+							if (scheduled) {
+								ready.add(this);
+							}
+						}
+						release(batch.size());
+						logger.error(getClass().getName() + " Exception!", e);
+						return Offer.REJECTED;
+					}
+				}
+			}
+			return Offer.QUEUED;
+		}
+
+		/**
+		 * This operation delivers up to BATCH_SIZE Messages. The queue is put
+		 * back in line if more are waiting and retired if it is empty.
+		 */
+		private void drain() {
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				Message message;
+				synchronized (messages) {
+					message = messages.poll();
+					if (message == null) {
+						break;
+					}
+				}
+				deliver(message);
+			}
+
+			// Give the other Items a turn or let the queue go
+			synchronized (messages) {
+				if (!messages.isEmpty()) {
+					ready.add(this);
+					return;
+				}
+				scheduled = false;
+				retired = true;
+			}
+			queues.remove(itemId, this);
+
+			return;
+		}
+	}
+
+	/**
+	 * The constructor. It uses the default number of workers and queue
+	 * capacity.
+	 *
+	 * @param handler
+	 *            The handler that delivers each Message to its Item
+	 */
+	public UpdateDispatcher(Predicate<Message> handler) {
+		this(handler, DEFAULT_WORKERS, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param handler
+	 *            The handler that delivers each Message to its Item
+	 * @param workerCount
+	 *            The maximum number of Items that are updated at the same time
+	 * @param capacity
+	 *            The maximum number of queued Messages per Item
+	 */
+	public UpdateDispatcher(Predicate<Message> handler, int workerCount,
+			int capacity) {
+		if (handler == null || workerCount < 1 || capacity < 1) {
+			throw new IllegalArgumentException("UpdateDispatcher Error: "
+					+ "A handler and positive worker and capacity counts "
+					+ "are required.");
+		}
+		this.handler = handler;
+		maxWorkers = workerCount;
+		queueCapacity = capacity;
+	}
+
+	/**
+	 * This operation queues Messages for delivery to an Item. Either all of
+	 * the Messages are queued or none of them are.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param batch
+	 *            The Messages, in the order they should be delivered
+	 * @return True if the Messages were queued, false if the Item's queue was
+	 *         too full, no worker could be started or the dispatcher was shut
+	 *         down
+	 */
+	public boolean post(int itemId, List<Message> batch) {
+
+		if (shutdown) {
+			return false;
+		}
+
+		// Offer the Messages to the Item's queue, trying again with a new
+		// queue if a worker just retired the old one
+		Offer result;
+		do {
+			ItemQueue queue = queues.get(itemId);
+			if (queue == null) {
+				ItemQueue newQueue = new ItemQueue(itemId);
+				queue = queues.putIfAbsent(itemId, newQueue);
+				if (queue == null) {
+					queue = newQueue;
+				}
+			}
+			result = queue.offer(batch);
+			if (result == Offer.RETIRED) {
+				queues.remove(itemId, queue);
+			}
+		} while (result == Offer.RETIRED);
+
+		boolean queued = (result == Offer.QUEUED);
+		if (queued) {
+			accepted.addAndGet(batch.size());
+		} else {
+			dropped.addAndGet(batch.size());
+			logger.warn("UpdateDispatcher Message: Could not queue "
+					+ batch.size() + " messages for Item " + itemId + ".");
+		}
+
+		return queued;
+	}
+
+	/**
+	 * This operation starts a worker on the shared pool if fewer than the
+	 * maximum number are running.
+	 *
+	 * @throws RejectedExecutionException
+	 *             if the pool did not accept the worker
+	 */
+	private void startWorker() {
+		if (acquireWorker()) {
+			try {
+				ICEExecutors.execute(Workload.COMPUTE, this::work);
+			} catch (RejectedExecutionException e) {
+				activeWorkers.decrementAndGet();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * This operation reserves a worker if fewer than the maximum number are
+	 * running.
+	 *
+	 * @return True if a worker was reserved, false otherwise
+	 */
+	private boolean acquireWorker() {
+		int active;
+		do {
+			active = activeWorkers.get();
+			if (active >= maxWorkers) {
+				return false;
+			}
+		} while (!activeWorkers.compareAndSet(active, active + 1));
+		return true;
+	}
+
+	/**
+	 * This operation is run by each worker. It drains the queues that are
+	 * waiting until there are none left.
+	 */
+	private void work() {
+		do {
+			ItemQueue queue;
+			while ((queue = ready.poll()) != null) {
+				queue.drain();
+			}
+			activeWorkers.decrementAndGet();
+			// Keep going if a queue became ready after the last poll and no
+			// other worker took the spot
+		} while (!ready.isEmpty() && acquireWorker());
+
+		return;
+	}
+
+	/**
+	 * This operation removes Messages from the number of outstanding ones and
+	 * wakes the threads waiting in awaitIdle() when there are none left.
+	 *
+	 * @param count
+	 *            The number of Messages
+	 */
+	private void release(int count) {
+		synchronized (outstanding) {
+			if (outstanding.addAndGet(-count) == 0) {
+				outstanding.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * This operation delivers a single Message and updates the counters.
+	 *
+	 * @param message
+	 *            The Message
+	 */
+	private void deliver(Message message) {
+		try {
+			if (!handler.test(message)) {
+				failed.incrementAndGet();
+			}
+		} catch (RuntimeException e) {
+			failed.incrementAndGet();
+			logger.error(getClass().getName() + " Exception!", e);
+		} finally {
+			processed.incrementAndGet();
+			release(1);
+		}
+	}
+
+	/**
+	 * This operation waits until every queued Message has been delivered.
+	 *
+	 * @param timeout
+	 *            The maximum time to wait in milliseconds
+	 * @return True if all Messages were delivered, false if the time ran out
+	 * @throws InterruptedException
+	 *             if the thread was interrupted while waiting
+	 */
+	public boolean awaitIdle(long timeout) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeout;
+		synchronized (outstanding) {
+			while (outstanding.get() > 0) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return false;
+				}
+				outstanding.wait(remaining);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * This operation stops accepting Messages and waits a short time for the
+	 * queued ones to be delivered. The Messages that are still queued after
+	 * that are discarded.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		try {
+			if (!awaitIdle(5000)) {
+				logger.warn("UpdateDispatcher Message: "
+						+ outstanding.get()
+						+ " messages were not delivered before shutdown.");
+				discardQueues();
+			}
+		} catch (InterruptedException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			discardQueues();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * This operation discards the Messages that have not been taken by a
+	 * worker yet.
+	 */
+	private void discardQueues() {
+		for (ItemQueue queue : queues.values()) {
+			int count;
+			synchronized (queue.messages) {
+				count = queue.messages.size();
+				queue.messages.clear();
+			}
+			release(count);
+		}
+	}
+
+	/**
+	 * This operation returns the number of Messages that have been accepted
+	 * since the last reset.
+	 *
+	 * @return The number of accepted Messages
+	 */
+	public long getAcceptedCount() {
+		return accepted.get();
+	}
+
+	/**
+	 * This operation returns the number of Messages that were dropped because
+	 * a queue was full since the last reset.
+	 *
+	 * @return The number of dropped Messages
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * This operation returns the number of Messages that have been delivered
+	 * since the last reset.
+	 *
+	 * @return The number of processed Messages
+	 */
+	public long getProcessedCount() {
+		return processed.get();
+	}
+
+	/**
+	 * This operation returns the number of delivered Messages that the Item
+	 * did not accept or that failed since the last reset.
+	 *
+	 * @return The number of failed Messages
+	 */
+	public long getFailedCount() {
+		return failed.get();
+	}
+
+	/**
+	 * This operation returns the number of Messages that are queued but have
+	 * not been delivered.
+	 *
+	 * @return The number of pending Messages
+	 */
+	public long getPendingCount() {
+		return outstanding.get();
+	}
+
+	/**
+	 * This operation returns the rate at which Messages have been accepted
+	 * since the last reset.
+	 *
+	 * @return The rate in Messages per second
+	 */
+	public double getAcceptedRate() {
+		return getRate(accepted.get());
+	}
+
+	/**
+	 * This operation returns the rate at which Messages have been dropped
+	 * since the last reset.
+	 *
+	 * @return The rate in Messages per second
+	 */
+	public double getDroppedRate() {
+		return getRate(dropped.get());
+	}
+
+	/**
+	 * This operation returns the rate at which Messages have been delivered
+	 * since the last reset.
+	 *
+	 * @return The rate in Messages per second
+	 */
+	public double getProcessedRate() {
+		return getRate(processed.get());
+	}
+
+	/**
+	 * This operation converts a count to a rate since the last reset.
+	 *
+	 * @param count
+	 *            The count
+	 * @return The rate per second
+	 */
+	private double getRate(long count) {
+		double seconds = (System.nanoTime() - resetTime) / 1.0e9;
+		return (seconds > 0.0) ? count / seconds : 0.0;
+	}
+
+	/**
+	 * This operation resets the counters and the start time of the rates.
+	 */
+	public void resetCounters() {
+		accepted.set(0);
+		dropped.set(0);
+		processed.set(0);
+		failed.set(0);
+		resetTime = System.nanoTime();
+	}
+
+}
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ice.datastructures.ICEObject.ChangeEvent;
+import org.eclipse.ice.datastructures.ICEObject.IChangeListener;
+import org.eclipse.ice.datastructures.entry.StringEntry;
+import org.eclipse.ice.datastructures.form.DataComponent;
+import org.eclipse.ice.datastructures.form.TreeComposite;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link ChangeEvent}s fired by
+ * Entries, TreeComposites and DataComponents to their
+ * {@link IChangeListener}s.
+ *
+ * @author Jay Jay Billings
+ */
+public class ChangeEventTester {
+
+	/**
+	 * A listener that records the events and batches that it receives.
+	 */
+	private static class RecordingListener implements IChangeListener {
+
+		/**
+		 * The events in the order in which they were received.
+		 */
+		private final List<ChangeEvent> events = new ArrayList<ChangeEvent>();
+
+		/**
+		 * The number of batches received.
+		 */
+		private int batches = 0;
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see
+		 * org.eclipse.ice.datastructures.ICEObject.IChangeListener#changed(java
+		 * .util.List)
+		 */
+		@Override
+		public synchronized void changed(List<ChangeEvent> batch) {
+			events.addAll(batch);
+			batches++;
+		}
+
+		/**
+		 * This operation waits a couple of seconds for a number of events to
+		 * arrive and returns the events received.
+		 *
+		 * @param count
+		 *            The number of events to wait for
+		 * @return The events
+		 */
+		public List<ChangeEvent> waitForEvents(int count) {
+			double seconds = 2;
+			double sleepTime = 0.0;
+			while (getEventCount() < count && sleepTime < seconds) {
+				try {
+					Thread.sleep(50);
+					sleepTime += 0.05;
+				} catch (InterruptedException e) {
+					// Complain and fail
+					e.printStackTrace();
+					fail();
+				}
+			}
+			synchronized (this) {
+				return new ArrayList<ChangeEvent>(events);
+			}
+		}
+
+		/**
+		 * This operation returns the number of events received.
+		 *
+		 * @return The number of events
+		 */
+		public synchronized int getEventCount() {
+			return events.size();
+		}
+
+		/**
+		 * This operation returns the number of batches received.
+		 *
+		 * @return The number of batches
+		 */
+		public synchronized int getBatchCount() {
+			return batches;
+		}
+
+		/**
+		 * This operation forgets the events received so far.
+		 */
+		public synchronized void reset() {
+			events.clear();
+			batches = 0;
+		}
+	}
+
+	/**
+	 * This operation checks the events fired when the value and properties of
+	 * an Entry change.
+	 */
+	@Test
+	public void checkEntryEvents() {
+
+		// Local Declarations
+		StringEntry entry = new StringEntry();
+		RecordingListener listener = new RecordingListener();
+		entry.addChangeListener(listener);
+
+		// Change the value twice, once to the same value, and rename it
+		entry.setValue("a");
+		entry.setValue("b");
+		entry.setValue("b");
+		entry.setName("Temperature");
+
+		// Check the events
+		List<ChangeEvent> events = listener.waitForEvents(3);
+		assertEquals(3, events.size());
+		assertEquals(ChangeEvent.Type.VALUE_CHANGED, events.get(0).getType());
+		assertSame(entry, events.get(0).getSource());
+		assertEquals("", events.get(0).getOldValue());
+		assertEquals("a", events.get(0).getNewValue());
+		assertEquals("a", events.get(1).getOldValue());
+		assertEquals("b", events.get(1).getNewValue());
+		assertEquals(ChangeEvent.Type.PROPERTY_CHANGED,
+				events.get(2).getType());
+		assertEquals(ChangeEvent.NAME, events.get(2).getProperty());
+		assertEquals("Temperature", events.get(2).getNewValue());
+		assertNull(events.get(2).getChild());
+
+		// Readiness is a property too, but only changes are fired
+		listener.reset();
+		entry.setReady(false);
+		entry.setReady(false);
+		events = listener.waitForEvents(1);
+		assertEquals(1, events.size());
+		assertEquals(ChangeEvent.READY, events.get(0).getProperty());
+		assertEquals(Boolean.TRUE, events.get(0).getOldValue());
+		assertEquals(Boolean.FALSE, events.get(0).getNewValue());
+
+		// Listeners that were removed are not told about changes and clones
+		// do not have the listeners
+		entry.removeChangeListener(listener);
+		listener.reset();
+		entry.setValue("c");
+		((StringEntry) entry.clone()).setValue("d");
+		assertTrue(listener.waitForEvents(1).isEmpty());
+
+		return;
+	}
+
+	/**
+	 * This operation checks the events fired when children are added to and
+	 * removed from a TreeComposite and when it is activated.
+	 */
+	@Test
+	public void checkTreeEvents() {
+
+		// Local Declarations
+		TreeComposite root = new TreeComposite();
+		TreeComposite first = new TreeComposite();
+		TreeComposite second = new TreeComposite();
+		TreeComposite third = new TreeComposite();
+		RecordingListener listener = new RecordingListener();
+		root.addChangeListener(listener);
+
+		// Add and remove children and activate the tree
+		root.setNextChild(first);
+		root.setNextChild(second);
+		root.setNextChild(third);
+		root.removeChild(second);
+		root.setActive(true);
+		root.setActive(true);
+
+		// Check the events
+		List<ChangeEvent> events = listener.waitForEvents(5);
+		assertEquals(5, events.size());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(ChangeEvent.Type.CHILD_ADDED, events.get(i).getType());
+			assertEquals(i, events.get(i).getIndex());
+		}
+		assertSame(first, events.get(0).getChild());
+		assertSame(third, events.get(2).getChild());
+		assertEquals(ChangeEvent.Type.CHILD_REMOVED, events.get(3).getType());
+		assertSame(second, events.get(3).getChild());
+		assertEquals(1, events.get(3).getIndex());
+		assertEquals(ChangeEvent.ACTIVE, events.get(4).getProperty());
+		assertEquals(Boolean.FALSE, events.get(4).getOldValue());
+		assertEquals(Boolean.TRUE, events.get(4).getNewValue());
+
+		// Copying replaces the children, so the old ones are removed last
+		// first and the new ones are added
+		TreeComposite other = new TreeComposite();
+		other.setNextChild(new TreeComposite());
+		other.setActive(true);
+		listener.reset();
+		root.copy(other, true);
+		events = listener.waitForEvents(3);
+		assertEquals(3, events.size());
+		assertSame(third, events.get(0).getChild());
+		assertEquals(1, events.get(0).getIndex());
+		assertSame(first, events.get(1).getChild());
+		assertEquals(0, events.get(1).getIndex());
+		assertEquals(ChangeEvent.Type.CHILD_ADDED, events.get(2).getType());
+		assertSame(root.getChildAtIndex(0), events.get(2).getChild());
+
+		return;
+	}
+
+	/**
+	 * This operation checks the events fired when Entries are added to and
+	 * deleted from a DataComponent and that bursts of events are delivered in
+	 * order and in fewer batches than events.
+	 */
+	@Test
+	public void checkComponentEventsAndBatches() {
+
+		// Local Declarations
+		DataComponent component = new DataComponent();
+		StringEntry entry = new StringEntry();
+		entry.setName("Pressure");
+		RecordingListener listener = new RecordingListener();
+		component.addChangeListener(listener);
+
+		// Add and delete an Entry
+		component.addEntry(entry);
+		component.deleteEntry("Pressure");
+		List<ChangeEvent> events = listener.waitForEvents(2);
+		assertEquals(2, events.size());
+		assertEquals(ChangeEvent.Type.CHILD_ADDED, events.get(0).getType());
+		assertSame(entry, events.get(0).getChild());
+		assertEquals(ChangeEvent.Type.CHILD_REMOVED, events.get(1).getType());
+		assertSame(entry, events.get(1).getChild());
+
+		// Copying replaces the Entries like it does for TreeComposites
+		component.addEntry(entry);
+		DataComponent other = new DataComponent();
+		other.addEntry(new StringEntry());
+		listener.waitForEvents(3);
+		listener.reset();
+		component.copy(other);
+		events = listener.waitForEvents(2);
+		assertEquals(2, events.size());
+		assertEquals(ChangeEvent.Type.CHILD_REMOVED, events.get(0).getType());
+		assertSame(entry, events.get(0).getChild());
+		assertEquals(ChangeEvent.Type.CHILD_ADDED, events.get(1).getType());
+		assertSame(component.retrieveAllEntries().get(0),
+				events.get(1).getChild());
+
+		// Fire a burst of value changes
+		RecordingListener entryListener = new RecordingListener();
+		entry.addChangeListener(entryListener);
+		int numChanges = 1000;
+		for (int i = 0; i < numChanges; i++) {
+			entry.setValue(String.valueOf(i));
+		}
+		events = entryListener.waitForEvents(numChanges);
+		assertEquals(numChanges, events.size());
+		for (int i = 0; i < numChanges; i++) {
+			assertEquals(String.valueOf(i), events.get(i).getNewValue());
+		}
+		assertTrue(entryListener.getBatchCount() <= numChanges);
+
+		return;
+	}
+
+}
@@ -16,6 +16,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -23,10 +25,13 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.bind.JAXBException;
 
 import org.eclipse.ice.datastructures.ICEObject.ICEJAXBHandler;
+import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
+import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.entry.StringEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
@@ -223,6 +228,87 @@ public class DataComponentTester {
 			assertTrue(dataComponent.contains((entries.get(i)).getName()));
 		}
 
+		// Renamed Entries are found by their new names only
+		entries.get(3).setName("Renamed Entry");
+		assertFalse(dataComponent.contains("Test Entry 3"));
+		assertSame(entries.get(3),
+				dataComponent.retrieveEntry("Renamed Entry"));
+
+		// The first Entry with a name is found
+		StringEntry duplicate = new StringEntry();
+		duplicate.setName("Test Entry 7");
+		dataComponent.addEntry(duplicate);
+		assertSame(entries.get(7), dataComponent.retrieveEntry("Test Entry 7"));
+
+		// Deleted Entries are not found
+		dataComponent.deleteEntry("Test Entry 9");
+		assertFalse(dataComponent.contains("Test Entry 9"));
+		assertNull(dataComponent.retrieveEntry("Test Entry 9"));
+		assertTrue(dataComponent.contains("Test Entry 10"));
+
+		// Entries that are replaced in the list directly are found
+		StringEntry replacement = new StringEntry();
+		replacement.setName("Replacement Entry");
+		int position = dataComponent.retrieveAllEntries()
+				.indexOf(entries.get(11));
+		dataComponent.retrieveAllEntries().set(position, replacement);
+		assertSame(replacement,
+				dataComponent.retrieveEntry("Replacement Entry"));
+		assertNull(dataComponent.retrieveEntry("Test Entry 11"));
+
+		// Renaming an Entry that was put into the list directly is also
+		// picked up
+		replacement.setName("Renamed Replacement");
+		assertSame(replacement,
+				dataComponent.retrieveEntry("Renamed Replacement"));
+		assertFalse(dataComponent.contains("Replacement Entry"));
+
+	}
+
+	/**
+	 * This operation checks that Entries can be added all at once and that
+	 * listeners are only notified once when they are.
+	 */
+	@Test
+	public void checkAddingEntriesAtOnce() throws InterruptedException {
+
+		// Local Declarations
+		final AtomicInteger notifications = new AtomicInteger();
+		ArrayList<IEntry> entries = new ArrayList<IEntry>();
+		for (int i = 0; i < 20; i++) {
+			IEntry entry = new StringEntry();
+			entry.setName("Entry " + i);
+			entries.add(entry);
+		}
+		entries.add(null);
+
+		// Add the Entries
+		dataComponent = new DataComponent();
+		dataComponent.register(new IUpdateableListener() {
+			@Override
+			public void update(IUpdateable component) {
+				notifications.incrementAndGet();
+			}
+		});
+		dataComponent.addEntries(entries);
+
+		// Check them in order
+		assertEquals(20, dataComponent.retrieveAllEntries().size());
+		for (int i = 0; i < 20; i++) {
+			assertSame(entries.get(i),
+					dataComponent.retrieveAllEntries().get(i));
+			assertSame(entries.get(i),
+					dataComponent.retrieveEntry("Entry " + i));
+		}
+
+		// Wait for the notification and make sure that there was only one
+		for (int i = 0; i < 40 && notifications.get() == 0; i++) {
+			Thread.sleep(50);
+		}
+		Thread.sleep(100);
+		assertEquals(1, notifications.get());
+
+		return;
 	}
 
 	/**
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.ice.datastructures.entry.AbstractEntry;
+import org.eclipse.ice.datastructures.entry.ContinuousEntry;
+import org.eclipse.ice.datastructures.entry.DiscreteEntry;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the validation of values by the
+ * {@link DiscreteEntry} and the {@link ContinuousEntry}.
+ *
+ * @author Jay Jay Billings
+ */
+public class DiscreteEntryTester {
+
+	/**
+	 * This operation checks that a DiscreteEntry only accepts its allowed
+	 * values, including after the list of allowed values changes.
+	 */
+	@Test
+	public void checkDiscreteValues() {
+
+		// Local Declarations
+		List<String> allowed = new ArrayList<String>(
+				Arrays.asList("a", "b", "c"));
+		DiscreteEntry entry = new DiscreteEntry();
+		entry.setAllowedValues(allowed);
+
+		// Check allowed and disallowed values
+		assertTrue(entry.setValue("b"));
+		assertEquals("b", entry.getValue());
+		assertNull(entry.getErrorMessage());
+		assertFalse(entry.setValue("d"));
+		assertEquals("b", entry.getValue());
+		assertEquals("'d' is an unacceptable value. The value must be one "
+				+ "of a, b, or c.", entry.getErrorMessage());
+		assertFalse(entry.setValue(null));
+		assertEquals("'null' is an unacceptable value. The value must be one "
+				+ "of a, b, or c.", entry.getErrorMessage());
+
+		// Values added to the list are allowed
+		allowed.add("d");
+		assertTrue(entry.setValue("d"));
+		assertFalse(entry.setValue("e"));
+		assertEquals("'e' is an unacceptable value. The value must be one "
+				+ "of a, b, c, or d.", entry.getErrorMessage());
+
+		// Values replaced in the list are allowed
+		allowed.set(0, "e");
+		assertTrue(entry.setValue("e"));
+
+		// New lists are used
+		entry.setAllowedValues(Arrays.asList("x", "y"));
+		assertEquals("x", entry.getValue());
+		assertFalse(entry.setValue("b"));
+		assertEquals("'b' is an unacceptable value. The value must be one "
+				+ "of x or y.", entry.getErrorMessage());
+
+		// Copies share the allowed values
+		DiscreteEntry copy = (DiscreteEntry) entry.clone();
+		assertTrue(copy.setValue("y"));
+		assertFalse(copy.setValue("a"));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that a ContinuousEntry only accepts values between
+	 * its bounds, including after the bounds change, and that setting a value
+	 * stamps the Entry.
+	 */
+	@Test
+	public void checkContinuousValues() {
+
+		// Local Declarations
+		List<String> bounds = new ArrayList<String>(Arrays.asList("0", "5"));
+		ContinuousEntry entry = new ContinuousEntry();
+		entry.setAllowedValues(bounds);
+
+		// Check the bounds
+		long stamp = entry.getModificationStamp();
+		assertTrue(entry.setValue("0"));
+		assertTrue(entry.setValue("5.0"));
+		assertTrue(entry.setValue("2.5"));
+		assertEquals("2.5", entry.getValue());
+		assertNull(entry.getErrorMessage());
+		assertTrue(entry.getModificationStamp() > stamp);
+		assertTrue(entry.getModificationStamp() <= AbstractEntry
+				.getModificationCount());
+
+		// Check values outside the bounds and values that are not numbers
+		stamp = entry.getModificationStamp();
+		assertFalse(entry.setValue("5.1"));
+		assertEquals("'5.1' is an unacceptable value. The value must be "
+				+ "between 0 and 5.", entry.getErrorMessage());
+		assertFalse(entry.setValue("-1"));
+		assertFalse(entry.setValue("NaN"));
+		assertFalse(entry.setValue("five"));
+		assertEquals("'five' is an unacceptable value. The value must be "
+				+ "between 0 and 5.", entry.getErrorMessage());
+		assertFalse(entry.setValue(null));
+		assertEquals("2.5", entry.getValue());
+		assertEquals(stamp, entry.getModificationStamp());
+
+		// Changing a bound in place changes the range
+		bounds.set(1, "10");
+		assertTrue(entry.setValue("7"));
+		assertFalse(entry.setValue("11"));
+		assertEquals("'11' is an unacceptable value. The value must be "
+				+ "between 0 and 10.", entry.getErrorMessage());
+
+		return;
+	}
+
+}
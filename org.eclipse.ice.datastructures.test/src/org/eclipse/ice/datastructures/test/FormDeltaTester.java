@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.ice.datastructures.form.DataComponent;
+import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.FormDelta;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the revisions of the {@link Form} and
+ * the {@link FormDelta}s created from them.
+ *
+ * @author Jay Jay Billings
+ */
+public class FormDeltaTester {
+
+	/**
+	 * This operation creates a DataComponent.
+	 *
+	 * @param id
+	 *            The id
+	 * @param name
+	 *            The name
+	 * @return The component
+	 */
+	private DataComponent createComponent(int id, String name) {
+		DataComponent component = new DataComponent();
+		component.setId(id);
+		component.setName(name);
+		return component;
+	}
+
+	/**
+	 * This operation checks that the revision increases when Components are
+	 * added, changed and removed.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkRevisions() throws InterruptedException {
+
+		Form form = new Form();
+		assertEquals(0, form.getRevision());
+
+		// Adding Components increases the revision
+		DataComponent first = createComponent(1, "first");
+		form.addComponent(first);
+		form.addComponent(createComponent(2, "second"));
+		assertEquals(2, form.getRevision());
+
+		// So do changes to the Components, which are reported on another
+		// thread
+		first.setDescription("changed");
+		first.setName("renamed");
+		for (int i = 0; i < 100 && form.getRevision() < 3; i++) {
+			Thread.sleep(10);
+		}
+		assertTrue(form.getRevision() >= 3);
+
+		// And removals
+		long revision = form.getRevision();
+		form.removeComponent(2);
+		assertTrue(form.getRevision() > revision);
+
+		// Copies never go back in time and are different instances
+		Form copy = new Form();
+		copy.copy(form);
+		assertTrue(copy.getRevision() > form.getRevision());
+		assertFalse(copy.getInstanceTag().equals(form.getInstanceTag()));
+		assertFalse(((Form) form.clone()).getInstanceTag()
+				.equals(form.getInstanceTag()));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that a delta only carries the changed Components
+	 * and that it brings an old copy of the Form up to date.
+	 */
+	@Test
+	public void checkDelta() {
+
+		// Create a Form and a copy of it at its current revision
+		Form form = new Form();
+		form.addComponent(createComponent(1, "first"));
+		form.addComponent(createComponent(2, "second"));
+		form.addComponent(createComponent(3, "third"));
+		Form copy = (Form) form.clone();
+		copy.setRevision(form.getRevision());
+		long base = form.getRevision();
+
+		// Nothing changed yet
+		FormDelta delta = form.createDelta(base);
+		assertEquals(3, delta.getComponentIds().size());
+		assertTrue(delta.getChangedComponents().isEmpty());
+
+		// Replace one Component, remove one and add one
+		form.removeComponent(2);
+		form.addComponent(createComponent(4, "fourth"));
+		delta = form.createDelta(base);
+		assertEquals(base, delta.getBaseRevision());
+		assertEquals(form.getRevision(), delta.getRevision());
+		assertEquals(3, delta.getComponentIds().size());
+		assertEquals(1, delta.getChangedComponents().size());
+		assertEquals(4, delta.getChangedComponents().get(0).getId());
+
+		// Apply it to the copy
+		assertTrue(copy.applyDelta(delta));
+		assertEquals(form.getRevision(), copy.getRevision());
+		assertEquals(3, copy.getNumberOfComponents());
+		assertNull(copy.getComponent(2));
+		assertEquals("fourth", copy.getComponent(4).getName());
+		assertEquals(form, copy);
+
+		// The same delta does not apply twice
+		assertFalse(copy.applyDelta(delta));
+
+		// Revisions from the future can't be described
+		assertNull(form.createDelta(form.getRevision() + 1));
+		assertNull(form.createDelta(-1));
+
+		return;
+	}
+}
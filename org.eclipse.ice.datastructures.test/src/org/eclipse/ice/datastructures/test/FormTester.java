@@ -15,6 +15,8 @@ package org.eclipse.ice.datastructures.test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -33,6 +35,7 @@ import org.eclipse.ice.datastructures.entry.StringEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.ResourceComponent;
+import org.eclipse.ice.datastructures.form.TreeComposite;
 import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
 import org.eclipse.ice.datastructures.resource.ICEResource;
 import org.junit.Test;
@@ -149,6 +152,20 @@ public class FormTester {
 		// Check component removal
 		form.removeComponent(2);
 		assertEquals(compList.size() - 1, form.getNumberOfComponents());
+		assertNull(form.getComponent(2));
+		assertSame(compList.get(3), form.getComponent(3));
+
+		// Components are still found after their ids change
+		compList.get(4).setId(42);
+		assertSame(compList.get(4), form.getComponent(42));
+		assertNull(form.getComponent(4));
+
+		// Components that are replaced in the list directly are found
+		DataComponent replacement = new DataComponent();
+		replacement.setId(17);
+		form.getComponents().set(0, replacement);
+		assertSame(replacement, form.getComponent(17));
+		assertNull(form.getComponent(0));
 
 	}
 
@@ -631,4 +648,124 @@ public class FormTester {
 		assertTrue(form.equals(loadedForm));
 
 	}
-}
\ No newline at end of file
+
+	/**
+	 * This operation clones a large Form with a tree like a MOOSE input tree
+	 * and writes out how long the clones took and how much memory they used,
+	 * before and after the child exemplars of the clones were retrieved. The
+	 * exemplars are shared between copies until they are retrieved, but the
+	 * children, data nodes and Entries of every clone are always copied.
+	 */
+	@Test
+	public void checkLargeFormCloning() {
+
+		// Local Declarations
+		int numBlocks = 50, numTypes = 20, numParameters = 20;
+		int numChildren = 5, numComponents = 20, numEntries = 100;
+		int numClones = 10;
+		Form form = new Form();
+		TreeComposite tree = new TreeComposite();
+		ArrayList<Form> clones = new ArrayList<Form>();
+
+		// Build a tree in which every block has a set of types that each have
+		// their own parameters and a few children made from those types
+		tree.setName("Tree");
+		for (int i = 0; i < numBlocks; i++) {
+			TreeComposite block = new TreeComposite();
+			block.setName("Block " + i);
+			ArrayList<TreeComposite> types = new ArrayList<TreeComposite>();
+			for (int j = 0; j < numTypes; j++) {
+				TreeComposite type = new TreeComposite();
+				type.setName("Type " + j);
+				type.addComponent(createDataComponent(j, numParameters));
+				types.add(type);
+			}
+			block.setChildExemplars(types);
+			for (int j = 0; j < numChildren; j++) {
+				block.setNextChild((TreeComposite) types.get(j).clone());
+			}
+			tree.setNextChild(block);
+		}
+		tree.setId(numComponents + 1);
+		form.addComponent(tree);
+
+		// Add some plain DataComponents too
+		for (int i = 1; i <= numComponents; i++) {
+			form.addComponent(createDataComponent(i, numEntries));
+		}
+
+		// Clone the Form
+		long baseMemory = getUsedMemory();
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < numClones; i++) {
+			clones.add((Form) form.clone());
+		}
+		long cloneTime = System.currentTimeMillis() - start;
+		long cloneMemory = getUsedMemory() - baseMemory;
+
+		// The clones are equal to the Form
+		for (Form clone : clones) {
+			assertTrue(form.equals(clone));
+		}
+
+		// Retrieve the exemplars of every block of every clone
+		start = System.currentTimeMillis();
+		for (Form clone : clones) {
+			TreeComposite clonedTree = (TreeComposite) clone
+					.getComponent(numComponents + 1);
+			for (int i = 0; i < numBlocks; i++) {
+				assertEquals(numTypes, clonedTree.getChildAtIndex(i)
+						.getChildExemplars().size());
+			}
+		}
+		long retrieveTime = System.currentTimeMillis() - start;
+		long retrievedMemory = getUsedMemory() - baseMemory;
+
+		// Write out the times and memory for debug purposes
+		System.out.println("FormTester Message: " + numClones
+				+ " clones of a Form with " + numBlocks * (numChildren + 1)
+				+ " tree nodes and " + numComponents * numEntries
+				+ " Entries took " + cloneTime + " ms and " + cloneMemory / 1024
+				+ " KB. Retrieving their exemplars took " + retrieveTime
+				+ " ms and brought them to " + retrievedMemory / 1024
+				+ " KB.");
+
+		return;
+	}
+
+	/**
+	 * This operation creates a DataComponent with StringEntries.
+	 * 
+	 * @param id
+	 *            The id of the DataComponent
+	 * @param numEntries
+	 *            The number of Entries
+	 * @return The DataComponent
+	 */
+	private DataComponent createDataComponent(int id, int numEntries) {
+
+		DataComponent component = new DataComponent();
+		component.setId(id);
+		component.setName("DataComponent " + id);
+		for (int i = 1; i <= numEntries; i++) {
+			IEntry entry = new StringEntry();
+			entry.setId(i);
+			entry.setName("Entry " + i);
+			entry.setValue("Value " + i);
+			component.addEntry(entry);
+		}
+
+		return component;
+	}
+
+	/**
+	 * This operation returns the heap in use after a garbage collection.
+	 * 
+	 * @return The number of bytes in use
+	 */
+	private long getUsedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.InstrumentedExecutor;
+import org.eclipse.ice.datastructures.concurrent.Workload;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing {@link ICEExecutors} and the
+ * {@link InstrumentedExecutor}s it creates.
+ *
+ * @author Jay Jay Billings
+ */
+public class ICEExecutorsTester {
+
+	/**
+	 * This operation checks that tasks run on the named pool for their
+	 * workload and that the pool is published through JMX.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkPools() throws Exception {
+
+		// Run a task and remember its thread
+		final AtomicReference<String> threadName = new AtomicReference<String>();
+		final CountDownLatch done = new CountDownLatch(1);
+		ICEExecutors.execute(Workload.NOTIFICATION, () -> {
+			threadName.set(Thread.currentThread().getName());
+			done.countDown();
+		});
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertTrue(threadName.get().startsWith("ICE Notification"));
+
+		// The same pool is returned every time
+		InstrumentedExecutor executor = ICEExecutors
+				.getExecutor(Workload.NOTIFICATION);
+		assertTrue(executor == ICEExecutors.getExecutor(Workload.NOTIFICATION));
+		assertEquals("Notification", executor.getName());
+
+		// Check the published statistics
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(
+				"org.eclipse.ice:type=Executor,name=Notification");
+		assertTrue(server.isRegistered(name));
+		assertEquals(10000, server.getAttribute(name, "QueueCapacity"));
+
+		// Results come back from submitted tasks
+		assertEquals("done",
+				ICEExecutors.submit(Workload.COMPUTE, () -> "done").get());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that full pools either run tasks on the caller's
+	 * thread or reject them, and that the statistics count the tasks.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkBounds() throws Exception {
+
+		// One thread and room for one waiting task
+		final CountDownLatch release = new CountDownLatch(1);
+		Runnable blocker = () -> {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				// Stop blocking
+			}
+		};
+		InstrumentedExecutor callerRuns = new InstrumentedExecutor("Test", 1, 1,
+				Executors.defaultThreadFactory(),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		callerRuns.execute(blocker);
+		callerRuns.execute(blocker);
+		assertEquals(1, callerRuns.getQueueDepth());
+
+		// The third task runs on this thread
+		final AtomicReference<Thread> runner = new AtomicReference<Thread>();
+		callerRuns.execute(() -> runner.set(Thread.currentThread()));
+		assertTrue(runner.get() == Thread.currentThread());
+		assertEquals(1, callerRuns.getRejectedTaskCount());
+
+		// Failures are counted without losing the thread
+		callerRuns.execute(() -> {
+			throw new IllegalStateException("Expected");
+		});
+		release.countDown();
+		callerRuns.shutdown();
+		assertTrue(callerRuns.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(1, callerRuns.getFailedTaskCount());
+		assertEquals(4, callerRuns.getCompletedTaskCount()
+				+ callerRuns.getRejectedTaskCount());
+		assertTrue(callerRuns.getMaxLatency() >= callerRuns.getAverageLatency());
+
+		// A pool without a queue rejects tasks when its thread is busy
+		final CountDownLatch hold = new CountDownLatch(1);
+		InstrumentedExecutor noQueue = new InstrumentedExecutor("Test", 1, 0,
+				Executors.defaultThreadFactory(),
+				new ThreadPoolExecutor.AbortPolicy());
+		noQueue.execute(() -> {
+			try {
+				hold.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				// Stop blocking
+			}
+		});
+		try {
+			noQueue.execute(() -> {
+			});
+			fail("The task should have been rejected.");
+		} catch (RejectedExecutionException e) {
+			assertEquals(1, noQueue.getRejectedTaskCount());
+		}
+		hold.countDown();
+		noQueue.shutdown();
+
+		return;
+	}
+}
@@ -23,6 +23,9 @@ import java.io.File;
 import java.io.IOException;
 import java.text.Normalizer.Form;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.bind.JAXBException;
 
@@ -474,6 +477,86 @@ public class ListComponentTester implements IElementSource<Integer>,
 		return;
 	}
 
+	/**
+	 * This method checks that bulk appends and replacements post one list
+	 * event each and that concurrent producers and readers can share the list
+	 * through the locking operations.
+	 */
+	@Test
+	public void checkBulkOperations() {
+
+		// Local Declarations
+		final ListComponent<Integer> component = new ListComponent<Integer>();
+		final AtomicInteger events = new AtomicInteger(0);
+		List<Integer> values = new ArrayList<Integer>();
+		for (int i = 0; i < 1000; i++) {
+			values.add(i);
+		}
+
+		// Count the list events
+		component.addListEventListener(new ListEventListener<Integer>() {
+			@Override
+			public void listChanged(ListEvent<Integer> listChanges) {
+				events.incrementAndGet();
+			}
+		});
+
+		// Appending many values posts one event
+		component.appendAll(values);
+		assertEquals(1, events.get());
+		assertEquals(values, component.snapshot());
+		component.appendAll(new ArrayList<Integer>());
+		component.appendAll(null);
+		assertEquals(1, events.get());
+
+		// Replacing the values posts one event
+		component.replaceContents(Arrays.asList(7, 8, 9));
+		assertEquals(2, events.get());
+		assertEquals(Arrays.asList(7, 8, 9), component.snapshot());
+
+		// Copies get the values in one event too
+		ListComponent<Integer> copy = new ListComponent<Integer>();
+		copy.appendAll(values);
+		copy.copy(component);
+		assertEquals(component, copy);
+
+		// Run two producers while reading the list
+		component.replaceContents(null);
+		final int numBatches = 100;
+		final List<Integer> batch = values.subList(0, 10);
+		Runnable producer = new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < numBatches; i++) {
+					component.appendAll(batch);
+				}
+			}
+		};
+		Thread first = new Thread(producer);
+		Thread second = new Thread(producer);
+		first.start();
+		second.start();
+		final AtomicInteger sum = new AtomicInteger();
+		while (first.isAlive() || second.isAlive()) {
+			// Whole batches are added under the lock, so the sum of a
+			// consistent view is always a multiple of the batch sum.
+			sum.set(0);
+			component.forEachLocked(value -> sum.addAndGet(value));
+			assertEquals(0, sum.get() % 45);
+		}
+		try {
+			first.join();
+			second.join();
+		} catch (InterruptedException e) {
+			// Complain and fail
+			e.printStackTrace();
+			fail();
+		}
+		assertEquals(2 * numBatches * batch.size(), component.snapshot().size());
+
+		return;
+	}
+
 	/**
 	 * This method checks the visitation routine.
 	 */
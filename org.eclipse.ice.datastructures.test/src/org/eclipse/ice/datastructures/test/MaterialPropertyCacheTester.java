@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ice.datastructures.form.Material;
+import org.eclipse.ice.datastructures.form.MaterialPropertyCache;
+import org.eclipse.ice.datastructures.form.MaterialStack;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link MaterialPropertyCache} and
+ * its use by {@link Material#updateProperties()}.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class MaterialPropertyCacheTester {
+
+	/**
+	 * This operation creates an element with the properties used by
+	 * updateProperties().
+	 *
+	 * @param name
+	 *            The name
+	 * @param mass
+	 *            The atomic mass
+	 * @param b
+	 *            The coherent scattering length
+	 * @return The element
+	 */
+	private Material createElement(String name, double mass, double b) {
+		Material element = new Material();
+		element.setName(name);
+		element.setProperty(Material.ATOMIC_MASS, mass);
+		element.setProperty(Material.COHERENT_SCAT_LENGTH, b);
+		element.setProperty(Material.MASS_ABS_COHERENT, 0.3);
+		element.setProperty(Material.MASS_ABS_INCOHERENT, 0.1);
+		return element;
+	}
+
+	/**
+	 * This operation creates a compound of the form X2O.
+	 *
+	 * @param name
+	 *            The name
+	 * @param hydrogen
+	 *            The hydrogen isotope
+	 * @param oxygen
+	 *            The oxygen
+	 * @param density
+	 *            The density
+	 * @return The compound
+	 */
+	private Material createWater(String name, Material hydrogen,
+			Material oxygen, double density) {
+		Material water = new Material();
+		water.setName(name);
+		water.setProperty(Material.DENSITY, density);
+		water.addComponent(new MaterialStack(hydrogen, 2));
+		water.addComponent(new MaterialStack(oxygen, 1));
+		return water;
+	}
+
+	/**
+	 * This operation checks that compositions are shared between materials
+	 * and invalidated when a component changes.
+	 */
+	@Test
+	public void checkMemoization() {
+
+		MaterialPropertyCache cache = new MaterialPropertyCache(16);
+		Material h = createElement("H", 1.008, -3.739);
+		Material o = createElement("O", 15.999, 5.803);
+
+		// Two waters with the same composition share the sums
+		Material first = createWater("H2O", h, o, 1.0);
+		Material second = createWater("H2O-dense", h, o, 2.0);
+		first.updateProperties(cache);
+		second.updateProperties(cache);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(18.015, first.getProperty(Material.ATOMIC_MASS), 1.0e-9);
+		assertEquals(2.0 * first.getProperty(Material.NUMBER_DENSITY),
+				second.getProperty(Material.NUMBER_DENSITY), 1.0e-12);
+		double sld = first.getProperty(Material.SCAT_LENGTH_DENSITY);
+		assertTrue(sld < 0.0);
+
+		// Updating again without changes does not even look up the cache
+		first.updateProperties(cache);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// Changing the density recomputes the material but reuses the sums
+		first.setProperty(Material.DENSITY, 2.0);
+		first.updateProperties(cache);
+		assertEquals(2, cache.getHitCount());
+		assertEquals(second.getProperty(Material.SCAT_LENGTH_DENSITY),
+				first.getProperty(Material.SCAT_LENGTH_DENSITY), 0.0);
+
+		// Changing a component invalidates the composition
+		long revision = h.getRevision();
+		h.setProperty(Material.COHERENT_SCAT_LENGTH, 6.671);
+		assertTrue(h.getRevision() != revision);
+		first.updateProperties(cache);
+		assertEquals(2, cache.getMissCount());
+		assertTrue(first.getProperty(Material.SCAT_LENGTH_DENSITY) > 0.0);
+
+		// Changing an amount invalidates it too
+		first.getComponents().get(0).setAmount(3);
+		first.updateProperties(cache);
+		assertEquals(3, cache.getMissCount());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the bulk update updates components before
+	 * the compounds that contain them.
+	 */
+	@Test
+	public void checkUpdateAll() {
+
+		MaterialPropertyCache cache = new MaterialPropertyCache(16);
+		Material h = createElement("H", 1.008, -3.739);
+		Material o = createElement("O", 15.999, 5.803);
+		Material water = createWater("H2O", h, o, 1.0);
+
+		// A compound of a compound
+		Material mixture = new Material();
+		mixture.setName("Mixture");
+		mixture.setProperty(Material.DENSITY, 1.0);
+		mixture.addComponent(new MaterialStack(water, 1));
+
+		// List the outer compound first and add a lot of other waters
+		List<Material> materials = new ArrayList<Material>();
+		materials.add(mixture);
+		materials.add(water);
+		for (int i = 0; i < 100; i++) {
+			materials.add(createWater("H2O-" + i, h, o, 1.0 + i));
+		}
+		cache.updateAll(materials);
+
+		// The mixture has the mass of the water it contains, which is only
+		// known after the water is updated
+		assertEquals(water.getProperty(Material.ATOMIC_MASS),
+				mixture.getProperty(Material.ATOMIC_MASS), 0.0);
+		assertEquals(18.015, mixture.getProperty(Material.ATOMIC_MASS),
+				1.0e-9);
+
+		// All of the waters shared one composition
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getMissCount());
+
+		// Elements are left alone
+		assertEquals(1.008, h.getProperty(Material.ATOMIC_MASS), 0.0);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the cache does not keep the components of
+	 * the compositions alive and drops the compositions once they are gone.
+	 */
+	@Test
+	public void checkCollectedComponents() {
+
+		MaterialPropertyCache cache = new MaterialPropertyCache(16);
+		WeakReference<Material> hydrogen = updateWater(cache);
+		assertEquals(1, cache.size());
+
+		// Nothing else refers to the components, so they can be collected
+		for (int i = 0; i < 100 && hydrogen.get() != null; i++) {
+			System.gc();
+		}
+		assertNull(hydrogen.get());
+		for (int i = 0; i < 100 && cache.size() > 0; i++) {
+			System.gc();
+		}
+		assertEquals(0, cache.size());
+
+		return;
+	}
+
+	/**
+	 * This operation updates a water that is only referred to by the cache
+	 * afterwards.
+	 *
+	 * @param cache
+	 *            The cache
+	 * @return A weak reference to the hydrogen in the water
+	 */
+	private WeakReference<Material> updateWater(MaterialPropertyCache cache) {
+		Material h = createElement("H", 1.008, -3.739);
+		Material o = createElement("O", 15.999, 5.803);
+		createWater("H2O", h, o, 1.0).updateProperties(cache);
+		return new WeakReference<Material>(h);
+	}
+}
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.ice.datastructures.form.AdaptiveTreeComposite;
+import org.eclipse.ice.datastructures.form.ITreeCompositeIndexListener;
+import org.eclipse.ice.datastructures.form.TreeComposite;
+import org.eclipse.ice.datastructures.form.TreeCompositeIndex;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link TreeCompositeIndex}.
+ *
+ * @author Jay Jay Billings
+ */
+public class TreeCompositeIndexTester {
+
+	/**
+	 * This operation creates a TreeComposite with a name.
+	 *
+	 * @param name
+	 *            The name
+	 * @param parent
+	 *            The parent of the node or null if it is a root
+	 * @return The node
+	 */
+	private TreeComposite createNode(String name, TreeComposite parent) {
+		TreeComposite node = new TreeComposite();
+		node.setName(name);
+		if (parent != null) {
+			parent.setNextChild(node);
+		}
+		return node;
+	}
+
+	/**
+	 * This operation checks that nodes can be found by their paths and by
+	 * patterns and that the index follows changes to the tree.
+	 */
+	@Test
+	public void checkPaths() {
+
+		// Build a small MOOSE-like tree
+		TreeComposite root = createNode("Root", null);
+		TreeComposite mesh = createNode("Mesh", root);
+		TreeComposite kernels = createNode("Kernels", root);
+		TreeComposite diff = createNode("diff", kernels);
+		TreeComposite source = createNode("source", kernels);
+		TreeComposite variable = createNode("variable", diff);
+
+		// Check the paths
+		TreeCompositeIndex index = root.getIndex();
+		assertSame(index, variable.getIndex());
+		assertEquals(6, index.size());
+		assertSame(root, index.getNode("/"));
+		assertSame(mesh, index.getNode("/Mesh"));
+		assertSame(variable, index.getNode("/Kernels/diff/variable"));
+		assertEquals("/Kernels/source", index.getPath(source));
+		assertNull(index.getNode("/Kernels/convection"));
+
+		// Check patterns
+		assertEquals(Arrays.asList(diff, source), index.find("/Kernels/*"));
+		assertEquals(Arrays.asList(variable), index.find("/*/*/variable"));
+		assertTrue(index.find("/Variables/*").isEmpty());
+
+		// Children that are added or removed later are indexed
+		TreeComposite convection = createNode("convection", kernels);
+		assertSame(convection, index.getNode("/Kernels/convection"));
+		kernels.removeChild(diff);
+		assertNull(index.getNode("/Kernels/diff"));
+		assertNull(index.getNode("/Kernels/diff/variable"));
+		assertEquals(5, index.size());
+
+		// Renaming a node moves its descendants
+		source.setNextChild(diff);
+		kernels.setName("Physics");
+		assertNull(index.getNode("/Kernels/source"));
+		assertSame(variable, index.getNode("/Physics/source/diff/variable"));
+
+		// Siblings can share a name
+		TreeComposite otherMesh = createNode("Mesh", root);
+		assertSame(mesh, index.getNode("/Mesh"));
+		assertEquals(Arrays.asList(mesh, otherMesh), index.getNodes("/Mesh"));
+
+		// Copying over a node re-indexes it
+		TreeComposite other = new TreeComposite();
+		other.setName("Physics");
+		createNode("heat", other);
+		kernels.copy(other, true);
+		assertSame(kernels.getChildAtIndex(0),
+				index.getNode("/Physics/heat"));
+		assertNull(index.getNode("/Physics/source"));
+
+		return;
+	}
+
+	/**
+	 * This operation checks the queries by type and the listeners.
+	 */
+	@Test
+	public void checkTypesAndListeners() {
+
+		// Local Declarations
+		TreeComposite root = createNode("Root", null);
+		final List<String> added = new ArrayList<String>();
+		final List<String> removed = new ArrayList<String>();
+
+		// Create an adaptive block with two types
+		TreeComposite fileMesh = new TreeComposite();
+		fileMesh.setName("FileMesh");
+		TreeComposite generatedMesh = new TreeComposite();
+		generatedMesh.setName("GeneratedMesh");
+		ArrayList<TreeComposite> types = new ArrayList<TreeComposite>();
+		types.add(fileMesh);
+		types.add(generatedMesh);
+		AdaptiveTreeComposite mesh = new AdaptiveTreeComposite(types);
+		mesh.setName("Mesh");
+		mesh.setType("FileMesh");
+		root.setNextChild(mesh);
+
+		// Listen to the index
+		TreeCompositeIndex index = root.getIndex();
+		index.addListener(new ITreeCompositeIndexListener() {
+			@Override
+			public void nodeAdded(String path, TreeComposite node) {
+				added.add(path);
+			}
+
+			@Override
+			public void nodeRemoved(String path, TreeComposite node) {
+				removed.add(path);
+			}
+		});
+
+		// Check the queries
+		assertEquals(Arrays.asList(mesh), index.getNodesOfType("FileMesh"));
+		assertEquals(Arrays.asList(mesh), index.find("/*", "FileMesh"));
+		assertTrue(index.find("/*", "GeneratedMesh").isEmpty());
+
+		// Changing the type moves the block in the index
+		mesh.setType("GeneratedMesh");
+		assertTrue(index.getNodesOfType("FileMesh").isEmpty());
+		assertEquals(Arrays.asList(mesh),
+				index.getNodesOfType("GeneratedMesh"));
+		assertSame(mesh, index.getNode("/Mesh"));
+
+		// The listeners are told about new and removed nodes
+		added.clear();
+		removed.clear();
+		TreeComposite kernels = createNode("Kernels", root);
+		createNode("diff", kernels);
+		root.removeChild(kernels);
+		assertEquals(Arrays.asList("/Kernels", "/Kernels/diff"), added);
+		assertEquals(Arrays.asList("/Kernels", "/Kernels/diff"), removed);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the index can be read on one thread while
+	 * the tree is changed on another, like a tree that is changed by
+	 * notifications while a UI looks blocks up.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkConcurrentReads() throws InterruptedException {
+
+		// Local Declarations
+		final TreeComposite root = createNode("root", null);
+		final TreeComposite mesh = createNode("Mesh", root);
+		final TreeComposite kernels = createNode("Kernels", root);
+		final TreeCompositeIndex index = root.getIndex();
+		final List<Throwable> errors = new ArrayList<Throwable>();
+
+		// Add and remove kernels on another thread
+		Thread writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					for (int i = 0; i < 2000; i++) {
+						TreeComposite kernel = createNode("k" + i, kernels);
+						createNode("variable", kernel);
+						kernels.removeChild(kernel);
+					}
+				} catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			}
+		});
+		writer.start();
+
+		// Look nodes up while the tree changes
+		while (writer.isAlive()) {
+			assertSame(mesh, index.getNode("/Mesh"));
+			assertEquals("/Kernels", index.getPath(kernels));
+			assertTrue(index.size() >= 3);
+			index.getNodes("/Kernels/k1/variable");
+		}
+		writer.join();
+
+		// The index ends up where it started
+		assertTrue(errors.isEmpty());
+		assertEquals(3, index.size());
+		assertNull(index.getNode("/Kernels/k1"));
+
+		return;
+	}
+
+}
@@ -984,6 +984,18 @@ public class TreeCompositeTester extends SelectiveComponentVisitor {
 		// Compare to see if equal
 		assertTrue(treeComposite.equals(loadTree));
 
+		// The children of the loaded tree are linked to their parents, so a
+		// change deep in the loaded tree changes the hashcode of its root
+		int hash = loadTree.hashCode();
+		assertEquals(treeComposite.hashCode(), hash);
+		TreeComposite loadChild2 = loadTree.getChildAtIndex(1);
+		TreeComposite loadGrandChild = loadChild2.getChildAtIndex(0);
+		assertTrue(loadTree == loadChild2.getParent());
+		assertTrue(loadChild2 == loadGrandChild.getParent());
+		loadGrandChild.setName("Renamed");
+		assertFalse(hash == loadTree.hashCode());
+		assertFalse(treeComposite.equals(loadTree));
+
 	}
 
 	/**
@@ -1124,6 +1136,232 @@ public class TreeCompositeTester extends SelectiveComponentVisitor {
 
 	}
 
+	/**
+	 * This operation checks that large trees can be built, copied and compared.
+	 * It builds a tree with 10,000 nodes from a set of exemplars, so many of
+	 * the children are equal to each other, and writes out how long each step
+	 * takes. It also checks that building is linear by comparing the time it
+	 * takes to add n and 2n equal children to a single node.
+	 */
+	@Test
+	public void checkLargeTrees() {
+
+		// Local Declarations
+		int numBlocks = 100, numChildren = 99;
+		TreeComposite root = new TreeComposite();
+		TreeComposite blockExemplar = new TreeComposite();
+		TreeComposite childExemplar = new TreeComposite();
+		ArrayList<TreeComposite> exemplars = new ArrayList<TreeComposite>();
+
+		// Configure the exemplars. The children of the blocks are all clones of
+		// one exemplar.
+		childExemplar.setName("Variable");
+		childExemplar.addComponent(new DataComponent());
+		exemplars.add(childExemplar);
+		blockExemplar.setName("Block");
+		blockExemplar.setChildExemplars(exemplars);
+		exemplars = new ArrayList<TreeComposite>();
+		exemplars.add(blockExemplar);
+		root.setChildExemplars(exemplars);
+
+		// Build the tree
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < numBlocks; i++) {
+			TreeComposite block = (TreeComposite) blockExemplar.clone();
+			root.setNextChild(block);
+			for (int j = 0; j < numChildren; j++) {
+				block.setNextChild(
+						(TreeComposite) block.getChildExemplars().get(0).clone());
+			}
+		}
+		long buildTime = System.currentTimeMillis() - start;
+
+		// Check the tree. Equal children are separate children.
+		assertEquals(numBlocks, root.getNumberOfChildren());
+		TreeComposite lastBlock = root.getChildAtIndex(numBlocks - 1);
+		assertEquals(numChildren, lastBlock.getNumberOfChildren());
+		assertEquals(lastBlock.getChildAtIndex(numChildren - 2),
+				lastBlock.getChildAtIndex(numChildren - 1).getPreviousSibling());
+
+		// Adding a child twice or adding a child that does not match an
+		// exemplar does not change the tree
+		lastBlock.setNextChild(lastBlock.getChildAtIndex(0));
+		lastBlock.setNextChild(new TreeComposite());
+		assertEquals(numChildren, lastBlock.getNumberOfChildren());
+
+		// Copy the tree and compare it
+		start = System.currentTimeMillis();
+		TreeComposite copy = (TreeComposite) root.clone();
+		long copyTime = System.currentTimeMillis() - start;
+		start = System.currentTimeMillis();
+		assertTrue(root.equals(copy));
+		assertEquals(root.hashCode(), copy.hashCode());
+		long compareTime = System.currentTimeMillis() - start;
+
+		// Changing a node deep in the copy changes its hashcode
+		int hash = copy.hashCode();
+		TreeComposite leaf = copy.getChildAtIndex(numBlocks / 2)
+				.getChildAtIndex(numChildren / 2);
+		leaf.setName("Renamed");
+		assertFalse(hash == copy.hashCode());
+		assertFalse(root.equals(copy));
+
+		// Changing another tree does not change the hashcode of this one
+		hash = root.hashCode();
+		copy.getChildAtIndex(0).setName("Renamed");
+		assertEquals(hash, root.hashCode());
+
+		// Removing the first child of a block only removes that child
+		TreeComposite firstBlock = copy.getChildAtIndex(0);
+		TreeComposite secondChild = firstBlock.getChildAtIndex(1);
+		firstBlock.removeChild(firstBlock.getChildAtIndex(0));
+		assertEquals(numChildren - 1, firstBlock.getNumberOfChildren());
+		assertTrue(secondChild == firstBlock.getChildAtIndex(0));
+		assertNull(secondChild.getPreviousSibling());
+
+		// Adding twice as many children should take about twice as long. A
+		// quadratic build would take four times as long, so allow a little
+		// less than that plus some slack for the timer and the collector.
+		int numFlatChildren = 5000;
+		buildFlatTree(numFlatChildren);
+		long singleTime = buildFlatTree(numFlatChildren);
+		long doubleTime = buildFlatTree(2 * numFlatChildren);
+		assertTrue(doubleTime < 3 * singleTime + 50);
+
+		// Write out the times for debug purposes
+		System.out.println("TreeCompositeTester Message: Built "
+				+ (numBlocks * (numChildren + 1)) + " nodes in " + buildTime
+				+ " ms, copied them in " + copyTime + " ms and compared them in "
+				+ compareTime + " ms. Added " + numFlatChildren
+				+ " children to a node in " + singleTime + " ms and "
+				+ 2 * numFlatChildren + " in " + doubleTime + " ms.");
+
+		return;
+	}
+
+	/**
+	 * This operation adds equal children to a single node and returns how
+	 * long it took.
+	 * 
+	 * @param numChildren
+	 *            The number of children to add
+	 * @return The time in milliseconds
+	 */
+	private long buildFlatTree(int numChildren) {
+
+		// Local Declarations
+		TreeComposite parent = new TreeComposite();
+		TreeComposite childExemplar = new TreeComposite();
+		ArrayList<TreeComposite> exemplars = new ArrayList<TreeComposite>();
+
+		// Every child is a clone of the same exemplar
+		childExemplar.setName("Variable");
+		exemplars.add(childExemplar);
+		parent.setChildExemplars(exemplars);
+
+		// Add the children
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < numChildren; i++) {
+			parent.setNextChild((TreeComposite) childExemplar.clone());
+		}
+		long time = System.currentTimeMillis() - start;
+		assertEquals(numChildren, parent.getNumberOfChildren());
+
+		return time;
+	}
+
+	/**
+	 * This operation checks that copies share child exemplars until they are
+	 * retrieved, that retrieved exemplars are private to each tree and that
+	 * concurrent retrievals get the same exemplars.
+	 */
+	@Test
+	public void checkCopyOnWriteExemplars() throws InterruptedException {
+
+		// Local Declarations
+		int numBlocks = 5, numTypes = 5, numParameters = 5, numCopies = 3;
+		TreeComposite root = new TreeComposite();
+		ArrayList<TreeComposite> copies = new ArrayList<TreeComposite>();
+
+		// Build a tree like a MOOSE input tree in which every block has a set
+		// of types that each have their own parameters
+		root.setName("Root");
+		for (int i = 0; i < numBlocks; i++) {
+			TreeComposite block = new TreeComposite();
+			block.setName("Block " + i);
+			ArrayList<TreeComposite> types = new ArrayList<TreeComposite>();
+			for (int j = 0; j < numTypes; j++) {
+				TreeComposite type = new TreeComposite();
+				type.setName("Type " + j);
+				DataComponent parameters = new DataComponent();
+				for (int k = 0; k < numParameters; k++) {
+					StringEntry entry = new StringEntry();
+					entry.setName("Parameter " + k);
+					parameters.addEntry(entry);
+				}
+				type.addComponent(parameters);
+				types.add(type);
+			}
+			block.setChildExemplars(types);
+			root.setNextChild(block);
+		}
+
+		// Copy the tree
+		for (int i = 0; i < numCopies; i++) {
+			copies.add((TreeComposite) root.clone());
+		}
+
+		// The copies are equal to the tree
+		for (TreeComposite copy : copies) {
+			assertTrue(root.equals(copy));
+		}
+
+		// Retrieving the exemplars of a block gives each tree its own
+		TreeComposite block = root.getChildAtIndex(0);
+		TreeComposite copiedBlock = copies.get(0).getChildAtIndex(0);
+		TreeComposite exemplar = block.getChildExemplars().get(0);
+		TreeComposite copiedExemplar = copiedBlock.getChildExemplars().get(0);
+		assertFalse(exemplar == copiedExemplar);
+		assertEquals(exemplar, copiedExemplar);
+		assertTrue(copiedExemplar == copiedBlock.getChildExemplars().get(0));
+
+		// Changing a retrieved exemplar does not change the other trees
+		copiedExemplar.setName("Changed Type");
+		assertEquals("Type 0", block.getChildExemplars().get(0).getName());
+		assertEquals("Type 0", copies.get(1).getChildAtIndex(0)
+				.getChildExemplars().get(0).getName());
+		assertTrue(copiedBlock.getChildExemplars().get(0) == copiedExemplar);
+
+		// Exemplars that were handed out are cloned by copies, so changing
+		// them later does not change the copies
+		TreeComposite handedOut = block.getChildExemplars().get(1);
+		TreeComposite blockCopy = (TreeComposite) block.clone();
+		handedOut.setName("Changed After Copy");
+		assertEquals("Type 1", blockCopy.getChildExemplars().get(1).getName());
+
+		// Threads that retrieve shared exemplars at the same time should all
+		// get the same clones
+		final TreeComposite sharedBlock = copies.get(2).getChildAtIndex(1);
+		final TreeComposite[] retrieved = new TreeComposite[4];
+		Thread[] threads = new Thread[retrieved.length];
+		for (int i = 0; i < threads.length; i++) {
+			final int thread = i;
+			threads[i] = new Thread(() -> {
+				retrieved[thread] = sharedBlock.getChildExemplars().get(0);
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (TreeComposite retrievedExemplar : retrieved) {
+			assertTrue(retrievedExemplar == retrieved[0]);
+		}
+		assertTrue(sharedBlock.getChildExemplars().get(0) == retrieved[0]);
+
+		return;
+	}
+
 	/**
 	 * This operation adds a component of the specified type to the map.
 	 * 
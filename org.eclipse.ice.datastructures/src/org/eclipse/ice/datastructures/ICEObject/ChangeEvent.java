@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.ICEObject;
+
+/**
+ * A ChangeEvent describes a single change to an IUpdateable. Unlike the
+ * notifications sent to IUpdateableListeners, which only identify the object
+ * that changed, ChangeEvents say what changed so that listeners can apply the
+ * change without inspecting the whole object. There are three kinds of
+ * changes:
+ * <ul>
+ * <li>The value of an Entry changed. The old and new values are the values of
+ * the Entry.</li>
+ * <li>A child was added to or removed from a container at an index. The child
+ * is the new value of an addition and the old value of a removal.</li>
+ * <li>A property of the object, such as its name or whether or not it is
+ * active, changed. The old and new values are those of the property.</li>
+ * </ul>
+ * ChangeEvents are created by the objects that change and are immutable.
+ *
+ * @see IChangeListener
+ * @author Jay Jay Billings
+ */
+public final class ChangeEvent {
+
+	/**
+	 * The types of changes.
+	 */
+	public enum Type {
+		/**
+		 * The value of an Entry changed.
+		 */
+		VALUE_CHANGED,
+		/**
+		 * A child was added to a container.
+		 */
+		CHILD_ADDED,
+		/**
+		 * A child was removed from a container.
+		 */
+		CHILD_REMOVED,
+		/**
+		 * A property of the object changed.
+		 */
+		PROPERTY_CHANGED
+	}
+
+	/**
+	 * The property name of values.
+	 */
+	public static final String VALUE = "value";
+
+	/**
+	 * The property name of children.
+	 */
+	public static final String CHILD = "child";
+
+	/**
+	 * The property name of identification numbers.
+	 */
+	public static final String ID = "id";
+
+	/**
+	 * The property name of names.
+	 */
+	public static final String NAME = "name";
+
+	/**
+	 * The property name of descriptions.
+	 */
+	public static final String DESCRIPTION = "description";
+
+	/**
+	 * The property name of active flags.
+	 */
+	public static final String ACTIVE = "active";
+
+	/**
+	 * The property name of ready flags.
+	 */
+	public static final String READY = "ready";
+
+	/**
+	 * The object that changed.
+	 */
+	private final IUpdateable source;
+
+	/**
+	 * The type of the change.
+	 */
+	private final Type type;
+
+	/**
+	 * The name of the property that changed.
+	 */
+	private final String property;
+
+	/**
+	 * The value before the change.
+	 */
+	private final Object oldValue;
+
+	/**
+	 * The value after the change.
+	 */
+	private final Object newValue;
+
+	/**
+	 * The index of the child that was added or removed, or -1.
+	 */
+	private final int index;
+
+	/**
+	 * The constructor. Clients should use the static operations to create
+	 * events.
+	 *
+	 * @param source
+	 *            The object that changed
+	 * @param type
+	 *            The type of the change
+	 * @param property
+	 *            The name of the property that changed
+	 * @param oldValue
+	 *            The value before the change
+	 * @param newValue
+	 *            The value after the change
+	 * @param index
+	 *            The index of the child or -1
+	 */
+	private ChangeEvent(IUpdateable source, Type type, String property,
+			Object oldValue, Object newValue, int index) {
+		this.source = source;
+		this.type = type;
+		this.property = property;
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+		this.index = index;
+	}
+
+	/**
+	 * This operation creates an event for a change to the value of an Entry.
+	 *
+	 * @param source
+	 *            The Entry
+	 * @param oldValue
+	 *            The old value
+	 * @param newValue
+	 *            The new value
+	 * @return The event
+	 */
+	public static ChangeEvent valueChanged(IUpdateable source, String oldValue,
+			String newValue) {
+		return new ChangeEvent(source, Type.VALUE_CHANGED, VALUE, oldValue,
+				newValue, -1);
+	}
+
+	/**
+	 * This operation creates an event for a child that was added to a
+	 * container.
+	 *
+	 * @param source
+	 *            The container
+	 * @param child
+	 *            The child that was added
+	 * @param index
+	 *            The index of the child in the container after it was added
+	 * @return The event
+	 */
+	public static ChangeEvent childAdded(IUpdateable source, Object child,
+			int index) {
+		return new ChangeEvent(source, Type.CHILD_ADDED, CHILD, null, child,
+				index);
+	}
+
+	/**
+	 * This operation creates an event for a child that was removed from a
+	 * container.
+	 *
+	 * @param source
+	 *            The container
+	 * @param child
+	 *            The child that was removed
+	 * @param index
+	 *            The index that the child had in the container before it was
+	 *            removed
+	 * @return The event
+	 */
+	public static ChangeEvent childRemoved(IUpdateable source, Object child,
+			int index) {
+		return new ChangeEvent(source, Type.CHILD_REMOVED, CHILD, child, null,
+				index);
+	}
+
+	/**
+	 * This operation creates an event for a change to a property.
+	 *
+	 * @param source
+	 *            The object that changed
+	 * @param property
+	 *            The name of the property
+	 * @param oldValue
+	 *            The old value of the property
+	 * @param newValue
+	 *            The new value of the property
+	 * @return The event
+	 */
+	public static ChangeEvent propertyChanged(IUpdateable source,
+			String property, Object oldValue, Object newValue) {
+		return new ChangeEvent(source, Type.PROPERTY_CHANGED, property,
+				oldValue, newValue, -1);
+	}
+
+	/**
+	 * This operation returns the object that changed.
+	 *
+	 * @return The source of the event
+	 */
+	public IUpdateable getSource() {
+		return source;
+	}
+
+	/**
+	 * This operation returns the type of the change.
+	 *
+	 * @return The type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * This operation returns the name of the property that changed. It is
+	 * {@link #VALUE} for changes to values and {@link #CHILD} for children
+	 * that were added or removed.
+	 *
+	 * @return The name of the property
+	 */
+	public String getProperty() {
+		return property;
+	}
+
+	/**
+	 * This operation returns the value before the change.
+	 *
+	 * @return The old value or null if there was none
+	 */
+	public Object getOldValue() {
+		return oldValue;
+	}
+
+	/**
+	 * This operation returns the value after the change.
+	 *
+	 * @return The new value or null if there is none
+	 */
+	public Object getNewValue() {
+		return newValue;
+	}
+
+	/**
+	 * This operation returns the child that was added or removed.
+	 *
+	 * @return The child or null if a child was neither added nor removed
+	 */
+	public Object getChild() {
+		return type == Type.CHILD_ADDED ? newValue
+				: (type == Type.CHILD_REMOVED ? oldValue : null);
+	}
+
+	/**
+	 * This operation returns the index of the child that was added or removed.
+	 *
+	 * @return The index or -1 if a child was neither added nor removed
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return type + " " + property + (index >= 0 ? "[" + index + "]" : "")
+				+ ": " + oldValue + " -> " + newValue;
+	}
+
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.ICEObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class delivers the {@link ChangeEvent}s of one object to its
+ * {@link IChangeListener}s in batches. Events that are fired while a batch is
+ * waiting to be delivered are added to it, so a burst of changes only costs
+ * one task on the shared notification threads. At most one task delivers the
+ * events of a dispatcher at a time, which keeps the events in order.
+ *
+ * ICEObject and AbstractEntry create a dispatcher the first time that a
+ * change listener is added, so objects without change listeners do not
+ * create events.
+ *
+ * @author Jay Jay Billings
+ */
+public class ChangeEventDispatcher {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(ChangeEventDispatcher.class);
+
+	/**
+	 * The listeners.
+	 */
+	private final List<IChangeListener> listeners;
+
+	/**
+	 * The events that have not been delivered yet.
+	 */
+	private List<ChangeEvent> pendingEvents;
+
+	/**
+	 * True if a task has been scheduled to deliver the pending events.
+	 */
+	private boolean scheduled;
+
+	/**
+	 * The constructor.
+	 */
+	public ChangeEventDispatcher() {
+		listeners = new CopyOnWriteArrayList<IChangeListener>();
+		pendingEvents = new ArrayList<ChangeEvent>();
+		scheduled = false;
+	}
+
+	/**
+	 * This operation adds a listener. Listeners are only added once.
+	 *
+	 * @param listener
+	 *            The listener
+	 */
+	public void addListener(IChangeListener listener) {
+		if (listener != null && !listeners.contains(listener)) {
+			listeners.add(listener);
+		}
+	}
+
+	/**
+	 * This operation removes a listener.
+	 *
+	 * @param listener
+	 *            The listener
+	 */
+	public void removeListener(IChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * This operation returns true if there are listeners. Objects should check
+	 * it before they create events.
+	 *
+	 * @return True if there are listeners, false otherwise
+	 */
+	public boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+
+	/**
+	 * This operation fires an event. It is delivered with the next batch.
+	 *
+	 * @param event
+	 *            The event
+	 */
+	public void fire(ChangeEvent event) {
+
+		// Local Declarations
+		boolean schedule = false;
+
+		// Add the event to the batch and schedule the batch if needed
+		synchronized (this) {
+			pendingEvents.add(event);
+			if (!scheduled) {
+				scheduled = true;
+				schedule = true;
+			}
+		}
+		if (schedule) {
+			ICEExecutors.execute(Workload.NOTIFICATION, () -> deliver());
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation delivers the pending events until there are none left.
+	 */
+	private void deliver() {
+
+		// Local Declarations
+		List<ChangeEvent> batch;
+
+		while (true) {
+			// Take the batch, or stop if it is empty
+			synchronized (this) {
+				if (pendingEvents.isEmpty()) {
+					scheduled = false;
+					return;
+				}
+				batch = Collections.unmodifiableList(pendingEvents);
+				pendingEvents = new ArrayList<ChangeEvent>();
+			}
+			// Deliver it to every listener
+			for (IChangeListener listener : listeners) {
+				try {
+					listener.changed(batch);
+				} catch (RuntimeException e) {
+					logger.error("ChangeEventDispatcher Error: A listener "
+							+ "failed to handle a batch of changes.", e);
+				}
+			}
+		}
+	}
+
+}
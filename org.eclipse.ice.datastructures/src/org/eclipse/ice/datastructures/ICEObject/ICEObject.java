@@ -18,6 +18,8 @@ import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
 
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -95,6 +97,14 @@ public class ICEObject implements IUpdateable {
 	@XmlTransient
 	protected ArrayList<IUpdateableListener> listeners;
 
+	/**
+	 * The dispatcher that delivers ChangeEvents to the IChangeListeners of the
+	 * ICEObject. It is created when the first change listener is added and is
+	 * not copied.
+	 */
+	@XmlTransient
+	private volatile ChangeEventDispatcher changeDispatcher;
+
 	/**
 	 * The Constructor
 	 */
@@ -121,9 +131,12 @@ public class ICEObject implements IUpdateable {
 	public void setId(int id) {
 
 		if (id >= 0) {
+			int oldId = uniqueId;
 			uniqueId = id;
+			notifyIdentityListeners();
 			// Notify the listeners that the object has changed.
 			notifyListeners();
+			firePropertyChange(ChangeEvent.ID, oldId, id);
 		}
 
 	}
@@ -148,9 +161,12 @@ public class ICEObject implements IUpdateable {
 	public void setName(String name) {
 
 		if (name != null) {
+			String oldName = objectName;
 			objectName = name;
+			notifyIdentityListeners();
 			// Notify the listeners that the object has changed.
 			notifyListeners();
+			firePropertyChange(ChangeEvent.NAME, oldName, name);
 		}
 
 	}
@@ -175,9 +191,11 @@ public class ICEObject implements IUpdateable {
 	public void setDescription(String description) {
 
 		if (description != null) {
+			String oldDescription = objectDescription;
 			objectDescription = description;
 			// Notify the listeners that the object has changed.
 			notifyListeners();
+			firePropertyChange(ChangeEvent.DESCRIPTION, oldDescription, description);
 		}
 
 	}
@@ -212,10 +230,27 @@ public class ICEObject implements IUpdateable {
 		objectName = entity.objectName;
 		uniqueId = entity.uniqueId;
 		context = entity.context;
+		notifyIdentityListeners();
 
 		return;
 	}
 
+	/**
+	 * This protected operation tells the IIdentityChangeListeners of the ICEObject
+	 * that its id or name changed. They are called on the calling thread so
+	 * that their indexes are up to date when the change returns.
+	 */
+	protected void notifyIdentityListeners() {
+		if (listeners != null) {
+			for (int i = 0; i < listeners.size(); i++) {
+				IUpdateableListener listener = listeners.get(i);
+				if (listener instanceof IIdentityChangeListener) {
+					((IIdentityChangeListener) listener).identityChanged(this);
+				}
+			}
+		}
+	}
+
 	/**
 	 * This protected operation notifies the listeners of the ICEObject that its
 	 * state has changed.
@@ -224,25 +259,100 @@ public class ICEObject implements IUpdateable {
 
 		// Only process the update if there are listeners
 		if (listeners != null && !listeners.isEmpty()) {
-			// Create a thread on which to notify the listeners.
-			Thread notifierThread = new Thread() {
-				@Override
-				public void run() {
-					// Loop over all listeners and update them
-					for (int i = 0; i < listeners.size(); i++) {
-						listeners.get(i).update(ICEObject.this);
-					}
-					return;
+			// Notify the listeners on the shared notification threads
+			ICEExecutors.execute(Workload.NOTIFICATION, () -> {
+				// Loop over all listeners and update them
+				for (int i = 0; i < listeners.size(); i++) {
+					listeners.get(i).update(ICEObject.this);
 				}
-			};
+				return;
+			});
+		}
 
-			// Launch the thread and do the notifications
-			notifierThread.start();
+		return;
+	}
+
+	/**
+	 * This operation adds an IChangeListener that will be given the
+	 * ChangeEvents of the ICEObject in batches.
+	 * 
+	 * @param listener
+	 *            The listener
+	 */
+	public void addChangeListener(IChangeListener listener) {
+
+		// Create the dispatcher if needed
+		if (listener != null) {
+			synchronized (this) {
+				if (changeDispatcher == null) {
+					changeDispatcher = new ChangeEventDispatcher();
+				}
+			}
+			changeDispatcher.addListener(listener);
 		}
 
 		return;
 	}
 
+	/**
+	 * This operation removes an IChangeListener from the ICEObject.
+	 * 
+	 * @param listener
+	 *            The listener
+	 */
+	public void removeChangeListener(IChangeListener listener) {
+		ChangeEventDispatcher dispatcher = changeDispatcher;
+		if (dispatcher != null) {
+			dispatcher.removeListener(listener);
+		}
+	}
+
+	/**
+	 * This operation returns true if the ICEObject has IChangeListeners.
+	 * Subclasses should check it before they create ChangeEvents.
+	 * 
+	 * @return True if there are change listeners, false otherwise
+	 */
+	protected boolean hasChangeListeners() {
+		ChangeEventDispatcher dispatcher = changeDispatcher;
+		return dispatcher != null && dispatcher.hasListeners();
+	}
+
+	/**
+	 * This protected operation fires a ChangeEvent to the IChangeListeners of
+	 * the ICEObject. It does nothing if there are no change listeners.
+	 * 
+	 * @param event
+	 *            The event
+	 */
+	protected void fireChange(ChangeEvent event) {
+		ChangeEventDispatcher dispatcher = changeDispatcher;
+		if (dispatcher != null && dispatcher.hasListeners()) {
+			dispatcher.fire(event);
+		}
+	}
+
+	/**
+	 * This protected operation fires a ChangeEvent for a property of the
+	 * ICEObject if there are change listeners and the value of the property
+	 * changed.
+	 * 
+	 * @param property
+	 *            The name of the property
+	 * @param oldValue
+	 *            The old value of the property
+	 * @param newValue
+	 *            The new value of the property
+	 */
+	protected void firePropertyChange(String property, Object oldValue,
+			Object newValue) {
+		if (hasChangeListeners() && (oldValue == null ? newValue != null
+				: !oldValue.equals(newValue))) {
+			fireChange(ChangeEvent.propertyChanged(this, property, oldValue,
+					newValue));
+		}
+	}
+
 	/**
 	 * This operation returns a clone of the ICEObject using a deep copy.
 	 * 
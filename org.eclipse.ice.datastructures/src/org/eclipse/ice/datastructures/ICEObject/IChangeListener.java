@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.ICEObject;
+
+import java.util.List;
+
+/**
+ * This interface is implemented by classes that need to know exactly what
+ * changed in an ICEObject or an Entry. Listeners are registered with
+ * addChangeListener() and are given batches of {@link ChangeEvent}s.
+ *
+ * Events are delivered on the shared notification threads, like the
+ * notifications of IUpdateableListeners, but all of the events that happened
+ * while a batch was waiting are delivered together. The events of one object
+ * are always delivered in the order in which they happened and batches from
+ * one object are never delivered at the same time.
+ *
+ * @author Jay Jay Billings
+ */
+public interface IChangeListener {
+
+	/**
+	 * This operation is called with the events that happened since the last
+	 * batch was delivered.
+	 *
+	 * @param events
+	 *            The events in the order in which they happened. The list can
+	 *            not be modified.
+	 */
+	public void changed(List<ChangeEvent> events);
+
+}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.ICEObject;
+
+/**
+ * This interface is implemented by the containers that index their contents
+ * by id or name, such as DataComponent and Form. It is registered with
+ * register() like any other IUpdateableListener.
+ *
+ * update() is called later on the shared notification threads, but
+ * identityChanged() is called on the thread that changed the id or name,
+ * before the operation that changed it returns. This keeps the indexes of the
+ * containers up to date without searching their contents.
+ *
+ * @author Jay Jay Billings
+ */
+public interface IIdentityChangeListener extends IUpdateableListener {
+
+	/**
+	 * This operation is called when the id or name of an object that the
+	 * listener is registered with changed. It should only do a small amount
+	 * of work, such as marking an index as out of date.
+	 *
+	 * @param source
+	 *            The object whose id or name changed
+	 */
+	public void identityChanged(Identifiable source);
+
+}
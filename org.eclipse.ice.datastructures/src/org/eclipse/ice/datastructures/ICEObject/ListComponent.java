@@ -11,8 +11,12 @@
  *******************************************************************************/
 package org.eclipse.ice.datastructures.ICEObject;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -26,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import ca.odell.glazedlists.BasicEventList;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.TransformedList;
+import ca.odell.glazedlists.util.concurrent.Lock;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventListener;
 import ca.odell.glazedlists.gui.WritableTableFormat;
@@ -74,6 +79,23 @@ import ca.odell.glazedlists.gui.WritableTableFormat;
  * registers listeners against itself, not the source, but it processes all of
  * the list additions, etc., through the source.
  * 
+ * <b>Concurrency</b>
+ * <p>
+ * Like all GlazedLists, this list is not thread safe by itself. Producers on
+ * background threads, such as readers, should use {@link #appendAll(Collection)}
+ * and {@link #replaceContents(Collection)}, which take the write lock once and
+ * post a single list event for the whole batch, instead of adding elements
+ * one at a time. Readers should use {@link #snapshot()} or
+ * {@link #forEachLocked(Consumer)}, which hold the read lock while they look at
+ * the list. IUpdateableListeners are updated after the write lock is released.
+ * </p>
+ * <p>
+ * The single element operations add(), set(), remove() and clear() take the
+ * write lock too, so they can be called without holding it. The lock is
+ * reentrant, so clients that make several changes that must not be
+ * interleaved with other writers can hold the write lock around them.
+ * </p>
+ * 
  * @author Jay Jay Billings
  * 
  */
@@ -148,7 +170,7 @@ public class ListComponent<T> extends TransformedList<T, T>
 	 * and sets the source list to an empty BasicEventList.
 	 */
 	public ListComponent() {
-		this(new BasicEventList<T>());
+		this(new BulkEventList<T>());
 	}
 
 	/**
@@ -200,11 +222,207 @@ public class ListComponent<T> extends TransformedList<T, T>
 			return;
 		}
 		// Copy the identity
-		idList.clear();
-		idList.addAll(list.idList);
-		// Copy the list
-		clear();
-		addAll(list);
+		List<String> identity = list.idList != idList
+				? new ArrayList<String>(list.idList) : null;
+		if (identity != null) {
+			idList.clear();
+			idList.addAll(identity);
+			notifyIdentityListeners();
+		}
+		// Copy the list under its read lock and replace the contents of this
+		// one in a single event
+		replaceContents(list.snapshot());
+	}
+
+	/**
+	 * This operation adds all of the elements to the end of the list. The
+	 * write lock is taken once and a single list event is posted for all of
+	 * the elements, so it should be used instead of add() by producers that
+	 * add many elements at a time.
+	 * 
+	 * @param elements
+	 *            The elements to add. Nothing is done if it is null or empty.
+	 */
+	public void appendAll(Collection<? extends T> elements) {
+
+		if (elements != null && !elements.isEmpty()) {
+			Lock lock = getReadWriteLock().writeLock();
+			lock.lock();
+			try {
+				source.addAll(elements);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation replaces all of the elements of the list. The write lock
+	 * is taken once and, if the list was created by this class, a single list
+	 * event is posted for the removals and the additions.
+	 * 
+	 * @param elements
+	 *            The new elements. The list is cleared if it is null or empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public void replaceContents(Collection<? extends T> elements) {
+
+		// Local Declarations
+		Collection<? extends T> newElements = (elements != null) ? elements
+				: new ArrayList<T>();
+
+		Lock lock = getReadWriteLock().writeLock();
+		lock.lock();
+		try {
+			if (source instanceof BulkEventList) {
+				((BulkEventList<T>) source).setAll(newElements);
+			} else {
+				source.clear();
+				source.addAll(newElements);
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		return;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ca.odell.glazedlists.AbstractEventList#add(java.lang.Object)
+	 */
+	@Override
+	public boolean add(T value) {
+		Lock lock = getReadWriteLock().writeLock();
+		lock.lock();
+		try {
+			return super.add(value);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ca.odell.glazedlists.TransformedList#add(int, java.lang.Object)
+	 */
+	@Override
+	public void add(int index, T value) {
+		Lock lock = getReadWriteLock().writeLock();
+		lock.lock();
+		try {
+			super.add(index, value);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ca.odell.glazedlists.TransformedList#set(int, java.lang.Object)
+	 */
+	@Override
+	public T set(int index, T value) {
+		Lock lock = getReadWriteLock().writeLock();
+		lock.lock();
+		try {
+			return super.set(index, value);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ca.odell.glazedlists.TransformedList#remove(int)
+	 */
+	@Override
+	public T remove(int index) {
+		Lock lock = getReadWriteLock().writeLock();
+		lock.lock();
+		try {
+			return super.remove(index);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ca.odell.glazedlists.AbstractEventList#remove(java.lang.Object)
+	 */
+	@Override
+	public boolean remove(Object toRemove) {
+		Lock lock = getReadWriteLock().writeLock();
+		lock.lock();
+		try {
+			return super.remove(toRemove);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ca.odell.glazedlists.TransformedList#clear()
+	 */
+	@Override
+	public void clear() {
+		Lock lock = getReadWriteLock().writeLock();
+		lock.lock();
+		try {
+			super.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * This operation returns a copy of the elements in the list that was made
+	 * while holding the read lock. The copy can be used safely while other
+	 * threads change the list.
+	 * 
+	 * @return The elements
+	 */
+	public List<T> snapshot() {
+
+		Lock lock = getReadWriteLock().readLock();
+		lock.lock();
+		try {
+			return new ArrayList<T>(source);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * This operation performs an action on each element of the list while
+	 * holding the read lock. The action must not change the list.
+	 * 
+	 * @param action
+	 *            The action
+	 */
+	public void forEachLocked(Consumer<? super T> action) {
+
+		Lock lock = getReadWriteLock().readLock();
+		lock.lock();
+		try {
+			for (int i = 0; i < source.size(); i++) {
+				action.accept(source.get(i));
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		return;
 	}
 
 	/**
@@ -255,9 +473,10 @@ public class ListComponent<T> extends TransformedList<T, T>
 	@Override
 	public void register(IUpdateableListener listener) {
 		// Delegate this to the super class and id list by wrapping the listener
-		// and registering it
+		// and registering it. The listener is updated after the write lock is
+		// released so that it can read the list.
 		WrappedGlazedEventListener<Object> glazedListener = new WrappedGlazedEventListener<Object>(
-				listener, this);
+				listener, this, true);
 		logger.info("Registered!");
 		source.addListEventListener(glazedListener);
 		idList.addListEventListener(glazedListener);
@@ -266,6 +485,22 @@ public class ListComponent<T> extends TransformedList<T, T>
 		listenerMap.put(listener, glazedListener);
 	}
 
+	/**
+	 * This operation tells the IIdentityChangeListeners of the list that its
+	 * id or name changed. They are called on the calling thread so that their
+	 * indexes are up to date when the change returns.
+	 */
+	private void notifyIdentityListeners() {
+		if (listenerMap != null) {
+			for (IUpdateableListener listener : new ArrayList<IUpdateableListener>(
+					listenerMap.keySet())) {
+				if (listener instanceof IIdentityChangeListener) {
+					((IIdentityChangeListener) listener).identityChanged(this);
+				}
+			}
+		}
+	}
+
 	/**
 	 * @see IUpdateable#unregister(IUpdateableListener listener)
 	 */
@@ -287,6 +522,7 @@ public class ListComponent<T> extends TransformedList<T, T>
 	public void setId(int id) {
 		if (id >= 0) {
 			idList.set(0, String.valueOf(id));
+			notifyIdentityListeners();
 		}
 	}
 
@@ -313,6 +549,7 @@ public class ListComponent<T> extends TransformedList<T, T>
 	public void setName(String name) {
 		if (name != null) {
 			idList.set(1, name);
+			notifyIdentityListeners();
 		}
 	}
 
@@ -569,4 +806,32 @@ public class ListComponent<T> extends TransformedList<T, T>
 		idList.set(3, context);
 	}
 
+	/**
+	 * The source list used by default. It adds an operation that replaces all
+	 * of the elements of the list in a single list event.
+	 * 
+	 * @param <E>
+	 *            The type of the elements
+	 */
+	private static class BulkEventList<E> extends BasicEventList<E> {
+
+		/**
+		 * This operation replaces all of the elements of the list. The caller
+		 * must hold the write lock.
+		 * 
+		 * @param elements
+		 *            The new elements
+		 */
+		public void setAll(Collection<? extends E> elements) {
+			// Nest the removals and additions in one event
+			updates.beginEvent(true);
+			try {
+				clear();
+				addAll(elements);
+			} finally {
+				updates.commitEvent();
+			}
+		}
+	}
+
 }
@@ -11,6 +11,11 @@
  *******************************************************************************/
 package org.eclipse.ice.datastructures.ICEObject;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
+
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventListener;
 
@@ -22,6 +27,12 @@ import ca.odell.glazedlists.event.ListEventListener;
  * Component it is observing. When the event is posted, it simple calls
  * IUpdateableListener.update().
  * 
+ * GlazedLists posts events while the writer holds the list's write lock. A
+ * listener created with deferred updates is called later on the shared
+ * notification threads instead, so that it does not hold up the writer and
+ * can take the read lock to look at the list. Events that arrive before the
+ * deferred update runs are folded into it.
+ * 
  * This class expects non-null input to the constructor or it will fail with a
  * NullPointerException.
  * 
@@ -40,6 +51,16 @@ public class WrappedGlazedEventListener<T> implements ListEventListener<T> {
 	 */
 	Component component;
 
+	/**
+	 * True if updates are posted on the notification threads.
+	 */
+	private final boolean deferUpdates;
+
+	/**
+	 * True if a deferred update has been scheduled and has not started yet.
+	 */
+	private final AtomicBoolean updatePending = new AtomicBoolean(false);
+
 	/**
 	 * The constructor
 	 * 
@@ -49,8 +70,26 @@ public class WrappedGlazedEventListener<T> implements ListEventListener<T> {
 	 *            The Component that the listener is observing
 	 */
 	public WrappedGlazedEventListener(IUpdateableListener listener, Component component) {
+		this(listener, component, false);
+	}
+
+	/**
+	 * The constructor
+	 * 
+	 * @param listener
+	 *            The IUpdateableListener to which events should be dispatched
+	 * @param component
+	 *            The Component that the listener is observing
+	 * @param deferUpdates
+	 *            True if the listener should be updated on the notification
+	 *            threads after the list is unlocked, false if it should be
+	 *            updated immediately
+	 */
+	public WrappedGlazedEventListener(IUpdateableListener listener,
+			Component component, boolean deferUpdates) {
 		this.listener = listener;
 		this.component = component;
+		this.deferUpdates = deferUpdates;
 	}
 
 	/**
@@ -59,8 +98,15 @@ public class WrappedGlazedEventListener<T> implements ListEventListener<T> {
 	 */
 	@Override
 	public void listChanged(ListEvent<T> listChanges) {
-		// Just post the update
-		listener.update(component);
+		// Just post the update, or schedule one if none is waiting
+		if (!deferUpdates) {
+			listener.update(component);
+		} else if (updatePending.compareAndSet(false, true)) {
+			ICEExecutors.execute(Workload.NOTIFICATION, () -> {
+				updatePending.set(false);
+				listener.update(component);
+			});
+		}
 	}
 
 }
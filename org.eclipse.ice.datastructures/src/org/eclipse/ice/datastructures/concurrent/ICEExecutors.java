@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.concurrent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class holds the thread pools that are shared by all of ICE. There is one
+ * pool for each {@link Workload}. Code that needs to run something on another
+ * thread should hand it to the pool for its kind of work instead of creating a
+ * new Thread, so that the number of threads stays bounded and the work can be
+ * observed.
+ *
+ * The pools are created when they are first used. Each pool is published
+ * through JMX under the name org.eclipse.ice:type=Executor,name=&lt;pool
+ * name&gt; with the statistics described by
+ * {@link InstrumentedExecutorMBean}. The threads are daemon threads named after
+ * their pool. The pools for blocking work use virtual threads when the Java
+ * runtime provides them.
+ *
+ * @author Jay Jay Billings
+ */
+public class ICEExecutors {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(ICEExecutors.class);
+
+	/**
+	 * The domain of the names of the pools in JMX.
+	 */
+	public static final String JMX_DOMAIN = "org.eclipse.ice";
+
+	/**
+	 * The pools, created when they are first used.
+	 */
+	private static final Map<Workload, InstrumentedExecutor> executors = new EnumMap<Workload, InstrumentedExecutor>(
+			Workload.class);
+
+	/**
+	 * The constructor. This class only has static operations.
+	 */
+	private ICEExecutors() {
+	}
+
+	/**
+	 * This operation returns the pool for a kind of work, creating it if
+	 * needed.
+	 *
+	 * @param workload
+	 *            The kind of work
+	 * @return The pool
+	 */
+	public static InstrumentedExecutor getExecutor(Workload workload) {
+		synchronized (executors) {
+			InstrumentedExecutor executor = executors.get(workload);
+			if (executor == null || executor.isShutdown()) {
+				executor = createExecutor(workload);
+				executors.put(workload, executor);
+			}
+			return executor;
+		}
+	}
+
+	/**
+	 * This operation runs a task on the pool for a kind of work.
+	 *
+	 * @param workload
+	 *            The kind of work
+	 * @param task
+	 *            The task
+	 * @throws RejectedExecutionException
+	 *             if the queue of a pool that rejects tasks is full
+	 */
+	public static void execute(Workload workload, Runnable task) {
+		getExecutor(workload).execute(task);
+	}
+
+	/**
+	 * This operation runs a task on the pool for a kind of work and returns
+	 * its future result.
+	 *
+	 * @param workload
+	 *            The kind of work
+	 * @param task
+	 *            The task
+	 * @return The future result of the task
+	 * @throws RejectedExecutionException
+	 *             if the queue of a pool that rejects tasks is full
+	 */
+	public static <T> Future<T> submit(Workload workload, Callable<T> task) {
+		return getExecutor(workload).submit(task);
+	}
+
+	/**
+	 * This operation returns whether the Java runtime provides virtual
+	 * threads.
+	 *
+	 * @return True if virtual threads are available
+	 */
+	public static boolean isVirtualThreadAvailable() {
+		return createVirtualThreadFactory("") != null;
+	}
+
+	/**
+	 * This operation stops all of the pools. Pools are created again if they
+	 * are used afterward.
+	 */
+	public static void shutdown() {
+		synchronized (executors) {
+			for (Map.Entry<Workload, InstrumentedExecutor> entry : executors
+					.entrySet()) {
+				entry.getValue().shutdown();
+				unregister(entry.getKey());
+			}
+			executors.clear();
+		}
+	}
+
+	/**
+	 * This operation creates the pool for a kind of work and publishes it
+	 * through JMX.
+	 *
+	 * @param workload
+	 *            The kind of work
+	 * @return The pool
+	 */
+	private static InstrumentedExecutor createExecutor(Workload workload) {
+
+		// Create the threads
+		String prefix = "ICE " + workload.getPoolName() + " ";
+		ThreadFactory factory = workload.isVirtual()
+				? createVirtualThreadFactory(prefix) : null;
+		if (factory == null) {
+			final AtomicInteger threadCount = new AtomicInteger();
+			factory = runnable -> {
+				Thread thread = new Thread(runnable,
+						prefix + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			};
+		}
+
+		// Create the pool
+		InstrumentedExecutor executor = new InstrumentedExecutor(
+				workload.getPoolName(), workload.getThreads(),
+				workload.getQueueCapacity(), factory,
+				workload.isCallerRuns() ? new ThreadPoolExecutor.CallerRunsPolicy()
+						: new ThreadPoolExecutor.AbortPolicy());
+
+		// Publish it
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = getObjectName(workload);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(executor, name);
+		} catch (JMException | SecurityException e) {
+			// The pool works without JMX
+			logger.error(ICEExecutors.class.getName() + " Exception!", e);
+		}
+
+		return executor;
+	}
+
+	/**
+	 * This operation removes a pool from JMX.
+	 *
+	 * @param workload
+	 *            The kind of work
+	 */
+	private static void unregister(Workload workload) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = getObjectName(workload);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (JMException | SecurityException e) {
+			logger.error(ICEExecutors.class.getName() + " Exception!", e);
+		}
+	}
+
+	/**
+	 * This operation returns the JMX name of the pool for a kind of work.
+	 *
+	 * @param workload
+	 *            The kind of work
+	 * @return The name
+	 * @throws JMException
+	 *             if the name is malformed
+	 */
+	private static ObjectName getObjectName(Workload workload)
+			throws JMException {
+		return new ObjectName(JMX_DOMAIN + ":type=Executor,name="
+				+ workload.getPoolName());
+	}
+
+	/**
+	 * This operation creates a factory for virtual threads if the Java runtime
+	 * provides them. Reflection is used so that ICE still runs on older
+	 * runtimes.
+	 *
+	 * @param prefix
+	 *            The prefix of the names of the threads
+	 * @return The factory or null if virtual threads are not available
+	 */
+	private static ThreadFactory createVirtualThreadFactory(String prefix) {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Method setName = builderClass.getMethod("name", String.class,
+					long.class);
+			builder = setName.invoke(builder, prefix, 1L);
+			return (ThreadFactory) builderClass.getMethod("factory")
+					.invoke(builder);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// Virtual threads are not available
+			return null;
+		}
+	}
+
+}
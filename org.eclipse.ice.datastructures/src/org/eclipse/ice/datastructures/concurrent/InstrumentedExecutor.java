@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.concurrent;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is a thread pool with a bounded queue that keeps statistics about
+ * the tasks it runs. Threads are created as tasks arrive, up to the maximum
+ * number, and are stopped once they have been idle for a minute. Tasks only
+ * wait in the queue once all of the threads are busy. Once the queue is full,
+ * or at once if the pool has no queue, the rejection handler decides what
+ * happens to new tasks.
+ *
+ * An exception thrown by a task that was passed to execute() is logged and
+ * counted instead of stopping the thread.
+ *
+ * @author Jay Jay Billings
+ */
+public class InstrumentedExecutor extends ThreadPoolExecutor
+		implements InstrumentedExecutorMBean {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(InstrumentedExecutor.class);
+
+	/**
+	 * The time in seconds that an idle thread is kept.
+	 */
+	private static final long KEEP_ALIVE = 60;
+
+	/**
+	 * The number of nanoseconds in a millisecond.
+	 */
+	private static final double NANOS_PER_MILLI = 1.0e6;
+
+	/**
+	 * The name of the pool.
+	 */
+	private final String name;
+
+	/**
+	 * The number of tasks that may wait for a thread.
+	 */
+	private final int queueCapacity;
+
+	/**
+	 * The number of tasks that did not fit in the queue.
+	 */
+	private final AtomicLong rejected = new AtomicLong();
+
+	/**
+	 * The number of tasks that threw an exception.
+	 */
+	private final AtomicLong failed = new AtomicLong();
+
+	/**
+	 * The number of timed tasks.
+	 */
+	private final AtomicLong timedTasks = new AtomicLong();
+
+	/**
+	 * The total time in nanoseconds that tasks waited for a thread.
+	 */
+	private final AtomicLong totalQueueTime = new AtomicLong();
+
+	/**
+	 * The total time in nanoseconds that tasks took to run.
+	 */
+	private final AtomicLong totalRunTime = new AtomicLong();
+
+	/**
+	 * The longest time in nanoseconds from the submission of a task to its
+	 * end.
+	 */
+	private final AtomicLong maxLatency = new AtomicLong();
+
+	/**
+	 * This class wraps a task to time it.
+	 */
+	private class TimedTask implements Runnable {
+
+		/**
+		 * The task.
+		 */
+		private final Runnable task;
+
+		/**
+		 * The time at which the task was submitted, in nanoseconds.
+		 */
+		private final long submitted = System.nanoTime();
+
+		/**
+		 * The constructor.
+		 *
+		 * @param command
+		 *            The task
+		 */
+		private TimedTask(Runnable command) {
+			task = command;
+		}
+
+		@Override
+		public void run() {
+			long start = System.nanoTime();
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				failed.incrementAndGet();
+				logger.error(getClass().getName() + " Exception!", e);
+			} finally {
+				long end = System.nanoTime();
+				timedTasks.incrementAndGet();
+				totalQueueTime.addAndGet(start - submitted);
+				totalRunTime.addAndGet(end - start);
+				long latency = end - submitted;
+				maxLatency.accumulateAndGet(latency, Math::max);
+			}
+		}
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param poolName
+	 *            The name of the pool
+	 * @param maxThreads
+	 *            The maximum number of threads
+	 * @param capacity
+	 *            The number of tasks that may wait for a thread. If it is
+	 *            zero, tasks never wait.
+	 * @param factory
+	 *            The factory that creates the threads
+	 * @param handler
+	 *            The handler for tasks that do not fit in the queue
+	 */
+	public InstrumentedExecutor(String poolName, int maxThreads, int capacity,
+			ThreadFactory factory, final RejectedExecutionHandler handler) {
+		super(maxThreads, maxThreads, KEEP_ALIVE, TimeUnit.SECONDS,
+				(capacity > 0) ? new LinkedBlockingQueue<Runnable>(capacity)
+						: new SynchronousQueue<Runnable>(),
+				factory);
+		name = poolName;
+		queueCapacity = capacity;
+		allowCoreThreadTimeOut(true);
+
+		// Count the rejections
+		setRejectedExecutionHandler((task, executor) -> {
+			rejected.incrementAndGet();
+			handler.rejectedExecution(task, executor);
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.concurrent.ThreadPoolExecutor#execute(java.lang.Runnable)
+	 */
+	@Override
+	public void execute(Runnable command) {
+		if (command == null) {
+			throw new NullPointerException();
+		}
+		super.execute(new TimedTask(command));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see InstrumentedExecutorMBean#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see InstrumentedExecutorMBean#getQueueDepth()
+	 */
+	@Override
+	public int getQueueDepth() {
+		return getQueue().size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see InstrumentedExecutorMBean#getQueueCapacity()
+	 */
+	@Override
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see InstrumentedExecutorMBean#getRejectedTaskCount()
+	 */
+	@Override
+	public long getRejectedTaskCount() {
+		return rejected.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see InstrumentedExecutorMBean#getFailedTaskCount()
+	 */
+	@Override
+	public long getFailedTaskCount() {
+		return failed.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see InstrumentedExecutorMBean#getAverageQueueTime()
+	 */
+	@Override
+	public double getAverageQueueTime() {
+		return average(totalQueueTime.get());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see InstrumentedExecutorMBean#getAverageRunTime()
+	 */
+	@Override
+	public double getAverageRunTime() {
+		return average(totalRunTime.get());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see InstrumentedExecutorMBean#getAverageLatency()
+	 */
+	@Override
+	public double getAverageLatency() {
+		return average(totalQueueTime.get() + totalRunTime.get());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see InstrumentedExecutorMBean#getMaxLatency()
+	 */
+	@Override
+	public double getMaxLatency() {
+		return maxLatency.get() / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * This operation divides a total time by the number of timed tasks.
+	 *
+	 * @param total
+	 *            The total time in nanoseconds
+	 * @return The average time in milliseconds
+	 */
+	private double average(long total) {
+		long count = timedTasks.get();
+		return (count > 0) ? total / NANOS_PER_MILLI / count : 0.0;
+	}
+
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.concurrent;
+
+/**
+ * This interface describes the statistics of an {@link InstrumentedExecutor}
+ * that are published through JMX. All times are in milliseconds.
+ *
+ * @author Jay Jay Billings
+ */
+public interface InstrumentedExecutorMBean {
+
+	/**
+	 * This operation returns the name of the pool.
+	 *
+	 * @return The name
+	 */
+	public String getName();
+
+	/**
+	 * This operation returns the number of threads that are running tasks.
+	 *
+	 * @return The number of active threads
+	 */
+	public int getActiveCount();
+
+	/**
+	 * This operation returns the number of threads in the pool.
+	 *
+	 * @return The number of threads
+	 */
+	public int getPoolSize();
+
+	/**
+	 * This operation returns the largest number of threads that were ever in
+	 * the pool at once.
+	 *
+	 * @return The largest number of threads
+	 */
+	public int getLargestPoolSize();
+
+	/**
+	 * This operation returns the maximum number of threads in the pool.
+	 *
+	 * @return The maximum number of threads
+	 */
+	public int getMaximumPoolSize();
+
+	/**
+	 * This operation returns the number of tasks waiting for a thread.
+	 *
+	 * @return The depth of the queue
+	 */
+	public int getQueueDepth();
+
+	/**
+	 * This operation returns the number of tasks that may wait for a thread.
+	 *
+	 * @return The capacity of the queue
+	 */
+	public int getQueueCapacity();
+
+	/**
+	 * This operation returns the number of tasks that were finished.
+	 *
+	 * @return The number of finished tasks
+	 */
+	public long getCompletedTaskCount();
+
+	/**
+	 * This operation returns the number of tasks that did not fit in the
+	 * queue, whether they were rejected or run by the submitting thread.
+	 *
+	 * @return The number of rejected tasks
+	 */
+	public long getRejectedTaskCount();
+
+	/**
+	 * This operation returns the number of tasks that threw an exception.
+	 *
+	 * @return The number of failed tasks
+	 */
+	public long getFailedTaskCount();
+
+	/**
+	 * This operation returns the average time tasks waited for a thread.
+	 *
+	 * @return The average queue time
+	 */
+	public double getAverageQueueTime();
+
+	/**
+	 * This operation returns the average time tasks took to run.
+	 *
+	 * @return The average run time
+	 */
+	public double getAverageRunTime();
+
+	/**
+	 * This operation returns the average time from the submission of a task
+	 * to its end.
+	 *
+	 * @return The average latency
+	 */
+	public double getAverageLatency();
+
+	/**
+	 * This operation returns the longest time from the submission of a task
+	 * to its end.
+	 *
+	 * @return The maximum latency
+	 */
+	public double getMaxLatency();
+}
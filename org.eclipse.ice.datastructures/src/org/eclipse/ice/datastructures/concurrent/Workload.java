@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.concurrent;
+
+/**
+ * This enumeration lists the kinds of work that are run by {@link ICEExecutors}
+ * . Each kind of work has its own pool of threads, sized and bounded for how
+ * that work behaves.
+ *
+ * The number of threads in a pool can be changed with the system property
+ * org.eclipse.ice.executor.&lt;name&gt;.threads, where &lt;name&gt; is the
+ * lower case name of the workload, such as
+ * org.eclipse.ice.executor.launch.threads.
+ *
+ * @author Jay Jay Billings
+ */
+public enum Workload {
+
+	/**
+	 * Work that mostly waits on files or the network. It runs on virtual
+	 * threads when the Java runtime provides them. If the queue is full, the
+	 * submitting thread runs the task.
+	 */
+	IO("IO", Math.max(16, 4 * Runtime.getRuntime().availableProcessors()),
+			1000, true, true),
+
+	/**
+	 * Work that mostly uses the processor. There is one thread per processor.
+	 * If the queue is full, the submitting thread runs the task.
+	 */
+	COMPUTE("Compute", Runtime.getRuntime().availableProcessors(), 1000, true,
+			false),
+
+	/**
+	 * The notifications of listeners. Notifications are never dropped. If the
+	 * queue is full, the submitting thread notifies the listeners itself.
+	 */
+	NOTIFICATION("Notification",
+			Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), 10000,
+			true, false),
+
+	/**
+	 * Job launches and the other long running work that follows them. Launches
+	 * never wait in a queue, because a launch is often waited on by another
+	 * launch. They start immediately or, if every thread is busy, are
+	 * rejected. It runs on virtual threads when the Java runtime provides
+	 * them.
+	 */
+	LAUNCH("Launch", 128, 0, false, true);
+
+	/**
+	 * The name of the pool.
+	 */
+	private final String poolName;
+
+	/**
+	 * The default maximum number of threads.
+	 */
+	private final int defaultThreads;
+
+	/**
+	 * The number of tasks that may wait for a thread. Zero means tasks never
+	 * wait.
+	 */
+	private final int queueCapacity;
+
+	/**
+	 * True if the submitting thread runs a task when the queue is full, false
+	 * if the task is rejected.
+	 */
+	private final boolean callerRuns;
+
+	/**
+	 * True if virtual threads should be used when they are available.
+	 */
+	private final boolean virtual;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param name
+	 *            The name of the pool
+	 * @param threads
+	 *            The default maximum number of threads
+	 * @param capacity
+	 *            The number of tasks that may wait for a thread
+	 * @param runInCaller
+	 *            True if the submitting thread runs a task when the queue is
+	 *            full
+	 * @param useVirtual
+	 *            True if virtual threads should be used when available
+	 */
+	private Workload(String name, int threads, int capacity,
+			boolean runInCaller, boolean useVirtual) {
+		poolName = name;
+		defaultThreads = threads;
+		queueCapacity = capacity;
+		callerRuns = runInCaller;
+		virtual = useVirtual;
+	}
+
+	/**
+	 * This operation returns the name of the pool.
+	 *
+	 * @return The name
+	 */
+	public String getPoolName() {
+		return poolName;
+	}
+
+	/**
+	 * This operation returns the maximum number of threads, including any
+	 * change made with the system property.
+	 *
+	 * @return The number of threads
+	 */
+	public int getThreads() {
+		int threads = Integer.getInteger("org.eclipse.ice.executor."
+				+ name().toLowerCase() + ".threads", defaultThreads);
+		return Math.max(1, threads);
+	}
+
+	/**
+	 * This operation returns the number of tasks that may wait for a thread.
+	 *
+	 * @return The capacity of the queue
+	 */
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * This operation returns whether the submitting thread runs a task when
+	 * the queue is full.
+	 *
+	 * @return True if the caller runs the task, false if it is rejected
+	 */
+	public boolean isCallerRuns() {
+		return callerRuns;
+	}
+
+	/**
+	 * This operation returns whether virtual threads should be used when they
+	 * are available.
+	 *
+	 * @return True if virtual threads should be used
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+}
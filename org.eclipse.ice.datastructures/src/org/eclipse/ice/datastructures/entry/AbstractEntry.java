@@ -15,6 +15,7 @@ package org.eclipse.ice.datastructures.entry;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -23,9 +24,15 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
 
+import org.eclipse.ice.datastructures.ICEObject.ChangeEvent;
+import org.eclipse.ice.datastructures.ICEObject.ChangeEventDispatcher;
+import org.eclipse.ice.datastructures.ICEObject.IChangeListener;
+import org.eclipse.ice.datastructures.ICEObject.IIdentityChangeListener;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -145,6 +152,28 @@ public abstract class AbstractEntry implements IEntry {
 	 */
 	@XmlAttribute()
 	protected boolean isSecret = false;
+
+	/**
+	 * The number of changes made to all Entries. It is used to stamp each
+	 * Entry when it changes.
+	 */
+	private static final AtomicLong modificationCount = new AtomicLong();
+
+	/**
+	 * The modification count at the last change to this Entry. Clients that
+	 * review Entries can skip the ones whose stamps are not greater than the
+	 * modification count at their last review.
+	 */
+	@XmlTransient
+	private long modificationStamp;
+
+	/**
+	 * The dispatcher that delivers ChangeEvents to the IChangeListeners of the
+	 * Entry. It is created when the first change listener is added and is not
+	 * copied.
+	 */
+	@XmlTransient
+	private volatile ChangeEventDispatcher changeDispatcher;
 	
 	/**
 	 * The Constructor
@@ -165,6 +194,7 @@ public abstract class AbstractEntry implements IEntry {
 		value = "";
 		comment = "";
 		tag = "";
+		stampModification();
 		return;
 	}
 
@@ -177,9 +207,12 @@ public abstract class AbstractEntry implements IEntry {
 	public void setId(int id) {
 
 		if (id >= 0) {
+			int oldId = uniqueId;
 			uniqueId = id;
+			notifyIdentityListeners();
 			// Notify the listeners that the object has changed.
 			notifyListeners();
+			firePropertyChange(ChangeEvent.ID, oldId, id);
 		}
 
 	}
@@ -204,13 +237,46 @@ public abstract class AbstractEntry implements IEntry {
 	public void setName(String name) {
 
 		if (name != null) {
+			String oldName = objectName;
 			objectName = name;
+			notifyIdentityListeners();
 			// Notify the listeners that the object has changed.
 			notifyListeners();
+			firePropertyChange(ChangeEvent.NAME, oldName, name);
 		}
 
 	}
 
+	/**
+	 * This operation returns the number of changes made to all Entries. It can
+	 * be compared to the stamps of individual Entries to find out if they
+	 * changed after it was retrieved.
+	 * 
+	 * @return The number of changes
+	 */
+	public static long getModificationCount() {
+		return modificationCount.get();
+	}
+
+	/**
+	 * This operation returns the modification count at the last change to
+	 * this Entry, including its creation.
+	 * 
+	 * @return The modification stamp
+	 */
+	public long getModificationStamp() {
+		return modificationStamp;
+	}
+
+	/**
+	 * This operation records that the Entry changed. It is called by
+	 * notifyListeners(), so subclasses only need to call it directly if they
+	 * change the Entry without notifying the listeners.
+	 */
+	protected void stampModification() {
+		modificationStamp = modificationCount.incrementAndGet();
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -231,9 +297,11 @@ public abstract class AbstractEntry implements IEntry {
 	public void setDescription(String description) {
 
 		if (description != null) {
+			String oldDescription = objectDescription;
 			objectDescription = description;
 			// Notify the listeners that the object has changed.
 			notifyListeners();
+			firePropertyChange(ChangeEvent.DESCRIPTION, oldDescription, description);
 		}
 
 	}
@@ -275,9 +343,27 @@ public abstract class AbstractEntry implements IEntry {
 		this.isRequired = entity.isRequired;
 		this.tag = entity.tag;
 		this.contextId = entity.contextId;
+		stampModification();
+		notifyIdentityListeners();
 
 	}
 
+	/**
+	 * This protected operation tells the IIdentityChangeListeners of the Entry
+	 * that its id or name changed. They are called on the calling thread so
+	 * that their indexes are up to date when the change returns.
+	 */
+	protected void notifyIdentityListeners() {
+		if (listeners != null) {
+			for (int i = 0; i < listeners.size(); i++) {
+				IUpdateableListener listener = listeners.get(i);
+				if (listener instanceof IIdentityChangeListener) {
+					((IIdentityChangeListener) listener).identityChanged(this);
+				}
+			}
+		}
+	}
+
 	/**
 	 * <p>
 	 * This protected operation notifies the listeners of the ICEObject that its
@@ -287,27 +373,120 @@ public abstract class AbstractEntry implements IEntry {
 	 */
 	protected void notifyListeners() {
 
+		// Every change is announced here, so record it
+		stampModification();
+
 		// Only process the update if there are listeners
 		if (listeners != null && !listeners.isEmpty()) {
-			// Create a thread on which to notify the listeners.
-			Thread notifierThread = new Thread() {
-				@Override
-				public void run() {
-					// Loop over all listeners and update them
-					for (int i = 0; i < listeners.size(); i++) {
-						listeners.get(i).update(AbstractEntry.this);
-					}
-					return;
+			// Notify the listeners on the shared notification threads
+			ICEExecutors.execute(Workload.NOTIFICATION, () -> {
+				// Loop over all listeners and update them
+				for (int i = 0; i < listeners.size(); i++) {
+					listeners.get(i).update(AbstractEntry.this);
 				}
-			};
+				return;
+			});
+		}
+
+		return;
+	}
 
-			// Launch the thread and do the notifications
-			notifierThread.start();
+	/**
+	 * This operation adds an IChangeListener that will be given the
+	 * ChangeEvents of the Entry in batches.
+	 * 
+	 * @param listener
+	 *            The listener
+	 */
+	public void addChangeListener(IChangeListener listener) {
+
+		// Create the dispatcher if needed
+		if (listener != null) {
+			synchronized (this) {
+				if (changeDispatcher == null) {
+					changeDispatcher = new ChangeEventDispatcher();
+				}
+			}
+			changeDispatcher.addListener(listener);
 		}
 
 		return;
 	}
 
+	/**
+	 * This operation removes an IChangeListener from the Entry.
+	 * 
+	 * @param listener
+	 *            The listener
+	 */
+	public void removeChangeListener(IChangeListener listener) {
+		ChangeEventDispatcher dispatcher = changeDispatcher;
+		if (dispatcher != null) {
+			dispatcher.removeListener(listener);
+		}
+	}
+
+	/**
+	 * This operation returns true if the Entry has IChangeListeners.
+	 * Subclasses should check it before they create ChangeEvents.
+	 * 
+	 * @return True if there are change listeners, false otherwise
+	 */
+	protected boolean hasChangeListeners() {
+		ChangeEventDispatcher dispatcher = changeDispatcher;
+		return dispatcher != null && dispatcher.hasListeners();
+	}
+
+	/**
+	 * This protected operation fires a ChangeEvent to the IChangeListeners of
+	 * the Entry. It does nothing if there are no change listeners.
+	 * 
+	 * @param event
+	 *            The event
+	 */
+	protected void fireChange(ChangeEvent event) {
+		ChangeEventDispatcher dispatcher = changeDispatcher;
+		if (dispatcher != null && dispatcher.hasListeners()) {
+			dispatcher.fire(event);
+		}
+	}
+
+	/**
+	 * This protected operation fires a ChangeEvent for a new value of the
+	 * Entry if there are change listeners. Subclasses that override
+	 * setValue() should call it after they notify the listeners.
+	 * 
+	 * @param oldValue
+	 *            The value of the Entry before it changed
+	 * @param newValue
+	 *            The value of the Entry after it changed
+	 */
+	protected void fireValueChange(String oldValue, String newValue) {
+		if (hasChangeListeners()) {
+			fireChange(ChangeEvent.valueChanged(this, oldValue, newValue));
+		}
+	}
+
+	/**
+	 * This protected operation fires a ChangeEvent for a property of the Entry
+	 * if there are change listeners and the value of the property changed.
+	 * 
+	 * @param property
+	 *            The name of the property
+	 * @param oldValue
+	 *            The old value of the property
+	 * @param newValue
+	 *            The new value of the property
+	 */
+	protected void firePropertyChange(String property, Object oldValue,
+			Object newValue) {
+		if (hasChangeListeners() && (oldValue == null ? newValue != null
+				: !oldValue.equals(newValue))) {
+			fireChange(ChangeEvent.propertyChanged(this, property, oldValue,
+					newValue));
+		}
+	}
+
 	/**
 	 * <p>
 	 * This operation returns a clone of the ICEObject using a deep copy.
@@ -449,9 +628,11 @@ public abstract class AbstractEntry implements IEntry {
 		}
 		
 		if (newValue != null) {
+			String oldValue = value;
 			this.value = newValue;
 			isModified = true;
 			notifyListeners();
+			fireValueChange(oldValue, newValue);
 			return true;
 		}
 
@@ -605,7 +786,9 @@ public abstract class AbstractEntry implements IEntry {
 	 * @see org.eclipse.ice.datastructures.entry.IEntry#setReady(boolean)
 	 */
 	public void setReady(boolean ready) {
+		boolean oldReady = isReady;
 		isReady = ready;
+		firePropertyChange(ChangeEvent.READY, oldReady, ready);
 	}
 
 	/*
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.ice.datastructures.entry;
 
+import java.util.List;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -27,6 +29,10 @@ import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
  * 0 and 5 as the allowed values for this IEntry will allow clients to set this 
  * IEntry's value to anything between 0 and 5. 
  * 
+ * The bounds are parsed the first time that a value is set and they are only
+ * parsed again when the list of allowed values or either of its values are
+ * replaced.
+ * 
  * @author Alex McCaskey
  *
  */
@@ -42,6 +48,50 @@ public class ContinuousEntry extends DiscreteEntry {
 	protected String continuousErrMsg = "'${incorrectValue}' is an "
 			+ "unacceptable value. The value must be between ${lowerBound} " + "and ${upperBound}.";
 
+	/**
+	 * The list of allowed values from which the bounds were parsed or null if
+	 * they must be parsed again.
+	 */
+	@XmlTransient
+	private List<String> compiledValues;
+
+	/**
+	 * The lower bound as it was stored in the list of allowed values.
+	 */
+	@XmlTransient
+	private String compiledLowerBound;
+
+	/**
+	 * The upper bound as it was stored in the list of allowed values.
+	 */
+	@XmlTransient
+	private String compiledUpperBound;
+
+	/**
+	 * The error message template from which the compiled error message was
+	 * created.
+	 */
+	@XmlTransient
+	private String compiledTemplate;
+
+	/**
+	 * The error message with the bounds filled in.
+	 */
+	@XmlTransient
+	private String compiledErrMsg;
+
+	/**
+	 * The parsed lower bound.
+	 */
+	@XmlTransient
+	private double lowerBound;
+
+	/**
+	 * The parsed upper bound.
+	 */
+	@XmlTransient
+	private double upperBound;
+
 	/**
 	 * The constructor
 	 */
@@ -79,38 +129,42 @@ public class ContinuousEntry extends DiscreteEntry {
 	 */
 	@Override
 	public boolean setValue(String newValue) {
-		Double newValueDouble, lowerBound, upperBound;
+		double newValueDouble;
 		// Check continuous value against the bounds. Doing this with
 		// doubles is simplest. allowedValues should only have two
 		// values for Continuous values.
 		if (allowedValues.size() == 2) {
-			lowerBound = Double.valueOf(allowedValues.get(0));
-			upperBound = Double.valueOf(allowedValues.get(1));
+			// Parse the bounds if they changed
+			if (compiledValues != allowedValues
+					|| compiledLowerBound != allowedValues.get(0)
+					|| compiledUpperBound != allowedValues.get(1)
+					|| compiledTemplate != continuousErrMsg) {
+				compileBounds();
+			}
 			// Try to cast to a double, but fail if it is impossible.
 			try {
-				newValueDouble = Double.valueOf(newValue);
+				newValueDouble = Double.parseDouble(newValue);
 			} catch (NumberFormatException | NullPointerException e) {
 				// Replace the default error values with the ones for this Entry
-				String error = continuousErrMsg;
-				error = error.replace("${incorrectValue}", newValue != null ? newValue : "null");
-				error = error.replace("${lowerBound}", getAllowedValues().get(0));
-				error = error.replace("${upperBound}", getAllowedValues().get(1));
-				this.errorMessage = error;
+				this.errorMessage = compiledErrMsg.replace("${incorrectValue}",
+						newValue != null ? newValue : "null");
 				return false;
 			}
 			// Set the value if it is within the bounds
-			if (newValueDouble != null
-					&& (newValueDouble.compareTo(lowerBound) != -1 && newValueDouble.compareTo(upperBound) != 1)) {
+			if (Double.compare(newValueDouble, lowerBound) >= 0
+					&& Double.compare(newValueDouble, upperBound) <= 0) {
+				String oldValue = value;
 				this.value = newValue;
 				errorMessage = null;
+				stampModification();
+				if (oldValue == null || !oldValue.equals(newValue)) {
+					fireValueChange(oldValue, newValue);
+				}
 				return true;
 			} else {
 				// Replace the default error values with the ones for this Entry
-				String error = continuousErrMsg;
-				error = error.replace("${incorrectValue}", newValue != null ? newValue : "null");
-				error = error.replace("${lowerBound}", getAllowedValues().get(0));
-				error = error.replace("${upperBound}", getAllowedValues().get(1));
-				this.errorMessage = error;
+				this.errorMessage = compiledErrMsg.replace("${incorrectValue}",
+						newValue);
 				return false;
 			}
 		}
@@ -118,6 +172,29 @@ public class ContinuousEntry extends DiscreteEntry {
 		logger.info("ContinuousEntry must be initialized with an allowedValue list of size 2: the lower bound at index 0 and the upper bound at index 1.");
 		return false;
 	}
+
+	/**
+	 * This operation parses the bounds from the list of allowed values and
+	 * fills them into the error message template.
+	 */
+	private void compileBounds() {
+
+		// Parse the bounds first so that nothing is stored if they are bad
+		String lower = allowedValues.get(0);
+		String upper = allowedValues.get(1);
+		lowerBound = Double.parseDouble(lower);
+		upperBound = Double.parseDouble(upper);
+
+		// Store the message and the values that were compiled
+		compiledErrMsg = continuousErrMsg.replace("${lowerBound}", lower)
+				.replace("${upperBound}", upper);
+		compiledTemplate = continuousErrMsg;
+		compiledLowerBound = lower;
+		compiledUpperBound = upper;
+		compiledValues = allowedValues;
+
+		return;
+	}
 	
 	/*
 	 * (non-Javadoc)
@@ -15,7 +15,9 @@ package org.eclipse.ice.datastructures.entry;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -31,6 +33,13 @@ import org.eclipse.ice.datastructures.ICEObject.Identifiable;
  * The DiscreteEntry is a subclass of AbstractEntry that only allows clients to
  * set a value from an existing list of allowed values.
  * 
+ * The allowed values are compiled into a hashed set and an error message the
+ * first time that a value is set and they are only compiled again when the
+ * list of allowed values changes, so setting values does not depend on the
+ * number of allowed values. Lists that are changed in place are detected by
+ * their sizes. Clients that replace an allowed value in place should call
+ * setAllowedValues() afterwards.
+ * 
  * @author Alex McCaskey
  *
  */
@@ -54,6 +63,38 @@ public class DiscreteEntry extends AbstractEntry {
 	@XmlElement(name = "AllowedValues")
 	protected List<String> allowedValues;
 
+	/**
+	 * The list of allowed values from which the set of allowed values was
+	 * compiled or null if it must be compiled again.
+	 */
+	@XmlTransient
+	private List<String> compiledValues;
+
+	/**
+	 * The size of the list of allowed values when it was compiled.
+	 */
+	@XmlTransient
+	private int compiledSize;
+
+	/**
+	 * The compiled set of allowed values.
+	 */
+	@XmlTransient
+	private Set<String> allowedValueSet;
+
+	/**
+	 * The error message template from which the compiled error message was
+	 * created.
+	 */
+	@XmlTransient
+	private String compiledTemplate;
+
+	/**
+	 * The error message with the allowed values filled in.
+	 */
+	@XmlTransient
+	private String compiledErrMsg;
+
 	/**
 	 * The Constructor
 	 */
@@ -108,35 +149,64 @@ public class DiscreteEntry extends AbstractEntry {
 	 */
 	@Override
 	public boolean setValue(String newValue) {
-		// Only set the value if it is allowed
-		if (allowedValues.contains(newValue)) {
+
+		// Compile the allowed values if they changed
+		if (compiledValues != allowedValues
+				|| compiledSize != allowedValues.size()
+				|| compiledTemplate != discreteErrMsg) {
+			compileAllowedValues();
+		}
+
+		// Only set the value if it is allowed. Values that are not in the set
+		// are checked against the list in case it was changed in place.
+		if (allowedValueSet.contains(newValue)) {
+			errorMessage = null;
+			return super.setValue(newValue);
+		} else if (allowedValues.contains(newValue)) {
+			compiledValues = null;
 			errorMessage = null;
 			return super.setValue(newValue);
 		}
 
-		String error = this.discreteErrMsg;
+		// Replace with correct errors
+		this.errorMessage = compiledErrMsg.replace("${incorrectValue}",
+				newValue != null ? newValue : "null");
+		return false;
+	}
+
+	/**
+	 * This operation compiles the list of allowed values into a set and fills
+	 * them into the error message template.
+	 */
+	private void compileAllowedValues() {
+
+		// Local Declarations
+		int size = allowedValues.size();
+		StringBuilder tempValues = new StringBuilder();
 
 		// loop to get all the values of the allowedValues
-		String tempValues = "";
-		for (int i = 0; i < allowedValues.size(); i++) {
+		for (int i = 0; i < size; i++) {
 			// If it is a list and it is the last item, add an "or"
-			if (i == allowedValues.size() - 1 && allowedValues.size() > 1) {
-				tempValues += " or";
+			if (i == size - 1 && size > 1) {
+				tempValues.append(" or");
 			}
 			// Add the value to the message
-			tempValues += " " + allowedValues.get(i);
+			tempValues.append(" ").append(allowedValues.get(i));
 			// Add a comma for the allowedValues
-			if (i < allowedValues.size() - 1 && allowedValues.size() > 2) {
-				tempValues += ",";
+			if (i < size - 1 && size > 2) {
+				tempValues.append(",");
 			}
-
 		}
 
-		// Replace with correct errors
-		error = error.replace("${incorrectValue}", newValue != null ? newValue : "null");
-		error = error.replace(" ${allowedValues}", tempValues);
-		this.errorMessage = error;
-		return false;
+		// Store the set and the message
+		allowedValueSet = new HashSet<String>(allowedValues);
+		compiledErrMsg = discreteErrMsg.replace(" ${allowedValues}",
+				tempValues.toString());
+		compiledTemplate = discreteErrMsg;
+		compiledValues = allowedValues;
+		compiledSize = size;
+
+		return;
 	}
 
 	/*
@@ -160,6 +230,7 @@ public class DiscreteEntry extends AbstractEntry {
 	@Override
 	public void setAllowedValues(List<String> values) {
 		allowedValues = values;
+		compiledValues = null;
 		if (allowedValues != null && !allowedValues.isEmpty()) {
 			setValue(allowedValues.get(0));
 		}
@@ -226,6 +297,13 @@ public class DiscreteEntry extends AbstractEntry {
 
 		super.copy(entity);
 		allowedValues = entity.allowedValues;
+
+		// The allowed values are shared, so the compiled set can be too
+		compiledValues = entity.compiledValues;
+		compiledSize = entity.compiledSize;
+		allowedValueSet = entity.allowedValueSet;
+		compiledTemplate = entity.compiledTemplate;
+		compiledErrMsg = entity.compiledErrMsg;
 		return;
 	}
 
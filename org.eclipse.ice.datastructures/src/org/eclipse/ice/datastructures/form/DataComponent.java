@@ -13,15 +13,29 @@
 package org.eclipse.ice.datastructures.form;
 
 import java.util.ArrayList;
-
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAnyElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 
+import org.eclipse.ice.datastructures.ICEObject.ChangeEvent;
 import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.ICEObject;
+import org.eclipse.ice.datastructures.ICEObject.IIdentityChangeListener;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
+import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.componentVisitor.IComponentVisitor;
 import org.eclipse.ice.datastructures.entry.IEntry;
 
@@ -32,12 +46,25 @@ import org.eclipse.ice.datastructures.entry.IEntry;
  * Entries that are related to each other in some way and to accept updates from
  * dispatched from the Registry.
  * </p>
+ * <p>
+ * Entries are kept in the order in which they were added and are also indexed
+ * by name so that retrieveEntry() and contains() do not search the list. The
+ * DataComponent is registered with each of its Entries and drops the index as
+ * soon as one of them is renamed. The list returned by retrieveAllEntries()
+ * counts its changes, including the replacement of Entries with set(), and
+ * the index is rebuilt when the count changed.
+ * </p>
+ * <p>
+ * Subclasses that are read from large files can defer reading their Entries
+ * with deferEntries(). The Entries are then read with readDeferredEntries()
+ * the first time that any operation of the DataComponent needs them.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
 @XmlRootElement(name = "DataComponent")
 public class DataComponent extends ICEObject
-		implements Component, IUpdateableListener {
+		implements Component, IIdentityChangeListener {
 	/**
 	 * The entries in this data component.
 	 */
@@ -45,6 +72,38 @@ public class DataComponent extends ICEObject
 	@XmlAnyElement(lax = true)
 	private ArrayList<IEntry> entries;
 
+	/**
+	 * The first Entry with each name, or null if the index must be rebuilt.
+	 */
+	@XmlTransient
+	private volatile Map<String, IEntry> entryIndex;
+
+	/**
+	 * The modification count of the list of Entries when the index was built.
+	 */
+	@XmlTransient
+	private int indexedModifications;
+
+	/**
+	 * The Entries that the DataComponent is registered with, compared by
+	 * identity.
+	 */
+	@XmlTransient
+	private final Set<IEntry> watchedEntries = Collections
+			.newSetFromMap(new IdentityHashMap<IEntry, Boolean>());
+
+	/**
+	 * True if the Entries have not been read by readDeferredEntries() yet.
+	 */
+	@XmlTransient
+	private volatile boolean entriesDeferred = false;
+
+	/**
+	 * The number of times that Entries were added to or removed from any
+	 * DataComponent.
+	 */
+	private static final AtomicLong structureChangeCount = new AtomicLong();
+
 	/**
 	 * <p>
 	 * The Constructor
@@ -54,7 +113,7 @@ public class DataComponent extends ICEObject
 	public DataComponent() {
 
 		// Setup the list of Entries
-		entries = new ArrayList<IEntry>();
+		entries = new ModificationCountingList<IEntry>();
 
 	}
 
@@ -72,15 +131,236 @@ public class DataComponent extends ICEObject
 
 		// Add the Entry if it is not null
 		if (newEntry != null) {
-			entries.add(newEntry);
-			// Register the data component as a listener of the Entry
-			newEntry.register(this);
+			addToEntries(newEntry);
 			// Notify the listeners that the component has changed
 			notifyListeners();
 		}
 
 	}
 
+	/**
+	 * This operation adds a set of Entries to the DataComponent in order and
+	 * notifies listeners once when all of them have been added. Null Entries
+	 * are skipped.
+	 * 
+	 * @param newEntries
+	 *            The new Entries
+	 */
+	public void addEntries(Collection<? extends IEntry> newEntries) {
+
+		// Local Declarations
+		boolean added = false;
+
+		// Add the Entries that are not null
+		if (newEntries != null) {
+			for (IEntry newEntry : newEntries) {
+				if (newEntry != null) {
+					addToEntries(newEntry);
+					added = true;
+				}
+			}
+		}
+
+		// Notify the listeners once
+		if (added) {
+			notifyListeners();
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation adds an Entry to the list and the index and registers
+	 * the DataComponent as a listener of the Entry.
+	 * 
+	 * @param newEntry
+	 *            The new Entry
+	 */
+	private void addToEntries(IEntry newEntry) {
+
+		// Make sure the index is up to date before adding to it
+		Map<String, IEntry> index = getEntryIndex();
+		entries.add(newEntry);
+		if (!index.containsKey(newEntry.getName())) {
+			index.put(newEntry.getName(), newEntry);
+		}
+		indexedModifications = getModificationCount();
+		structureChangeCount.incrementAndGet();
+		// Register the data component as a listener of the Entry
+		watch(newEntry);
+		if (hasChangeListeners()) {
+			fireChange(ChangeEvent.childAdded(this, newEntry,
+					entries.size() - 1));
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns the number of times that Entries were added to or
+	 * removed from any DataComponent through its operations. Clients that
+	 * cache the Entries of DataComponents can compare it to the count at which
+	 * they built their cache to find out if it may be out of date.
+	 * 
+	 * @return The number of changes
+	 */
+	public static long getStructureChangeCount() {
+		return structureChangeCount.get();
+	}
+
+	/**
+	 * This operation registers the DataComponent with an Entry, unless it is
+	 * already registered, so that it is told when the Entry is renamed.
+	 * 
+	 * @param entry
+	 *            The Entry
+	 */
+	private void watch(IEntry entry) {
+		if (watchedEntries.add(entry)) {
+			entry.register(this);
+		}
+	}
+
+	/**
+	 * This operation unregisters the DataComponent from all of the Entries
+	 * that it is registered with.
+	 */
+	private void unwatchAll() {
+		for (IEntry entry : watchedEntries) {
+			entry.unregister(this);
+		}
+		watchedEntries.clear();
+	}
+
+	/**
+	 * This operation returns the number of changes made to the list of
+	 * Entries.
+	 * 
+	 * @return The modification count of the list
+	 */
+	private int getModificationCount() {
+		return ((ModificationCountingList<IEntry>) entries)
+				.getModificationCount();
+	}
+
+	/**
+	 * This operation returns the index of Entries by name, rebuilding it if
+	 * an Entry was renamed or if the list of Entries was changed without the
+	 * DataComponent since it was built.
+	 * 
+	 * @return The index
+	 */
+	private Map<String, IEntry> getEntryIndex() {
+
+		// Rebuild the index if it is out of date
+		loadDeferredEntries();
+		int modifications = getModificationCount();
+		Map<String, IEntry> index = entryIndex;
+		if (index == null || indexedModifications != modifications) {
+			// Build the new index before publishing it. Only the first Entry
+			// with a name is indexed, which is the one a search would find.
+			// Entries that were added to the list directly are registered
+			// with here so that their names are tracked from now on.
+			index = new HashMap<String, IEntry>();
+			for (IEntry entry : entries) {
+				watch(entry);
+				if (!index.containsKey(entry.getName())) {
+					index.put(entry.getName(), entry);
+				}
+			}
+			indexedModifications = modifications;
+			entryIndex = index;
+		}
+
+		return index;
+	}
+
+	/**
+	 * This operation sets up the list of Entries after the DataComponent was
+	 * loaded from XML. It is called by JAXB.
+	 * 
+	 * @param unmarshaller
+	 *            The unmarshaller
+	 * @param parent
+	 *            The parent object, if any
+	 */
+	@SuppressWarnings("unused")
+	private void afterUnmarshal(Unmarshaller unmarshaller, Object parent) {
+		if (!(entries instanceof ModificationCountingList)) {
+			entries = new ModificationCountingList<IEntry>(entries);
+		}
+		entryIndex = null;
+	}
+
+	/**
+	 * This operation reads the deferred Entries, if any, before the
+	 * DataComponent is written to XML. It is called by JAXB.
+	 * 
+	 * @param marshaller
+	 *            The marshaller
+	 */
+	@SuppressWarnings("unused")
+	private void beforeMarshal(Marshaller marshaller) {
+		loadDeferredEntries();
+	}
+
+	/**
+	 * This operation drops the Entries of the DataComponent and defers
+	 * reading them until they are needed, when readDeferredEntries() is
+	 * called. Listeners are not notified, so it should only be called while
+	 * the DataComponent is set up.
+	 */
+	protected void deferEntries() {
+		entries.clear();
+		unwatchAll();
+		entryIndex = null;
+		entriesDeferred = true;
+	}
+
+	/**
+	 * This operation returns true if the Entries of the DataComponent were
+	 * deferred with deferEntries() and have not been read yet.
+	 * 
+	 * @return True if the Entries are deferred, false otherwise
+	 */
+	protected boolean hasDeferredEntries() {
+		return entriesDeferred;
+	}
+
+	/**
+	 * This operation reads the Entries of the DataComponent after they were
+	 * deferred with deferEntries(). It is called once, the first time that
+	 * the Entries are needed. Subclasses that defer their Entries must
+	 * override it.
+	 * 
+	 * @return The Entries in the order in which they should be added
+	 */
+	protected List<IEntry> readDeferredEntries() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * This operation adds the deferred Entries to the DataComponent if they
+	 * have not been read yet.
+	 */
+	private void loadDeferredEntries() {
+		if (entriesDeferred) {
+			synchronized (this) {
+				if (entriesDeferred) {
+					entriesDeferred = false;
+					for (IEntry entry : readDeferredEntries()) {
+						if (entry != null) {
+							entries.add(entry);
+							watch(entry);
+						}
+					}
+					entryIndex = null;
+					structureChangeCount.incrementAndGet();
+				}
+			}
+		}
+	}
+
 	/**
 	 * <p>
 	 * This operation adds an Entry to the DataComponent and specifies the name
@@ -113,8 +393,19 @@ public class DataComponent extends ICEObject
 	public void clearEntries() {
 
 		// Clear the list of Entries if it is not already empty
+		loadDeferredEntries();
 		if (!entries.isEmpty()) {
+			// Tell the change listeners about the removals, last first
+			if (hasChangeListeners()) {
+				for (int i = entries.size() - 1; i >= 0; i--) {
+					fireChange(ChangeEvent.childRemoved(this, entries.get(i),
+							i));
+				}
+			}
 			entries.clear();
+			unwatchAll();
+			entryIndex = null;
+			structureChangeCount.incrementAndGet();
 			notifyListeners();
 		}
 
@@ -140,13 +431,22 @@ public class DataComponent extends ICEObject
 
 		// Make sure the entryName is not null
 		if (entryName != null) {
+			loadDeferredEntries();
 			// Find and delete the Entry or Entries with this name. A linear
 			// search is OK since the list should be small
 			for (i = 0; i < entries.size(); i++) {
 				if (entries.get(i).getName().equals(entryName)) {
-					entries.remove(i);
+					IEntry removed = entries.remove(i);
+					if (watchedEntries.remove(removed)) {
+						removed.unregister(this);
+					}
+					if (hasChangeListeners()) {
+						fireChange(ChangeEvent.childRemoved(this, removed, i));
+					}
 				}
 			}
+			entryIndex = null;
+			structureChangeCount.incrementAndGet();
 
 			// Notify the listeners
 			notifyListeners();
@@ -170,14 +470,7 @@ public class DataComponent extends ICEObject
 	 *         </p>
 	 */
 	public IEntry retrieveEntry(String entryName) {
-
-		for (IEntry j : entries) {
-			if (j.getName().equals(entryName)) {
-				return j;
-			}
-		}
-
-		return null;
+		return getEntryIndex().get(entryName);
 	}
 
 	/**
@@ -200,6 +493,7 @@ public class DataComponent extends ICEObject
 		// Local Declarations
 		ArrayList<IEntry> readyEntryList = new ArrayList<IEntry>();
 
+		loadDeferredEntries();
 		for (IEntry i : entries) {
 			if (i.isReady()) {
 				readyEntryList.add(i);
@@ -214,6 +508,11 @@ public class DataComponent extends ICEObject
 	 * This operation will return all of the Entries in the Form regardless of
 	 * their dependency or preparation status.
 	 * </p>
+	 * <p>
+	 * The list is the one held by the DataComponent, so that clients can read
+	 * it by position without copying it. Changes made to it directly are
+	 * picked up by retrieveEntry(), but listeners are not notified of them.
+	 * </p>
 	 * 
 	 * @return
 	 * 		<p>
@@ -221,6 +520,7 @@ public class DataComponent extends ICEObject
 	 *         </p>
 	 */
 	public ArrayList<IEntry> retrieveAllEntries() {
+		loadDeferredEntries();
 		return entries;
 	}
 
@@ -243,14 +543,7 @@ public class DataComponent extends ICEObject
 	 *         </p>
 	 */
 	public boolean contains(String entryName) {
-
-		for (IEntry i : entries) {
-			if (i.getName().equals(entryName)) {
-				return true;
-			}
-		}
-
-		return false;
+		return retrieveEntry(entryName) != null;
 	}
 
 	/**
@@ -290,6 +583,8 @@ public class DataComponent extends ICEObject
 		DataComponent castedComponent = (DataComponent) otherDataComponent;
 
 		// Check that their Entries are equal
+		loadDeferredEntries();
+		castedComponent.loadDeferredEntries();
 		for (IEntry entry : this.entries) {
 			// Check that the other DataComponent has entry
 			// Note that ArrayList<E>.contains() uses E.equals()
@@ -321,6 +616,7 @@ public class DataComponent extends ICEObject
 
 		// Compute hash code from DataComponent data
 		hash = 31 * hash + super.hashCode();
+		loadDeferredEntries();
 		for (IEntry entry : this.entries) {
 			hash = 31 * hash + entry.hashCode();
 		}
@@ -347,15 +643,42 @@ public class DataComponent extends ICEObject
 			// Copy contents into super and current object
 			super.copy(otherDataComponent);
 
-			// reset entries
+			// Keep the old Entries for the change listeners
+			List<IEntry> oldEntries = null;
+			if (hasChangeListeners()) {
+				oldEntries = new ArrayList<IEntry>(retrieveAllEntries());
+			}
+
+			// reset entries, which replaces any that were deferred
+			otherDataComponent.loadDeferredEntries();
+			entriesDeferred = false;
 			entries.clear();
+			unwatchAll();
 
 			// Copy entries
 			for (int i = 0; i < otherDataComponent.entries.size(); i++) {
-				entries.add((IEntry) otherDataComponent.entries.get(i).clone());
+				IEntry entry = (IEntry) otherDataComponent.entries.get(i)
+						.clone();
+				entries.add(entry);
+				watch(entry);
 			}
+			entryIndex = null;
+			structureChangeCount.incrementAndGet();
 
 			notifyListeners();
+
+			// Tell the change listeners that the old Entries were removed,
+			// last first so that the indices stay valid, and that the new ones
+			// were added.
+			if (oldEntries != null) {
+				for (int i = oldEntries.size() - 1; i >= 0; i--) {
+					fireChange(ChangeEvent.childRemoved(this, oldEntries.get(i),
+							i));
+				}
+				for (int i = 0; i < entries.size(); i++) {
+					fireChange(ChangeEvent.childAdded(this, entries.get(i), i));
+				}
+			}
 		}
 		return;
 	}
@@ -389,6 +712,7 @@ public class DataComponent extends ICEObject
 	@Override
 	public void update(String updatedKey, String newValue) {
 
+		loadDeferredEntries();
 		for (IEntry i : entries) {
 			i.update(updatedKey, newValue);
 		}
@@ -422,4 +746,15 @@ public class DataComponent extends ICEObject
 
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see IIdentityChangeListener#identityChanged(Identifiable)
+	 */
+	@Override
+	public void identityChanged(Identifiable source) {
+		// An Entry was renamed, so the index must be rebuilt
+		entryIndex = null;
+	}
+
 }
\ No newline at end of file
@@ -13,16 +13,23 @@
 package org.eclipse.ice.datastructures.form;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAnyElement;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.Composite;
 import org.eclipse.ice.datastructures.ICEObject.ICEObject;
+import org.eclipse.ice.datastructures.ICEObject.IIdentityChangeListener;
+import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.componentVisitor.IComponentVisitor;
@@ -43,6 +50,20 @@ import org.eclipse.ice.datastructures.componentVisitor.IComponentVisitor;
  * information provided so that a task can be performed with no modification.
  * isReady() should always return true for such a Form, newly created.
  * </p>
+ * <p>
+ * Every Form has a revision number that increases whenever a Component is
+ * added, removed or replaced or when a Component notifies the Form that it
+ * changed. The revision at which each Component last changed is recorded so
+ * that {@link #createDelta(long)} can describe the changes since a given
+ * revision and a remote copy of the Form can be brought up to date with
+ * {@link #applyDelta(FormDelta)} instead of being downloaded again. Revisions
+ * only mean something within one instance of a Form, which is identified by
+ * {@link #getInstanceTag()}.
+ * </p>
+ * <p>
+ * Components are kept in the order in which they were added and are also
+ * indexed by id so that getComponent() does not search the list.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
@@ -85,6 +106,58 @@ public class Form extends ICEObject implements Composite {
 	 */
 	protected boolean canProcess = true;
 
+	/**
+	 * The revision of the Form. It increases every time the Form or one of its
+	 * Components changes.
+	 */
+	private volatile long revision = 0;
+
+	/**
+	 * A value that is unique to this instance of the Form. Revisions only
+	 * increase within one instance, so it tells the revisions of a Form apart
+	 * from those of a Form that replaced it and started counting again.
+	 */
+	@XmlTransient
+	private final String instanceTag = UUID.randomUUID().toString();
+
+	/**
+	 * The revision at which each Component last changed, keyed by Component
+	 * id. It is also the lock for the revision.
+	 */
+	@XmlTransient
+	private final Map<Integer, Long> componentRevisions = new HashMap<Integer, Long>();
+
+	/**
+	 * The first Component with each id, or null if the index must be rebuilt.
+	 */
+	@XmlTransient
+	private volatile Map<Integer, Component> componentIndex;
+
+	/**
+	 * The modification count of the list of Components when the index was
+	 * built.
+	 */
+	@XmlTransient
+	private int indexedModifications;
+
+	/**
+	 * The listener that is registered with every Component to track its
+	 * changes. It drops the index of Components as soon as the id of one of
+	 * them changes.
+	 */
+	@XmlTransient
+	private final IUpdateableListener componentListener = new IIdentityChangeListener() {
+		@Override
+		public void update(IUpdateable component) {
+			markChanged(component.getId());
+		}
+
+		@Override
+		public void identityChanged(Identifiable source) {
+			componentIndex = null;
+		}
+	};
+
 	/**
 	 * <p>
 	 * The constructor. This constructor requires a list of Actions for which
@@ -99,7 +172,7 @@ public class Form extends ICEObject implements Composite {
 		this.itemID = 0;
 
 		// Setup the list of Components
-		this.componentList = new ArrayList<Component>();
+		this.componentList = new ModificationCountingList<Component>();
 
 		// Setup the list of Listeners
 		listeners = new ArrayList<IUpdateableListener>();
@@ -135,6 +208,195 @@ public class Form extends ICEObject implements Composite {
 		this.itemID = newItemID;
 	}
 
+	/**
+	 * This operation returns the revision of the Form. The revision increases
+	 * every time the Form or one of its Components changes.
+	 * 
+	 * @return The revision
+	 */
+	@XmlAttribute()
+	public long getRevision() {
+		return revision;
+	}
+
+	/**
+	 * This operation returns a value that is unique to this instance of the
+	 * Form. It is not copied or persisted. Together with the revision, it
+	 * identifies one state of one Form.
+	 * 
+	 * @return The instance tag
+	 */
+	@XmlTransient
+	public String getInstanceTag() {
+		return instanceTag;
+	}
+
+	/**
+	 * This operation sets the revision of the Form. It is used when the Form
+	 * is read from XML and should not be called otherwise.
+	 * 
+	 * @param newRevision
+	 *            The revision
+	 */
+	public void setRevision(long newRevision) {
+		synchronized (componentRevisions) {
+			revision = newRevision;
+		}
+	}
+
+	/**
+	 * This operation records that a Component changed and increases the
+	 * revision.
+	 * 
+	 * @param componentId
+	 *            The id of the Component that changed
+	 */
+	private void markChanged(int componentId) {
+		synchronized (componentRevisions) {
+			revision++;
+			componentRevisions.put(componentId, revision);
+		}
+	}
+
+	/**
+	 * This operation records that every Component changed, for example after
+	 * the Components were replaced, and increases the revision.
+	 */
+	private void markAllChanged() {
+		synchronized (componentRevisions) {
+			revision++;
+			componentRevisions.clear();
+			for (Component component : componentList) {
+				componentRevisions.put(component.getId(), revision);
+			}
+		}
+	}
+
+	/**
+	 * This operation creates a description of the changes to the Form since
+	 * the given revision. The delta contains the ids of all of the current
+	 * Components, in order, and the Components that changed after the
+	 * revision.
+	 * 
+	 * @param since
+	 *            The revision of the copy of the Form that should be brought
+	 *            up to date
+	 * @return The delta or null if the revision is not one that this Form had
+	 */
+	public FormDelta createDelta(long since) {
+
+		FormDelta delta = null;
+
+		synchronized (componentRevisions) {
+			if (since >= 0 && since <= revision) {
+				delta = new FormDelta();
+				delta.setItemID(itemID);
+				delta.setBaseRevision(since);
+				delta.setRevision(revision);
+				ArrayList<Integer> ids = new ArrayList<Integer>();
+				ArrayList<Component> changed = new ArrayList<Component>();
+				for (Component component : componentList) {
+					ids.add(component.getId());
+					Long changedAt = componentRevisions.get(component.getId());
+					if (changedAt != null && changedAt > since) {
+						changed.add(component);
+					}
+				}
+				delta.setComponentIds(ids);
+				delta.setChangedComponents(changed);
+			}
+		}
+
+		return delta;
+	}
+
+	/**
+	 * This operation brings this Form up to date with a delta created by
+	 * {@link #createDelta(long)} on a newer copy of it. Nothing is changed if
+	 * the delta was not created for the revision of this Form.
+	 * 
+	 * @param delta
+	 *            The delta
+	 * @return True if the delta was applied, false if the Form must be
+	 *         retrieved in full instead
+	 */
+	public boolean applyDelta(FormDelta delta) {
+
+		synchronized (componentRevisions) {
+
+			// The delta must start at this revision
+			if (delta == null || delta.getBaseRevision() != revision) {
+				return false;
+			}
+
+			// Index the changed Components
+			HashMap<Integer, Component> changed = new HashMap<Integer, Component>();
+			for (Component component : delta.getChangedComponents()) {
+				changed.put(component.getId(), component);
+			}
+
+			// Build the new list of Components from the changed ones and the
+			// ones that are already here
+			ArrayList<Component> components = new ArrayList<Component>();
+			for (int id : delta.getComponentIds()) {
+				Component component = changed.get(id);
+				if (component == null) {
+					component = getComponent(id);
+				}
+				if (component == null) {
+					return false;
+				}
+				components.add(component);
+			}
+
+			// Swap the Components in, keeping the listeners up to date
+			for (Component component : componentList) {
+				component.unregister(componentListener);
+			}
+			componentList.clear();
+			componentList.addAll(components);
+			componentIndex = null;
+			for (Component component : componentList) {
+				component.register(componentListener);
+			}
+
+			// Move to the new revision
+			for (Component component : changed.values()) {
+				componentRevisions.put(component.getId(), delta.getRevision());
+			}
+			revision = delta.getRevision();
+		}
+
+		// Throw up a flare
+		notifyListeners();
+
+		return true;
+	}
+
+	/**
+	 * This operation registers the Form with its Components after it is read
+	 * from XML. It is called by JAXB.
+	 * 
+	 * @param unmarshaller
+	 *            The unmarshaller
+	 * @param parent
+	 *            The parent object, if any
+	 */
+	@SuppressWarnings("unused")
+	private void afterUnmarshal(Unmarshaller unmarshaller, Object parent) {
+		if (!(componentList instanceof ModificationCountingList)) {
+			componentList = new ModificationCountingList<Component>(
+					componentList);
+		}
+		componentIndex = null;
+		synchronized (componentRevisions) {
+			for (Component component : componentList) {
+				component.register(componentListener);
+				componentRevisions.put(component.getId(), revision);
+			}
+		}
+	}
+
 	/**
 	 * <p>
 	 * This operation retrieves the list of Actions that can be performed for
@@ -367,17 +629,29 @@ public class Form extends ICEObject implements Composite {
 		}
 
 		// Copy components - Deep copy
+		for (Component component : this.componentList) {
+			component.unregister(componentListener);
+		}
 		this.componentList.clear();
 		for (int i = 0; i < otherForm.componentList.size(); i++) {
 			Identifiable compWithId = (Identifiable) otherForm.componentList
 					.get(i).clone();
 			this.componentList.add((Component) compWithId);
+			((Component) compWithId).register(componentListener);
 		}
+		componentIndex = null;
 
 		// Copy the Item information
 		this.itemID = otherForm.itemID;
 		this.canProcess = otherForm.canProcess;
 
+		// Everything changed. The revision never decreases, but it does not
+		// fall behind the other Form's revision either.
+		synchronized (componentRevisions) {
+			revision = Math.max(revision, otherForm.revision);
+			markAllChanged();
+		}
+
 		// Throw up a flare
 		this.notifyListeners();
 
@@ -419,7 +693,15 @@ public class Form extends ICEObject implements Composite {
 
 		// Add the child component if it is not null and update listeners
 		if (child != null) {
+			// Make sure the index is up to date before adding to it
+			Map<Integer, Component> index = getComponentIndex();
 			componentList.add(child);
+			if (!index.containsKey(child.getId())) {
+				index.put(child.getId(), child);
+			}
+			indexedModifications = getModificationCount();
+			child.register(componentListener);
+			markChanged(child.getId());
 			notifyListeners();
 		} else {
 			// Otherwise throw an error exception
@@ -444,7 +726,12 @@ public class Form extends ICEObject implements Composite {
 		for (int i = 0; i < componentList.size(); i++) {
 			comp = componentList.get(i);
 			if (comp.getId() == childId) {
-				componentList.remove(i);
+				componentList.remove(i).unregister(componentListener);
+				componentIndex = null;
+				synchronized (componentRevisions) {
+					revision++;
+					componentRevisions.remove(childId);
+				}
 				break;
 			}
 		}
@@ -461,17 +748,45 @@ public class Form extends ICEObject implements Composite {
 	@Override
 	public Component getComponent(int childId) {
 
-		// Local Declarations
-		Identifiable comp = null;
+		return getComponentIndex().get(childId);
+	}
 
-		for (int i = 0; i < componentList.size(); i++) {
-			comp = componentList.get(i);
-			if (comp.getId() == childId) {
-				return componentList.get(i);
+	/**
+	 * This operation returns the number of changes made to the list of
+	 * Components.
+	 * 
+	 * @return The modification count of the list
+	 */
+	private int getModificationCount() {
+		return ((ModificationCountingList<Component>) componentList)
+				.getModificationCount();
+	}
+
+	/**
+	 * This operation returns the index of Components by id, rebuilding it if
+	 * the id of a Component changed or if the list of Components was changed
+	 * without the Form since it was built.
+	 * 
+	 * @return The index
+	 */
+	private Map<Integer, Component> getComponentIndex() {
+
+		// Rebuild the index if it is out of date. Only the first Component
+		// with an id is indexed, which is the one a search would find.
+		int modifications = getModificationCount();
+		Map<Integer, Component> index = componentIndex;
+		if (index == null || indexedModifications != modifications) {
+			index = new HashMap<Integer, Component>();
+			for (Component comp : componentList) {
+				if (!index.containsKey(comp.getId())) {
+					index.put(comp.getId(), comp);
+				}
 			}
+			indexedModifications = modifications;
+			componentIndex = index;
 		}
 
-		return null;
+		return index;
 	}
 
 	/**
@@ -485,7 +800,10 @@ public class Form extends ICEObject implements Composite {
 	}
 
 	/**
-	 * (non-Javadoc)
+	 * This operation returns the list of Components held by the Form. Changes
+	 * made to it directly are picked up by getComponent(), but the Form is
+	 * only told about later id changes of Components that were added with
+	 * addComponent().
 	 * 
 	 * @see Composite#getComponents()
 	 */
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.form;
+
+import java.util.ArrayList;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAnyElement;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.eclipse.ice.datastructures.ICEObject.Component;
+
+/**
+ * This class describes the changes to a {@link Form} between two of its
+ * revisions. It lists the ids of all of the Form's Components, in order, and
+ * carries only the Components that changed after the base revision. It is
+ * created with {@link Form#createDelta(long)} and applied to a copy of the Form
+ * at the base revision with {@link Form#applyDelta(FormDelta)}.
+ *
+ * @author Jay Jay Billings
+ */
+@XmlRootElement(name = "FormDelta")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class FormDelta {
+
+	/**
+	 * The id of the Item that is represented by the Form.
+	 */
+	@XmlAttribute
+	private int itemID;
+
+	/**
+	 * The revision that the delta starts from.
+	 */
+	@XmlAttribute
+	private long baseRevision;
+
+	/**
+	 * The revision of the Form after the delta is applied.
+	 */
+	@XmlAttribute
+	private long revision;
+
+	/**
+	 * The ids of all of the Form's Components, in order.
+	 */
+	@XmlElementWrapper
+	@XmlElement(name = "id")
+	private ArrayList<Integer> componentIds = new ArrayList<Integer>();
+
+	/**
+	 * The Components that changed after the base revision.
+	 */
+	@XmlElementWrapper
+	@XmlAnyElement(lax = true)
+	private ArrayList<Component> changedComponents = new ArrayList<Component>();
+
+	/**
+	 * This operation returns the id of the Item that is represented by the
+	 * Form.
+	 *
+	 * @return The Item id
+	 */
+	public int getItemID() {
+		return itemID;
+	}
+
+	/**
+	 * This operation sets the id of the Item that is represented by the Form.
+	 *
+	 * @param id
+	 *            The Item id
+	 */
+	public void setItemID(int id) {
+		itemID = id;
+	}
+
+	/**
+	 * This operation returns the revision that the delta starts from.
+	 *
+	 * @return The base revision
+	 */
+	public long getBaseRevision() {
+		return baseRevision;
+	}
+
+	/**
+	 * This operation sets the revision that the delta starts from.
+	 *
+	 * @param base
+	 *            The base revision
+	 */
+	public void setBaseRevision(long base) {
+		baseRevision = base;
+	}
+
+	/**
+	 * This operation returns the revision of the Form after the delta is
+	 * applied.
+	 *
+	 * @return The revision
+	 */
+	public long getRevision() {
+		return revision;
+	}
+
+	/**
+	 * This operation sets the revision of the Form after the delta is applied.
+	 *
+	 * @param newRevision
+	 *            The revision
+	 */
+	public void setRevision(long newRevision) {
+		revision = newRevision;
+	}
+
+	/**
+	 * This operation returns the ids of all of the Form's Components.
+	 *
+	 * @return The ids, in order
+	 */
+	public ArrayList<Integer> getComponentIds() {
+		return componentIds;
+	}
+
+	/**
+	 * This operation sets the ids of all of the Form's Components.
+	 *
+	 * @param ids
+	 *            The ids, in order
+	 */
+	public void setComponentIds(ArrayList<Integer> ids) {
+		componentIds = ids;
+	}
+
+	/**
+	 * This operation returns the Components that changed after the base
+	 * revision.
+	 *
+	 * @return The changed Components
+	 */
+	public ArrayList<Component> getChangedComponents() {
+		return changedComponents;
+	}
+
+	/**
+	 * This operation sets the Components that changed after the base
+	 * revision.
+	 *
+	 * @param components
+	 *            The changed Components
+	 */
+	public void setChangedComponents(ArrayList<Component> components) {
+		changedComponents = components;
+	}
+
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.form;
+
+/**
+ * This interface is implemented by classes that need to know when nodes are
+ * added to or removed from a {@link TreeCompositeIndex}. Unlike
+ * IUpdateableListener, which is only told that something changed, listeners
+ * are told which node changed and where it is in the tree. They are called on
+ * the thread that changed the tree, before the operation that changed it
+ * returns.
+ *
+ * A node that is renamed or copied over is removed from its old path and added
+ * at its new one, so listeners see a removal followed by an addition.
+ *
+ * @author Jay Jay Billings
+ */
+public interface ITreeCompositeIndexListener {
+
+	/**
+	 * This operation is called when a node is added to the index. It is called
+	 * for every node in an added subtree, parents before their children.
+	 *
+	 * @param path
+	 *            The path of the node
+	 * @param node
+	 *            The node
+	 */
+	public void nodeAdded(String path, TreeComposite node);
+
+	/**
+	 * This operation is called when a node is removed from the index. It is
+	 * called for every node in a removed subtree, parents before their
+	 * children.
+	 *
+	 * @param path
+	 *            The path the node had
+	 * @param node
+	 *            The node
+	 */
+	public void nodeRemoved(String path, TreeComposite node);
+
+}
@@ -13,10 +13,15 @@
 package org.eclipse.ice.datastructures.form;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -32,12 +37,25 @@ import javax.xml.bind.annotation.XmlTransient;
  * getProperties() and the list of properties can be modified by calling
  * get/setProperty().
  * 
+ * Properties are stored in a dense array indexed by the ids assigned by the
+ * {@link MaterialPropertyRegistry}. Clients that read the same property many
+ * times, such as the reflectivity calculations, should use the id-based
+ * get/setProperty() operations. The XML form of the properties is still a map
+ * of names to values.
+ * 
  * Materials can also be composed of other materials called "Components." Each
  * Material that comprises the the composite Materials should be set using the
  * addComponent() operation and the whole list of components can get retrieved
  * with the getComponents() operation. ICE makes no attempt to correct
  * mismatched sizes, etc. between components and composites.
  * 
+ * The derived properties of compound materials are computed by
+ * updateProperties() with the help of the {@link MaterialPropertyCache}, which
+ * shares the component sums between materials with the same composition. Each
+ * material has a revision number that changes whenever its properties or
+ * components change so that cached results that depend on it can be detected
+ * as stale.
+ * 
  * @author Jay Jay Billings, Kasper Gammeltoft
  * 
  */
@@ -142,11 +160,43 @@ public class Material implements Cloneable, Comparable<Material> {
 	private String name;
 
 	/**
-	 * The key-value pair map of properties for this material.
+	 * The key-value pair map of properties for this material. It is only used
+	 * to marshal and unmarshal the properties and is null otherwise. The
+	 * properties are stored in {@link #values} and {@link #present}.
 	 */
 	@XmlElement(name = "properties")
 	private HashMap<String, Double> properties;
 
+	/**
+	 * The property values, indexed by the ids from the
+	 * MaterialPropertyRegistry. Values whose bit is not set in
+	 * {@link #present} are meaningless.
+	 */
+	private double[] values;
+
+	/**
+	 * The ids of the properties that are set on this material.
+	 */
+	private BitSet present;
+
+	/**
+	 * The id of the scattering length density property.
+	 */
+	public static final int SCAT_LENGTH_DENSITY_ID = MaterialPropertyRegistry
+			.getId(SCAT_LENGTH_DENSITY);
+
+	/**
+	 * The id of the true (coherent) mass absorption coefficient property.
+	 */
+	public static final int MASS_ABS_COHERENT_ID = MaterialPropertyRegistry
+			.getId(MASS_ABS_COHERENT);
+
+	/**
+	 * The id of the incoherent mass absorption coefficient property.
+	 */
+	public static final int MASS_ABS_INCOHERENT_ID = MaterialPropertyRegistry
+			.getId(MASS_ABS_INCOHERENT);
+
 	/**
 	 * The list of components that comprise this material.
 	 */
@@ -154,12 +204,33 @@ public class Material implements Cloneable, Comparable<Material> {
 	// @XmlTransient
 	private HashMap<String, MaterialStack> components;
 
+	/**
+	 * The revision of this material. It changes every time the properties or
+	 * components change. It is not persisted. It is atomic because the
+	 * materials are updated from several threads by
+	 * MaterialPropertyCache.updateAll().
+	 */
+	private final AtomicLong revision = new AtomicLong();
+
+	/**
+	 * The composition that the derived properties were last computed from or
+	 * null if they have not been computed.
+	 */
+	private MaterialPropertyCache.Composition derivedComposition;
+
+	/**
+	 * The revision of this material right after the derived properties were
+	 * last computed.
+	 */
+	private long derivedRevision;
+
 	/**
 	 * The constructor.
 	 */
 	public Material() {
 		name = "";
-		properties = new HashMap<String, Double>();
+		values = new double[MaterialPropertyRegistry.size()];
+		present = new BitSet();
 		components = new HashMap<String, MaterialStack>();
 	}
 
@@ -192,11 +263,32 @@ public class Material implements Cloneable, Comparable<Material> {
 	 * @return the value or 0.0 if this value is not in the map, but never null.
 	 */
 	public double getProperty(String key) {
-		double value = 0.0;
-		if (properties.containsKey(key)) {
-			value = properties.get(key);
-		}
-		return value;
+		return getProperty(MaterialPropertyRegistry.findId(key));
+	}
+
+	/**
+	 * This operation returns the value of the material property with the given
+	 * id from the {@link MaterialPropertyRegistry}.
+	 * 
+	 * @param id
+	 *            The id of the property whose value should be returned
+	 * @return the value or 0.0 if this property is not set
+	 */
+	public double getProperty(int id) {
+		return (id >= 0 && present.get(id)) ? values[id] : 0.0;
+	}
+
+	/**
+	 * This operation checks whether or not the property with the given name is
+	 * set on this material.
+	 * 
+	 * @param key
+	 *            The key/name of the property
+	 * @return True if the property is set, false otherwise
+	 */
+	public boolean hasProperty(String key) {
+		int id = MaterialPropertyRegistry.findId(key);
+		return id >= 0 && present.get(id);
 	}
 
 	/**
@@ -208,7 +300,26 @@ public class Material implements Cloneable, Comparable<Material> {
 	 *            the property
 	 */
 	public void setProperty(String key, double value) {
-		properties.put(key, value);
+		setProperty(MaterialPropertyRegistry.getId(key), value);
+	}
+
+	/**
+	 * This operation sets value of the material property with the given id
+	 * from the {@link MaterialPropertyRegistry}.
+	 * 
+	 * @param id
+	 *            The id of the property whose value should be set
+	 * @param value
+	 *            the property
+	 */
+	public void setProperty(int id, double value) {
+		if (id >= values.length) {
+			values = Arrays.copyOf(values,
+					Math.max(id + 1, MaterialPropertyRegistry.size()));
+		}
+		values[id] = value;
+		present.set(id);
+		revision.incrementAndGet();
 	}
 
 	/**
@@ -218,8 +329,10 @@ public class Material implements Cloneable, Comparable<Material> {
 	 *            The name of the property that should be removed.
 	 */
 	public void removeProperty(String key) {
-		if (properties.containsKey(key)) {
-			properties.remove(key);
+		int id = MaterialPropertyRegistry.findId(key);
+		if (id >= 0 && present.get(id)) {
+			present.clear(id);
+			revision.incrementAndGet();
 		}
 	}
 
@@ -230,7 +343,28 @@ public class Material implements Cloneable, Comparable<Material> {
 	 *         internal properties of the material.
 	 */
 	public Map<String, Double> getProperties() {
-		return new HashMap<String, Double>(properties);
+		HashMap<String, Double> map = new HashMap<String, Double>();
+		for (int id = present.nextSetBit(0); id >= 0; id = present
+				.nextSetBit(id + 1)) {
+			map.put(MaterialPropertyRegistry.getName(id), values[id]);
+		}
+		return map;
+	}
+
+	/**
+	 * This operation copies the properties of this material into a dense
+	 * vector indexed by the ids from the {@link MaterialPropertyRegistry}.
+	 * Properties that are not set are 0.0 in the vector.
+	 * 
+	 * @return The property vector. Changing it will not change the material.
+	 */
+	public double[] getPropertyVector() {
+		double[] vector = new double[MaterialPropertyRegistry.size()];
+		for (int id = present.nextSetBit(0); id >= 0; id = present
+				.nextSetBit(id + 1)) {
+			vector[id] = values[id];
+		}
+		return vector;
 	}
 
 	/**
@@ -285,6 +419,7 @@ public class Material implements Cloneable, Comparable<Material> {
 			// components
 			components.put(component.getName(), stack);
 		}
+		revision.incrementAndGet();
 	}
 
 	/**
@@ -324,7 +459,7 @@ public class Material implements Cloneable, Comparable<Material> {
 				// Check each member
 				boolean val1 = this.name.equals(otherMaterial.name);
 				boolean val2 = this.components.equals(otherMaterial.components);
-				boolean val3 = this.properties.equals(otherMaterial.properties);
+				boolean val3 = propertiesEqual(otherMaterial);
 				retVal = val1 && val2 && val3;
 			}
 		}
@@ -343,14 +478,88 @@ public class Material implements Cloneable, Comparable<Material> {
 		// Local Declarations
 		int hash = 8;
 
-		// Compute the hash code
+		// Compute the hash code. The properties are hashed like a map of names
+		// to values.
+		int propertiesHash = 0;
+		for (int id = present.nextSetBit(0); id >= 0; id = present
+				.nextSetBit(id + 1)) {
+			propertiesHash += MaterialPropertyRegistry.getName(id).hashCode()
+					^ Double.hashCode(values[id]);
+		}
 		hash = 31 * hash + name.hashCode();
-		hash = 31 * hash + properties.hashCode();
+		hash = 31 * hash + propertiesHash;
 		hash = 31 * hash + components.hashCode();
 
 		return hash;
 	}
 
+	/**
+	 * This operation checks whether the properties of this material and
+	 * another are equal. Values are compared like Double.equals().
+	 * 
+	 * @param other
+	 *            The other material
+	 * @return True if both materials have the same properties and values
+	 */
+	private boolean propertiesEqual(Material other) {
+		if (!present.equals(other.present)) {
+			return false;
+		}
+		for (int id = present.nextSetBit(0); id >= 0; id = present
+				.nextSetBit(id + 1)) {
+			if (Double.doubleToLongBits(values[id]) != Double
+					.doubleToLongBits(other.values[id])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * This operation fills the XML property map from the property vector
+	 * before the material is marshalled. It is called by JAXB.
+	 * 
+	 * @param marshaller
+	 *            The marshaller
+	 */
+	@SuppressWarnings("unused")
+	private void beforeMarshal(Marshaller marshaller) {
+		properties = (HashMap<String, Double>) getProperties();
+	}
+
+	/**
+	 * This operation releases the XML property map after the material is
+	 * marshalled. It is called by JAXB.
+	 * 
+	 * @param marshaller
+	 *            The marshaller
+	 */
+	@SuppressWarnings("unused")
+	private void afterMarshal(Marshaller marshaller) {
+		properties = null;
+	}
+
+	/**
+	 * This operation moves the unmarshalled XML property map into the
+	 * property vector. It is called by JAXB.
+	 * 
+	 * @param unmarshaller
+	 *            The unmarshaller
+	 * @param parent
+	 *            The parent object, if any
+	 */
+	@SuppressWarnings("unused")
+	private void afterUnmarshal(Unmarshaller unmarshaller, Object parent) {
+		if (properties != null) {
+			for (Map.Entry<String, Double> property : properties.entrySet()) {
+				if (property.getValue() != null) {
+					setProperty(property.getKey(), property.getValue());
+				}
+			}
+			properties = null;
+		}
+	}
+
 	/**
 	 * This operation copies the content of the incoming material into this
 	 * material.
@@ -362,9 +571,12 @@ public class Material implements Cloneable, Comparable<Material> {
 		// Don't copy the input if it is not a Material or if it is null
 		if (material != null && material != this) {
 			this.name = material.name;
-			this.properties = new HashMap<String, Double>(material.properties);
+			this.values = material.values.clone();
+			this.present = (BitSet) material.present.clone();
 			this.components = new HashMap<String, MaterialStack>(
 					material.components);
+			this.derivedComposition = null;
+			revision.incrementAndGet();
 		}
 	}
 
@@ -376,62 +588,52 @@ public class Material implements Cloneable, Comparable<Material> {
 	 * coefficient, and the incoherent scattering length absorption coefficient
 	 * all from the density of the material (in g/cm^3) and its components. If
 	 * called on a elemental material, does nothing.
+	 * 
+	 * The sums over the components are shared through the default
+	 * {@link MaterialPropertyCache}. If neither this material nor its
+	 * components changed since the last call, this operation does nothing.
 	 */
 	public void updateProperties() {
+		updateProperties(MaterialPropertyCache.getDefault());
+	}
+
+	/**
+	 * This operation updates the derived properties for this material like
+	 * {@link #updateProperties()}, but uses the given cache for the sums over
+	 * the components.
+	 * 
+	 * @param cache
+	 *            The cache of component sums
+	 */
+	public void updateProperties(MaterialPropertyCache cache) {
 
 		// Makes sure to not try to recalculate the values for an element or
 		// isotope.
 		if (!isElemental()) {
+
+			// Nothing to do if nothing changed since the last update
+			if (derivedComposition != null
+					&& revision.get() == derivedRevision
+					&& derivedComposition.matches(components.values())) {
+				return;
+			}
+
 			// Variables and constants
 			final double nA = 6.02E23;
 			double numberDensity = 0;
-			double muMAbs = 0;
-			double muMInc = 0;
-			double b = 0;
-
 			double density = getProperty(DENSITY);
-			// Get the molecular mass
-			double molMass = 0;
-			List<MaterialStack> list = getComponents();
-			for (MaterialStack stack : list) {
-
-				molMass += (stack.getAmount()
-						* (stack.getMaterial().getProperty(ATOMIC_MASS)));
-				System.out
-						.println("adding mass: " + stack.getMaterial().getName()
-								+ " amount: " + molMass);
-			}
 
-			// Check if valid inputs
-			if (list.size() > 0 && molMass >= 1) {
+			// Get the molecular mass and the sums over the components
+			MaterialPropertyCache.Composition composition = cache
+					.getComposition(components.values());
+			double molMass = composition.molarMass;
+			double b = composition.scatteringLength;
+			double muMAbs = composition.coherentAbsorption;
+			double muMInc = composition.incoherentAbsorption;
 
-				// Get the number density
+			// Get the number density if the inputs are valid
+			if (molMass >= 1) {
 				numberDensity = (1E-24) * (nA) * (density / molMass);
-
-				// Iterate over the list and create the new material's
-				// properties
-				for (int j = 0; j < list.size(); j++) {
-					MaterialStack stack = list.get(j);
-					Material mat = stack.getMaterial();
-					int N = stack.getAmount();
-
-					// Sum the scattering length for the new material
-					double cohb = 1E-5 * mat.getProperty(COHERENT_SCAT_LENGTH);
-
-					// The real part of the scattering length
-					b += N * cohb;
-
-					// Determine true mass absorption coefficient
-					double massPercent = mat.getProperty(ATOMIC_MASS) / molMass;
-					muMAbs += N * massPercent
-							* (mat.getProperty(MASS_ABS_COHERENT));
-
-					// Determine incoherent mass absorption coefficient
-					muMInc += N * massPercent
-							* (mat.getProperty(MASS_ABS_INCOHERENT));
-
-				}
-
 			}
 
 			// Now just write these values to the new material's properties.
@@ -441,16 +643,31 @@ public class Material implements Cloneable, Comparable<Material> {
 			// Set the number density
 			setProperty(NUMBER_DENSITY, numberDensity);
 			// Set the scattering length density
-			setProperty(SCAT_LENGTH_DENSITY, numberDensity * b);
+			setProperty(SCAT_LENGTH_DENSITY_ID, numberDensity * b);
 			// Set the true scattering length absorption coefficient
-			muMAbs *= 1E-24 * getProperty(DENSITY);
-			setProperty(MASS_ABS_COHERENT, muMAbs);
+			muMAbs *= 1E-24 * density;
+			setProperty(MASS_ABS_COHERENT_ID, muMAbs);
 			// Set the incoherent scattering length absorption coefficient
-			muMInc *= 1E-24 * getProperty(DENSITY);
-			setProperty(MASS_ABS_INCOHERENT, muMInc);
+			muMInc *= 1E-24 * density;
+			setProperty(MASS_ABS_INCOHERENT_ID, muMInc);
+
+			// Remember what the properties were computed from
+			derivedComposition = composition;
+			derivedRevision = revision.get();
 		}
 	}
 
+	/**
+	 * This operation returns the revision of this material. The revision
+	 * changes every time the properties or components of the material change,
+	 * so it can be used to detect stale results computed from the material.
+	 * 
+	 * @return The revision
+	 */
+	public long getRevision() {
+		return revision.get();
+	}
+
 	/**
 	 * Gets if this material is elemental (not a compound/composite). It must
 	 * have no components to be elemental.
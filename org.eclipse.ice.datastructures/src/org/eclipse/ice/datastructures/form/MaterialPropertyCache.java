@@ -0,0 +1,506 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.form;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class memoizes the part of {@link Material#updateProperties()} that
+ * only depends on the components of a compound material: the molecular mass
+ * and the amount-weighted sums of the scattering lengths and absorption
+ * coefficients of the components. These sums are computed once per distinct
+ * composition and shared by every material with that composition, such as the
+ * many H2O/D2O mixtures built for reflectivity models. Only the density of the
+ * compound itself is applied per material.
+ *
+ * A composition is identified by the component Material instances, the
+ * revision of each component and the amount of each component. Components are
+ * compared by identity and their revisions change every time their properties
+ * or components change, so changing a component invalidates exactly the
+ * compositions that contain it without any explicit notification.
+ *
+ * The cache holds a bounded number of compositions and discards the least
+ * recently used ones when it is full. It only holds weak references to the
+ * component materials, so the shared default cache does not keep materials
+ * alive after the clients are done with them. Compositions whose components
+ * were garbage collected can never match again and are removed the next time
+ * the cache is used. {@link #updateAll(Collection)} updates a
+ * whole collection of materials in parallel, updating components before the
+ * compounds that contain them.
+ *
+ * This class is thread safe.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class MaterialPropertyCache {
+
+	/**
+	 * The default maximum number of compositions held by a cache.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * The id of the atomic mass property.
+	 */
+	private static final int ATOMIC_MASS_ID = MaterialPropertyRegistry
+			.getId(Material.ATOMIC_MASS);
+
+	/**
+	 * The id of the coherent scattering length property.
+	 */
+	private static final int COHERENT_SCAT_LENGTH_ID = MaterialPropertyRegistry
+			.getId(Material.COHERENT_SCAT_LENGTH);
+
+	/**
+	 * The shared cache used by Material.updateProperties().
+	 */
+	private static final MaterialPropertyCache defaultCache = new MaterialPropertyCache(
+			DEFAULT_CAPACITY);
+
+	/**
+	 * The compositions, in least recently used order. It is also the lock for
+	 * the cache.
+	 */
+	private final LinkedHashMap<Composition, Composition> compositions;
+
+	/**
+	 * The number of lookups that found a cached composition.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * The number of lookups that had to compute a composition.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * The queue to which the references to the components of the cached
+	 * compositions are added when the components are garbage collected.
+	 */
+	private final ReferenceQueue<Material> collected = new ReferenceQueue<Material>();
+
+	/**
+	 * This class is a weak reference to a component that remembers the
+	 * composition that it belongs to, so that the composition can be removed
+	 * from the cache when the component is garbage collected.
+	 *
+	 * @author Jay Jay Billings
+	 *
+	 */
+	private static final class ComponentReference
+			extends WeakReference<Material> {
+
+		/**
+		 * The composition that contains the component.
+		 */
+		private final Composition composition;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param material
+		 *            The component
+		 * @param composition
+		 *            The composition that contains the component
+		 * @param queue
+		 *            The queue of the cache
+		 */
+		private ComponentReference(Material material, Composition composition,
+				ReferenceQueue<Material> queue) {
+			super(material, queue);
+			this.composition = composition;
+		}
+	}
+
+	/**
+	 * The component sums of a single composition. It is also the key of the
+	 * cache, since it records exactly which component instances, revisions and
+	 * amounts it was computed from.
+	 *
+	 * @author Jay Jay Billings
+	 *
+	 */
+	static final class Composition {
+
+		/**
+		 * Weak references to the component materials.
+		 */
+		private final ComponentReference[] materials;
+
+		/**
+		 * The revision of each component when the sums were computed.
+		 */
+		private final long[] revisions;
+
+		/**
+		 * The amount of each component.
+		 */
+		private final int[] amounts;
+
+		/**
+		 * The precomputed hash code.
+		 */
+		private final int hash;
+
+		/**
+		 * The molecular mass of the composition.
+		 */
+		double molarMass;
+
+		/**
+		 * The amount-weighted sum of the coherent scattering lengths.
+		 */
+		double scatteringLength;
+
+		/**
+		 * The mass-weighted sum of the true absorption coefficients.
+		 */
+		double coherentAbsorption;
+
+		/**
+		 * The mass-weighted sum of the incoherent absorption coefficients.
+		 */
+		double incoherentAbsorption;
+
+		/**
+		 * The constructor. It records the composition but does not compute
+		 * the sums.
+		 *
+		 * @param stacks
+		 *            The components
+		 * @param queue
+		 *            The queue of the cache
+		 */
+		private Composition(Collection<MaterialStack> stacks,
+				ReferenceQueue<Material> queue) {
+			int size = stacks.size();
+			materials = new ComponentReference[size];
+			revisions = new long[size];
+			amounts = new int[size];
+			int code = 1;
+			int i = 0;
+			for (MaterialStack stack : stacks) {
+				Material material = stack.getMaterial();
+				materials[i] = new ComponentReference(material, this, queue);
+				revisions[i] = material.getRevision();
+				amounts[i] = stack.getAmount();
+				code = 31 * code + System.identityHashCode(material);
+				code = 31 * code + Long.hashCode(revisions[i]);
+				code = 31 * code + amounts[i];
+				i++;
+			}
+			hash = code;
+		}
+
+		/**
+		 * This operation checks whether or not the components are still the
+		 * ones that this composition was computed from. It does not allocate.
+		 *
+		 * @param stacks
+		 *            The current components
+		 * @return True if the components, their revisions and their amounts
+		 *         are unchanged
+		 */
+		boolean matches(Collection<MaterialStack> stacks) {
+			if (stacks.size() != materials.length) {
+				return false;
+			}
+			int i = 0;
+			for (MaterialStack stack : stacks) {
+				Material material = stack.getMaterial();
+				if (material != materials[i].get()
+						|| material.getRevision() != revisions[i]
+						|| stack.getAmount() != amounts[i]) {
+					return false;
+				}
+				i++;
+			}
+			return true;
+		}
+
+		/**
+		 * This operation computes the sums with the same arithmetic as the
+		 * original compound calculator. The components are read from the
+		 * stacks, which must be the ones the composition was created from, so
+		 * that they can not be collected while the sums are computed.
+		 *
+		 * @param stacks
+		 *            The components
+		 */
+		private void compute(Collection<MaterialStack> stacks) {
+
+			// Get the components
+			Material[] components = new Material[materials.length];
+			int j = 0;
+			for (MaterialStack stack : stacks) {
+				components[j++] = stack.getMaterial();
+			}
+
+			// Get the molecular mass
+			double mass = 0;
+			for (int i = 0; i < components.length; i++) {
+				mass += (amounts[i]
+						* (components[i].getProperty(ATOMIC_MASS_ID)));
+			}
+			molarMass = mass;
+
+			// Sum the scattering lengths and absorption coefficients if the
+			// mass is valid
+			if (components.length > 0 && mass >= 1) {
+				for (int i = 0; i < components.length; i++) {
+					Material mat = components[i];
+					int N = amounts[i];
+					double cohb = 1E-5
+							* mat.getProperty(COHERENT_SCAT_LENGTH_ID);
+					scatteringLength += N * cohb;
+					double massPercent = mat.getProperty(ATOMIC_MASS_ID)
+							/ mass;
+					coherentAbsorption += N * massPercent
+							* (mat.getProperty(Material.MASS_ABS_COHERENT_ID));
+					incoherentAbsorption += N * massPercent * (mat
+							.getProperty(Material.MASS_ABS_INCOHERENT_ID));
+				}
+			}
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Composition)) {
+				return false;
+			}
+			Composition composition = (Composition) other;
+			if (hash != composition.hash
+					|| materials.length != composition.materials.length) {
+				return false;
+			}
+			for (int i = 0; i < materials.length; i++) {
+				Material material = materials[i].get();
+				if (material == null
+						|| material != composition.materials[i].get()
+						|| revisions[i] != composition.revisions[i]
+						|| amounts[i] != composition.amounts[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param capacity
+	 *            The maximum number of compositions to keep
+	 */
+	public MaterialPropertyCache(final int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException(
+					"MaterialPropertyCache Error: The capacity must be "
+							+ "positive.");
+		}
+		compositions = new LinkedHashMap<Composition, Composition>(16, 0.75f,
+				true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Composition, Composition> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * This operation returns the cache shared by all Materials.
+	 *
+	 * @return The default cache
+	 */
+	public static MaterialPropertyCache getDefault() {
+		return defaultCache;
+	}
+
+	/**
+	 * This operation returns the sums for the given components, computing them
+	 * if they are not cached.
+	 *
+	 * @param stacks
+	 *            The components
+	 * @return The composition
+	 */
+	Composition getComposition(Collection<MaterialStack> stacks) {
+
+		Composition key = new Composition(stacks, collected);
+		synchronized (compositions) {
+			removeCollected();
+			Composition cached = compositions.get(key);
+			if (cached != null) {
+				hits.incrementAndGet();
+				return cached;
+			}
+		}
+
+		// Compute outside of the lock. Two threads may compute the same
+		// composition, which is harmless.
+		misses.incrementAndGet();
+		key.compute(stacks);
+		synchronized (compositions) {
+			compositions.put(key, key);
+		}
+
+		return key;
+	}
+
+	/**
+	 * This operation removes the compositions whose components were garbage
+	 * collected. It must be called while holding the lock. A composition is
+	 * still equal to itself after a component is gone, so it can be removed
+	 * by key.
+	 */
+	private void removeCollected() {
+		Reference<? extends Material> reference;
+		while ((reference = collected.poll()) != null) {
+			compositions.remove(
+					((ComponentReference) reference).composition);
+		}
+	}
+
+	/**
+	 * This operation updates the derived properties of every material in the
+	 * collection. Materials are updated in parallel, except that any material
+	 * in the collection that is a component of another is updated before it.
+	 *
+	 * @param materials
+	 *            The materials to update
+	 */
+	public void updateAll(Collection<Material> materials) {
+
+		// Assign each material a level one greater than its deepest component
+		// in the collection
+		IdentityHashMap<Material, Integer> levels = new IdentityHashMap<Material, Integer>();
+		for (Material material : materials) {
+			levels.put(material, null);
+		}
+		List<List<Material>> byLevel = new ArrayList<List<Material>>();
+		for (Material material : materials) {
+			int level = getLevel(material, levels,
+					new IdentityHashMap<Material, Boolean>());
+			while (byLevel.size() <= level) {
+				byLevel.add(new ArrayList<Material>());
+			}
+			byLevel.get(level).add(material);
+		}
+
+		// Update each level in parallel. Joining the stream publishes the
+		// results before the next level reads them.
+		for (List<Material> level : byLevel) {
+			level.parallelStream()
+					.forEach(material -> material.updateProperties(this));
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation computes the level of a material for updateAll().
+	 *
+	 * @param material
+	 *            The material
+	 * @param levels
+	 *            The levels of the materials being updated. Materials that
+	 *            are not keys are not being updated and have no level.
+	 * @param visiting
+	 *            The materials on the current path, to break cycles
+	 * @return The level
+	 */
+	private int getLevel(Material material, Map<Material, Integer> levels,
+			Map<Material, Boolean> visiting) {
+
+		Integer level = levels.get(material);
+		if (level == null) {
+			int value = 0;
+			visiting.put(material, Boolean.TRUE);
+			for (MaterialStack stack : material.getComponents()) {
+				Material component = stack.getMaterial();
+				if (levels.containsKey(component)
+						&& !visiting.containsKey(component)) {
+					value = Math.max(value,
+							getLevel(component, levels, visiting) + 1);
+				}
+			}
+			visiting.remove(material);
+			level = value;
+			levels.put(material, level);
+		}
+
+		return level;
+	}
+
+	/**
+	 * This operation removes all cached compositions.
+	 */
+	public void clear() {
+		synchronized (compositions) {
+			compositions.clear();
+		}
+	}
+
+	/**
+	 * This operation returns the number of cached compositions.
+	 *
+	 * @return The size of the cache
+	 */
+	public int size() {
+		synchronized (compositions) {
+			removeCollected();
+			return compositions.size();
+		}
+	}
+
+	/**
+	 * This operation returns the number of lookups that were answered from
+	 * the cache.
+	 *
+	 * @return The number of hits
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * This operation returns the number of lookups that had to compute the
+	 * sums.
+	 *
+	 * @return The number of misses
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+}
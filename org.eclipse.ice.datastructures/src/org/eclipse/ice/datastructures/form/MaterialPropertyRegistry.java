@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.form;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class interns the names of Material properties as small integer ids.
+ * Materials store their properties in dense arrays indexed by these ids, so
+ * that a property lookup is an array access instead of a hash of a long,
+ * human-readable name such as "Scattering Length Density (A^-2)".
+ *
+ * Ids are assigned in the order names are first seen and are never reused or
+ * removed for the lifetime of the JVM. They are not persisted. Clients that
+ * read the same property repeatedly should look its id up once with
+ * {@link #getId(String)} and use {@link Material#getProperty(int)}.
+ *
+ * This class is thread safe.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public final class MaterialPropertyRegistry {
+
+	/**
+	 * The map of property names to ids.
+	 */
+	private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<String, Integer>();
+
+	/**
+	 * The property names, indexed by id. The array is replaced, never
+	 * modified in place, when it grows.
+	 */
+	private static volatile String[] names = new String[32];
+
+	/**
+	 * The number of ids that have been assigned.
+	 */
+	private static volatile int count = 0;
+
+	/**
+	 * The constructor is private because this class only has static members.
+	 */
+	private MaterialPropertyRegistry() {
+	}
+
+	/**
+	 * This operation returns the id of a property, assigning a new one if the
+	 * name has not been seen before.
+	 *
+	 * @param name
+	 *            The name of the property
+	 * @return The id
+	 */
+	public static int getId(String name) {
+		Integer id = ids.get(name);
+		if (id == null) {
+			id = register(name);
+		}
+		return id;
+	}
+
+	/**
+	 * This operation returns the id of a property if one has been assigned.
+	 * It never assigns a new id.
+	 *
+	 * @param name
+	 *            The name of the property
+	 * @return The id or -1 if the name has never been registered
+	 */
+	public static int findId(String name) {
+		Integer id = ids.get(name);
+		return (id != null) ? id : -1;
+	}
+
+	/**
+	 * This operation returns the name of the property with the given id.
+	 *
+	 * @param id
+	 *            The id
+	 * @return The name
+	 * @throws IndexOutOfBoundsException
+	 *             if the id was never assigned
+	 */
+	public static String getName(int id) {
+		if (id < 0 || id >= count) {
+			throw new IndexOutOfBoundsException(
+					"MaterialPropertyRegistry Error: No property with id "
+							+ id + ".");
+		}
+		return names[id];
+	}
+
+	/**
+	 * This operation returns the number of ids that have been assigned. All
+	 * ids are less than this value.
+	 *
+	 * @return The number of registered properties
+	 */
+	public static int size() {
+		return count;
+	}
+
+	/**
+	 * This operation assigns a new id to a name if another thread has not
+	 * already done so.
+	 *
+	 * @param name
+	 *            The name of the property
+	 * @return The id
+	 */
+	private static synchronized int register(String name) {
+		Integer id = ids.get(name);
+		if (id == null) {
+			id = count;
+			// Publish the name before the id so readers never see an id
+			// without its name
+			String[] current = names;
+			if (id >= current.length) {
+				current = Arrays.copyOf(current, current.length * 2);
+			}
+			current[id] = name;
+			names = current;
+			count = id + 1;
+			ids.put(name, id);
+		}
+		return id;
+	}
+
+}
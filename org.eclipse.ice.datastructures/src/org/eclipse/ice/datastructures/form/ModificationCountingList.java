@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.form;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * This class is an ArrayList that counts every change to its contents,
+ * including the replacement of an element with set(), which ArrayList does
+ * not count. It is used by the containers that hand out their lists to
+ * clients and index the contents, so that they can tell when an index built
+ * from the list is out of date.
+ *
+ * Changes made through a subList() are not counted if they only replace
+ * elements.
+ *
+ * @author Jay Jay Billings
+ */
+class ModificationCountingList<E> extends ArrayList<E> {
+
+	/**
+	 * ID for serialization
+	 */
+	private static final long serialVersionUID = 4925112457398715260L;
+
+	/**
+	 * The constructor
+	 */
+	public ModificationCountingList() {
+		super();
+	}
+
+	/**
+	 * The copy constructor
+	 *
+	 * @param elements
+	 *            The elements that the list should contain
+	 */
+	public ModificationCountingList(Collection<? extends E> elements) {
+		super(elements);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.ArrayList#set(int, java.lang.Object)
+	 */
+	@Override
+	public E set(int index, E element) {
+		E previous = super.set(index, element);
+		modCount++;
+		return previous;
+	}
+
+	/**
+	 * This operation returns the number of changes that were made to the
+	 * list. It can be compared to the count at which an index of the list was
+	 * built to find out if the index is out of date.
+	 *
+	 * @return The number of changes
+	 */
+	public int getModificationCount() {
+		return modCount;
+	}
+
+}
@@ -13,8 +13,13 @@
 package org.eclipse.ice.datastructures.form;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAnyElement;
@@ -27,6 +32,7 @@ import javax.xml.bind.annotation.XmlElements;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
 
+import org.eclipse.ice.datastructures.ICEObject.ChangeEvent;
 import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.Composite;
 import org.eclipse.ice.datastructures.ICEObject.ICEObject;
@@ -122,9 +128,28 @@ import org.eclipse.ice.datastructures.form.emf.EMFComponent;
  * universally modified and must be extended according to a specification. If a
  * TreeComposite is configured with this list of allowed children, calling
  * setNextChild() or addComponent() will fail if a child that is not cloned from
- * the list returned by getChildExemplars() is submitted. Special care should be
- * taken that children from this list are added to the TreeComposite *before*
- * they themselves are modified.
+ * the list returned by getChildExemplars() is submitted. Children are matched
+ * to the exemplars by name, so special care should be taken that children from
+ * this list are added to the TreeComposite *before* they are renamed.
+ * </p>
+ * <p>
+ * Copies share the exemplars of the TreeComposite they were copied from
+ * instead of cloning them. A TreeComposite only clones its exemplars the first
+ * time that they are retrieved, so copying a large tree whose exemplars are
+ * never used is much cheaper than copying all of its templates. Exemplars that
+ * were handed out by getChildExemplars() or setChildExemplars() can be changed
+ * by the client that holds them, so they are cloned by copies instead of
+ * shared. Children, data nodes and their Entries are always copied deeply.
+ * Children have one parent and sibling links, and Entries are changed directly
+ * by clients without going through their DataComponent, so neither can be
+ * shared between copies.
+ * </p>
+ * <p>
+ * Membership in the set of children is checked by identity, not equality, so
+ * adding a child costs the same no matter how large the tree is. The hashcode
+ * only covers the structure of the tree - the descriptive data of each node,
+ * its children and its number of data nodes - and it is cached until a
+ * TreeComposite is modified through its operations.
  * 
  * @author Jay Jay Billings
  */
@@ -228,7 +253,7 @@ public class TreeComposite extends ICEObject implements Composite,
 	 * 
 	 */
 	@XmlElement(name = "exemplar")
-	protected ArrayList<TreeComposite> childExemplars;
+	protected volatile ArrayList<TreeComposite> childExemplars;
 
 	/**
 	 * <p>
@@ -239,6 +264,63 @@ public class TreeComposite extends ICEObject implements Composite,
 	@XmlAttribute
 	private boolean active = false;
 
+	/**
+	 * The children of this TreeComposite, compared by identity. This is used to
+	 * check whether a node is already a child without comparing it to every
+	 * child. It is rebuilt from the list of children if the sizes differ,
+	 * which happens after the children are loaded from XML.
+	 */
+	@XmlTransient
+	private Set<TreeComposite> childSet;
+
+	/**
+	 * The names of the child exemplars, which are the keys that new children
+	 * are matched against. It is null if it must be rebuilt from the list of
+	 * exemplars.
+	 */
+	@XmlTransient
+	private Set<String> exemplarNames;
+
+	/**
+	 * The number of exemplars that were in the list when the set of exemplar
+	 * names was built.
+	 */
+	@XmlTransient
+	private int exemplarNamesCount;
+
+	/**
+	 * True if the exemplars in the list are shared with another TreeComposite
+	 * because one of them was copied from the other. Exemplars are only read
+	 * until they are handed out by getChildExemplars(), which clones any
+	 * shared exemplars before it returns them. It is guarded by the lock of
+	 * the TreeComposite.
+	 */
+	@XmlTransient
+	private boolean exemplarsShared;
+
+	/**
+	 * True if the exemplars in the list were handed out to a client, which
+	 * may change them, so that copies must clone them instead of sharing
+	 * them. It is guarded by the lock of the TreeComposite.
+	 */
+	@XmlTransient
+	private boolean exemplarsHandedOut;
+
+	/**
+	 * The cached structural hashcode of this TreeComposite or null if it must
+	 * be computed again because this TreeComposite or one of its descendants
+	 * changed.
+	 */
+	@XmlTransient
+	private volatile Integer structuralHash;
+
+	/**
+	 * The path index of the tree that this TreeComposite belongs to or null if
+	 * the tree has not been indexed.
+	 */
+	@XmlTransient
+	private volatile TreeCompositeIndex index;
+
 	/**
 	 * <p>
 	 * The constructor.
@@ -360,11 +442,95 @@ public class TreeComposite extends ICEObject implements Composite,
 		// If there is a list of child exemplars, a check needs to be performed.
 		if (hasChildExemplars()) {
 			// Make sure the new child matches one of the exemplars.
-			canAdd = childExemplars.contains(cNode);
+			canAdd = getExemplarNames().contains(cNode.getName());
 		}
 		return canAdd;
 	}
 
+	/**
+	 * This operation returns the set of exemplar names, rebuilding it if the
+	 * list of exemplars changed.
+	 * 
+	 * @return The names of the child exemplars
+	 */
+	private Set<String> getExemplarNames() {
+		ArrayList<TreeComposite> exemplars = childExemplars;
+		Set<String> names = exemplarNames;
+		if (names == null || exemplarNamesCount != exemplars.size()) {
+			names = new HashSet<String>();
+			for (TreeComposite exemplar : exemplars) {
+				names.add(exemplar.getName());
+			}
+			exemplarNamesCount = exemplars.size();
+			exemplarNames = names;
+		}
+		return names;
+	}
+
+	/**
+	 * This operation returns the identity set of children, rebuilding it if it
+	 * is out of step with the list of children.
+	 * 
+	 * @return The set of children
+	 */
+	private Set<TreeComposite> getChildSet() {
+		if (childSet == null || childSet.size() != children.size()) {
+			childSet = Collections.newSetFromMap(
+					new IdentityHashMap<TreeComposite, Boolean>());
+			childSet.addAll(children);
+		}
+		return childSet;
+	}
+
+	/**
+	 * This operation returns the index of a child in the list of children,
+	 * compared by identity.
+	 * 
+	 * @param cNode
+	 *            The child
+	 * @return The index of the child or -1 if it is not a child of this tree
+	 */
+	private int indexOfChild(TreeComposite cNode) {
+		for (int i = 0; i < children.size(); i++) {
+			if (children.get(i) == cNode) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * This operation marks the cached hashcodes of this TreeComposite and its
+	 * ancestors as out of date. It must be called whenever the name, id,
+	 * description, children or data nodes of a TreeComposite change. A
+	 * hashcode is only cached after the hashcodes of all of the descendants
+	 * were, so the walk up the tree stops at the first ancestor whose
+	 * hashcode is already out of date.
+	 */
+	protected void structureChanged() {
+		for (TreeComposite node = this; node != null
+				&& node.structuralHash != null; node = node.parent) {
+			node.structuralHash = null;
+		}
+	}
+
+	/**
+	 * This operation is called by JAXB after this TreeComposite was read from
+	 * XML. JAXB does not link the children to their parent, so this operation
+	 * does, which lets changes to the children reach the cached hashcode of
+	 * this TreeComposite.
+	 * 
+	 * @param unmarshaller
+	 *            The unmarshaller
+	 * @param parent
+	 *            The object that contains this TreeComposite in the XML
+	 */
+	private void afterUnmarshal(Unmarshaller unmarshaller, Object parent) {
+		for (TreeComposite child : children) {
+			child.parent = this;
+		}
+	}
+
 	/**
 	 * <p>
 	 * This operation sets add a child to the list of children managed by this
@@ -386,7 +552,7 @@ public class TreeComposite extends ICEObject implements Composite,
 
 		// Only add the child if it is not null and already in this tree. Also
 		// make sure that it is part of the exemplar list, if required.
-		if (cNode != null && !children.contains(cNode) && cNode != this
+		if (cNode != null && !getChildSet().contains(cNode) && cNode != this
 				&& checkExemplars(cNode)) {
 			// Set the sibling links if there is more than one child in the list
 			if (!children.isEmpty()) {
@@ -404,6 +570,12 @@ public class TreeComposite extends ICEObject implements Composite,
 			}
 			// Add the node to the end of the list.
 			children.add(cNode);
+			childSet.add(cNode);
+			structureChanged();
+			// Index the child if this tree is indexed
+			if (index != null) {
+				index.childAdded(this, cNode);
+			}
 			// Set the parent reference for the child
 			cNode.parent = this;
 			// Register the listeners with this child
@@ -412,6 +584,10 @@ public class TreeComposite extends ICEObject implements Composite,
 			}
 			// Notify any listeners that a this tree was changed
 			notifyListeners();
+			if (hasChangeListeners()) {
+				fireChange(ChangeEvent.childAdded(this, cNode,
+						children.size() - 1));
+			}
 		}
 
 		return;
@@ -461,7 +637,7 @@ public class TreeComposite extends ICEObject implements Composite,
 
 		// Try to remove the child if it is not null, and make sure the child
 		// belongs to the set for this tree
-		if (cNode != null && children.contains(cNode)) {
+		if (cNode != null && getChildSet().contains(cNode)) {
 			// Re-link the siblings to point to each other, previous first
 			if (cNode.previousSibling != null) {
 				cNode.previousSibling.nextSibling = cNode.nextSibling;
@@ -472,9 +648,15 @@ public class TreeComposite extends ICEObject implements Composite,
 			}
 			// Get the index of this child in the list before removing it so
 			// that the iterator index can be fixed
-			int i = children.indexOf(cNode);
+			int i = indexOfChild(cNode);
 			// Remove the child and break out of the loop
-			children.remove(cNode);
+			children.remove(i);
+			childSet.remove(cNode);
+			structureChanged();
+			// Remove the child from the index
+			if (index != null) {
+				index.childRemoved(cNode);
+			}
 			// Remove the parent link of the child
 			cNode.parent = null;
 			// Fix the currentChildIndex iterator if needed
@@ -487,6 +669,9 @@ public class TreeComposite extends ICEObject implements Composite,
 			}
 			// Notify any listeners
 			notifyListeners();
+			if (hasChangeListeners()) {
+				fireChange(ChangeEvent.childRemoved(this, cNode, i));
+			}
 		}
 
 		return;
@@ -705,8 +890,10 @@ public class TreeComposite extends ICEObject implements Composite,
 			} else {
 				tree = (TreeComposite) otherTreeComposite;
 				// Check everything except the parent and sibling references.
-				// Start with ICEObject descriptive data.
-				equalVal = this.uniqueId == tree.uniqueId
+				// Start with the cached hashcodes, which differ for most trees
+				// that are not equal, and then ICEObject descriptive data.
+				equalVal = getStructuralHash() == tree.getStructuralHash()
+						&& this.uniqueId == tree.uniqueId
 						&& this.objectName.equals(tree.objectName)
 						&& this.objectDescription
 								.equals(tree.objectDescription)
@@ -728,7 +915,10 @@ public class TreeComposite extends ICEObject implements Composite,
 	 * <p>
 	 * This operation returns the hashcode value of the TreeComposite. It does
 	 * not include the parent and sibling references when computing the
-	 * hashcode.
+	 * hashcode. It only includes the structure of the tree - the id, name and
+	 * description of each node, its children and the number of its data nodes
+	 * - so that it can be cached. The contents of the data nodes can change
+	 * without the tree knowing.
 	 * </p>
 	 * 
 	 * @return <p>
@@ -737,23 +927,106 @@ public class TreeComposite extends ICEObject implements Composite,
 	 */
 	@Override
 	public int hashCode() {
+		return getStructuralHash();
+	}
 
-		// Local Declarations
+	/**
+	 * This operation returns the structural hashcode of the TreeComposite,
+	 * computing it only if this TreeComposite or one of its descendants was
+	 * modified since it was last computed. Subclasses that add to hashCode()
+	 * do not change this value, so the hashcodes of their parents stay valid.
+	 * 
+	 * @return The structural hashcode
+	 */
+	private int getStructuralHash() {
+
+		// Use the cached value if nothing has changed
+		Integer cached = structuralHash;
+		if (cached != null) {
+			return cached;
+		}
+
+		// Compute the hashcode from the same fields that equals() uses
 		int hash = 8;
+		hash = 31 * hash + uniqueId;
+		hash = 31 * hash + (null == objectName ? 0 : objectName.hashCode());
+		hash = 31 * hash + (null == objectDescription ? 0
+				: objectDescription.hashCode());
+		for (TreeComposite child : children) {
+			hash = 31 * hash + child.getStructuralHash();
+		}
+		hash = 31 * hash + dataNodes.size();
 
-		// Compute the hashcode
-		hash = 31 * super.hashCode();
-		hash = 31 * hash + children.hashCode();
-		hash = 31 * hash + dataNodes.hashCode();
-		hash = 31 * hash
-				+ ((activeDataNode != null) ? activeDataNode.hashCode() : 0);
-		hash = 31 * hash + (allowActiveDataNodes ? 1 : 0);
-		hash = 31 * hash + currentChildIndex;
-		hash = 31 * hash + childExemplars.hashCode();
+		// Cache the value
+		structuralHash = hash;
 
 		return hash;
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICEObject#setId(int)
+	 */
+	@Override
+	public void setId(int id) {
+		super.setId(id);
+		structureChanged();
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICEObject#setName(String)
+	 */
+	@Override
+	public void setName(String name) {
+		super.setName(name);
+		structureChanged();
+		// The paths of this node and its descendants changed
+		if (index != null) {
+			index.nodeChanged(this);
+		}
+	}
+
+	/**
+	 * This operation returns the path index of the tree that this
+	 * TreeComposite belongs to, creating an index of the tree below this node
+	 * if the tree was not indexed yet. The index should be requested from the
+	 * root. If a node below an indexed node was indexed first, the index of
+	 * the larger tree replaces its index.
+	 * 
+	 * @return The index
+	 */
+	public synchronized TreeCompositeIndex getIndex() {
+		if (index == null) {
+			index = new TreeCompositeIndex(this);
+		}
+		return index;
+	}
+
+	/**
+	 * This operation sets the index of the tree that this TreeComposite
+	 * belongs to. It is used by the index as nodes are added and removed.
+	 * 
+	 * @param treeIndex
+	 *            The index or null if the node was removed from it
+	 */
+	void setIndex(TreeCompositeIndex treeIndex) {
+		index = treeIndex;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICEObject#setDescription(String)
+	 */
+	@Override
+	public void setDescription(String description) {
+		super.setDescription(description);
+		structureChanged();
+	}
+
 	/**
 	 * <p>
 	 * This operation performs a deep copy of the attributes of another
@@ -816,6 +1089,21 @@ public class TreeComposite extends ICEObject implements Composite,
 		for (IUpdateableListener listener : listenersCopy) {
 			unregister(listener);
 		}
+
+		// Keep the old children and state for the change listeners
+		List<TreeComposite> oldChildren = null;
+		String oldName = objectName;
+		boolean oldActive = active;
+		if (hasChangeListeners()) {
+			oldChildren = new ArrayList<TreeComposite>(children);
+		}
+
+		// The children are replaced, so take them out of the index
+		TreeCompositeIndex treeIndex = index;
+		if (treeIndex != null) {
+			treeIndex.childrenRemoved(this);
+		}
+
 		// Copy ICEObject contents
 		super.copy(otherTreeComposite);
 
@@ -833,14 +1121,17 @@ public class TreeComposite extends ICEObject implements Composite,
 
 		// Clear the list of children to prepare for a deep copy
 		this.children.clear();
+		Set<TreeComposite> copiedChildren = getChildSet();
 
 		// Performs a deep copy. Please note that children's parents are reset!
 		for (int i = 0; i < otherTreeComposite.children.size(); i++) {
 
-			this.children.add((TreeComposite) otherTreeComposite.children
-					.get(i).clone());
+			TreeComposite child = (TreeComposite) otherTreeComposite.children
+					.get(i).clone();
+			this.children.add(child);
+			copiedChildren.add(child);
 			// Reset parent
-			this.children.get(i).setParent(this);
+			child.setParent(this);
 		}
 
 		// Reset links for siblings
@@ -874,12 +1165,36 @@ public class TreeComposite extends ICEObject implements Composite,
 		// Copy activity marker
 		this.active = otherTreeComposite.active;
 
-		// Copy the exemplars
-		this.childExemplars.clear();
-		for (int i = 0; i < otherTreeComposite.childExemplars.size(); i++) {
-			this.childExemplars
-					.add((TreeComposite) otherTreeComposite.childExemplars.get(
-							i).clone());
+		// Share the exemplars instead of cloning them, unless the other tree
+		// handed them out. Both trees will clone their own the first time
+		// that they are retrieved. Only one lock is held at a time.
+		ArrayList<TreeComposite> exemplars;
+		boolean share;
+		synchronized (otherTreeComposite) {
+			exemplars = new ArrayList<TreeComposite>(
+					otherTreeComposite.childExemplars);
+			share = !otherTreeComposite.exemplarsHandedOut
+					&& !exemplars.isEmpty();
+			if (share) {
+				otherTreeComposite.exemplarsShared = true;
+			}
+		}
+		if (!share) {
+			for (int i = 0; i < exemplars.size(); i++) {
+				exemplars.set(i, (TreeComposite) exemplars.get(i).clone());
+			}
+		}
+		synchronized (this) {
+			childExemplars = exemplars;
+			exemplarsShared = share;
+			exemplarsHandedOut = false;
+			exemplarNames = null;
+		}
+
+		// The id, name, description, children and data were all replaced
+		structureChanged();
+		if (treeIndex != null) {
+			treeIndex.nodeChanged(this);
 		}
 
 		// Re-register with all of the listeners.
@@ -889,13 +1204,29 @@ public class TreeComposite extends ICEObject implements Composite,
 		// Notify the listeners that this tree has changed.
 		this.notifyListeners();
 
+		// Tell the change listeners that the old children were removed, last
+		// first so that the indices stay valid, and that the new ones were
+		// added.
+		if (oldChildren != null) {
+			for (int i = oldChildren.size() - 1; i >= 0; i--) {
+				fireChange(ChangeEvent.childRemoved(this, oldChildren.get(i),
+						i));
+			}
+			for (int i = 0; i < children.size(); i++) {
+				fireChange(ChangeEvent.childAdded(this, children.get(i), i));
+			}
+			firePropertyChange(ChangeEvent.NAME, oldName, objectName);
+			firePropertyChange(ChangeEvent.ACTIVE, oldActive, active);
+		}
+
 		return;
 	}
 	
 	/**
 	 * <p>
 	 * This operation provides a deep copy of the TreeComposite. It clones ALL
-	 * of the nodes of a TreeComposite, data and child nodes alike.
+	 * of the nodes of a TreeComposite, data and child nodes alike. The child
+	 * exemplars are shared until they are retrieved.
 	 * </p>
 	 * 
 	 * @return <p>
@@ -930,9 +1261,15 @@ public class TreeComposite extends ICEObject implements Composite,
 	 */
 	public void setChildExemplars(ArrayList<TreeComposite> exemplars) {
 
-		// Check that the incoming list is valid
+		// Check that the incoming list is valid. The client keeps the
+		// exemplars, so they are never shared with copies.
 		if (exemplars != null) {
-			childExemplars = (ArrayList<TreeComposite>) exemplars.clone();
+			synchronized (this) {
+				childExemplars = (ArrayList<TreeComposite>) exemplars.clone();
+				exemplarNames = null;
+				exemplarsShared = false;
+				exemplarsHandedOut = true;
+			}
 		}
 
 		return;
@@ -954,20 +1291,28 @@ public class TreeComposite extends ICEObject implements Composite,
 		// Check the input Tree is valid
 		if (exemplar != null) {
 
-			// Check if there already is a child exemplar of the same name
-			for (int i = 0; i < childExemplars.size(); i++) {
-				currExemplar = childExemplars.get(i);
-
-				// If it's already in the list, remove it
-				if (currExemplar.getName().equals(exemplar.getName())) {
-					childExemplars.remove(i);
-					break;
+			// Change a new list so that readers never see a partial change
+			TreeComposite cloneExemplar = (TreeComposite) exemplar.clone();
+			synchronized (this) {
+				ArrayList<TreeComposite> exemplars = new ArrayList<TreeComposite>(
+						childExemplars);
+
+				// Check if there already is a child exemplar of the same name
+				for (int i = 0; i < exemplars.size(); i++) {
+					currExemplar = exemplars.get(i);
+
+					// If it's already in the list, remove it
+					if (currExemplar.getName().equals(exemplar.getName())) {
+						exemplars.remove(i);
+						break;
+					}
 				}
-			}
 
-			// Add the new child exemplar
-			TreeComposite cloneExemplar = (TreeComposite) exemplar.clone();
-			childExemplars.add(cloneExemplar);
+				// Add the new child exemplar
+				exemplars.add(cloneExemplar);
+				childExemplars = exemplars;
+				exemplarNames = null;
+			}
 		}
 
 		return;
@@ -980,12 +1325,32 @@ public class TreeComposite extends ICEObject implements Composite,
 	 * be copied (via clone(), for example) and submitted to setNextChild() or
 	 * addComponent().
 	 * </p>
+	 * <p>
+	 * The first call clones any exemplars that are still shared with a copy
+	 * of the TreeComposite. The clones are put in a new list, which replaces
+	 * the shared list once it is complete, so readers never see a partly
+	 * cloned list and concurrent callers get the same exemplars.
+	 * </p>
 	 * 
 	 * @return <p>
 	 *         The set of exemplar child types ("set of exemplars").
 	 *         </p>
 	 */
-	public ArrayList<TreeComposite> getChildExemplars() {
+	public synchronized ArrayList<TreeComposite> getChildExemplars() {
+
+		// The exemplars can be changed once they are handed out, so clone any
+		// that are still shared with another tree first.
+		if (exemplarsShared) {
+			ArrayList<TreeComposite> exemplars = new ArrayList<TreeComposite>(
+					childExemplars.size());
+			for (TreeComposite exemplar : childExemplars) {
+				exemplars.add((TreeComposite) exemplar.clone());
+			}
+			childExemplars = exemplars;
+			exemplarsShared = false;
+		}
+		exemplarsHandedOut = true;
+
 		return (ArrayList<TreeComposite>) childExemplars.clone();
 	}
 
@@ -1032,9 +1397,11 @@ public class TreeComposite extends ICEObject implements Composite,
 	 *            </p>
 	 */
 	public void setActive(boolean flag) {
+		boolean oldFlag = active;
 		active = flag;
 
 		notifyListeners();
+		firePropertyChange(ChangeEvent.ACTIVE, oldFlag, flag);
 
 		return;
 	}
@@ -1052,6 +1419,7 @@ public class TreeComposite extends ICEObject implements Composite,
 
 		// Add the component to the list
 		dataNodes.add(comp);
+		structureChanged();
 		// Register the listeners
 		for (IUpdateableListener listener : listeners) {
 			comp.register(listener);
@@ -1110,6 +1478,7 @@ public class TreeComposite extends ICEObject implements Composite,
 			Component component = dataNodes.get(i);
 			if (component.getId() == childId) {
 				dataNodes.remove(i);
+				structureChanged();
 				// Unregister all listeners from the removed data node.
 				for (IUpdateableListener listener : listeners) {
 					component.unregister(listener);
@@ -0,0 +1,488 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.form;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class indexes the nodes of a tree of {@link TreeComposite}s by their
+ * paths so that they can be found without walking the tree. The path of a node
+ * is the list of the names of its ancestors below the root and its own name,
+ * each preceded by a slash, such as "/Kernels/diff". The path of the root is
+ * "/".
+ *
+ * The index is kept up to date by the TreeComposites in it as children are
+ * added or removed and nodes are renamed or copied over, so it only walks the
+ * nodes that changed. It is requested from any node of the tree with
+ * {@link TreeComposite#getIndex()}. It also indexes
+ * {@link AdaptiveTreeComposite}s by their type and tells
+ * {@link ITreeCompositeIndexListener}s which nodes were added and removed.
+ *
+ * Paths are not required to be unique. If siblings share a name, the path maps
+ * to all of them in the order that they were indexed. Names that contain a
+ * slash can be looked up with getPath(), but not queried with find().
+ *
+ * The index is locked while it is read or updated, so it is never seen half
+ * updated, even if the tree is changed on a notification thread while it is
+ * read on another thread. The lock does not make TreeComposite itself thread
+ * safe: changes to the tree must still be made on one thread at a time, and
+ * a node that was just found may be removed by another thread right after it
+ * is returned. Listeners are called while the index is locked, so they must
+ * not wait for other threads that use the index.
+ *
+ * @author Jay Jay Billings
+ */
+public class TreeCompositeIndex {
+
+	/**
+	 * The separator between the names in a path and the path of the root.
+	 */
+	public static final String SEPARATOR = "/";
+
+	/**
+	 * The path segment that matches any name in find().
+	 */
+	public static final String WILDCARD = "*";
+
+	/**
+	 * The root of the indexed tree.
+	 */
+	private final TreeComposite root;
+
+	/**
+	 * The nodes in the tree keyed by their paths.
+	 */
+	private final Map<String, List<TreeComposite>> nodes;
+
+	/**
+	 * The paths of the nodes in the tree, keyed by the nodes themselves.
+	 */
+	private final Map<TreeComposite, String> paths;
+
+	/**
+	 * The AdaptiveTreeComposites in the tree keyed by their types.
+	 */
+	private final Map<String, List<AdaptiveTreeComposite>> types;
+
+	/**
+	 * The listeners that are told about added and removed nodes.
+	 */
+	private final List<ITreeCompositeIndexListener> listeners;
+
+	/**
+	 * The constructor. It indexes the whole tree below the root. The
+	 * TreeComposite creates the index when it is first requested.
+	 *
+	 * @param root
+	 *            The root of the tree
+	 */
+	TreeCompositeIndex(TreeComposite root) {
+		this.root = root;
+		nodes = new HashMap<String, List<TreeComposite>>();
+		paths = new IdentityHashMap<TreeComposite, String>();
+		types = new HashMap<String, List<AdaptiveTreeComposite>>();
+		listeners = new CopyOnWriteArrayList<ITreeCompositeIndexListener>();
+		addSubtree(root, SEPARATOR);
+	}
+
+	/**
+	 * This operation returns the path of a child.
+	 *
+	 * @param parentPath
+	 *            The path of the parent
+	 * @param name
+	 *            The name of the child
+	 * @return The path of the child
+	 */
+	public static String getChildPath(String parentPath, String name) {
+		return (SEPARATOR.equals(parentPath) ? "" : parentPath) + SEPARATOR
+				+ name;
+	}
+
+	/**
+	 * This operation returns the root of the indexed tree.
+	 *
+	 * @return The root
+	 */
+	public TreeComposite getRoot() {
+		return root;
+	}
+
+	/**
+	 * This operation returns the number of nodes in the index, including the
+	 * root.
+	 *
+	 * @return The number of nodes
+	 */
+	public synchronized int size() {
+		return paths.size();
+	}
+
+	/**
+	 * This operation returns the node at a path.
+	 *
+	 * @param path
+	 *            The path, such as "/Mesh"
+	 * @return The first node at the path or null if there is none
+	 */
+	public synchronized TreeComposite getNode(String path) {
+		List<TreeComposite> pathNodes = nodes.get(path);
+		return (pathNodes != null) ? pathNodes.get(0) : null;
+	}
+
+	/**
+	 * This operation returns all of the nodes at a path, which is more than one
+	 * if siblings share a name.
+	 *
+	 * @param path
+	 *            The path
+	 * @return The nodes at the path. The list is empty if there are none.
+	 */
+	public synchronized List<TreeComposite> getNodes(String path) {
+		List<TreeComposite> pathNodes = nodes.get(path);
+		return (pathNodes != null) ? new ArrayList<TreeComposite>(pathNodes)
+				: new ArrayList<TreeComposite>();
+	}
+
+	/**
+	 * This operation returns the path of a node.
+	 *
+	 * @param node
+	 *            The node
+	 * @return The path or null if the node is not in the index
+	 */
+	public synchronized String getPath(TreeComposite node) {
+		return paths.get(node);
+	}
+
+	/**
+	 * This operation returns all of the AdaptiveTreeComposites of a type.
+	 *
+	 * @param type
+	 *            The type, such as "FileMesh"
+	 * @return The nodes of that type in the order that they were indexed
+	 */
+	public synchronized List<AdaptiveTreeComposite> getNodesOfType(String type) {
+		List<AdaptiveTreeComposite> typeNodes = types.get(type);
+		return (typeNodes != null)
+				? new ArrayList<AdaptiveTreeComposite>(typeNodes)
+				: new ArrayList<AdaptiveTreeComposite>();
+	}
+
+	/**
+	 * This operation finds the nodes that match a path pattern. A pattern is a
+	 * path in which any name may be replaced by {@link #WILDCARD} to match all
+	 * of the children at that level, so "/Kernels/*" finds every kernel. Names
+	 * are looked up in the index, so only the levels with wildcards are
+	 * walked.
+	 *
+	 * @param pattern
+	 *            The pattern
+	 * @return The matching nodes in tree order. The list is empty if nothing
+	 *         matches.
+	 */
+	public synchronized List<TreeComposite> find(String pattern) {
+
+		// Start at the root and match one level at a time
+		List<TreeComposite> matches = new ArrayList<TreeComposite>();
+		matches.add(root);
+		for (String name : pattern.split(SEPARATOR)) {
+			if (name.isEmpty() || matches.isEmpty()) {
+				continue;
+			}
+			// Nodes can be reached twice if siblings share a name
+			Set<TreeComposite> found = Collections.newSetFromMap(
+					new IdentityHashMap<TreeComposite, Boolean>());
+			List<TreeComposite> next = new ArrayList<TreeComposite>();
+			for (TreeComposite match : matches) {
+				if (WILDCARD.equals(name)) {
+					for (int i = 0; i < match.getNumberOfChildren(); i++) {
+						TreeComposite child = match.getChildAtIndex(i);
+						if (found.add(child)) {
+							next.add(child);
+						}
+					}
+				} else {
+					List<TreeComposite> pathNodes = nodes
+							.get(getChildPath(paths.get(match), name));
+					if (pathNodes != null) {
+						for (TreeComposite child : pathNodes) {
+							if (found.add(child)) {
+								next.add(child);
+							}
+						}
+					}
+				}
+			}
+			matches = next;
+		}
+
+		return matches;
+	}
+
+	/**
+	 * This operation finds the AdaptiveTreeComposites of a type that match a
+	 * path pattern.
+	 *
+	 * @param pattern
+	 *            The pattern, as described in {@link #find(String)}
+	 * @param type
+	 *            The type
+	 * @return The matching nodes
+	 */
+	public synchronized List<AdaptiveTreeComposite> find(String pattern, String type) {
+		List<AdaptiveTreeComposite> matches = new ArrayList<AdaptiveTreeComposite>();
+		for (TreeComposite node : find(pattern)) {
+			if (node instanceof AdaptiveTreeComposite && type
+					.equals(((AdaptiveTreeComposite) node).getType())) {
+				matches.add((AdaptiveTreeComposite) node);
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * This operation registers a listener that is told about added and
+	 * removed nodes.
+	 *
+	 * @param listener
+	 *            The listener
+	 */
+	public void addListener(ITreeCompositeIndexListener listener) {
+		if (listener != null && !listeners.contains(listener)) {
+			listeners.add(listener);
+		}
+	}
+
+	/**
+	 * This operation unregisters a listener.
+	 *
+	 * @param listener
+	 *            The listener
+	 */
+	public void removeListener(ITreeCompositeIndexListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * This operation indexes a child that was added to a node in the tree.
+	 *
+	 * @param parent
+	 *            The parent
+	 * @param child
+	 *            The new child
+	 */
+	synchronized void childAdded(TreeComposite parent, TreeComposite child) {
+		String parentPath = paths.get(parent);
+		if (parentPath != null) {
+			// A node that is moved within the tree is only indexed once
+			if (paths.containsKey(child)) {
+				removeSubtree(child);
+			}
+			addSubtree(child, getChildPath(parentPath, child.getName()));
+		}
+	}
+
+	/**
+	 * This operation removes a child and its descendants from the index.
+	 *
+	 * @param child
+	 *            The child that was removed from the tree
+	 */
+	synchronized void childRemoved(TreeComposite child) {
+		if (child != root && paths.containsKey(child)) {
+			removeSubtree(child);
+		}
+	}
+
+	/**
+	 * This operation removes the descendants of a node from the index before
+	 * its children are replaced.
+	 *
+	 * @param node
+	 *            The node
+	 */
+	synchronized void childrenRemoved(TreeComposite node) {
+		if (paths.containsKey(node)) {
+			for (int i = 0; i < node.getNumberOfChildren(); i++) {
+				removeSubtree(node.getChildAtIndex(i));
+			}
+		}
+	}
+
+	/**
+	 * This operation indexes a node again after its name, type or children
+	 * changed.
+	 *
+	 * @param node
+	 *            The node
+	 */
+	synchronized void nodeChanged(TreeComposite node) {
+		String oldPath = paths.get(node);
+		if (oldPath != null) {
+			// The root is always at the root path. Other nodes keep their
+			// parent path, which is found from the old path because parent
+			// references are not kept by every operation.
+			String path = SEPARATOR;
+			if (node != root) {
+				String parentPath = oldPath.substring(0,
+						oldPath.lastIndexOf(SEPARATOR));
+				path = getChildPath(
+						parentPath.isEmpty() ? SEPARATOR : parentPath,
+						node.getName());
+			}
+			removeSubtree(node);
+			addSubtree(node, path);
+		}
+	}
+
+	/**
+	 * This operation adds a node and its descendants to the index.
+	 *
+	 * @param node
+	 *            The node
+	 * @param path
+	 *            The path of the node
+	 */
+	private void addSubtree(TreeComposite node, String path) {
+
+		// Index the node
+		paths.put(node, path);
+		List<TreeComposite> pathNodes = nodes.get(path);
+		if (pathNodes == null) {
+			pathNodes = new ArrayList<TreeComposite>(1);
+			nodes.put(path, pathNodes);
+		}
+		pathNodes.add(node);
+		if (node instanceof AdaptiveTreeComposite) {
+			String type = ((AdaptiveTreeComposite) node).getType();
+			if (type != null) {
+				List<AdaptiveTreeComposite> typeNodes = types.get(type);
+				if (typeNodes == null) {
+					typeNodes = new ArrayList<AdaptiveTreeComposite>();
+					types.put(type, typeNodes);
+				}
+				typeNodes.add((AdaptiveTreeComposite) node);
+			}
+		}
+		node.setIndex(this);
+		for (ITreeCompositeIndexListener listener : listeners) {
+			listener.nodeAdded(path, node);
+		}
+
+		// Index the children
+		for (int i = 0; i < node.getNumberOfChildren(); i++) {
+			TreeComposite child = node.getChildAtIndex(i);
+			addSubtree(child, getChildPath(path, child.getName()));
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation removes a node and its descendants from the index.
+	 *
+	 * @param node
+	 *            The node
+	 */
+	private void removeSubtree(TreeComposite node) {
+
+		// Nodes that were never indexed, like the new children of a copied
+		// node, are skipped
+		String path = paths.remove(node);
+		if (path == null) {
+			return;
+		}
+
+		// Remove the node
+		removeNode(nodes, path, node);
+		// Its type may have changed since it was indexed, so check them all
+		if (node instanceof AdaptiveTreeComposite) {
+			Iterator<List<AdaptiveTreeComposite>> iterator = types.values()
+					.iterator();
+			while (iterator.hasNext()) {
+				List<AdaptiveTreeComposite> typeNodes = iterator.next();
+				if (removeNode(typeNodes, node)) {
+					if (typeNodes.isEmpty()) {
+						iterator.remove();
+					}
+					break;
+				}
+			}
+		}
+		if (node != root) {
+			node.setIndex(null);
+		}
+		for (ITreeCompositeIndexListener listener : listeners) {
+			listener.nodeRemoved(path, node);
+		}
+
+		// Remove the children
+		for (int i = 0; i < node.getNumberOfChildren(); i++) {
+			removeSubtree(node.getChildAtIndex(i));
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation removes a node from the list of nodes at a path and
+	 * removes the list if it is empty.
+	 *
+	 * @param map
+	 *            The map of paths to nodes
+	 * @param path
+	 *            The path
+	 * @param node
+	 *            The node
+	 */
+	private static void removeNode(Map<String, List<TreeComposite>> map,
+			String path, TreeComposite node) {
+		List<TreeComposite> pathNodes = map.get(path);
+		if (pathNodes != null) {
+			removeNode(pathNodes, node);
+			if (pathNodes.isEmpty()) {
+				map.remove(path);
+			}
+		}
+	}
+
+	/**
+	 * This operation removes a node from a list by identity.
+	 *
+	 * @param list
+	 *            The list
+	 * @param node
+	 *            The node
+	 * @return True if the node was in the list, false otherwise
+	 */
+	private static boolean removeNode(List<? extends TreeComposite> list,
+			TreeComposite node) {
+		for (int i = 0; i < list.size(); i++) {
+			if (list.get(i) == node) {
+				list.remove(i);
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -223,7 +223,7 @@ public class FernModel extends Model {
 			if (writer != null) {
 				retStatus = FormStatus.Processing;
 				writer.write(form, outputFile);
-				refreshProjectSpace();
+				refreshResource(outputFile, IResource.DEPTH_ZERO);
 				retStatus = FormStatus.Processed;
 			} else {
 				logger.error("Could not get reference to the IWriter " + writerName);
@@ -12,10 +12,12 @@
 package org.eclipse.ice.io.csv.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.util.ArrayList;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -28,6 +30,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.ice.datastructures.ICEObject.ListComponent;
+import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.io.csv.CSVReader;
 import org.junit.BeforeClass;
@@ -143,9 +146,39 @@ public class CSVReaderTester {
 	 * {@link org.eclipse.ice.io.csv.CSVReader#findAll(org.eclipse.core.resources.IFile, java.lang.String)}
 	 * .
 	 */
-//	@Test
+	@Test
 	public void testFindAll() {
-		fail("Not yet implemented");
+
+		// Bad arguments should not return anything
+		assertNull(reader.findAll(null, ".*"));
+		assertNull(reader.findAll(testFile, null));
+
+		// Find the first line of data. The whole line has to match.
+		String regex = "0\\.00740898494001999,.*";
+		ArrayList<IEntry> matches = reader.findAll(testFile, regex);
+		assertEquals(1, matches.size());
+		IEntry match = matches.get(0);
+		assertTrue(match.getValue()
+				.startsWith("0.00740898494001999,4.25,0.999852520984978"));
+		assertEquals(match.getValue(), match.getName());
+		assertEquals(regex, match.getDescription());
+
+		// Part of a line is not enough
+		assertEquals(0, reader.findAll(testFile, "4\\.25").size());
+
+		// Find the last line of data
+		matches = reader.findAll(testFile, "2\\.0700000000E-06,.*");
+		assertTrue(matches.size() > 0);
+		assertTrue(matches.get(matches.size() - 1).getValue().startsWith(
+				"2.0700000000E-06,4.7498147887E-11,1.9976998807E-12"));
+
+		// Every line matches this, including the comment at the top
+		assertTrue(reader.findAll(testFile, ".*").size() > 175);
+
+		// Nothing should match this
+		assertEquals(0, reader.findAll(testFile, "Sassafras my mass").size());
+
+		return;
 	}
 
 	/**
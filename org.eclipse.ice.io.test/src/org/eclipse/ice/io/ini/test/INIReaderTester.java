@@ -14,7 +14,9 @@ package org.eclipse.ice.io.ini.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -147,4 +149,67 @@ public class INIReaderTester {
 		// Okay good job
 		return;
 	}
+
+	/**
+	 * This operation checks that many files can be read at once against a
+	 * compiled template and that each file gets its own Form.
+	 */
+	@Test
+	public void checkReadAll() {
+
+		// Local Declarations
+		IProject project = projectSpace;
+		IFile inputFile = project.getFile("example.ini");
+		IFile templateFile = project.getFile("example_template.ini");
+		INIReader reader = new INIReader("!");
+		int numFiles = 16;
+		ArrayList<IFile> files = new ArrayList<IFile>();
+		for (int i = 0; i < numFiles; i++) {
+			files.add(inputFile);
+		}
+
+		// Nothing to read gives nothing back
+		assertTrue(reader.readAll(null).isEmpty());
+
+		// Read the files without a template
+		ArrayList<Form> forms = reader.readAll(files);
+		assertEquals(numFiles, forms.size());
+		for (Form form : forms) {
+			assertEquals(3, form.getComponents().size());
+		}
+
+		// Read them against the template. The template is compiled once, so
+		// make sure the Forms and their Entries are not shared.
+		reader.addTemplateType("template", templateFile);
+		reader.setTemplateType("template");
+		Form expected = reader.read(inputFile);
+		forms = reader.readAll(files);
+		assertEquals(numFiles, forms.size());
+		for (Form form : forms) {
+			ArrayList<Component> sections = form.getComponents();
+			assertEquals(expected.getComponents().size(), sections.size());
+			for (int i = 0; i < sections.size(); i++) {
+				DataComponent section = (DataComponent) sections.get(i);
+				DataComponent expectedSection = (DataComponent) expected
+						.getComponents().get(i);
+				assertEquals(expectedSection.getName(), section.getName());
+				assertEquals(expectedSection.retrieveAllEntries().size(),
+						section.retrieveAllEntries().size());
+				for (int j = 0; j < section.retrieveAllEntries().size(); j++) {
+					assertEquals(
+							expectedSection.retrieveAllEntries().get(j)
+									.getValue(),
+							section.retrieveAllEntries().get(j).getValue());
+				}
+			}
+		}
+		assertNotSame(forms.get(0), forms.get(1));
+		assertNotSame(
+				((DataComponent) forms.get(0).getComponents().get(0))
+						.retrieveAllEntries().get(0),
+				((DataComponent) forms.get(1).getComponents().get(0))
+						.retrieveAllEntries().get(0));
+
+		return;
+	}
 }
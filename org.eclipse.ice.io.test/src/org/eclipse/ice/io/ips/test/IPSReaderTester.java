@@ -17,6 +17,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
 
 import org.eclipse.core.resources.IFile;
@@ -36,6 +39,7 @@ import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.MasterDetailsComponent;
 import org.eclipse.ice.datastructures.form.TableComponent;
 import org.eclipse.ice.io.ips.IPSReader;
+import org.eclipse.ice.io.ips.IPSWriter;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -182,4 +186,131 @@ public class IPSReaderTester {
 		// Okay good job
 		return;
 	}
+
+	/**
+	 * This operation checks that a configuration with a thousand components
+	 * can be written, read back in and written again without changing the
+	 * file, and that only the component that was changed is written again.
+	 */
+	@Test
+	public void checkLargeConfiguration() {
+
+		// Local Declarations
+		IProject project = projectSpace;
+		String separator = System.getProperty("file.separator");
+		IFile inputFile = project
+				.getFile("Caebat_Model" + separator + "example_ini.conf");
+		IFile largeFile = project
+				.getFile("Caebat_Model" + separator + "large_ini.conf");
+		String[] portNames = { "INIT_STATE", "AMPERES_THERMAL",
+				"AMPERES_ELECTRICAL", "CHARTRAN_ELECTRICAL_THERMAL_DRIVER",
+				"NTG", "DUALFOIL" };
+		int numComponents = 1000;
+		IPSReader reader = new IPSReader();
+		IPSWriter writer = new IPSWriter();
+
+		// Grow the example to a thousand components
+		Form form = reader.read(inputFile);
+		MasterDetailsComponent portsMaster = (MasterDetailsComponent) form
+				.getComponents().get(3);
+		for (int i = portsMaster.numberOfMasters(); i < numComponents; i++) {
+			int id = portsMaster.addMaster();
+			assertTrue(portsMaster.setMasterInstanceValue(id,
+					portNames[i % portNames.length]));
+		}
+		assertEquals(numComponents, portsMaster.numberOfMasters());
+
+		// Write it out
+		long start = System.currentTimeMillis();
+		writer.write(form, largeFile);
+		long writeTime = System.currentTimeMillis() - start;
+		assertTrue(largeFile.exists());
+
+		// Read it back in and make sure that every component was found in
+		// order. Reading only indexes the sections and the Entries of each
+		// component are parsed when they are first retrieved.
+		start = System.currentTimeMillis();
+		Form largeForm = reader.read(largeFile);
+		long readTime = System.currentTimeMillis() - start;
+		assertNotNull(largeForm);
+		MasterDetailsComponent largeMaster = (MasterDetailsComponent) largeForm
+				.getComponents().get(3);
+		assertEquals(numComponents, largeMaster.numberOfMasters());
+		start = System.currentTimeMillis();
+		for (int i = 0; i < numComponents; i++) {
+			assertEquals(portsMaster.getDetailsAtIndex(i).getName(),
+					largeMaster.getDetailsAtIndex(i).getName());
+			assertEquals(
+					portsMaster.getDetailsAtIndex(i).retrieveAllEntries()
+							.size(),
+					largeMaster.getDetailsAtIndex(i).retrieveAllEntries()
+							.size());
+		}
+		long parseTime = System.currentTimeMillis() - start;
+
+		// Writing it again without changes should not touch the file
+		long stamp = largeFile.getModificationStamp();
+		start = System.currentTimeMillis();
+		writer.write(largeForm, largeFile);
+		long rewriteTime = System.currentTimeMillis() - start;
+		assertEquals(stamp, largeFile.getModificationStamp());
+		System.out.println("IPSReaderTester Message: " + numComponents
+				+ " components written in " + writeTime + " ms, read in "
+				+ readTime + " ms, their Entries parsed in " + parseTime
+				+ " ms and an unchanged write checked in " + rewriteTime
+				+ " ms");
+
+		// But changes should be written
+		String before = readContents(largeFile);
+		DataComponent last = largeMaster.getDetailsAtIndex(numComponents - 1);
+		last.retrieveAllEntries().get(0).setValue("CHANGED");
+		writer.write(largeForm, largeFile);
+		assertTrue(stamp != largeFile.getModificationStamp());
+
+		// Everything before the changed component, including the header,
+		// should have been copied from the old file
+		String after = readContents(largeFile);
+		int lastStart = before.lastIndexOf("[" + last.getName() + "]");
+		assertTrue(lastStart > 0);
+		assertEquals(before.substring(0, lastStart),
+				after.substring(0, lastStart));
+		assertTrue(after.indexOf("CHANGED", lastStart) > 0);
+
+		// Clean up
+		try {
+			largeFile.delete(true, new NullProgressMonitor());
+		} catch (CoreException e) {
+			e.printStackTrace();
+			fail();
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation reads the contents of a file.
+	 * 
+	 * @param file
+	 *            The file
+	 * @return The contents with a new line after each line
+	 */
+	private String readContents(IFile file) {
+
+		// Local Declarations
+		StringBuilder contents = new StringBuilder();
+		String line;
+
+		// Read the lines of the file
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(file.getContents()))) {
+			while ((line = reader.readLine()) != null) {
+				contents.append(line).append("\n");
+			}
+		} catch (CoreException | IOException e) {
+			e.printStackTrace();
+			fail();
+		}
+
+		return contents.toString();
+	}
 }
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.io.search.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import org.eclipse.ice.io.search.StreamingSearch;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link StreamingSearch} class.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class StreamingSearchTester {
+
+	/**
+	 * The contents searched by the tests.
+	 */
+	private static final String contents = "SIM_ROOT = /home/ice\n"
+			+ "SIM_NAME = test\n" + "# SIM_ROOT = /old\n" + "PORTS = a b c\n"
+			+ "SIM_ROOT = /other\n";
+
+	/**
+	 * This operation returns a fresh stream over the test contents.
+	 *
+	 * @return The stream
+	 */
+	private InputStream stream() {
+		return new ByteArrayInputStream(contents.getBytes());
+	}
+
+	/**
+	 * This operation checks that scanning reports whole-line matches by
+	 * default and partial matches when finding within lines.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkScan() throws IOException {
+
+		ArrayList<Integer> lineNumbers = new ArrayList<Integer>();
+		StreamingSearch search = new StreamingSearch("SIM_ROOT = .*");
+
+		// Whole line matching should skip the comment
+		int count = search.scan(stream(), (lineNumber, line, matcher) -> {
+			lineNumbers.add(lineNumber);
+			return true;
+		});
+		assertEquals(2, count);
+		assertEquals(1, (int) lineNumbers.get(0));
+		assertEquals(5, (int) lineNumbers.get(1));
+
+		// Finding within lines should pick up the comment too
+		lineNumbers.clear();
+		search.setFindWithinLines(true);
+		count = search.scan(stream(), (lineNumber, line, matcher) -> {
+			lineNumbers.add(lineNumber);
+			return true;
+		});
+		assertEquals(3, count);
+		assertEquals(3, (int) lineNumbers.get(1));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that scans stop at the match limit or when the
+	 * handler asks them to.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkEarlyTermination() throws IOException {
+
+		StreamingSearch search = new StreamingSearch("SIM_.*");
+
+		// Check the limit
+		search.setMatchLimit(1);
+		assertEquals(1, search.getMatchLimit());
+		assertEquals(1, search.scan(stream(), (n, line, m) -> true));
+		search.setMatchLimit(0);
+		assertEquals(0, search.scan(stream(), (n, line, m) -> true));
+
+		// Negative limits mean unlimited
+		search.setMatchLimit(-5);
+		assertEquals(StreamingSearch.UNLIMITED, search.getMatchLimit());
+		assertEquals(3, search.scan(stream(), (n, line, m) -> true));
+
+		// Check that the handler can stop the scan
+		assertEquals(2, search.scan(stream(), (n, line, m) -> n < 2));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that replacements are streamed correctly and
+	 * respect the match limit.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkReplace() throws IOException {
+
+		StreamingSearch search = new StreamingSearch("SIM_ROOT = (.*)");
+		search.setFindWithinLines(true);
+
+		// Replace every match, using a group reference
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(3, search.replace(stream(), out, "ROOT=$1"));
+		String[] lines = out.toString().split("\n");
+		assertEquals(5, lines.length);
+		assertEquals("ROOT=/home/ice", lines[0]);
+		assertEquals("# ROOT=/old", lines[2]);
+		assertEquals("ROOT=/other", lines[4]);
+
+		// Only replace the first match
+		search.setMatchLimit(1);
+		out = new ByteArrayOutputStream();
+		assertEquals(1, search.replace(stream(), out, "X"));
+		lines = out.toString().split("\n");
+		assertEquals("X", lines[0]);
+		assertEquals("# SIM_ROOT = /old", lines[2]);
+		assertEquals("SIM_ROOT = /other", lines[4]);
+
+		// Line terminators should be kept and none should be added at the end
+		search.setMatchLimit(StreamingSearch.UNLIMITED);
+		out = new ByteArrayOutputStream();
+		assertEquals(2, search.replace(new ByteArrayInputStream(
+				"SIM_ROOT = a\r\nB\rSIM_ROOT = c".getBytes()), out, "$1"));
+		assertEquals("a\r\nB\rc", out.toString());
+
+		return;
+	}
+}
@@ -16,13 +16,13 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 
-import javax.naming.OperationNotSupportedException;
-
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ice.datastructures.ICEObject.ListComponent;
 import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.entry.StringEntry;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.io.search.StreamingSearch;
 import org.eclipse.ice.io.serializable.IReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,6 +90,9 @@ public class DelimitedReader implements IReader {
 			BufferedReader reader = new BufferedReader(
 					new InputStreamReader(file.getContents()));
 			String line = null;
+			// Collect the lines so that they can be added to the list with
+			// one lock and one list event
+			ArrayList<String[]> lineArrays = new ArrayList<String[]>();
 			while ((line = reader.readLine()) != null) {
 				// Skip lines that pure comments
 				if (!line.startsWith("#")) {
@@ -105,10 +108,12 @@ public class DelimitedReader implements IReader {
 					for (String element : lineArray) {
 						element = element.trim();
 					}
-					// Put the lines in the list
-					lines.add(lineArray);
+					// Keep the line for the list
+					lineArrays.add(lineArray);
 				}
 			}
+			// Put the lines in the list
+			lines.appendAll(lineArrays);
 			form.addComponent(lines);
 		} catch (CoreException e) {
 			// Complain
@@ -129,14 +134,31 @@ public class DelimitedReader implements IReader {
 	 */
 	@Override
 	public ArrayList<IEntry> findAll(IFile file, String regex) {
+
+		// Make sure there's something to look in
+		if (file == null || regex == null) {
+			return null;
+		}
+
+		// Stream the file and create an Entry for every matching line
+		ArrayList<IEntry> matchedEntries = new ArrayList<IEntry>();
 		try {
-			throw new OperationNotSupportedException("CSVReader Error: "
-					+ "IReader.findAll() is not supported... yet.");
-		} catch (OperationNotSupportedException e) {
-			// TODO Auto-generated catch block
+			StreamingSearch search = new StreamingSearch(regex);
+			search.scan(file.getContents(), (lineNumber, line, matcher) -> {
+				IEntry foundEntry = new StringEntry();
+				foundEntry.setName(line);
+				foundEntry.setDescription(regex);
+				foundEntry.setValue(line);
+				matchedEntries.add(foundEntry);
+				return true;
+			});
+		} catch (CoreException | IOException e) {
+			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
+			return null;
 		}
-		return null;
+
+		return matchedEntries;
 	}
 
 	/*
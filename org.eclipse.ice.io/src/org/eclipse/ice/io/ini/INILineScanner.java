@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.io.ini;
+
+/**
+ * This class scans the lines of INI files for comments, section headers and
+ * assignments without regular expressions. It implements the default syntax
+ * of the INIReader, which is a literal comment string, section headers that
+ * match "\[.*\]" and assignments that are split by "(=|\b(\s)+?|\b\t)", and
+ * gives the same results as the regular expressions for that syntax. The
+ * INIReader uses it until a client sets a different syntax.
+ *
+ * @author Jay Jay Billings
+ */
+final class INILineScanner {
+
+	/**
+	 * The scanner only has static operations.
+	 */
+	private INILineScanner() {
+	}
+
+	/**
+	 * This operation removes everything from the first occurrence of a
+	 * comment string to the end of a line.
+	 *
+	 * @param line
+	 *            The line
+	 * @param comment
+	 *            The comment string, which is not a regular expression
+	 * @return The part of the line before the comment
+	 */
+	static String stripComment(String line, String comment) {
+		int index = comment.isEmpty() ? -1 : line.indexOf(comment);
+		return (index < 0) ? line : line.substring(0, index);
+	}
+
+	/**
+	 * This operation returns the name of the section that a line starts. The
+	 * line is a section header if it starts with "[" and ends with "]". The
+	 * name is the trimmed line without any brackets.
+	 *
+	 * @param line
+	 *            The line
+	 * @return The name of the section or null if the line is not a section
+	 *         header
+	 */
+	static String getSectionName(String line) {
+		int length = line.length();
+		if (length < 2 || line.charAt(0) != '[' || line.charAt(length - 1) != ']') {
+			return null;
+		}
+		return line.trim().replace("[", "").replace("]", "");
+	}
+
+	/**
+	 * This operation splits an assignment into its variable and value. The
+	 * line is split at every "=" and at every whitespace character that
+	 * follows a word character. The variable is the first piece and the value
+	 * is the last piece that is not empty.
+	 *
+	 * @param line
+	 *            The line, without its comment
+	 * @return An array with the variable and the value, neither of which are
+	 *         trimmed, or null if the line is not an assignment
+	 */
+	static String[] splitAssignment(String line) {
+
+		// Local Declarations
+		int length = line.length();
+		int firstEnd = -1;
+		int lastStart = -1;
+		int lastEnd = -1;
+		int pieceStart = 0;
+
+		// Find the first piece and the last piece that is not empty
+		for (int i = 0; i < length; i++) {
+			char c = line.charAt(i);
+			if (c == '=' || (i > 0 && isWhitespace(c)
+					&& isWordCharacter(line.charAt(i - 1)))) {
+				if (firstEnd < 0) {
+					firstEnd = i;
+				} else if (i > pieceStart) {
+					lastStart = pieceStart;
+					lastEnd = i;
+				}
+				pieceStart = i + 1;
+			}
+		}
+
+		// There has to be a split and a piece after the first one with
+		// something in it
+		if (firstEnd < 0) {
+			return null;
+		}
+		if (pieceStart < length) {
+			lastStart = pieceStart;
+			lastEnd = length;
+		}
+		if (lastStart < 0) {
+			return null;
+		}
+
+		return new String[] { line.substring(0, firstEnd),
+				line.substring(lastStart, lastEnd) };
+	}
+
+	/**
+	 * This operation returns true if a character is a word character, as
+	 * matched by "\w".
+	 *
+	 * @param c
+	 *            The character
+	 * @return True if the character is a letter, digit or underscore
+	 */
+	private static boolean isWordCharacter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+				|| (c >= '0' && c <= '9') || c == '_';
+	}
+
+	/**
+	 * This operation returns true if a character is whitespace, as matched by
+	 * "\s".
+	 *
+	 * @param c
+	 *            The character
+	 * @return True if the character is a space, tab, line break, vertical tab
+	 *         or form feed
+	 */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B'
+				|| c == '\f' || c == '\r';
+	}
+
+}
@@ -18,19 +18,25 @@ import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.ice.datastructures.entry.ContinuousEntry;
-import org.eclipse.ice.datastructures.entry.DiscreteEntry;
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.entry.StringEntry;
 import org.eclipse.ice.datastructures.form.AllowedValueType;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
-import org.eclipse.ice.datastructures.form.TableComponent;
+import org.eclipse.ice.io.search.StreamingSearch;
 import org.eclipse.ice.io.serializable.ITemplatedReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +45,13 @@ import org.slf4j.LoggerFactory;
  * The INIReader provides functionality for parsing files that use the INI
  * structure.
  *
+ * Template files are compiled into {@link INITemplate}s the first time that
+ * they are used and the compiled templates are reused until the template file
+ * is modified. Lines are scanned without regular expressions unless a client
+ * changes the comment, section or assignment syntax to one that needs them.
+ * Many files can be read against the same template in parallel with
+ * readAll().
+ *
  * @author Andrew Bennett
  *
  */
@@ -50,11 +63,35 @@ public class INIReader implements ITemplatedReader {
 	private static final Logger logger = LoggerFactory
 			.getLogger(INIReader.class);
 
+	/**
+	 * The default regex to match the section headers.
+	 */
+	private static final String DEFAULT_SECTION_PATTERN = "\\[.*\\]";
+
+	/**
+	 * The default regex to match the variable assignments. It matches =,
+	 * multiple spaces after test, or tabs after text, in that order of
+	 * precedence.
+	 */
+	private static final String DEFAULT_ASSIGNMENT_PATTERN = "(=|\\b(\\s)+?|\\b\\t)";
+
+	/**
+	 * The characters that make a comment string a regular expression instead
+	 * of a literal string.
+	 */
+	private static final String REGEX_CHARACTERS = "\\^$.|?*+()[]{}";
+
 	/**
 	 * The character to use as a comment symbol
 	 */
 	private String comment;
 
+	/**
+	 * The compiled comment string if it is a regular expression, or null if it
+	 * can be found without one.
+	 */
+	private Pattern commentPattern;
+
 	/**
 	 * A string that can be used if there is an unusual prefix before
 	 * assignments within sections
@@ -64,19 +101,29 @@ public class INIReader implements ITemplatedReader {
 	/**
 	 * Regex to match the section headers
 	 */
-	private Pattern sectionPattern = Pattern.compile("\\[.*\\]");
+	private Pattern sectionPattern = Pattern.compile(DEFAULT_SECTION_PATTERN);
 
 	/**
-	 * Regex to match the variable assignments. The default matches =, multiple
-	 * spaces after test, or tabs after text, in that order of precedence.
+	 * Regex to match the variable assignments.
 	 */
-	private String assignmentPattern = "(=|\\b(\\s)+?|\\b\\t)";
+	private String assignmentPattern = DEFAULT_ASSIGNMENT_PATTERN;
+
+	/**
+	 * The compiled assignment regex.
+	 */
+	private Pattern assignmentRegex = Pattern
+			.compile(DEFAULT_ASSIGNMENT_PATTERN);
 
 	/**
 	 * The type of template to use. If null just read a bare ini file
 	 */
 	private IFile templateFile = null;
 
+	/**
+	 * The name of the template to use.
+	 */
+	private String templateName = null;
+
 	/**
 	 * Stores the template type to the name of the template file. Template files
 	 * should be organized by: [section names] variable = default value ; list,
@@ -85,10 +132,9 @@ public class INIReader implements ITemplatedReader {
 	private HashMap<String, IFile> templateMap = new HashMap<String, IFile>();
 
 	/**
-	 * Keep track of which TableComponent each template variable is in so we can
-	 * load the actual file more quickly
+	 * The compiled templates by the name of the template.
 	 */
-	private HashMap<String, Integer> variableToComponentNumber = new HashMap<String, Integer>();
+	private ConcurrentHashMap<String, INITemplate> compiledTemplates = new ConcurrentHashMap<String, INITemplate>();
 
 	/**
 	 * Constructor using the ! as a comment is the default behavior
@@ -104,7 +150,7 @@ public class INIReader implements ITemplatedReader {
 	 *            the symbol to use to specify a comment
 	 */
 	public INIReader(String c) {
-		comment = c;
+		setCommentString(c);
 	}
 
 	/**
@@ -117,125 +163,243 @@ public class INIReader implements ITemplatedReader {
 	 */
 	@Override
 	public Form read(IFile file) {
-		// Initialize the form
-		Form iniForm = null;
 
-		// Check if we are building a templated form and if so,
-		// make the template, then read in the file to the template
+		// Check if we are building a templated form and if so, get the
+		// compiled template, then read in the file to a form built from it
 		if (templateFile != null) {
-			iniForm = buildTemplate();
-			iniForm = loadIntoTemplate(iniForm, file);
-		} else {
-			// Build the default version of the form
-			// Make sure the file exists before trying to read
-			if (file != null && file.exists()) {
-				ArrayList<DataComponent> sections = null;
-				BufferedReader reader = null;
+			INITemplate template = getTemplate();
+			return (template != null) ? read(file, template) : null;
+		}
+
+		return read(file, null);
+	}
+
+	/**
+	 * This operation reads many INI files at once. If a template is set, it is
+	 * compiled once and every file is read into its own Form built from it.
+	 * The files are split among the calling thread and the compute threads.
+	 * The reader must not be reconfigured until this operation returns.
+	 *
+	 * @param files
+	 *            The INI files to read
+	 * @return The Forms of the files, in the same order as the files. The
+	 *         Form of a file that could not be read is null.
+	 */
+	public ArrayList<Form> readAll(final List<IFile> files) {
+
+		// Local Declarations
+		final int numFiles = (files != null) ? files.size() : 0;
+		final Form[] forms = new Form[numFiles];
+		final AtomicInteger nextFile = new AtomicInteger(0);
+		final CountDownLatch finished = new CountDownLatch(numFiles);
+		List<Future<Object>> helpers = new ArrayList<Future<Object>>();
+		ArrayList<Form> readForms = new ArrayList<Form>(numFiles);
+
+		// Compile the template up front so that it is shared by every file
+		final INITemplate template = (templateFile != null) ? getTemplate()
+				: null;
+		if (templateFile != null && template == null) {
+			for (int i = 0; i < numFiles; i++) {
+				readForms.add(null);
+			}
+			return readForms;
+		}
 
+		// Each worker takes the next file until there are none left
+		Runnable worker = () -> {
+			int i;
+			while ((i = nextFile.getAndIncrement()) < numFiles) {
 				try {
-					// Open up the reader and start reading
-					iniForm = new Form();
-					reader = new BufferedReader(new InputStreamReader(
-							file.getContents()));
-					String line;
-					String[] splitLine;
-					String section = "Default Section";
-					DataComponent sectionComp = new DataComponent();
-					sectionComp.setName(section);
-					while ((line = reader.readLine()) != null) {
-						// Make sure that comments are taken into consideration
-						splitLine = line.split(comment);
-						line = splitLine[0].trim();
-						// If at a new section, add the previous section to
-						// the list and create a new DataComponent for the
-						// next section
-						Matcher sectionMatch = sectionPattern.matcher(line);
-						if (sectionMatch.matches()) {
-							if (sectionComp.retrieveAllEntries().size() > 0) {
-								iniForm.addComponent(sectionComp);
-							}
-							sectionComp = new DataComponent();
-							sectionComp.setName(sectionMatch.group(0).trim()
-									.replace("[", "").replace("]", ""));
-						} else if ((splitLine = line.split(assignmentPattern)).length >= 2) {
-							// Get the key and value and put it in the Data
-							// Component
-							String var = splitLine[0].trim();
-							String val = splitLine[splitLine.length - 1].trim();
-							sectionComp.addEntry(makeTemplateEntry(var, val,
-									new ArrayList<String>(),
-									AllowedValueType.Undefined));
+					forms[i] = read(files.get(i), template);
+				} catch (RuntimeException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				} finally {
+					finished.countDown();
+				}
+			}
+		};
+
+		// Ask the compute threads to help and work on this thread too, so the
+		// files are read even if no helper ever starts
+		int numHelpers = Math.min(Workload.COMPUTE.getThreads() - 1,
+				numFiles - 1);
+		try {
+			for (int i = 0; i < numHelpers; i++) {
+				helpers.add(ICEExecutors.submit(Workload.COMPUTE, () -> {
+					worker.run();
+					return null;
+				}));
+			}
+		} catch (RejectedExecutionException e) {
+			logger.info("INIReader Message: Reading the files on fewer "
+					+ "threads because the compute threads are busy.");
+		}
+		worker.run();
+
+		// Wait for the helpers that are still reading and drop the ones that
+		// never started
+		try {
+			finished.await();
+		} catch (InterruptedException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			Thread.currentThread().interrupt();
+		}
+		for (Future<Object> helper : helpers) {
+			helper.cancel(false);
+		}
+
+		// Return the forms in order
+		readForms.addAll(Arrays.asList(forms));
+		return readForms;
+	}
+
+	/**
+	 * This operation reads a file into a new Form, using a compiled template
+	 * if there is one.
+	 *
+	 * @param file
+	 *            The INI file to read
+	 * @param template
+	 *            The compiled template or null to read a bare INI file
+	 * @return The Form or null if the file could not be read
+	 */
+	private Form read(IFile file, INITemplate template) {
+		if (template != null) {
+			return loadIntoTemplate(template.createForm(), template, file);
+		}
+
+		// Build the default version of the form
+		// Make sure the file exists before trying to read
+		Form iniForm = null;
+		if (file != null && file.exists()) {
+			BufferedReader reader = null;
+
+			try {
+				// Open up the reader and start reading
+				iniForm = new Form();
+				reader = new BufferedReader(new InputStreamReader(
+						file.getContents()));
+				String line, sectionName;
+				String[] splitLine;
+				String section = "Default Section";
+				DataComponent sectionComp = new DataComponent();
+				ArrayList<IEntry> entries = new ArrayList<IEntry>();
+				sectionComp.setName(section);
+				while ((line = reader.readLine()) != null) {
+					// Make sure that comments are taken into consideration
+					line = stripComment(line).trim();
+					// If at a new section, add the previous section to
+					// the list and create a new DataComponent for the
+					// next section
+					if ((sectionName = getSectionName(line)) != null) {
+						if (!entries.isEmpty()) {
+							sectionComp.addEntries(entries);
+							iniForm.addComponent(sectionComp);
+							entries = new ArrayList<IEntry>();
 						}
+						sectionComp = new DataComponent();
+						sectionComp.setName(sectionName);
+					} else if ((splitLine = splitAssignment(line)) != null) {
+						// Get the key and value and put it in the Data
+						// Component
+						entries.add(makeTemplateEntry(splitLine[0],
+								splitLine[1], new ArrayList<String>(),
+								AllowedValueType.Undefined));
 					}
-					// Add the last section if needed
-					if (sectionComp.retrieveAllEntries().size() > 0) {
-						iniForm.addComponent(sectionComp);
-					}
-					reader.close();
-				} catch (CoreException e) {
-					logger.error(getClass().getName() + " Exception!",e);
-					return null;
-				} catch (IOException e) {
-					logger.error(getClass().getName() + " Exception!",e);
-					return null;
 				}
+				// Add the last section if needed
+				if (!entries.isEmpty()) {
+					sectionComp.addEntries(entries);
+					iniForm.addComponent(sectionComp);
+				}
+				reader.close();
+			} catch (CoreException e) {
+				logger.error(getClass().getName() + " Exception!",e);
+				return null;
+			} catch (IOException e) {
+				logger.error(getClass().getName() + " Exception!",e);
+				return null;
 			}
 		}
+
 		// Return the form
 		return iniForm;
 	}
 
 	/**
-	 * If a template is used it can be loaded with this method.
+	 * This operation returns the compiled version of the current template. The
+	 * template is compiled if it has not been compiled before or if the
+	 * template file or section pattern changed since it was compiled.
 	 *
-	 * @return the default form from the template
+	 * @return The compiled template or null if it could not be read
 	 */
-	private Form buildTemplate() {
-		Form templateForm = new Form();
-		ArrayList<IEntry> entries = new ArrayList<IEntry>();
-		IEntry variableTemplate = new StringEntry();
-		IEntry valueTemplate = new StringEntry();
+	private INITemplate getTemplate() {
+
+		// Local Declarations
+		IFile file = templateFile;
+		String pattern = sectionPattern.pattern();
+		String key = (templateName != null) ? templateName : "";
+
+		// Use the compiled template if it is still current
+		INITemplate template = compiledTemplates.get(key);
+		if (template == null || !template.isCurrent(file, pattern)) {
+			template = compileTemplate(file);
+			if (template != null) {
+				compiledTemplates.put(key, template);
+			} else {
+				compiledTemplates.remove(key);
+			}
+		}
+
+		return template;
+	}
+
+	/**
+	 * This operation reads a template file and compiles it.
+	 *
+	 * @param file
+	 *            The template file
+	 * @return The compiled template, which has no sections if the file does
+	 *         not exist, or null if the file could not be read
+	 */
+	private INITemplate compileTemplate(IFile file) {
+
+		// Local Declarations
+		ArrayList<INITemplate.Section> sections = new ArrayList<INITemplate.Section>();
 		int componentNumber = 1;
-		variableTemplate.setName("Name");
-		valueTemplate.setName("Value");
-		entries.add(variableTemplate);
-		entries.add(valueTemplate);
+		long stamp = file.getModificationStamp();
 
 		// Make sure the file exists before trying to read
-		if (templateFile != null && templateFile.exists()) {
+		if (file.exists()) {
 			BufferedReader reader = null;
 			try {
 				// Open up the reader and start reading
 				reader = new BufferedReader(new InputStreamReader(
-						templateFile.getContents()));
-				String line, varName, defaultVal;
-				String[] templateSections;
+						file.getContents()));
+				String line, varName, defaultVal, sectionName;
+				String[] templateSections, assignment;
 				String section = "Default Section";
-				DataComponent sectionComp = new DataComponent();
+				ArrayList<INITemplate.Variable> variables = new ArrayList<INITemplate.Variable>();
 				String[] valueArray;
 				ArrayList<String> allowedValues;
 				AllowedValueType valueType;
-				sectionComp.setName(section);
-				sectionComp.setId(componentNumber);
 				while ((line = reader.readLine()) != null) {
 					// If at a new section, add the previous section to
-					// the list and create a new TableComponent for the
-					// next section
-					Matcher sectionMatch = sectionPattern.matcher(line);
-					if (sectionMatch.matches()) {
-						if (sectionComp.retrieveAllEntries().size() > 0) {
-							templateForm.addComponent(sectionComp);
+					// the list and start the next section
+					if ((sectionName = getSectionName(line)) != null) {
+						if (!variables.isEmpty()) {
+							sections.add(new INITemplate.Section(section,
+									componentNumber, variables));
 							++componentNumber;
+							variables.clear();
 						}
-						// Set up the new data component
-						sectionComp = new DataComponent();
-						sectionComp.setName(sectionMatch.group(0).trim()
-								.replace("[", "").replace("]", ""));
-						sectionComp.setId(componentNumber);
+						section = sectionName;
 					} else if ((templateSections = line.split(";")).length >= 2) {
 						// Get the key and value and put it in the table
-						varName = templateSections[0].split("=")[0].trim();
-						defaultVal = templateSections[0].split("=")[1].trim();
+						assignment = templateSections[0].split("=");
+						varName = assignment[0].trim();
+						defaultVal = (assignment.length > 1)
+								? assignment[1].trim() : "";
 						valueArray = templateSections[1].split(",\\s");
 						allowedValues = new ArrayList<String>(
 								Arrays.asList(valueArray));
@@ -248,18 +412,15 @@ public class INIReader implements ITemplatedReader {
 							valueType = AllowedValueType.Undefined;
 						}
 
-						// Create the new entry & store which component it goes
-						// in
-						IEntry newEntry = makeTemplateEntry(varName, defaultVal,
-								allowedValues, valueType);
-						sectionComp.addEntry(newEntry);
-						variableToComponentNumber.put(varName,
-								sectionComp.getId());
+						// Declare the variable in the current section
+						variables.add(new INITemplate.Variable(varName,
+								defaultVal, allowedValues, valueType));
 					}
 				}
 				// Add the last section if needed
-				if (sectionComp.retrieveAllEntries().size() > 0) {
-					templateForm.addComponent(sectionComp);
+				if (!variables.isEmpty()) {
+					sections.add(new INITemplate.Section(section,
+							componentNumber, variables));
 				}
 				reader.close();
 			} catch (CoreException e) {
@@ -271,71 +432,59 @@ public class INIReader implements ITemplatedReader {
 			}
 		}
 
-		return templateForm;
+		return new INITemplate(file, stamp, sectionPattern.pattern(),
+				sections);
 	}
 
 	/**
 	 * Update the form to have the correct data from the input file
 	 *
 	 * @param form
-	 *            : The template form
+	 *            : The form created from the template
+	 * @param template
+	 *            : The compiled template
 	 * @param file
 	 *            : The file to use to update the form
 	 * @return the updated form
 	 */
-	private Form loadIntoTemplate(Form form, IFile file) {
-		// Initialize the form & table row template
-		ArrayList<IEntry> entries = new ArrayList<IEntry>();
-		IEntry variableTemplate = new StringEntry();
-		IEntry valueTemplate = new StringEntry();
-		variableTemplate.setName("Name");
-		valueTemplate.setName("Value");
-		entries.add(variableTemplate);
-		entries.add(valueTemplate);
+	private Form loadIntoTemplate(Form form, INITemplate template,
+			IFile file) {
 
 		if (file != null && file.exists()) {
-			ArrayList<TableComponent> sections = null;
 			BufferedReader reader = null;
 
 			try {
 				// Open up the reader and start reading
 				reader = new BufferedReader(new InputStreamReader(
 						file.getContents()));
-				String line, var, val;
+				String line, var, val, sectionName;
 				String[] splitLine;
-				String section = "Default Section";
 				boolean foundInTemplate;
-				int rowNumber;
-				DataComponent sectionTable = new DataComponent();
-				sectionTable.setName(section);
+				Integer componentNumber;
 				while ((line = reader.readLine()) != null) {
-					Matcher sectionMatch = sectionPattern.matcher(line);
-					if (sectionMatch.matches()) {
+					if ((sectionName = getSectionName(line)) != null) {
 						System.err
 								.println("INIReader Message: Found invalid section header: "
-										+ sectionMatch.group(0).trim()
-												.replace("[", "")
-												.replace("]", ""));
+										+ sectionName);
 
 						// Make sure that comments are taken into consideration
-					} else if ((splitLine = line.split(comment)[0].trim()
-							.split(assignmentPattern)).length >= 2) {
+					} else if ((splitLine = splitAssignment(
+							stripComment(line).trim())) != null) {
 						// Get the variable name and value
-						var = splitLine[0].trim();
-						val = splitLine[splitLine.length - 1].trim();
+						var = splitLine[0];
+						val = splitLine[1];
 						foundInTemplate = false;
 
 						// Try to find the variable in the existing form. If it
 						// exists update the data component
-						if (variableToComponentNumber.containsKey(var)) {
+						componentNumber = template.getComponentNumber(var);
+						if (componentNumber != null) {
 							DataComponent comp = (DataComponent) form
-									.getComponent(variableToComponentNumber
-											.get(var));
-							for (IEntry ent : comp.retrieveAllEntries()) {
-								if (ent.getName().equals(var)) {
-									ent.setValue(val);
-									foundInTemplate = true;
-								}
+									.getComponent(componentNumber);
+							IEntry ent = comp.retrieveEntry(var);
+							if (ent != null) {
+								ent.setValue(val);
+								foundInTemplate = true;
 							}
 						}
 
@@ -364,6 +513,66 @@ public class INIReader implements ITemplatedReader {
 		return form;
 	}
 
+	/**
+	 * This operation removes the comment from a line.
+	 *
+	 * @param line
+	 *            The line
+	 * @return The part of the line before the comment
+	 */
+	private String stripComment(String line) {
+		if (commentPattern == null) {
+			return INILineScanner.stripComment(line, comment);
+		}
+		String[] splitLine = commentPattern.split(line);
+		return (splitLine.length > 0) ? splitLine[0] : "";
+	}
+
+	/**
+	 * This operation returns the name of the section that a line starts.
+	 *
+	 * @param line
+	 *            The line
+	 * @return The name of the section or null if the line is not a section
+	 *         header
+	 */
+	private String getSectionName(String line) {
+		if (DEFAULT_SECTION_PATTERN.equals(sectionPattern.pattern())) {
+			return INILineScanner.getSectionName(line);
+		}
+		Matcher sectionMatch = sectionPattern.matcher(line);
+		return sectionMatch.matches() ? sectionMatch.group(0).trim()
+				.replace("[", "").replace("]", "") : null;
+	}
+
+	/**
+	 * This operation splits an assignment into its variable and value.
+	 *
+	 * @param line
+	 *            The line without its comment
+	 * @return An array with the trimmed variable and value or null if the line
+	 *         is not an assignment
+	 */
+	private String[] splitAssignment(String line) {
+		String[] splitLine;
+		if (DEFAULT_ASSIGNMENT_PATTERN.equals(assignmentPattern)) {
+			splitLine = INILineScanner.splitAssignment(line);
+		} else {
+			splitLine = assignmentRegex.split(line);
+			if (splitLine.length >= 2) {
+				splitLine = new String[] { splitLine[0],
+						splitLine[splitLine.length - 1] };
+			} else {
+				splitLine = null;
+			}
+		}
+		if (splitLine != null) {
+			splitLine[0] = splitLine[0].trim();
+			splitLine[1] = splitLine[1].trim();
+		}
+		return splitLine;
+	}
+
 	/**
 	 * Initialize an entry with the correct allowed values
 	 *
@@ -372,22 +581,7 @@ public class INIReader implements ITemplatedReader {
 	private IEntry makeTemplateEntry(final String name, final String defaultVal,
 			final ArrayList<String> allowedVals,
 			final AllowedValueType valueType) {
-		IEntry entry = null;
-		if (valueType == AllowedValueType.Undefined) {
-			entry = new StringEntry();
-			entry.setDefaultValue(defaultVal);
-		} else if (valueType == AllowedValueType.Discrete) {
-			entry = new DiscreteEntry(allowedVals.stream().toArray(String[]::new));
-			entry.setDefaultValue(allowedVals.get(0));
-		} else if (valueType == AllowedValueType.Continuous) {
-			entry = new ContinuousEntry(allowedVals.stream().toArray(String[]::new));
-			entry.setDefaultValue(allowedVals.get(0));
-		}
-
-		entry.setName(name);
-		entry.setValue(defaultVal);
-
-		return entry;
+		return INITemplate.makeEntry(name, defaultVal, allowedVals, valueType);
 	}
 
 	/**
@@ -400,6 +594,15 @@ public class INIReader implements ITemplatedReader {
 	@Override
 	public void setCommentString(String comm) {
 		comment = comm;
+
+		// Only use a regular expression if the comment string needs one
+		commentPattern = null;
+		for (int i = 0; comm != null && i < comm.length(); i++) {
+			if (REGEX_CHARACTERS.indexOf(comm.charAt(i)) >= 0) {
+				commentPattern = Pattern.compile(comm);
+				break;
+			}
+		}
 	}
 
 	/**
@@ -432,6 +635,7 @@ public class INIReader implements ITemplatedReader {
 	 */
 	@Override
 	public void setAssignmentPattern(String regex) {
+		assignmentRegex = Pattern.compile(regex);
 		assignmentPattern = regex;
 	}
 
@@ -446,8 +650,10 @@ public class INIReader implements ITemplatedReader {
 	public void setTemplateType(String template) {
 		if (templateMap.containsKey(template)) {
 			templateFile = templateMap.get(template);
+			templateName = template;
 		} else {
 			templateFile = null;
+			templateName = null;
 		}
 	}
 
@@ -461,9 +667,12 @@ public class INIReader implements ITemplatedReader {
 	 */
 	@Override
 	public void addTemplateType(String name, IFile file) {
-		// We are going remove the template if it exists
+		// We are going remove the template if it exists. Its compiled
+		// version is kept if the file did not change.
 		if (templateMap.containsKey(name)) {
-			templateMap.remove(name);
+			if (!templateMap.remove(name).equals(file)) {
+				compiledTemplates.remove(name);
+			}
 		}
 
 		// Put in the new version of the template
@@ -484,9 +693,33 @@ public class INIReader implements ITemplatedReader {
 	 */
 	@Override
 	public ArrayList<IEntry> findAll(IFile file, String regex) {
-		System.err
-				.println("INIReader Message: The findAll method contains no implementation!");
-		return null;
+
+		// Make sure there's something to look in
+		if (file == null || regex == null || !file.exists()) {
+			return null;
+		}
+
+		// Stream the file and create an Entry for every matching line
+		ArrayList<IEntry> matchedEntries = new ArrayList<IEntry>();
+		try {
+			StreamingSearch search = new StreamingSearch(regex);
+			search.scan(file.getContents(), (lineNumber, line, matcher) -> {
+				IEntry foundEntry = new StringEntry();
+				foundEntry.setName(line);
+				foundEntry.setDescription(regex);
+				foundEntry.setValue(line);
+				matchedEntries.add(foundEntry);
+				return true;
+			});
+		} catch (CoreException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return null;
+		} catch (IOException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return null;
+		}
+
+		return matchedEntries;
 	}
 
 	/**
@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.io.ini;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.ice.datastructures.entry.ContinuousEntry;
+import org.eclipse.ice.datastructures.entry.DiscreteEntry;
+import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.entry.StringEntry;
+import org.eclipse.ice.datastructures.form.AllowedValueType;
+import org.eclipse.ice.datastructures.form.DataComponent;
+import org.eclipse.ice.datastructures.form.Form;
+
+/**
+ * An INITemplate is the compiled form of an INI template file. It records the
+ * sections of the template, the variables in each section with their default
+ * values, allowed values and allowed value types, and the section that each
+ * variable belongs to.
+ *
+ * Templates are immutable, so one template can be shared by any number of
+ * reads, including reads on different threads. Every call to createForm()
+ * creates a new Form with new Entries that can be filled in from a file.
+ *
+ * The INIReader compiles templates and keeps them until the template file is
+ * modified.
+ *
+ * @author Jay Jay Billings
+ */
+public final class INITemplate {
+
+	/**
+	 * A variable declared in a template.
+	 */
+	public static final class Variable {
+
+		/**
+		 * The name of the variable.
+		 */
+		private final String name;
+
+		/**
+		 * The default value of the variable.
+		 */
+		private final String defaultValue;
+
+		/**
+		 * The values that the variable is allowed to have.
+		 */
+		private final List<String> allowedValues;
+
+		/**
+		 * The type of the allowed values.
+		 */
+		private final AllowedValueType valueType;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param name
+		 *            The name of the variable
+		 * @param defaultValue
+		 *            The default value of the variable
+		 * @param allowedValues
+		 *            The values that the variable is allowed to have
+		 * @param valueType
+		 *            The type of the allowed values
+		 */
+		public Variable(String name, String defaultValue,
+				List<String> allowedValues, AllowedValueType valueType) {
+			this.name = name;
+			this.defaultValue = defaultValue;
+			this.allowedValues = Collections
+					.unmodifiableList(new ArrayList<String>(allowedValues));
+			this.valueType = valueType;
+		}
+
+		/**
+		 * This operation returns the name of the variable.
+		 *
+		 * @return The name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * This operation returns the default value of the variable.
+		 *
+		 * @return The default value
+		 */
+		public String getDefaultValue() {
+			return defaultValue;
+		}
+
+		/**
+		 * This operation returns the values that the variable is allowed to
+		 * have.
+		 *
+		 * @return The allowed values. The list can not be modified.
+		 */
+		public List<String> getAllowedValues() {
+			return allowedValues;
+		}
+
+		/**
+		 * This operation returns the type of the allowed values.
+		 *
+		 * @return The type
+		 */
+		public AllowedValueType getValueType() {
+			return valueType;
+		}
+
+		/**
+		 * This operation creates a new Entry for the variable that is set to
+		 * its default value.
+		 *
+		 * @return The Entry
+		 */
+		public IEntry createEntry() {
+			return makeEntry(name, defaultValue, allowedValues, valueType);
+		}
+	}
+
+	/**
+	 * A section declared in a template.
+	 */
+	public static final class Section {
+
+		/**
+		 * The name of the section.
+		 */
+		private final String name;
+
+		/**
+		 * The id of the DataComponent of the section.
+		 */
+		private final int id;
+
+		/**
+		 * The variables in the section in the order in which they were
+		 * declared.
+		 */
+		private final List<Variable> variables;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param name
+		 *            The name of the section
+		 * @param id
+		 *            The id of the DataComponent of the section
+		 * @param variables
+		 *            The variables in the section
+		 */
+		public Section(String name, int id, List<Variable> variables) {
+			this.name = name;
+			this.id = id;
+			this.variables = Collections
+					.unmodifiableList(new ArrayList<Variable>(variables));
+		}
+
+		/**
+		 * This operation returns the name of the section.
+		 *
+		 * @return The name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * This operation returns the id of the DataComponent of the section.
+		 *
+		 * @return The id
+		 */
+		public int getId() {
+			return id;
+		}
+
+		/**
+		 * This operation returns the variables in the section.
+		 *
+		 * @return The variables in the order in which they were declared. The
+		 *         list can not be modified.
+		 */
+		public List<Variable> getVariables() {
+			return variables;
+		}
+	}
+
+	/**
+	 * The template file.
+	 */
+	private final IFile file;
+
+	/**
+	 * The modification stamp of the template file when it was compiled.
+	 */
+	private final long modificationStamp;
+
+	/**
+	 * The section header pattern that was used to compile the template.
+	 */
+	private final String sectionPattern;
+
+	/**
+	 * The sections of the template.
+	 */
+	private final List<Section> sections;
+
+	/**
+	 * The ids of the sections of each variable.
+	 */
+	private final Map<String, Integer> variableToComponentNumber;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param file
+	 *            The template file
+	 * @param modificationStamp
+	 *            The modification stamp of the template file when it was read
+	 * @param sectionPattern
+	 *            The section header pattern that was used to read the
+	 *            template
+	 * @param sections
+	 *            The sections of the template
+	 */
+	public INITemplate(IFile file, long modificationStamp,
+			String sectionPattern, List<Section> sections) {
+		this.file = file;
+		this.modificationStamp = modificationStamp;
+		this.sectionPattern = sectionPattern;
+		this.sections = Collections
+				.unmodifiableList(new ArrayList<Section>(sections));
+
+		// Map each variable to its section
+		HashMap<String, Integer> variableMap = new HashMap<String, Integer>();
+		for (Section section : this.sections) {
+			for (Variable variable : section.getVariables()) {
+				variableMap.put(variable.getName(), section.getId());
+			}
+		}
+		variableToComponentNumber = Collections.unmodifiableMap(variableMap);
+	}
+
+	/**
+	 * This operation returns true if the template was compiled from the
+	 * current contents of a file with a section header pattern.
+	 *
+	 * @param templateFile
+	 *            The template file
+	 * @param pattern
+	 *            The section header pattern
+	 * @return True if the template is up to date, false otherwise
+	 */
+	public boolean isCurrent(IFile templateFile, String pattern) {
+		return file.equals(templateFile)
+				&& modificationStamp == templateFile.getModificationStamp()
+				&& sectionPattern.equals(pattern);
+	}
+
+	/**
+	 * This operation returns the template file.
+	 *
+	 * @return The file
+	 */
+	public IFile getFile() {
+		return file;
+	}
+
+	/**
+	 * This operation returns the sections of the template.
+	 *
+	 * @return The sections in the order in which they were declared. The list
+	 *         can not be modified.
+	 */
+	public List<Section> getSections() {
+		return sections;
+	}
+
+	/**
+	 * This operation returns the id of the section of a variable.
+	 *
+	 * @param variable
+	 *            The name of the variable
+	 * @return The id of the DataComponent of the section of the variable or
+	 *         null if the template does not declare the variable
+	 */
+	public Integer getComponentNumber(String variable) {
+		return variableToComponentNumber.get(variable);
+	}
+
+	/**
+	 * This operation creates a new Form with a DataComponent for each section
+	 * of the template. The Entries are set to their default values.
+	 *
+	 * @return The Form
+	 */
+	public Form createForm() {
+
+		// Local Declarations
+		Form templateForm = new Form();
+
+		// Create the components
+		for (Section section : sections) {
+			DataComponent sectionComp = new DataComponent();
+			sectionComp.setName(section.getName());
+			sectionComp.setId(section.getId());
+			ArrayList<IEntry> entries = new ArrayList<IEntry>(
+					section.getVariables().size());
+			for (Variable variable : section.getVariables()) {
+				entries.add(variable.createEntry());
+			}
+			sectionComp.addEntries(entries);
+			templateForm.addComponent(sectionComp);
+		}
+
+		return templateForm;
+	}
+
+	/**
+	 * This operation creates an Entry with the correct allowed values.
+	 *
+	 * @param name
+	 *            The name of the Entry
+	 * @param defaultVal
+	 *            The default value of the Entry
+	 * @param allowedVals
+	 *            The allowed values of the Entry
+	 * @param valueType
+	 *            The type of the allowed values
+	 * @return The Entry
+	 */
+	static IEntry makeEntry(final String name, final String defaultVal,
+			final List<String> allowedVals, final AllowedValueType valueType) {
+		IEntry entry = null;
+		if (valueType == AllowedValueType.Discrete) {
+			entry = new DiscreteEntry(
+					allowedVals.toArray(new String[allowedVals.size()]));
+			entry.setDefaultValue(allowedVals.get(0));
+		} else if (valueType == AllowedValueType.Continuous) {
+			entry = new ContinuousEntry(
+					allowedVals.toArray(new String[allowedVals.size()]));
+			entry.setDefaultValue(allowedVals.get(0));
+		} else {
+			entry = new StringEntry();
+			entry.setDefaultValue(defaultVal);
+		}
+
+		entry.setName(name);
+		entry.setValue(defaultVal);
+
+		return entry;
+	}
+
+}
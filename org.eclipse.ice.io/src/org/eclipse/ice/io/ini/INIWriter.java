@@ -27,6 +27,7 @@ import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.io.search.StreamingSearch;
 import org.eclipse.ice.io.serializable.IWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -144,7 +145,7 @@ public class INIWriter implements IWriter {
 						+ file.getName() + " for writing.");
 			} catch (IOException e) {
 				logger.info("INIWriter Message: Could not write to "
-						+ file.getName() + " du to an IO error");
+						+ file.getName() + " due to an IO error.");
 			} catch (CoreException e) {
 				logger.info("INIWriter Message: Could not write to "
 						+ file.getName() + " due to an ICE Core error.");
@@ -171,11 +172,36 @@ public class INIWriter implements IWriter {
 	}
 
 	/**
-	 * This method is not used.
+	 * Searches a given IFile for content that matches a given regular
+	 * expression, and replaces that match with another given value.
+	 *
+	 * @param file
+	 *            The file to search in
+	 * @param regex
+	 *            A string representing a regular expression containing the
+	 *            specification of what to search for
+	 * @param value
+	 *            The replacement value for matches to the regex
 	 */
 	@Override
 	public void replace(IFile file, String regex, String value) {
-		// Skipped for now
+		// Make sure we aren't given any null values
+		if (file == null || regex == null || value == null) {
+			return;
+		}
+
+		// Stream the replacement through the shared search engine
+		try {
+			StreamingSearch search = new StreamingSearch(regex);
+			search.setFindWithinLines(true);
+			search.replace(file, value);
+		} catch (IOException e) {
+			logger.info("INIWriter Message: Could not write to "
+					+ file.getName() + " due to an IO error.");
+		} catch (CoreException e) {
+			logger.info("INIWriter Message: Could not write to "
+					+ file.getName() + " due to an ICE Core error.");
+		}
 	}
 
 	/**
@@ -12,14 +12,14 @@
  *******************************************************************************/
 package org.eclipse.ice.io.ips;
 
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
@@ -29,6 +29,7 @@ import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.MasterDetailsComponent;
 import org.eclipse.ice.datastructures.form.TableComponent;
+import org.eclipse.ice.io.search.StreamingSearch;
 import org.eclipse.ice.io.serializable.IReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +39,13 @@ import org.slf4j.LoggerFactory;
  * IPSReader class is responsible for reading the contents of an IPS INI (.conf)
  * file and converting it into appropriate data structures for ICE to use.
  * </p>
+ * <p>
+ * The global configuration and the ports table at the top of the file are
+ * read in order. The component sections that follow them are indexed by byte
+ * offset with an {@link IPSSectionIndex}, and the parameters of each section
+ * are only parsed when its DataComponent is first used. The IPSWriter copies
+ * the sections that were not changed from the original bytes.
+ * </p>
  * 
  * @author Andrew Bennett
  * 
@@ -71,6 +79,74 @@ public class IPSReader implements IReader {
 	 */
 	private String line = "";
 
+	/**
+	 * This class iterates over the lines of the contents of a file without
+	 * decoding more of them than are read. It ends with a dummy "EOF" line so
+	 * that the last line of the file is read in correctly.
+	 */
+	private static class LineIterator implements Iterator<String> {
+
+		/**
+		 * The contents of the file.
+		 */
+		private final byte[] content;
+
+		/**
+		 * The offset of the next line.
+		 */
+		private int position = 0;
+
+		/**
+		 * The offset of the line that was returned last.
+		 */
+		private int lineStart = 0;
+
+		/**
+		 * True if the dummy "EOF" line was returned.
+		 */
+		private boolean done = false;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param content
+		 *            The contents of the file
+		 */
+		public LineIterator(byte[] content) {
+			this.content = content;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !done;
+		}
+
+		@Override
+		public String next() {
+			if (done) {
+				throw new NoSuchElementException();
+			}
+			lineStart = position;
+			if (position < content.length) {
+				int end = IPSSectionIndex.lineEnd(content, position);
+				position = end + 1;
+				return IPSSectionIndex.lineText(content, lineStart, end);
+			}
+			done = true;
+			return "EOF";
+		}
+
+		/**
+		 * This operation returns the offset of the line that was returned
+		 * last.
+		 *
+		 * @return The offset of the first byte of the line
+		 */
+		public int getLineStart() {
+			return lineStart;
+		}
+	}
+
 	/**
 	 * Nullary constructor
 	 */
@@ -100,11 +176,11 @@ public class IPSReader implements IReader {
 		}
 		Form form = new Form();
 
-		// Read in the ini file to an ArrayList<String>
-		ArrayList<String> lines = null;
+		// Read in the contents of the ini file
+		byte[] contents = null;
 		try {
-			lines = readFileLines(ifile);
-		} catch (FileNotFoundException e) {
+			contents = readFileContents(ifile);
+		} catch (CoreException e) {
 			logger.info("IPSReader Message: Error!  Could not find file for loading.");
 			return null;
 		} catch (IOException e) {
@@ -113,33 +189,38 @@ public class IPSReader implements IReader {
 		}
 
 		// Get an iterator over the input to pass to the loading methods
-		Iterator<String> iniIterator = lines.iterator();
+		LineIterator iniIterator = new LineIterator(contents);
 
 		// Read in the global configuration and ports data
 		TableComponent globalConfiguration = loadGlobalConfiguration(iniIterator);
 		TableComponent portsData = loadPortsData(iniIterator);
 
-		// Determine the number of components that were specified in
-		// the ports table and then read them in
-		int numberPorts = portsData.numberOfRows();
-		ArrayList<DataComponent> ipsComponents = new ArrayList<DataComponent>();
-		ArrayList<String> names = new ArrayList<String>();
-
-		// Read in each of the ports individually
-		String name = "";
-		while (!name.equals("TIME_LOOP")) {
-			DataComponent ipsComponent = loadComponent(iniIterator);
-			name = ipsComponent.getName();
-			if (!name.equals("TIME_LOOP")) {
-				ipsComponents.add(ipsComponent);
-				names.add(ipsComponent.getName());
-			}
+		// Index the component sections, starting from the current line, and
+		// make sure that the time loop was found after them
+		IPSSectionIndex index = new IPSSectionIndex(contents,
+				iniIterator.getLineStart());
+		if (index.getTimeLoopSection() == null) {
+			logger.info("IPSReader Message: Error!  Could not find the "
+					+ IPSSectionIndex.TIME_LOOP + " section in "
+					+ ifile.getName() + ".");
+			return null;
 		}
+
+		// Keep copies of the preamble so that the writer can tell if it was
+		// changed
+		if (globalConfiguration != null && portsData != null) {
+			index.setPreamble((TableComponent) globalConfiguration.clone(),
+					(TableComponent) portsData.clone());
+		}
+
+		// Create each of the ports without reading their parameters
+		ArrayList<DataComponent> ipsComponents = loadComponents(index);
+
 		// Build a MasterDetailsComponent out of the DataComponents
 		MasterDetailsComponent portsMaster = buildMasterDetailsComponent(ipsComponents);
 
-		// Read in the time loop specification
-		DataComponent timeLoopComponent = loadTimeLoopComponent(iniIterator);
+		// Create the time loop specification
+		DataComponent timeLoopComponent = loadTimeLoopComponent(index);
 
 		// Add the components to the form
 		form.addComponent(timeLoopComponent);
@@ -173,29 +254,25 @@ public class IPSReader implements IReader {
 			return null;
 		}
 
-		// Read in the ini file and create the iterator
-		IEntry foundEntry;
+		// Stream the file through the shared search engine so that the
+		// pattern is only compiled once
 		ArrayList<IEntry> matchedEntries = new ArrayList<IEntry>();
-		ArrayList<String> lines = null;
 		try {
-			lines = readFileLines(ifile);
-		} catch (FileNotFoundException e) {
-			logger.info("IPSReader Message: " + "Error!  Could not find file for loading.");
-			return null;
-		} catch (IOException e) {
-			logger.info("IPSReader Message: " + "Error!  Trouble reading file.");
-			return null;
-		}
-
-		// Go through each line and look for matches
-		for (String line : lines) {
-			if (line.matches(regex)) {
-				foundEntry = makeIPSEntry();
+			StreamingSearch search = new StreamingSearch(regex);
+			search.scan(ifile.getContents(), (lineNumber, line, matcher) -> {
+				IEntry foundEntry = makeIPSEntry();
 				foundEntry.setName(line);
 				foundEntry.setDescription(regex);
 				foundEntry.setValue(line);
 				matchedEntries.add(foundEntry);
-			}
+				return true;
+			});
+		} catch (IOException e) {
+			logger.info("IPSReader Message: " + "Error!  Trouble reading file.");
+			return null;
+		} catch (CoreException e) {
+			logger.info("IPSReader Message: " + "Error!  Could not find file for loading.");
+			return null;
 		}
 
 		return matchedEntries;
@@ -214,46 +291,35 @@ public class IPSReader implements IReader {
 	}
 
 	/**
-	 * Read the INI file lines into entries of an ArrayList so that it is easy
-	 * to parse the sections into ICE.
+	 * Read the contents of the INI file so that its sections can be indexed
+	 * by byte offset.
 	 * 
-	 * @param iniFile
+	 * @param ifile
 	 *            The INI file to be read in.
-	 * @return An ArrayList of strings of the lines of the INI file.
-	 * @throws FileNotFoundException
+	 * @return The bytes of the INI file.
+	 * @throws CoreException
 	 *             Thrown when the INI file cannot be found.
 	 * @throws IOException
 	 *             Thrown when the INI file cannot be read or closed.
 	 */
-	private ArrayList<String> readFileLines(IFile ifile) throws FileNotFoundException, IOException {
+	private byte[] readFileContents(IFile ifile) throws CoreException, IOException {
 
-		// Read in the ini file and create the iterator
-		BufferedReader reader = null;
-		try {
-			reader = new BufferedReader(new InputStreamReader(ifile.getContents()));
-		} catch (CoreException e) {
-			// TODO Auto-generated catch block
-			logger.error(getClass().getName() + " Exception!", e);
-		}
+		// Local Declarations
+		ByteArrayOutputStream contents = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int numRead;
 
-		// Read the FileInputStream and append to a StringBuffer
-		StringBuffer buffer = new StringBuffer();
-		int fileByte;
-		while ((fileByte = reader.read()) != -1) {
-			buffer.append((char) fileByte);
+		// Read the file
+		InputStream in = ifile.getContents();
+		try {
+			while ((numRead = in.read(buffer)) != -1) {
+				contents.write(buffer, 0, numRead);
+			}
+		} finally {
+			in.close();
 		}
-		reader.close();
 
-		// Break up the StringBuffer at each newline character
-		String[] bufferSplit = (buffer.toString()).split("\n");
-		ArrayList<String> fileLines = new ArrayList<String>(Arrays.asList(bufferSplit));
-
-		// Add a dummy EOF line so that the last line of the file is
-		// read in correctly
-		fileLines.add("EOF");
-
-		// Return the ArrayList
-		return fileLines;
+		return contents.toByteArray();
 	}
 
 	/**
@@ -444,79 +510,30 @@ public class IPSReader implements IReader {
 	}
 
 	/**
-	 * Load the data for a component that was listed in the ports table and
-	 * return the information as a DataComponent. Each parameter in the
-	 * component is added to the DataComponent as an entry.
+	 * Create the DataComponents for the components that were listed in the
+	 * ports table. The parameters of each component are read from its section
+	 * when they are first needed, but the ids are given out now from the
+	 * number of parameters in each section, so the components and their
+	 * Entries have consecutive ids in the order of the sections.
 	 * 
-	 * @param it
-	 *            Iterator over the lines of the INI file as an ArrayList
-	 * @return A DataComponent containing information for one of the port
-	 *         entries.
+	 * @param index
+	 *            The index of the sections of the file
+	 * @return The DataComponents in the order of the sections
 	 */
-	private DataComponent loadComponent(Iterator<String> it) {
-		// Create the port component and a generic entry
-		DataComponent portComponent = new DataComponent();
-		IEntry entry;
-		String[] splitLine = null;
-
-		// Scan until we get to the next port component
-		while (!line.contains("[") && !line.contains("]") && it.hasNext()) {
-			line = it.next();
-		}
+	private ArrayList<DataComponent> loadComponents(IPSSectionIndex index) {
 
-		// Pull the port name and start parsing through the parameters
-		String portName = line.replaceAll("[^a-zA-Z0-9_]", "");
-		portComponent.setName(portName);
-		portComponent.setDescription("A port in an IPS file.");
-		portComponent.setId(currID);
-		currID++;
+		// Local Declarations
+		ArrayList<DataComponent> components = new ArrayList<DataComponent>(
+				index.getComponentSections().size());
 
-		if (portComponent.getName().equals("TIME_LOOP")) {
-			return portComponent;
+		// Create a component for each section
+		for (IPSSectionIndex.Section section : index.getComponentSections()) {
+			components.add(new IPSSectionComponent(index, section, currID,
+					section.getName(), "A port in an IPS file."));
+			currID += 1 + section.getParameterCount();
 		}
 
-		// Read parameters until reaching a whitespace line that separates ports
-		boolean foundNextPort = false;
-		while (!foundNextPort) {
-			// The format in this section is: KEY = VALUE # Comment
-			// First check if the line contains a parameter
-			if (line.contains("=")) {
-
-				// Get the content for the entry
-				splitLine = line.split("=", 2);
-
-				// Set up the entry
-				entry = makeIPSEntry();
-				entry.setName(splitLine[0]);
-				entry.setValue(splitLine[1]);
-				entry.setId(currID);
-				currID++;
-				portComponent.addEntry(entry);
-			}
-
-			// Read in another line
-			line = it.next();
-
-			// If the line has a comment split on it and disregard it
-			if (line.contains("#")) {
-				line = line.split("#", 2)[0];
-			}
-
-			// Check if we are at a new port section
-			if (line.trim().startsWith("[") && line.trim().endsWith("]")) {
-				foundNextPort = true;
-			}
-		}
-
-		// Make sure that we are not at the end of the file
-		if (!it.hasNext()) {
-			System.err.println(
-					"IPS Reader Message: Reached unexpected " + "end of file while reading the port configuration.");
-			return null;
-		}
-
-		// Return the parameters
-		return portComponent;
+		return components;
 	}
 
 	/**
@@ -544,98 +561,74 @@ public class IPSReader implements IReader {
 				"CHARTRAN_ELECTRICAL_THERMAL_DRIVER", "NTG", "DUALFOIL" };
 		ArrayList<String> allowedPortList = new ArrayList<String>(Arrays.asList(allowedPortNames));
 		ArrayList<DataComponent> portTemplates = new ArrayList<DataComponent>();
-		Boolean portAdded;
-
-		// Set up the master details template for all available ports
-		for (int i = 0; i < ipsComponents.size(); i++) {
-			DataComponent data = ipsComponents.get(i);
-			portTemplates.add(data);
-			allowedPortList.remove(data.getName());
-		}
 
-		// If there are still undefined ports generate their definitions
-		if (allowedPortList.size() > 0 && portMap == null) {
-			populatePortMap();
+		// Set up the master details template for all available ports. The
+		// first component of each allowed port in the file is its template.
+		HashMap<String, DataComponent> readTemplates = new HashMap<String, DataComponent>();
+		for (DataComponent data : ipsComponents) {
+			if (!readTemplates.containsKey(data.getName())) {
+				readTemplates.put(data.getName(), data);
+			}
 		}
 
-		// Add in the missing definitions
+		// Add the templates in the order of the allowed ports, generating the
+		// definitions of the ports that are not in the file
 		for (String port : allowedPortList) {
-			portTemplates.add(loadComponent(portMap.get(port).iterator()));
+			DataComponent template = readTemplates.get(port);
+			if (template == null) {
+				if (portMap == null) {
+					populatePortMap();
+				}
+				IPSSectionIndex portIndex = new IPSSectionIndex(
+						String.join("\n", portMap.get(port)).getBytes(), 0);
+				IPSSectionIndex.Section section = portIndex
+						.getComponentSections().get(0);
+				template = new IPSSectionComponent(portIndex, section, currID,
+						section.getName(), "A port in an IPS file.");
+				currID += 1 + section.getParameterCount();
+			}
+			portTemplates.add(template);
 		}
 
-		// Recreate the overall list & Set the template
-		allowedPortList = new ArrayList<String>(Arrays.asList(allowedPortNames));
+		// Set the template
 		masterDetails.setTemplates(allowedPortList, portTemplates);
 
-		// Add the ports to the MasterDetailsComponent
+		// Add the ports to the MasterDetailsComponent. The details are clones
+		// of the templates, which are pointed at the sections of the ports so
+		// that their parameters are still read when they are needed.
 		for (DataComponent data : ipsComponents) {
 			masterId = masterDetails.addMaster();
 			portName = data.getName();
 
 			// Get the information corrected
 			masterDetails.setMasterInstanceValue(masterId, portName);
-			masterDetails.getDetailsAtIndex(masterId - 1).copy(data);
+			DataComponent details = masterDetails
+					.getDetailsAtIndex(masterId - 1);
+			if (details instanceof IPSSectionComponent) {
+				((IPSSectionComponent) details)
+						.setSource((IPSSectionComponent) data);
+			} else {
+				details.copy(data);
+			}
 		}
 		return masterDetails;
 	}
 
 	/**
-	 * Load the Time Loop Data from the INI file and return the data as a
-	 * DataComponent. Each parameter in the section is added to the
-	 * DataComponent as an Entry.
+	 * Create the DataComponent for the Time Loop Data of the INI file. Each
+	 * parameter in the section is added to the DataComponent as an Entry when
+	 * it is first needed.
 	 * 
-	 * @param it
-	 *            Iterator over the lines of the INI file as an ArrayList
+	 * @param index
+	 *            The index of the sections of the file
 	 * @return a DataComponent of Entries containing the information from the
 	 *         Time Loop Component of the INI file.
 	 */
-	private DataComponent loadTimeLoopComponent(Iterator<String> it) {
-		// Create the port component and a generic entry
-		DataComponent timeLoopData = new DataComponent();
-		IEntry entry;
-		String[] splitLine = null;
-
-		// Scan until we get to the next port component
-		if (!it.hasNext()) {
-			System.err.println("Unexpectedly reached the end of file.  "
-					+ "Please check the INI file you have chosen and" + " try again.");
-			return null;
-		}
-
-		// Pull the port name and start parsing through the parameters
-		timeLoopData.setName("Time Loop Data");
-		timeLoopData.setDescription("");
-		timeLoopData.setId(currID);
-		currID++;
-
-		// Read parameters until reaching the end of the file
-		while (it.hasNext()) {
-			// The format in this section is: KEY = VALUE # Comment
-			// First check if the line contains a parameter
-			if (line.contains("=")) {
-
-				// If the line has a comment split on it and disregard it
-				if (line.contains("#")) {
-					line = line.split("#", 2)[0];
-				}
-
-				// Get the content for the entry
-				splitLine = line.split("=", 2);
-
-				// Set up the entry
-				entry = makeIPSEntry();
-				entry.setName(splitLine[0]);
-				entry.setValue(splitLine[1]);
-				entry.setId(currID);
-				currID++;
-				timeLoopData.addEntry(entry);
-			}
-
-			// Read in another line
-			line = it.next();
-		}
-
-		// Return the parameters
+	private DataComponent loadTimeLoopComponent(IPSSectionIndex index) {
+		IPSSectionIndex.Section section = index.getTimeLoopSection();
+		DataComponent timeLoopData = new IPSSectionComponent(index, section,
+				currID, "Time Loop Data", "");
+		currID += 1 + section.getParameterCount();
 		return timeLoopData;
 	}
 
@@ -644,9 +637,8 @@ public class IPSReader implements IReader {
 	 * This method is used when filling in the MasterDetailsComponent, in the
 	 * event that a configuration file is lacking a definition of a port.
 	 * 
-	 * Each of the default definition arrays must end with two separate blank or
-	 * whitespace filled strings in order to satisfy the exit statement of the
-	 * loadComponent() definition.
+	 * Each of the default definition arrays starts with the name of the port
+	 * in brackets so that it can be indexed like a section of a file.
 	 */
 	private void populatePortMap() {
 		String[] allowedPortNames = { "INIT_STATE", "AMPERES_THERMAL", "AMPERES_ELECTRICAL",
@@ -713,7 +705,7 @@ public class IPSReader implements IReader {
 	 * 
 	 * @return the default IPS entry
 	 */
-	private IEntry makeIPSEntry() {
+	static IEntry makeIPSEntry() {
 		IEntry entry = new StringEntry();
 		entry.setName("IPS Default Entry");
 		entry.setDescription("");
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.io.ips;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ice.datastructures.ICEObject.ICEObject;
+import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.form.DataComponent;
+
+/**
+ * This class is a DataComponent for a section of an IPS INI file. Its Entries
+ * are not parsed until they are first needed, so reading a file with many
+ * components only indexes their sections. Clones share the section until their
+ * Entries are read.
+ *
+ * The section is also used by the IPSWriter, which copies the bytes of the
+ * section instead of writing the DataComponent again if its parameters were
+ * not changed.
+ *
+ * @author Jay Jay Billings
+ */
+class IPSSectionComponent extends DataComponent {
+
+	/**
+	 * The index of the file that contains the section.
+	 */
+	private IPSSectionIndex index;
+
+	/**
+	 * The section from which the Entries are read.
+	 */
+	private IPSSectionIndex.Section section;
+
+	/**
+	 * The id of the first Entry. The other Entries are given the ids that
+	 * follow it.
+	 */
+	private int firstEntryId;
+
+	/**
+	 * The constructor used by clone().
+	 */
+	private IPSSectionComponent() {
+		super();
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param index
+	 *            The index of the file that contains the section
+	 * @param section
+	 *            The section from which the Entries are read
+	 * @param id
+	 *            The id of the DataComponent. Its Entries are given the ids
+	 *            that follow it.
+	 * @param name
+	 *            The name of the DataComponent
+	 * @param description
+	 *            The description of the DataComponent
+	 */
+	IPSSectionComponent(IPSSectionIndex index, IPSSectionIndex.Section section,
+			int id, String name, String description) {
+		super();
+		setId(id);
+		setName(name);
+		setDescription(description);
+		this.index = index;
+		this.section = section;
+		firstEntryId = id + 1;
+		deferEntries();
+	}
+
+	/**
+	 * This operation returns the index of the file that contains the section.
+	 *
+	 * @return The index
+	 */
+	IPSSectionIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * This operation returns the section from which the Entries are read.
+	 *
+	 * @return The section
+	 */
+	IPSSectionIndex.Section getSection() {
+		return section;
+	}
+
+	/**
+	 * This operation makes the DataComponent a copy of another one without
+	 * reading the Entries of either. Its current Entries are dropped.
+	 *
+	 * @param other
+	 *            The IPSSectionComponent to copy
+	 */
+	void setSource(IPSSectionComponent other) {
+		index = other.index;
+		section = other.section;
+		firstEntryId = other.firstEntryId;
+		copy((ICEObject) other);
+		if (other.hasDeferredEntries()) {
+			deferEntries();
+		} else {
+			copy(other);
+		}
+	}
+
+	/**
+	 * This operation returns true if the parameters of the DataComponent are
+	 * different from the parameters of the section. It does not read the
+	 * Entries if they have not been read yet, since they can not have
+	 * changed.
+	 *
+	 * @return True if the parameters were changed, false otherwise
+	 */
+	boolean isModified() {
+
+		// Nothing can have changed if the Entries were never read
+		if (hasDeferredEntries()) {
+			return false;
+		}
+
+		// Compare the names and the values in order
+		List<String[]> parameters = index.readParameters(section);
+		ArrayList<IEntry> entries = retrieveAllEntries();
+		if (parameters.size() != entries.size()) {
+			return true;
+		}
+		for (int i = 0; i < entries.size(); i++) {
+			IEntry entry = entries.get(i);
+			if (!parameters.get(i)[0].equals(entry.getName())
+					|| !parameters.get(i)[1].equals(entry.getValue())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.ice.datastructures.form.DataComponent#readDeferredEntries()
+	 */
+	@Override
+	protected List<IEntry> readDeferredEntries() {
+
+		// Local Declarations
+		List<String[]> parameters = index.readParameters(section);
+		List<IEntry> entries = new ArrayList<IEntry>(parameters.size());
+		int id = firstEntryId;
+
+		// Create an Entry for each parameter
+		for (String[] parameter : parameters) {
+			IEntry entry = IPSReader.makeIPSEntry();
+			entry.setName(parameter[0]);
+			entry.setValue(parameter[1]);
+			entry.setId(id++);
+			entries.add(entry);
+		}
+
+		return entries;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.ice.datastructures.form.DataComponent#clone()
+	 */
+	@Override
+	public Object clone() {
+		IPSSectionComponent component = new IPSSectionComponent();
+		component.setSource(this);
+		return component;
+	}
+
+}
@@ -0,0 +1,453 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.io.ips;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.ice.datastructures.form.TableComponent;
+
+/**
+ * This class indexes the component sections of the contents of an IPS INI
+ * file, which are the sections that follow the ports table and start with a
+ * line like "[NTG]". Each section is recorded with its name, the range of
+ * bytes that it covers and the number of parameters that it declares, so that
+ * the sections can be parsed independently of each other, only when they are
+ * needed, and copied unchanged when the file is written again.
+ *
+ * The index is built in a single pass over the bytes of the file. It does not
+ * copy them or decode any line other than the section headers.
+ *
+ * The reader also keeps the global configuration and the ports table that it
+ * read from the file here, so that the writer can tell if they were changed.
+ *
+ * @author Jay Jay Billings
+ */
+public class IPSSectionIndex {
+
+	/**
+	 * The name of the section that follows the component sections.
+	 */
+	public static final String TIME_LOOP = "TIME_LOOP";
+
+	/**
+	 * A section of an IPS INI file.
+	 */
+	public static class Section {
+
+		/**
+		 * The name of the section.
+		 */
+		private final String name;
+
+		/**
+		 * The offset of the first byte of the line with the name of the
+		 * section.
+		 */
+		private final int start;
+
+		/**
+		 * The offset of the first byte after the section.
+		 */
+		private final int end;
+
+		/**
+		 * The number of parameters declared in the section.
+		 */
+		private final int parameterCount;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param name
+		 *            The name of the section
+		 * @param start
+		 *            The offset of the line with the name of the section
+		 * @param end
+		 *            The offset of the first byte after the section
+		 * @param parameterCount
+		 *            The number of parameters declared in the section
+		 */
+		Section(String name, int start, int end, int parameterCount) {
+			this.name = name;
+			this.start = start;
+			this.end = end;
+			this.parameterCount = parameterCount;
+		}
+
+		/**
+		 * This operation returns the name of the section.
+		 *
+		 * @return The name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * This operation returns the offset of the first byte of the line
+		 * with the name of the section.
+		 *
+		 * @return The start of the section
+		 */
+		public int getStart() {
+			return start;
+		}
+
+		/**
+		 * This operation returns the offset of the first byte after the
+		 * section.
+		 *
+		 * @return The end of the section
+		 */
+		public int getEnd() {
+			return end;
+		}
+
+		/**
+		 * This operation returns the number of parameters, which are lines
+		 * with an "=" outside of a comment, declared in the section.
+		 *
+		 * @return The number of parameters
+		 */
+		public int getParameterCount() {
+			return parameterCount;
+		}
+	}
+
+	/**
+	 * The contents of the file.
+	 */
+	private final byte[] content;
+
+	/**
+	 * The offset of the first section, or the length of the contents if there
+	 * are no sections.
+	 */
+	private final int preambleEnd;
+
+	/**
+	 * The component sections before the time loop.
+	 */
+	private final List<Section> components;
+
+	/**
+	 * The time loop section or null if the file does not have one.
+	 */
+	private final Section timeLoop;
+
+	/**
+	 * The global configuration as it was read from the file, or null if it
+	 * was not recorded.
+	 */
+	private TableComponent globalConfiguration;
+
+	/**
+	 * The ports table as it was read from the file, or null if it was not
+	 * recorded.
+	 */
+	private TableComponent portsTable;
+
+	/**
+	 * The constructor. It indexes the sections of the contents from the first
+	 * line at or after the starting offset that contains a bracket up to the
+	 * time loop section, which runs to the end of the contents.
+	 *
+	 * @param content
+	 *            The contents of the file. They are not copied and must not
+	 *            be changed afterwards.
+	 * @param startOffset
+	 *            The offset of the first byte of the line at which the search
+	 *            for the first section should start, usually the line after
+	 *            the ports table
+	 */
+	public IPSSectionIndex(byte[] content, int startOffset) {
+
+		// Local Declarations
+		List<Section> sections = new ArrayList<Section>();
+		Section timeLoopSection = null;
+		int size = content.length;
+		int i = Math.max(0, startOffset);
+
+		// Find the first section
+		while (i < size && !hasBracket(content, i, lineEnd(content, i))) {
+			i = lineEnd(content, i) + 1;
+		}
+		this.content = content;
+		preambleEnd = Math.min(i, size);
+
+		// Index the sections until the time loop is found
+		while (i < size && timeLoopSection == null) {
+			int start = i;
+			String name = getSectionName(lineText(content, start,
+					commentStart(content, start, lineEnd(content, start))));
+			boolean isTimeLoop = TIME_LOOP.equals(name);
+			// Count the parameters up to the next section. The time loop runs
+			// to the end of the file.
+			int parameters = 0;
+			for (i = lineEnd(content, start) + 1; i < size; i = lineEnd(
+					content, i) + 1) {
+				int end = commentStart(content, i, lineEnd(content, i));
+				if (!isTimeLoop && isSectionHeader(content, i, end)) {
+					break;
+				} else if (indexOf(content, (byte) '=', i, end) >= 0) {
+					parameters++;
+				}
+			}
+			Section section = new Section(name, start, Math.min(i, size),
+					parameters);
+			if (isTimeLoop) {
+				timeLoopSection = section;
+			} else {
+				sections.add(section);
+			}
+		}
+
+		components = Collections.unmodifiableList(sections);
+		timeLoop = timeLoopSection;
+	}
+
+	/**
+	 * This operation returns the contents of the file that was indexed. They
+	 * must not be changed.
+	 *
+	 * @return The contents
+	 */
+	public byte[] getContent() {
+		return content;
+	}
+
+	/**
+	 * This operation returns the offset of the first section, which is where
+	 * the part of the file with the header, the global configuration and the
+	 * ports table ends.
+	 *
+	 * @return The end of the preamble
+	 */
+	public int getPreambleEnd() {
+		return preambleEnd;
+	}
+
+	/**
+	 * This operation returns the component sections that come before the time
+	 * loop in the order in which they appear in the file.
+	 *
+	 * @return The component sections
+	 */
+	public List<Section> getComponentSections() {
+		return components;
+	}
+
+	/**
+	 * This operation returns the time loop section.
+	 *
+	 * @return The time loop section or null if the file does not have one
+	 */
+	public Section getTimeLoopSection() {
+		return timeLoop;
+	}
+
+	/**
+	 * This operation reads the parameters of a section, which are the lines
+	 * after the name of the section that have an "=" outside of a comment.
+	 *
+	 * @param section
+	 *            The section, which must be one of the sections of this index
+	 * @return The name and the value of each parameter in the order in which
+	 *         they appear in the section
+	 */
+	public ArrayList<String[]> readParameters(Section section) {
+
+		// Local Declarations
+		ArrayList<String[]> parameters = new ArrayList<String[]>(
+				section.getParameterCount());
+
+		// The format of a parameter is: KEY = VALUE # Comment
+		for (int i = lineEnd(content, section.getStart()) + 1; i < section
+				.getEnd(); i = lineEnd(content, i) + 1) {
+			int end = commentStart(content, i, lineEnd(content, i));
+			if (indexOf(content, (byte) '=', i, end) >= 0) {
+				parameters.add(lineText(content, i, end).split("=", 2));
+			}
+		}
+
+		return parameters;
+	}
+
+	/**
+	 * This operation returns the global configuration that the reader read
+	 * from the file.
+	 *
+	 * @return The global configuration or null if it was not recorded
+	 */
+	TableComponent getGlobalConfiguration() {
+		return globalConfiguration;
+	}
+
+	/**
+	 * This operation returns the ports table that the reader read from the
+	 * file.
+	 *
+	 * @return The ports table or null if it was not recorded
+	 */
+	TableComponent getPortsTable() {
+		return portsTable;
+	}
+
+	/**
+	 * This operation records the global configuration and the ports table
+	 * that were read from the preamble of the file. They should be copies
+	 * that are not handed out.
+	 *
+	 * @param globalConfiguration
+	 *            The global configuration
+	 * @param portsTable
+	 *            The ports table
+	 */
+	void setPreamble(TableComponent globalConfiguration,
+			TableComponent portsTable) {
+		this.globalConfiguration = globalConfiguration;
+		this.portsTable = portsTable;
+	}
+
+	/**
+	 * This operation returns the name of a section from the line that starts
+	 * it by removing everything but letters, numbers and underscores.
+	 *
+	 * @param line
+	 *            The first line of the section
+	 * @return The name of the section
+	 */
+	public static String getSectionName(String line) {
+		return line.replaceAll("[^a-zA-Z0-9_]", "");
+	}
+
+	/**
+	 * This operation returns the offset of the end of the line that starts at
+	 * an offset, which is the offset of its "\n" or the length of the
+	 * contents for the last line.
+	 *
+	 * @param content
+	 *            The contents
+	 * @param start
+	 *            The offset of the first byte of the line
+	 * @return The end of the line
+	 */
+	static int lineEnd(byte[] content, int start) {
+		int end = indexOf(content, (byte) '\n', start, content.length);
+		return (end < 0) ? content.length : end;
+	}
+
+	/**
+	 * This operation decodes a line of the contents without its line
+	 * separator.
+	 *
+	 * @param content
+	 *            The contents
+	 * @param start
+	 *            The offset of the first byte of the line
+	 * @param end
+	 *            The offset of the end of the line
+	 * @return The text of the line
+	 */
+	static String lineText(byte[] content, int start, int end) {
+		if (end > start && content[end - 1] == '\r') {
+			end--;
+		}
+		return new String(content, start, end - start);
+	}
+
+	/**
+	 * This operation returns the offset of the comment of a line, or the end
+	 * of the line if it does not have a comment.
+	 *
+	 * @param content
+	 *            The contents
+	 * @param start
+	 *            The offset of the first byte of the line
+	 * @param end
+	 *            The offset of the end of the line
+	 * @return The offset of the "#" or the end of the line
+	 */
+	private static int commentStart(byte[] content, int start, int end) {
+		int comment = indexOf(content, (byte) '#', start, end);
+		return (comment < 0) ? end : comment;
+	}
+
+	/**
+	 * This operation returns the offset of the first occurrence of a byte in
+	 * a range of the contents or -1 if it does not occur.
+	 *
+	 * @param content
+	 *            The contents
+	 * @param value
+	 *            The byte to look for
+	 * @param start
+	 *            The offset at which the search starts
+	 * @param end
+	 *            The offset at which the search ends
+	 * @return The offset of the byte or -1
+	 */
+	private static int indexOf(byte[] content, byte value, int start,
+			int end) {
+		for (int i = start; i < end; i++) {
+			if (content[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * This operation returns true if a line contains a bracket.
+	 *
+	 * @param content
+	 *            The contents
+	 * @param start
+	 *            The offset of the first byte of the line
+	 * @param end
+	 *            The offset of the end of the line
+	 * @return True if the line contains "[" or "]", false otherwise
+	 */
+	private static boolean hasBracket(byte[] content, int start, int end) {
+		return indexOf(content, (byte) '[', start, end) >= 0
+				|| indexOf(content, (byte) ']', start, end) >= 0;
+	}
+
+	/**
+	 * This operation returns true if a line without its comment starts a new
+	 * section, which is when it starts with "[" and ends with "]" apart from
+	 * white space.
+	 *
+	 * @param content
+	 *            The contents
+	 * @param start
+	 *            The offset of the first byte of the line
+	 * @param end
+	 *            The offset of the end of the line without its comment
+	 * @return True if the line is a section header, false otherwise
+	 */
+	private static boolean isSectionHeader(byte[] content, int start,
+			int end) {
+		while (start < end && Character.isWhitespace(content[start])) {
+			start++;
+		}
+		while (end > start && Character.isWhitespace(content[end - 1])) {
+			end--;
+		}
+		return end - start >= 2 && content[start] == '['
+				&& content[end - 1] == ']';
+	}
+
+}
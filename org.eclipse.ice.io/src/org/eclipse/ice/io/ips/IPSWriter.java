@@ -12,21 +12,16 @@
  *******************************************************************************/
 package org.eclipse.ice.io.ips;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
 
 import org.eclipse.core.resources.IFile;
@@ -38,6 +33,7 @@ import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.MasterDetailsComponent;
 import org.eclipse.ice.datastructures.form.TableComponent;
+import org.eclipse.ice.io.search.StreamingSearch;
 import org.eclipse.ice.io.serializable.IWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +43,13 @@ import org.slf4j.LoggerFactory;
  * IPSWriter is a class responsible for converting an ICE Form and writing it as
  * an IPS Configuration file.
  * </p>
+ * <p>
+ * The file is assembled in memory. Sections that were read by the IPSReader
+ * and not changed since are copied from the bytes of the original file, and
+ * only the sections that were changed or added are written again. The file is
+ * only written if its contents, ignoring the ICE header, are different from
+ * the file on disk.
+ * </p>
  * 
  * @author Andrew Bennett
  * 
@@ -59,6 +62,16 @@ public class IPSWriter implements IWriter {
 	private static final Logger logger = LoggerFactory
 			.getLogger(IPSWriter.class);
 
+	/**
+	 * The first line of the header that is written at the top of every file.
+	 */
+	private static final String ICE_HEADER_START = "# *** IPS INI file generated by ICE ***";
+
+	/**
+	 * The number of lines in the header, including the blank lines after it.
+	 */
+	private static final int HEADER_LINES = 8;
+
 	/**
 	 * Nullary constructor
 	 */
@@ -89,39 +102,71 @@ public class IPSWriter implements IWriter {
 		// file exists
 		if (components != null && components.size() > 3) {
 			try {
-				PipedInputStream in = new PipedInputStream(8196);
-				PipedOutputStream out = new PipedOutputStream(in);
 				if (!ifile.exists()) {
 					byte[] blank = "".getBytes();
 					InputStream s = new ByteArrayInputStream(blank);
 					ifile.create(s, true, new NullProgressMonitor());
 				}
-				// Write out the header, global configuration, and ports table
-				writeICEHeader(out);
-				writeGlobalConfig((TableComponent) components.get(1), out);
-				writePortsTable((TableComponent) components.get(2), out);
-
-				// Get the master details
+				// Get the components of the form
+				DataComponent timeLoop = (DataComponent) components.get(0);
+				TableComponent globalConfig = (TableComponent) components
+						.get(1);
+				TableComponent portsTable = (TableComponent) components.get(2);
 				MasterDetailsComponent masterDetails = (MasterDetailsComponent) components
 						.get(3);
 
+				// Copy the preamble from the file that the form was read from
+				// if it did not change or write it again with a new header
+				ByteArrayOutputStream contents = new ByteArrayOutputStream();
+				StringBuilder preamble = new StringBuilder();
+				writeGlobalConfig(globalConfig, preamble);
+				writePortsTable(portsTable, preamble);
+				IPSSectionIndex original = (timeLoop instanceof IPSSectionComponent)
+						? ((IPSSectionComponent) timeLoop).getIndex() : null;
+				if (isPreambleUnchanged(original, preamble)) {
+					contents.write(original.getContent(), 0,
+							original.getPreambleEnd());
+				} else {
+					StringBuilder header = new StringBuilder();
+					writeICEHeader(header);
+					header.append(preamble);
+					contents.write(header.toString().getBytes());
+				}
+
 				// Write out each of the ports from the master individually
 				for (int i = 0; i < masterDetails.numberOfMasters(); i++) {
-					writeComponent(
-							masterDetails.getDetailsAtIndex(i),
-							out);
+					DataComponent details = masterDetails.getDetailsAtIndex(i);
+					if (!copySection(details, details.getName(), contents)) {
+						StringBuilder section = new StringBuilder();
+						writeComponent(details, section);
+						contents.write(section.toString().getBytes());
+					}
+				}
+
+				// Write out the time loop data
+				if (!copySection(timeLoop, IPSSectionIndex.TIME_LOOP,
+						contents)) {
+					StringBuilder section = new StringBuilder();
+					writeTimeLoopData(timeLoop, section);
+					contents.write(section.toString().getBytes());
 				}
 
-				// Write out the time loop data then close the stream
-				writeTimeLoopData((DataComponent) components.get(0), out);
-				out.close();
-				ifile.setContents(in, true, false, new NullProgressMonitor());
+				// Only replace the contents of the file if they changed. The
+				// header is ignored because it records when it was written.
+				byte[] bytes = contents.toByteArray();
+				if (isUpToDate(ifile, bytes)) {
+					logger.info("IPSWriter Message: " + ifile.getName()
+							+ " is up to date.");
+				} else {
+					ifile.setContents(new ByteArrayInputStream(bytes), true,
+							false, new NullProgressMonitor());
+				}
 			} catch (FileNotFoundException e) {
 				logger.info("IPSWriter Message: Could not find "
 						+ ifile.getName() + " for writing.");
 			} catch (IOException e) {
 				logger.info("IPSWriter Message: Could not write to "
-						+ ifile.getName() + " du to an IO error");
+						+ ifile.getName() + " due to an IO error.");
 			} catch (CoreException e) {
 				logger.info("IPSWriter Message: Could not write to "
 						+ ifile.getName() + " due to an ICE Core error.");
@@ -130,6 +175,158 @@ public class IPSWriter implements IWriter {
 
 	}
 
+	/**
+	 * This operation checks whether or not the global configuration and the
+	 * ports table of a form are the same as the ones that were read from the
+	 * original file, in which case the preamble of the original file can be
+	 * copied.
+	 * 
+	 * @param original
+	 *            The index of the file that the form was read from, or null
+	 *            if it was not read from a file
+	 * @param preamble
+	 *            The global configuration and the ports table of the form as
+	 *            they would be written
+	 * @return True if the preamble of the original file can be copied, false
+	 *         otherwise
+	 */
+	private boolean isPreambleUnchanged(IPSSectionIndex original,
+			StringBuilder preamble) {
+
+		// Make sure that the preamble was recorded
+		if (original == null || original.getGlobalConfiguration() == null
+				|| original.getPortsTable() == null) {
+			return false;
+		}
+
+		// Compare it as it would be written
+		StringBuilder originalPreamble = new StringBuilder();
+		writeGlobalConfig(original.getGlobalConfiguration(), originalPreamble);
+		writePortsTable(original.getPortsTable(), originalPreamble);
+		return originalPreamble.toString().equals(preamble.toString());
+	}
+
+	/**
+	 * This operation copies the section of a DataComponent from the bytes of
+	 * the file that it was read from if it was not changed since.
+	 * 
+	 * @param component
+	 *            The DataComponent
+	 * @param name
+	 *            The name with which the section should start
+	 * @param output
+	 *            The stream to write to
+	 * @return True if the section was copied, false if the DataComponent must
+	 *         be written instead
+	 */
+	private boolean copySection(DataComponent component, String name,
+			ByteArrayOutputStream output) {
+
+		// Only unchanged sections that were read from a file can be copied
+		if (!(component instanceof IPSSectionComponent)) {
+			return false;
+		}
+		IPSSectionComponent sectionComponent = (IPSSectionComponent) component;
+		IPSSectionIndex.Section section = sectionComponent.getSection();
+		if (!section.getName().equals(name) || sectionComponent.isModified()) {
+			return false;
+		}
+
+		// Copy the bytes of the section
+		output.write(sectionComponent.getIndex().getContent(),
+				section.getStart(), section.getEnd() - section.getStart());
+		return true;
+	}
+
+	/**
+	 * This operation checks whether or not a file already contains the given
+	 * contents, apart from their ICE headers, in which case it does not need
+	 * to be written again.
+	 * 
+	 * @param ifile
+	 *            The file
+	 * @param newContents
+	 *            The contents that would be written
+	 * @return True if the file has the same contents after any ICE header,
+	 *         false otherwise
+	 * @throws IOException
+	 *             Thrown when reading the file fails
+	 * @throws CoreException
+	 *             Thrown when the contents of the file can not be opened
+	 */
+	private boolean isUpToDate(IFile ifile, byte[] newContents)
+			throws IOException, CoreException {
+
+		// Local Declarations
+		ByteArrayOutputStream existing = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int numRead;
+
+		// Read the current contents of the file
+		InputStream in = ifile.getContents(true);
+		try {
+			while ((numRead = in.read(buffer)) != -1) {
+				existing.write(buffer, 0, numRead);
+			}
+		} finally {
+			in.close();
+		}
+		byte[] contents = existing.toByteArray();
+
+		// Compare everything after the headers
+		int bodyStart = getBodyStart(contents);
+		int newBodyStart = getBodyStart(newContents);
+		if (contents.length - bodyStart != newContents.length - newBodyStart) {
+			return false;
+		}
+		for (int i = 0; i < contents.length - bodyStart; i++) {
+			if (contents[bodyStart + i] != newContents[newBodyStart + i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * This operation returns the offset of the first byte after the ICE
+	 * header of the contents of a file.
+	 * 
+	 * @param contents
+	 *            The contents
+	 * @return The offset after the header or zero if the contents do not
+	 *         start with an ICE header
+	 */
+	private int getBodyStart(byte[] contents) {
+
+		// Local Declarations
+		byte[] start = ICE_HEADER_START.getBytes();
+		int offset = 0;
+
+		// Check the first line of the header
+		if (contents.length < start.length) {
+			return 0;
+		}
+		for (int i = 0; i < start.length; i++) {
+			if (contents[i] != start[i]) {
+				return 0;
+			}
+		}
+
+		// Skip the rest of its lines
+		for (int i = 0; i < HEADER_LINES; i++) {
+			while (offset < contents.length && contents[offset] != '\n') {
+				offset++;
+			}
+			if (offset == contents.length) {
+				return 0;
+			}
+			offset++;
+		}
+
+		return offset;
+	}
+
 	/**
 	 * <p>
 	 * Searches a given IFile for content that matches a given regular
@@ -152,73 +349,17 @@ public class IPSWriter implements IWriter {
 			return;
 		}
 
-		// First, get an ArrayList with each line of the file so
-		// we can search through them
-		// Read in the ini file and create the iterator
-		StringBuffer buffer = null;
+		// Stream the file through the shared search engine, which writes the
+		// result to a temporary file and swaps it in when it is done
 		try {
-			// Read the FileInputStream and append to a StringBuffer
-			BufferedReader reader = new BufferedReader(new InputStreamReader(
-					ifile.getContents()));
-			buffer = new StringBuffer();
-			int fileByte;
-			while ((fileByte = reader.read()) != -1) {
-				buffer.append((char) fileByte);
-			}
-			reader.close();
-		} catch (FileNotFoundException e) {
-			logger.info("IPSWriter Message:  Could not find " + ifile.getName()
-					+ " for reading.");
-			return;
+			StreamingSearch search = new StreamingSearch(regex);
+			search.setFindWithinLines(true);
+			search.replace(ifile, value);
 		} catch (IOException e) {
 			logger.info("IPSWriter Message:  Could not read in "
 					+ ifile.getName() + " for replacement writing.");
-			return;
-		} catch (CoreException e) {
-			// TODO Auto-generated catch block
-			logger.error(getClass().getName() + " Exception!",e);
-		}
-
-		// Break up the StringBuffer at each newline character
-		String[] bufferSplit = (buffer.toString()).split("\n");
-		ArrayList<String> fileLines = new ArrayList<String>(
-				Arrays.asList(bufferSplit));
-
-		/*
-		 * NOTE: Need to do this differently if we are using Eclipse IFiles
-		 * exclusively -- Andrew // Make a backup of the original file in case
-		 * something goes wrong during // the search and replace operations File
-		 * tempFile = new File(ifile.getFullPath().toOSString().split("[.]")[0]
-		 * + "_bak.conf"); tempFile.deleteOnExit(); try {
-		 * Files.copy(file.toPath(), tempFile.toPath(),
-		 * StandardCopyOption.REPLACE_EXISTING); } catch (IOException e1) {
-		 * System
-		 * .out.println("IPSWriter Message:  Error creating copy of original " +
-		 * "file for backup."); return; }
-		 */
-
-		// Write out the file again, replacing any occurrences
-		// of the regex with the given replacement value
-
-		StringBuilder builder = new StringBuilder();
-		for (String line : fileLines) {
-			if (line.matches(regex)) {
-				line = line.replaceAll(regex, value);
-			} else if (line.contains(regex)) {
-				line = line.replaceAll(regex, value);
-			}
-			line = line + "\n";
-			builder.append(line);
-		}
-
-		InputStream replaceStream = new ByteArrayInputStream(builder.toString()
-				.getBytes());
-		try {
-			ifile.setContents(replaceStream, true, true,
-					new NullProgressMonitor());
 		} catch (CoreException e) {
-			// TODO Auto-generated catch block
-			logger.error(getClass().getName() + " Exception!",e);
+			logger.error(getClass().getName() + " Exception!", e);
 		}
 	}
 
@@ -240,15 +381,13 @@ public class IPSWriter implements IWriter {
 	 * and hostname where the file was generated.
 	 * </p>
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param output
+	 *            The StringBuilder to write to
 	 * @throws UnknownHostException
 	 *             Thrown when the host cannot be resolved
-	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
 	 */
-	private void writeICEHeader(OutputStream stream)
-			throws UnknownHostException, IOException {
+	private void writeICEHeader(StringBuilder output)
+			throws UnknownHostException {
 
 		DateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy HH:mm:ss");
 		String date = dateFormat.format(new Date());
@@ -258,15 +397,14 @@ public class IPSWriter implements IWriter {
 
 		// A header to tell where the file came from
 		String iceHeader = String
-				.format("# *** IPS INI file generated by ICE ***\n"
+				.format(ICE_HEADER_START + "\n"
 						+ "#  (Eclipse Integrated Computational Environment)\n"
 						+ "#\n" + "#  Created:   %-30s\n"
 						+ "#  User:      %-30s\n" + "#  Hostname:  %-30s\n\n\n",
 						date, user, hostname);
 
-		// Write to the output stream
-		byte[] byteArray = iceHeader.getBytes();
-		stream.write(byteArray);
+		// Write it out
+		output.append(iceHeader);
 
 		return;
 
@@ -275,163 +413,121 @@ public class IPSWriter implements IWriter {
 	/**
 	 * <p>
 	 * Takes the Global Configuration DataComponent and extracts each of the
-	 * parameters and writes the contents to the specified OutputStream.
+	 * parameters and writes the contents to the specified StringBuilder.
 	 * </p>
 	 * 
 	 * @param component
 	 *            The DataComponent containing the global configuration
-	 * @param stream
-	 *            The OutputStream to write to
-	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 * @param output
+	 *            The StringBuilder to write to
 	 */
-	private void writeGlobalConfig(TableComponent component, OutputStream stream)
-			throws IOException {
+	private void writeGlobalConfig(TableComponent component,
+			StringBuilder output) {
 
 		// Local Declarations
-		String configString = "";
 		ArrayList<IEntry> row;
-		byte[] byteArray;
 
 		// Build the output by going through each row
 		for (int i = 0; i < component.numberOfRows(); i++) {
 			row = component.getRow(i);
-			configString += row.get(0).getValue().trim() + "="
-					+ row.get(1).getValue().trim() + "\n";
+			output.append(row.get(0).getValue().trim()).append("=")
+					.append(row.get(1).getValue().trim()).append("\n");
 		}
-		configString += "\n";
-
-		// Write it out
-		byteArray = configString.getBytes();
-		stream.write(byteArray);
+		output.append("\n");
 	}
 
 	/**
 	 * <p>
 	 * Takes the Ports Table DataComponent and extracts each of the ports
 	 * implementation details and writes the contents to the specified
-	 * OutputStream.
+	 * StringBuilder.
 	 * </p>
 	 *
 	 * @param component
 	 *            The DataComponent containing the ports table
-	 * @param stream
-	 *            The OutputStream to write to
-	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 * @param output
+	 *            The StringBuilder to write to
 	 */
-	private void writePortsTable(TableComponent component, OutputStream stream)
-			throws IOException {
+	private void writePortsTable(TableComponent component,
+			StringBuilder output) {
 
 		// Local Declarations
-		String configString = "[PORTS]\n\tNAMES = ";
 		ArrayList<IEntry> row;
-		byte[] byteArray;
 
 		// Build the output by going through each row
+		output.append("[PORTS]\n\tNAMES = ");
 		for (int i = 0; i < component.numberOfRows(); i++) {
 			row = component.getRow(i);
-			configString += row.get(0).getValue().trim() + " ";
+			output.append(row.get(0).getValue().trim()).append(" ");
 		}
-		configString += "\n\n";
+		output.append("\n\n");
 
 		for (int i = 0; i < component.numberOfRows(); i++) {
 			row = component.getRow(i);
-			configString += "\t[[" + row.get(0).getValue().trim() + "]]\n\t\t"
-					+ "IMPLEMENTATION = " + row.get(1).getValue().trim() + "\n";
+			output.append("\t[[").append(row.get(0).getValue().trim())
+					.append("]]\n\t\t").append("IMPLEMENTATION = ")
+					.append(row.get(1).getValue().trim()).append("\n");
 		}
-		configString += "\n";
-
-		// Write it out
-		byteArray = configString.getBytes();
-		stream.write(byteArray);
+		output.append("\n");
 	}
 
 	/**
 	 * <p>
 	 * Takes a Port Entry DataComponent and extracts each of the port's
 	 * implementation details and writes the contents to the specified
-	 * OutputStream.
+	 * StringBuilder.
 	 * </p>
 	 * 
 	 * @param component
 	 *            The DataComponent containing a port entry
-	 * @param stream
-	 *            The OutputStream to write to
-	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 * @param output
+	 *            The StringBuilder to write to
 	 */
-	private void writeComponent(DataComponent component, OutputStream stream)
-			throws IOException {
-		// Get the port name and the entries
-		String currLine = "[" + component.getName() + "]\n";
-		ArrayList<IEntry> portParams = component.retrieveAllEntries();
-
-		// Write the port header
-		byte[] byteArray = currLine.getBytes();
-		stream.write(byteArray);
-
-		// Write each of the port parameters
-		for (IEntry param : portParams) {
-			// Write the port header
-			currLine = "\t" + param.getName().trim() + " = ";
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
-
-			// Write the port implementation
-			currLine = param.getValue().trim() + "\n";
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
-		}
-
-		// Write a blank line for a spacer
-		currLine = "\n";
-		byteArray = currLine.getBytes();
-		stream.write(byteArray);
+	private void writeComponent(DataComponent component,
+			StringBuilder output) {
+		// Write the port header and each of the port parameters followed by a
+		// blank line for a spacer
+		output.append("[").append(component.getName()).append("]\n");
+		writeParameters(component, output);
+		output.append("\n");
 	}
 
 	/**
 	 * <p>
 	 * Takes the Time Loop DataComponent and extracts each of the time loop's
 	 * implementation details and writes the contents to the specified
-	 * OutputStream.
+	 * StringBuilder.
 	 * </p>
 	 * 
 	 * @param component
 	 *            The DataComponent containing time loop data
-	 * @param stream
-	 *            The OutputStream to write to
-	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 * @param output
+	 *            The StringBuilder to write to
 	 */
-	private void writeTimeLoopData(DataComponent component, OutputStream stream)
-			throws IOException {
-		// Get the port name and the entries
-		String currLine = "[TIME_LOOP]\n";
-		ArrayList<IEntry> timeLoopParams = component.retrieveAllEntries();
-
-		// Write the port header
-		byte[] byteArray = currLine.getBytes();
-		stream.write(byteArray);
-
-		// Write each of the port parameters
-		for (IEntry param : timeLoopParams) {
-			// Write the port header
-			currLine = "\t" + param.getName().trim() + " = ";
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
-
-			// Write the port implementation
-			currLine = param.getValue().trim() + "\n";
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
-		}
-
-		// Write out a final blank line
-		currLine = "\n";
-		byteArray = currLine.getBytes();
-		stream.write(byteArray);
+	private void writeTimeLoopData(DataComponent component,
+			StringBuilder output) {
+		// Write the time loop header and each of its parameters followed by a
+		// final blank line
+		output.append("[TIME_LOOP]\n");
+		writeParameters(component, output);
+		output.append("\n");
+	}
 
+	/**
+	 * This operation writes each Entry of a DataComponent as a "NAME = VALUE"
+	 * line of a section.
+	 * 
+	 * @param component
+	 *            The DataComponent
+	 * @param output
+	 *            The StringBuilder to write to
+	 */
+	private void writeParameters(DataComponent component,
+			StringBuilder output) {
+		for (IEntry param : component.retrieveAllEntries()) {
+			output.append("\t").append(param.getName().trim()).append(" = ")
+					.append(param.getValue().trim()).append("\n");
+		}
 	}
 
 }
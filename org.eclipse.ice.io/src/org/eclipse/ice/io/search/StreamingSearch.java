@@ -0,0 +1,354 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.io.search;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * This class is the shared search and replace engine used by the IReaders and
+ * IWriters in this bundle. The regular expression is compiled exactly once
+ * when the search is created and a single Matcher is reset for every line, so
+ * scanning a file costs one pass with no per-line pattern compilation.
+ *
+ * Files are streamed line by line through a buffered reader and are never
+ * loaded into memory in full. Searches may be limited to a maximum number of
+ * matches or stopped early by the {@link ILineMatchHandler} that receives the
+ * matches. Replacements are streamed to a temporary file, which is then
+ * written back through the workspace so that the file keeps its attributes
+ * and a copy of its old contents is kept in its local history. Replacements
+ * keep the line terminators of the original.
+ *
+ * Two matching modes are supported. By default a line must match the pattern
+ * in its entirety, which is the behavior IReader.findAll() has always had.
+ * Calling {@link #setFindWithinLines(boolean)} with true makes any line that
+ * contains a match count instead.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class StreamingSearch {
+
+	/**
+	 * The size of the character buffer used when streaming files.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The value of the match limit when no limit is imposed.
+	 */
+	public static final int UNLIMITED = -1;
+
+	/**
+	 * The compiled pattern. It is compiled once in the constructor.
+	 */
+	private final Pattern pattern;
+
+	/**
+	 * The maximum number of matches that will be reported or replaced, or
+	 * {@link #UNLIMITED}.
+	 */
+	private int matchLimit = UNLIMITED;
+
+	/**
+	 * True if a line matches when any part of it matches the pattern, false if
+	 * the whole line must match.
+	 */
+	private boolean findWithinLines = false;
+
+	/**
+	 * This interface is implemented by clients that want to receive matches as
+	 * they are found instead of collecting them into a list.
+	 *
+	 * @author Jay Jay Billings
+	 *
+	 */
+	public interface ILineMatchHandler {
+
+		/**
+		 * This operation is called for every matching line.
+		 *
+		 * @param lineNumber
+		 *            The one-based number of the matching line
+		 * @param line
+		 *            The matching line without its line terminator
+		 * @param matcher
+		 *            The matcher positioned on the match. It is reused for the
+		 *            next line and must not be retained.
+		 * @return True if the scan should continue, false if it should stop
+		 *         immediately.
+		 */
+		public boolean matched(int lineNumber, String line, Matcher matcher);
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param regex
+	 *            The regular expression to search for. It is compiled
+	 *            immediately.
+	 * @throws java.util.regex.PatternSyntaxException
+	 *             if the expression is invalid
+	 */
+	public StreamingSearch(String regex) {
+		pattern = Pattern.compile(regex);
+	}
+
+	/**
+	 * The constructor for clients that already have a compiled pattern.
+	 *
+	 * @param pattern
+	 *            The pattern to search for
+	 */
+	public StreamingSearch(Pattern pattern) {
+		this.pattern = pattern;
+	}
+
+	/**
+	 * This operation returns the compiled pattern used by the search.
+	 *
+	 * @return The pattern
+	 */
+	public Pattern getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * This operation sets the maximum number of matches that will be reported
+	 * by a scan or rewritten by a replacement.
+	 *
+	 * @param limit
+	 *            The limit. Any value less than zero means unlimited.
+	 */
+	public void setMatchLimit(int limit) {
+		matchLimit = (limit < 0) ? UNLIMITED : limit;
+	}
+
+	/**
+	 * This operation returns the match limit.
+	 *
+	 * @return The limit or {@link #UNLIMITED}
+	 */
+	public int getMatchLimit() {
+		return matchLimit;
+	}
+
+	/**
+	 * This operation sets whether a line matches if any part of it matches the
+	 * pattern (true) or only if the whole line does (false, the default).
+	 *
+	 * @param find
+	 *            The matching mode
+	 */
+	public void setFindWithinLines(boolean find) {
+		findWithinLines = find;
+	}
+
+	/**
+	 * This operation streams the input and reports every matching line to
+	 * the handler until the input ends, the match limit is reached or the
+	 * handler asks to stop. The stream is closed when the scan completes.
+	 *
+	 * @param stream
+	 *            The stream to scan
+	 * @param handler
+	 *            The handler that receives the matches
+	 * @return The number of matches reported
+	 * @throws IOException
+	 *             if the stream cannot be read
+	 */
+	public int scan(InputStream stream, ILineMatchHandler handler)
+			throws IOException {
+
+		int count = 0;
+		int lineNumber = 0;
+		Matcher matcher = pattern.matcher("");
+
+		// A limit of zero never reports anything
+		if (matchLimit == 0) {
+			stream.close();
+			return 0;
+		}
+
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(stream), BUFFER_SIZE)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (matches(matcher.reset(line))) {
+					count++;
+					if (!handler.matched(lineNumber, line, matcher)
+							|| count == matchLimit) {
+						break;
+					}
+				}
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * This operation streams the input to the output, replacing every match of
+	 * the pattern on each matching line with the replacement. Each line keeps
+	 * its line terminator, so "\r\n" stays "\r\n" and a last line without
+	 * a terminator does not get one. Once the match limit is reached the
+	 * remaining lines are copied unchanged. Neither stream is closed.
+	 *
+	 * @param input
+	 *            The input to read
+	 * @param output
+	 *            The output to write
+	 * @param replacement
+	 *            The replacement, which may contain group references as
+	 *            described by {@link Matcher#replaceAll(String)}
+	 * @return The number of lines that were changed
+	 * @throws IOException
+	 *             if either stream fails
+	 */
+	public int replace(InputStream input, OutputStream output,
+			String replacement) throws IOException {
+
+		int count = 0;
+		Matcher matcher = pattern.matcher("");
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input),
+				BUFFER_SIZE);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output),
+				BUFFER_SIZE);
+		StringBuilder line = new StringBuilder();
+
+		String terminator;
+		while ((terminator = readLine(reader, line)) != null) {
+			if (count != matchLimit && matches(matcher.reset(line))) {
+				writer.write(matcher.replaceAll(replacement));
+				count++;
+			} else {
+				writer.append(line);
+			}
+			writer.write(terminator);
+		}
+		writer.flush();
+
+		return count;
+	}
+
+	/**
+	 * This operation replaces matches in a file. The new contents are streamed
+	 * to a temporary file and then written to the file with
+	 * {@link IFile#setContents}, which keeps the old contents in the local
+	 * history. The file itself is rewritten in place, so its permissions and
+	 * other attributes do not change. The file is left untouched if nothing
+	 * matched.
+	 *
+	 * @param file
+	 *            The file to modify
+	 * @param replacement
+	 *            The replacement for each match
+	 * @return The number of lines that were changed
+	 * @throws IOException
+	 *             if the file cannot be read or written
+	 * @throws CoreException
+	 *             if the workspace cannot access the file
+	 */
+	public int replace(IFile file, String replacement)
+			throws IOException, CoreException {
+
+		Path tempPath = Files.createTempFile("." + file.getName(), ".tmp");
+
+		int count = 0;
+		try {
+			// Stream the replaced contents into the temporary file
+			try (InputStream in = file.getContents();
+					OutputStream out = Files.newOutputStream(tempPath)) {
+				count = replace(in, out, replacement);
+			}
+
+			// Write the new contents back if anything changed
+			if (count > 0) {
+				try (InputStream in = Files.newInputStream(tempPath)) {
+					file.setContents(in, true, true,
+							new NullProgressMonitor());
+				}
+			}
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+
+		return count;
+	}
+
+	/**
+	 * This operation reads the next line from the reader into the builder.
+	 * Lines end with "\n", "\r\n" or "\r", like they do for
+	 * {@link BufferedReader#readLine()}.
+	 *
+	 * @param reader
+	 *            The reader
+	 * @param line
+	 *            The builder that receives the line without its terminator.
+	 *            It is cleared first.
+	 * @return The terminator of the line, an empty string if the last line
+	 *         does not have one or null if there are no more lines
+	 * @throws IOException
+	 *             if the reader fails
+	 */
+	private static String readLine(BufferedReader reader, StringBuilder line)
+			throws IOException {
+
+		int c;
+		line.setLength(0);
+		while ((c = reader.read()) != -1) {
+			if (c == '\n') {
+				return "\n";
+			} else if (c == '\r') {
+				// Check for a "\r\n" without consuming anything else
+				reader.mark(1);
+				if (reader.read() == '\n') {
+					return "\r\n";
+				}
+				reader.reset();
+				return "\r";
+			}
+			line.append((char) c);
+		}
+
+		return (line.length() > 0) ? "" : null;
+	}
+
+	/**
+	 * This operation determines whether or not the line loaded in the matcher
+	 * matches according to the current mode.
+	 *
+	 * @param matcher
+	 *            The matcher, reset to the line
+	 * @return True if the line matches
+	 */
+	private boolean matches(Matcher matcher) {
+		return findWithinLines ? matcher.find() : matcher.matches();
+	}
+
+}
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.ice.item.FileTailService;
+import org.eclipse.ice.item.IFileTailListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link FileTailService}.
+ *
+ * @author Jay Jay Billings
+ */
+public class FileTailServiceTester {
+
+	/**
+	 * The service under test.
+	 */
+	private FileTailService service;
+
+	/**
+	 * The directory that holds the followed files.
+	 */
+	private File directory;
+
+	/**
+	 * This class collects the data handed to it.
+	 */
+	private static class Collector implements IFileTailListener {
+
+		/**
+		 * The data.
+		 */
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		@Override
+		public synchronized void dataAppended(File file, ByteBuffer data) {
+			byte[] copy = new byte[data.remaining()];
+			data.get(copy);
+			bytes.write(copy, 0, copy.length);
+		}
+
+		/**
+		 * This operation returns the data as text.
+		 *
+		 * @return The text
+		 */
+		private synchronized String getText() {
+			return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * This operation waits for the collected text to match the expected
+		 * text.
+		 *
+		 * @param expected
+		 *            The expected text
+		 * @return The collected text
+		 * @throws InterruptedException
+		 */
+		private String waitFor(String expected) throws InterruptedException {
+			long end = System.currentTimeMillis() + 5000;
+			while (!expected.equals(getText())
+					&& System.currentTimeMillis() < end) {
+				Thread.sleep(10);
+			}
+			return getText();
+		}
+	}
+
+	/**
+	 * This operation creates the service and the directory.
+	 *
+	 * @throws IOException
+	 */
+	@Before
+	public void setUp() throws IOException {
+		service = new FileTailService();
+		directory = Files.createTempDirectory("iceTail").toFile();
+	}
+
+	/**
+	 * This operation stops the service and deletes the directory.
+	 */
+	@After
+	public void tearDown() {
+		service.shutdown();
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	/**
+	 * This operation appends text to a file.
+	 *
+	 * @param file
+	 *            The file
+	 * @param text
+	 *            The text
+	 * @throws IOException
+	 */
+	private void append(File file, String text) throws IOException {
+		try (FileOutputStream stream = new FileOutputStream(file, true)) {
+			stream.write(text.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * This operation checks that appended data is handed to every listener
+	 * exactly once and that listeners that join late receive the whole file.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkTailing() throws Exception {
+
+		File file = new File(directory, "stdout.txt");
+		append(file, "Starting\n");
+
+		// The first listener is caught up immediately
+		Collector first = new Collector();
+		service.subscribe(file, first);
+		assertEquals("Starting\n", first.getText());
+
+		// The service thread picks up new data on its own
+		append(file, "Step 1\n");
+		assertEquals("Starting\nStep 1\n", first.waitFor("Starting\nStep 1\n"));
+
+		// A late listener gets everything
+		Collector second = new Collector();
+		service.subscribe(file, second);
+		assertEquals("Starting\nStep 1\n", second.getText());
+
+		// Draining hands over the rest without waiting
+		append(file, "Done\n");
+		service.drain(file);
+		assertEquals("Starting\nStep 1\nDone\n", first.getText());
+		assertEquals("Starting\nStep 1\nDone\n", second.getText());
+
+		// Unsubscribed listeners get nothing more
+		service.unsubscribe(file, first);
+		append(file, "Extra\n");
+		service.drain(file);
+		assertEquals("Starting\nStep 1\nDone\n", first.getText());
+		assertEquals("Starting\nStep 1\nDone\nExtra\n", second.getText());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that files that do not exist yet are followed once
+	 * they are created and that truncated files are read from the start.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkCreationAndTruncation() throws Exception {
+
+		// Follow a file that does not exist yet
+		File file = new File(directory, "stderr.txt");
+		Collector collector = new Collector();
+		service.subscribe(file, collector);
+		assertEquals("", collector.getText());
+		append(file, "Created\n");
+		assertEquals("Created\n", collector.waitFor("Created\n"));
+
+		// Truncate it and start over
+		Files.write(file.toPath(), "New\n".getBytes(StandardCharsets.UTF_8));
+		service.drain(file);
+		assertEquals("Created\nNew\n", collector.getText());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that files in directories that do not exist yet
+	 * are followed once the directory and the file are created.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void checkMissingDirectory() throws Exception {
+
+		// Follow a file in a directory that does not exist yet
+		File subdirectory = new File(directory, "output");
+		File file = new File(subdirectory, "stdout.txt");
+		Collector collector = new Collector();
+		service.subscribe(file, collector);
+		assertEquals("", collector.getText());
+
+		// Create both and write to the file
+		assertTrue(subdirectory.mkdir());
+		append(file, "Created\n");
+		assertEquals("Created\n", collector.waitFor("Created\n"));
+		append(file, "More\n");
+		assertEquals("Created\nMore\n", collector.waitFor("Created\nMore\n"));
+
+		// Clean up for the tear down
+		service.unsubscribe(file, collector);
+		file.delete();
+		subdirectory.delete();
+
+		return;
+	}
+}
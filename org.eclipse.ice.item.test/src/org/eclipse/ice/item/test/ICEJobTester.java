@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.item.action.Action;
+import org.eclipse.ice.item.jobLauncher.ICEJob;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link ICEJob}.
+ *
+ * @author Jay Jay Billings
+ */
+public class ICEJobTester {
+
+	/**
+	 * The names of the Actions in the order they were started.
+	 */
+	private final List<String> started = Collections
+			.synchronizedList(new ArrayList<String>());
+
+	/**
+	 * This class is a fake Action that records when it starts and then runs a
+	 * task.
+	 */
+	private class FakeAction extends Action {
+
+		/**
+		 * The name of the Action.
+		 */
+		private final String name;
+
+		/**
+		 * The task performed by execute(). It returns the status of the
+		 * Action.
+		 */
+		private final Function<FakeAction, FormStatus> task;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param actionName
+		 *            The name of the Action
+		 * @param actionTask
+		 *            The task performed by execute()
+		 */
+		private FakeAction(String actionName,
+				Function<FakeAction, FormStatus> actionTask) {
+			name = actionName;
+			task = actionTask;
+		}
+
+		@Override
+		public FormStatus execute(Dictionary<String, String> dictionary) {
+			started.add(name);
+			setStatus(FormStatus.Processing);
+			FormStatus result = task.apply(this);
+			if (!FormStatus.Processing.equals(result)) {
+				setStatus(result);
+			}
+			return result;
+		}
+
+		@Override
+		public FormStatus cancel() {
+			setStatus(FormStatus.ReadyToProcess);
+			return status;
+		}
+
+		@Override
+		public String getActionName() {
+			return name;
+		}
+
+		/**
+		 * This operation changes the status of the Action and notifies its
+		 * listeners.
+		 *
+		 * @param newStatus
+		 *            The new status
+		 */
+		private void finish(FormStatus newStatus) {
+			setStatus(newStatus);
+		}
+	}
+
+	/**
+	 * This operation checks that Actions that do not depend on each other run
+	 * at the same time and that an Action waits for the Actions it depends on.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkDependencies() throws InterruptedException {
+
+		// The first two Actions can only finish if they run together
+		final CountDownLatch together = new CountDownLatch(2);
+		Function<FakeAction, FormStatus> meet = action -> {
+			together.countDown();
+			try {
+				return together.await(5, TimeUnit.SECONDS)
+						? FormStatus.Processed : FormStatus.InfoError;
+			} catch (InterruptedException e) {
+				return FormStatus.InfoError;
+			}
+		};
+		FakeAction copy = new FakeAction("Copy", meet);
+		FakeAction container = new FakeAction("Container", meet);
+		FakeAction upload = new FakeAction("Upload",
+				action -> FormStatus.Processed);
+
+		// The upload waits for both
+		Map<Action, List<Action>> dependencies = new HashMap<Action, List<Action>>();
+		dependencies.put(upload, Arrays.<Action> asList(copy, container));
+		ICEJob job = new ICEJob(Arrays.<Action> asList(copy, container, upload),
+				dependencies, new Hashtable<String, String>());
+		job.schedule();
+		job.join();
+
+		// Check the order and the times
+		assertEquals(FormStatus.Processed, job.getStatus());
+		assertEquals(3, started.size());
+		assertEquals("Upload", started.get(2));
+		Map<Action, Long> times = job.getActionTimes();
+		assertEquals(3, times.size());
+		assertEquals(upload, new ArrayList<Action>(times.keySet()).get(2));
+		assertTrue(job.getRunningActions().isEmpty());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the Job learns that an Action which is still
+	 * processing has finished from its status events.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkStatusEvents() throws InterruptedException {
+
+		// This Action finishes on its own thread shortly after it starts
+		FakeAction remote = new FakeAction("Remote", action -> {
+			new Thread(() -> {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					// Finish early
+				}
+				action.finish(FormStatus.Processed);
+			}).start();
+			return FormStatus.Processing;
+		});
+		FakeAction download = new FakeAction("Download",
+				action -> FormStatus.Processed);
+
+		// By default, the Actions run one after the other
+		ICEJob job = new ICEJob(Arrays.<Action> asList(remote, download),
+				new Hashtable<String, String>());
+		long start = System.currentTimeMillis();
+		job.schedule();
+		job.join();
+
+		// The event ends the wait long before the periodic check would
+		assertEquals(FormStatus.Processed, job.getStatus());
+		assertEquals(Arrays.asList("Remote", "Download"), started);
+		assertTrue(System.currentTimeMillis() - start < 1000);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the Actions that depend on a failed Action
+	 * are not run.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkErrors() throws InterruptedException {
+
+		FakeAction broken = new FakeAction("Broken",
+				action -> FormStatus.InfoError);
+		FakeAction next = new FakeAction("Next",
+				action -> FormStatus.Processed);
+
+		ICEJob job = new ICEJob(Arrays.<Action> asList(broken, next),
+				new Hashtable<String, String>());
+		job.schedule();
+		job.join();
+
+		assertEquals(FormStatus.InfoError, job.getStatus());
+		assertFalse(started.contains("Next"));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the times of Actions with the same name are
+	 * recorded separately.
+	 *
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkActionTimes() throws InterruptedException {
+
+		FakeAction first = new FakeAction("Copy",
+				action -> FormStatus.Processed);
+		FakeAction second = new FakeAction("Copy",
+				action -> FormStatus.Processed);
+
+		ICEJob job = new ICEJob(Arrays.<Action> asList(first, second),
+				new Hashtable<String, String>());
+		job.schedule();
+		job.join();
+
+		Map<Action, Long> times = job.getActionTimes();
+		assertEquals(2, times.size());
+		assertEquals(Arrays.<Action> asList(first, second),
+				new ArrayList<Action>(times.keySet()));
+
+		return;
+	}
+}
@@ -42,6 +42,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ice.datastructures.ICEObject.ICEJAXBHandler;
 import org.eclipse.ice.datastructures.entry.FileEntry;
 import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.entry.StringEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
@@ -668,6 +669,23 @@ public class ItemTester implements ItemListener {
 		// Make sure that the children are now marked as ready
 		assertEquals(3, dataComp1.retrieveReadyEntries().size());
 
+		// Submitting the Form again only reviews the modified Entries
+		int numEntries = dataComp1.retrieveAllEntries().size();
+		assertEquals(numEntries, testItem.getLastReviewedEntryCount());
+		assertEquals(FormStatus.ReadyToProcess, testItem.submitForm(form));
+		assertEquals(0, testItem.getLastReviewedEntryCount());
+		entry.setValue("false");
+		assertEquals(FormStatus.ReadyToProcess, testItem.submitForm(form));
+		assertEquals(1, testItem.getLastReviewedEntryCount());
+		assertTrue(testItem.getLastReviewTime() >= 0);
+
+		// Adding an Entry reviews all of them again
+		StringEntry newEntry = new StringEntry();
+		newEntry.setName("New Entry");
+		dataComp1.addEntry(newEntry);
+		assertEquals(FormStatus.ReadyToProcess, testItem.submitForm(form));
+		assertEquals(numEntries + 1, testItem.getLastReviewedEntryCount());
+
 		return;
 
 	}
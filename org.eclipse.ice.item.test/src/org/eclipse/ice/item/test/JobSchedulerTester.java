@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.ice.item.jobLauncher.IJobStarter;
+import org.eclipse.ice.item.jobLauncher.JobRequest;
+import org.eclipse.ice.item.jobLauncher.JobScheduler;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link JobScheduler}. It uses
+ * stand-in hosts that are never contacted and a clock that only moves when the
+ * test moves it.
+ *
+ * @author Jay Jay Billings
+ */
+public class JobSchedulerTester {
+
+	/**
+	 * The current time of the scheduler's clock.
+	 */
+	private long now;
+
+	/**
+	 * The scheduler under test.
+	 */
+	private JobScheduler scheduler;
+
+	/**
+	 * The hosts on which the jobs were started, keyed by request.
+	 */
+	private Map<JobRequest, String> startedHosts;
+
+	/**
+	 * A starter that records the host of each job.
+	 */
+	private IJobStarter starter;
+
+	/**
+	 * This operation creates a scheduler with a test clock before each test.
+	 */
+	@Before
+	public void setUp() {
+		now = 0;
+		scheduler = new JobScheduler() {
+			@Override
+			protected long getCurrentTime() {
+				return now;
+			}
+		};
+		startedHosts = new LinkedHashMap<JobRequest, String>();
+		starter = (request, hostname) -> {
+			startedHosts.put(request, hostname);
+			return true;
+		};
+	}
+
+	/**
+	 * This operation creates a request for a job that may run on the two
+	 * stand-in hosts.
+	 *
+	 * @param cores
+	 *            The number of cores the job uses
+	 * @return The request
+	 */
+	private JobRequest createRequest(int cores) {
+		return new JobRequest("sim", Arrays.asList("hostA", "hostB"), cores,
+				0, starter);
+	}
+
+	/**
+	 * This operation checks that jobs are placed on the least loaded host with
+	 * room for them, that the limits of the hosts are enforced and that queued
+	 * jobs start when room is released.
+	 */
+	@Test
+	public void checkPlacement() {
+
+		// Host A has eight cores and two slots, host B has four cores
+		scheduler.setHost("hostA", 8, 0, 2);
+		scheduler.setHost("hostB", 4, 0, 0);
+
+		// Both hosts are idle, so the first one is picked
+		JobRequest first = createRequest(4);
+		assertTrue(scheduler.submit(first));
+		assertEquals("hostA", startedHosts.get(first));
+		assertEquals(JobRequest.State.Running, first.getState());
+
+		// Host A is half busy, so host B is picked
+		JobRequest second = createRequest(2);
+		assertTrue(scheduler.submit(second));
+		assertEquals("hostB", startedHosts.get(second));
+
+		// Host B does not have four free cores
+		JobRequest third = createRequest(4);
+		assertTrue(scheduler.submit(third));
+		assertEquals("hostA", startedHosts.get(third));
+		assertEquals(8, scheduler.getUsedCores("hostA"));
+
+		// Host A is out of slots
+		JobRequest fourth = createRequest(2);
+		assertTrue(scheduler.submit(fourth));
+		assertEquals("hostB", startedHosts.get(fourth));
+
+		// Nothing has room, so the job waits
+		JobRequest fifth = createRequest(4);
+		assertTrue(scheduler.submit(fifth));
+		assertEquals(JobRequest.State.Queued, fifth.getState());
+		assertEquals(Arrays.asList(fifth), scheduler.getQueue());
+		assertEquals(4, scheduler.getRunning().size());
+
+		// Jobs that are too big for every host are rejected
+		JobRequest tooBig = createRequest(16);
+		assertFalse(scheduler.submit(tooBig));
+		assertEquals(JobRequest.State.New, tooBig.getState());
+
+		// Releasing two cores on host B is not enough
+		scheduler.release(second);
+		assertEquals(JobRequest.State.Done, second.getState());
+		assertEquals(JobRequest.State.Queued, fifth.getState());
+
+		// Releasing the other two is
+		scheduler.release(fourth);
+		assertEquals("hostB", startedHosts.get(fifth));
+		assertTrue(scheduler.getQueue().isEmpty());
+		assertEquals(1, scheduler.getRunningJobs("hostB"));
+
+		// Queued jobs can be canceled
+		JobRequest canceled = createRequest(8);
+		assertTrue(scheduler.submit(canceled));
+		assertTrue(scheduler.cancel(canceled));
+		assertEquals(JobRequest.State.Canceled, canceled.getState());
+		assertFalse(scheduler.cancel(canceled));
+		assertTrue(scheduler.getQueue().isEmpty());
+
+		// A job that fails to start frees its host. Hosts that were not
+		// described are not limited.
+		JobRequest failed = new JobRequest("sim", Arrays.asList("hostC"), 64,
+				0, (request, hostname) -> false);
+		assertTrue(scheduler.submit(failed));
+		assertEquals("hostC", failed.getHost());
+		assertEquals(JobRequest.State.Done, failed.getState());
+		assertEquals(0, scheduler.getRunningJobs("hostC"));
+		assertEquals(0, scheduler.getUsedCores("hostC"));
+
+		// Hosts described without capacities, like the local host in a
+		// JobLauncher without the capacity columns, run any job at once
+		scheduler.setHost("localhost", 0, 0, 0);
+		JobRequest oversubscribed = new JobRequest("sim",
+				Arrays.asList("localhost"), 4096, 0, starter);
+		assertTrue(scheduler.submit(oversubscribed));
+		assertEquals(JobRequest.State.Running, oversubscribed.getState());
+		assertEquals("localhost", startedHosts.get(oversubscribed));
+
+		return;
+	}
+
+	/**
+	 * This operation checks the estimated start times of queued jobs.
+	 */
+	@Test
+	public void checkEstimates() {
+
+		// One host with four cores
+		scheduler.setHost("hostA", 4, 0, 0);
+		JobRequest first = new JobRequest("sim", Arrays.asList("hostA"), 4, 0,
+				starter);
+		JobRequest second = new JobRequest("sim", Arrays.asList("hostA"), 4, 0,
+				starter);
+		scheduler.submit(first);
+		scheduler.submit(second);
+
+		// Nothing has finished, so the start time is not known
+		assertEquals(-1, scheduler.getEstimatedRunTime("sim"));
+		assertEquals(-1, scheduler.getEstimatedStartTime(second));
+
+		// The first job takes a second
+		now = 1000;
+		scheduler.release(first);
+		assertEquals(1000, scheduler.getEstimatedRunTime("sim"));
+		assertEquals(1000, scheduler.getEstimatedRunTime("other"));
+		assertEquals(1000, scheduler.getEstimatedStartTime(second));
+
+		// Queue a big job and two small ones behind it
+		JobRequest big = new JobRequest("sim", Arrays.asList("hostA"), 4, 0,
+				starter);
+		JobRequest small = new JobRequest("sim", Arrays.asList("hostA"), 2, 0,
+				starter);
+		JobRequest other = new JobRequest("sim", Arrays.asList("hostA"), 2, 0,
+				starter);
+		scheduler.submit(big);
+		scheduler.submit(small);
+		scheduler.submit(other);
+
+		// The big job starts when the second ends and the small ones share
+		// the host after it
+		now = 1500;
+		Map<JobRequest, Long> estimates = scheduler.getEstimatedStartTimes();
+		assertEquals(Arrays.asList(big, small, other),
+				Arrays.asList(estimates.keySet().toArray()));
+		assertEquals(2000L, (long) estimates.get(big));
+		assertEquals(3000L, (long) estimates.get(small));
+		assertEquals(3000L, (long) estimates.get(other));
+
+		return;
+	}
+
+}
@@ -144,5 +144,14 @@ public class RegistryTester {
 		// Check the values of the entries and make sure they were set
 		assertEquals(value, dc1.getUpdatedValue());
 		assertEquals(value, dc2.getUpdatedValue());
+
+		// Keys are only dispatched again once they are updated
+		dc1.update(key, "Indestructible");
+		registry.dispatch();
+		assertEquals("Indestructible", dc1.getUpdatedValue());
+		registry.updateValue(key, "Stricken");
+		registry.dispatch();
+		assertEquals("Stricken", dc1.getUpdatedValue());
+		assertEquals("Stricken", dc2.getUpdatedValue());
 	}
 }
\ No newline at end of file
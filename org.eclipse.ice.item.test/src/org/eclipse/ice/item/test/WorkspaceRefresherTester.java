@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ice.item.WorkspaceRefresher;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link WorkspaceRefresher}.
+ *
+ * @author Jay Jay Billings
+ */
+public class WorkspaceRefresherTester {
+
+	/**
+	 * This operation checks that requested refreshes are combined and that
+	 * files created outside of the workspace are found once they are
+	 * refreshed.
+	 *
+	 * @throws CoreException
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkRefresh()
+			throws CoreException, IOException, InterruptedException {
+
+		// Local Declarations
+		IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
+		String separator = System.getProperty("file.separator");
+		WorkspaceRefresher refresher = new WorkspaceRefresher();
+
+		// Setup the project
+		IProject project = workspaceRoot
+				.getProject("workspaceRefresherTesterWorkspace");
+		if (!project.exists()) {
+			IProjectDescription desc = ResourcesPlugin.getWorkspace()
+					.newProjectDescription("workspaceRefresherTesterWorkspace");
+			desc.setLocationURI(new File(System.getProperty("user.dir")
+					+ separator + "workspaceRefresherTesterWorkspace").toURI());
+			project.create(desc, null);
+		}
+		if (!project.isOpen()) {
+			project.open(null);
+		}
+		IFolder folder = project.getFolder("jobs");
+		if (!folder.exists()) {
+			folder.create(true, true, null);
+		}
+
+		// Write two files without telling the workspace
+		IFile first = folder.getFile("first.txt");
+		IFile second = folder.getFile("second.txt");
+		new File(folder.getLocation().toOSString(), "first.txt")
+				.createNewFile();
+		new File(folder.getLocation().toOSString(), "second.txt")
+				.createNewFile();
+		assertFalse(first.exists());
+
+		// Refreshing one file right away does not refresh the other
+		assertTrue(refresher.refresh(first, IResource.DEPTH_ZERO));
+		assertTrue(first.exists());
+		assertFalse(second.exists());
+		assertEquals(1, refresher.getRefreshCount());
+
+		// The refresh of the folder covers the refreshes of the file
+		refresher.requestRefresh(second, IResource.DEPTH_ZERO);
+		refresher.requestRefresh(second, IResource.DEPTH_ZERO);
+		refresher.requestRefresh(folder, IResource.DEPTH_ONE);
+		refresher.requestRefresh(second, IResource.DEPTH_ZERO);
+		assertEquals(4, refresher.getRequestCount());
+		assertEquals(3, refresher.getCoalescedCount());
+
+		// Only the folder is refreshed
+		refresher.flush();
+		assertTrue(second.exists());
+		assertEquals(2, refresher.getRefreshCount());
+		assertTrue(refresher.getMaxRefreshTime() <= refresher
+				.getTotalRefreshTime());
+
+		// Requests are also refreshed on their own after a short delay
+		new File(folder.getLocation().toOSString(), "third.txt")
+				.createNewFile();
+		refresher.requestRefresh(folder.getFile("third.txt"),
+				IResource.DEPTH_ZERO);
+		for (int i = 0; i < 50 && !folder.getFile("third.txt").exists(); i++) {
+			Thread.sleep(WorkspaceRefresher.DEBOUNCE_DELAY / 5);
+		}
+		assertTrue(folder.getFile("third.txt").exists());
+
+		// Clean up
+		folder.delete(true, null);
+
+		return;
+	}
+
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item.test.nuclear;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.eclipse.ice.item.nuclear.PostprocessorStore;
+import org.eclipse.ice.item.nuclear.PostprocessorStore.TimeSeries;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the {@link PostprocessorStore}.
+ *
+ * @author Alex McCaskey
+ *
+ */
+public class PostprocessorStoreTester {
+
+	/**
+	 * This operation checks that samples are retained in order and that the
+	 * oldest are dropped when the retention is exceeded.
+	 */
+	@Test
+	public void checkRetention() {
+
+		PostprocessorStore store = new PostprocessorStore(3);
+		assertNull(store.getSeries("temp"));
+
+		// Add more samples than are retained
+		assertTrue(store.add("temp", 0.0, 10.0));
+		assertFalse(store.add("temp", 1.0, 11.0));
+		store.add("temp", 2.0, 12.0);
+		store.add("temp", 3.0, 13.0);
+		store.add("temp", 4.0, 14.0);
+
+		// Check the retained samples
+		TimeSeries series = store.getSeries("temp");
+		assertEquals(3, series.size());
+		assertEquals(5, series.getTotalCount());
+		assertArrayEquals(new double[] { 2.0, 3.0, 4.0 }, series.getTimes(),
+				0.0);
+		assertArrayEquals(new double[] { 12.0, 13.0, 14.0 },
+				series.getValues(), 0.0);
+		assertEquals(14.0, series.getLatestValue(), 0.0);
+
+		// Series grow as samples arrive until the retention is reached
+		store = new PostprocessorStore(40);
+		double[] expected = new double[40];
+		for (int i = 0; i < 100; i++) {
+			store.add("flux", i, 2.0 * i);
+			if (i >= 60) {
+				expected[i - 60] = i;
+			}
+		}
+		series = store.getSeries("flux");
+		assertEquals(40, series.size());
+		assertArrayEquals(expected, series.getTimes(), 0.0);
+		assertEquals(198.0, series.getLatestValue(), 0.0);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that pending samples are drained as CSV rows
+	 * exactly once, even if the retained history wrapped.
+	 */
+	@Test
+	public void checkDrain() {
+
+		PostprocessorStore store = new PostprocessorStore(2);
+		store.add("temp", 0.0, 10.0);
+		store.add("temp", 1.0, 11.0);
+		store.add("temp", 2.0, 12.0);
+		store.add("flux", 0.0, 5.5);
+
+		// Drain the batch
+		Map<String, String> batch = store.drainPending();
+		assertEquals(2, batch.size());
+		assertEquals("0.0,10.0\n1.0,11.0\n2.0,12.0\n", batch.get("temp"));
+		assertEquals("0.0,5.5\n", batch.get("flux"));
+
+		// Nothing is drained twice
+		assertTrue(store.drainPending().isEmpty());
+		store.add("flux", 1.0, 6.5);
+		batch = store.drainPending();
+		assertEquals(1, batch.size());
+		assertEquals("1.0,6.5\n", batch.get("flux"));
+
+		// The history is still there
+		assertEquals(2, store.getSeries("flux").size());
+		assertEquals("temp", store.getNames().get(0));
+
+		return;
+	}
+}
@@ -0,0 +1,568 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class follows files that are being written, such as the standard output
+ * of a running job, and hands the data appended to them to any number of
+ * {@link IFileTailListener}s.
+ *
+ * One thread serves every file. It waits on a {@link WatchService} for changes
+ * to the directories of the followed files and reads the new bytes of a
+ * changed file with positional {@link FileChannel} reads. The bytes are read
+ * once into a buffer that belongs to the file and read-only views of that
+ * buffer are handed to each listener, so the data is not copied for each
+ * listener. The files are also checked every {@link #RESCAN_INTERVAL}
+ * milliseconds, however busy the WatchService is, in case the file system does
+ * not report every change, as is the case for some network file systems. The
+ * directories that could not be watched, for example because they did not
+ * exist yet, are registered again at the same time.
+ *
+ * Each listener receives the whole file, starting from its beginning, even if
+ * it subscribes after other listeners of the same file. A file that does not
+ * exist yet is followed once it is created. If a file is truncated, its
+ * listeners start over from its beginning.
+ *
+ * @author Jay Jay Billings
+ */
+public class FileTailService {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(FileTailService.class);
+
+	/**
+	 * The largest number of bytes read from a file at once.
+	 */
+	public static final int CHUNK_SIZE = 64 * 1024;
+
+	/**
+	 * The time in milliseconds between checks of every file.
+	 */
+	public static final long RESCAN_INTERVAL = 1000;
+
+	/**
+	 * The service shared by all Items.
+	 */
+	private static FileTailService instance;
+
+	/**
+	 * A listener and the position in the file up to which it has received the
+	 * data.
+	 */
+	private static class Subscription {
+
+		/**
+		 * The listener.
+		 */
+		private final IFileTailListener listener;
+
+		/**
+		 * The position of the next byte to hand to the listener.
+		 */
+		private long position = 0;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param tailListener
+		 *            The listener
+		 */
+		private Subscription(IFileTailListener tailListener) {
+			listener = tailListener;
+		}
+	}
+
+	/**
+	 * A file that is followed by the service. It is also the lock for reading
+	 * the file. The lock on the tails is never taken while holding it, so
+	 * listeners may unsubscribe while they are handed data.
+	 */
+	private static class Tail {
+
+		/**
+		 * The file.
+		 */
+		private final File file;
+
+		/**
+		 * The listeners of the file.
+		 */
+		private final List<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+
+		/**
+		 * The channel used to read the file or null if it is not open.
+		 */
+		private FileChannel channel;
+
+		/**
+		 * The buffer into which the file is read.
+		 */
+		private ByteBuffer buffer;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param tailFile
+		 *            The file
+		 */
+		private Tail(File tailFile) {
+			file = tailFile;
+		}
+	}
+
+	/**
+	 * The followed files, keyed by their absolute paths.
+	 */
+	private final Map<Path, Tail> tails = new HashMap<Path, Tail>();
+
+	/**
+	 * The keys of the watched directories.
+	 */
+	private final Map<Path, WatchKey> directories = new HashMap<Path, WatchKey>();
+
+	/**
+	 * The WatchService that reports changes to the directories or null if it
+	 * could not be created.
+	 */
+	private final WatchService watchService;
+
+	/**
+	 * The thread that follows the files.
+	 */
+	private final Thread thread;
+
+	/**
+	 * True while the thread should keep following the files.
+	 */
+	private volatile boolean running = true;
+
+	/**
+	 * The constructor. It starts the thread that follows the files.
+	 */
+	public FileTailService() {
+
+		// Create the watch service. If this fails, the files are still checked
+		// every rescan interval.
+		WatchService service = null;
+		try {
+			service = FileSystems.getDefault().newWatchService();
+		} catch (IOException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+		watchService = service;
+
+		thread = new Thread(this::watch, "ICE File Tail Service");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * This operation returns the service shared by all Items.
+	 *
+	 * @return The service
+	 */
+	public static synchronized FileTailService getInstance() {
+		if (instance == null) {
+			instance = new FileTailService();
+		}
+		return instance;
+	}
+
+	/**
+	 * This operation subscribes a listener to a file. The listener is handed
+	 * everything already in the file on the calling thread and then the data
+	 * that is appended to it on the service thread.
+	 *
+	 * @param file
+	 *            The file
+	 * @param listener
+	 *            The listener
+	 */
+	public void subscribe(File file, IFileTailListener listener) {
+		if (file == null || listener == null) {
+			return;
+		}
+		Path path = getPath(file);
+		Tail tail;
+		synchronized (tails) {
+			tail = tails.get(path);
+			if (tail == null) {
+				tail = new Tail(path.toFile());
+				tails.put(path, tail);
+				watchDirectory(path.getParent());
+			}
+			tail.subscriptions.add(new Subscription(listener));
+		}
+
+		// Catch the new listener up
+		read(tail);
+
+		return;
+	}
+
+	/**
+	 * This operation unsubscribes a listener from a file. The file is no
+	 * longer followed once it has no listeners.
+	 *
+	 * @param file
+	 *            The file
+	 * @param listener
+	 *            The listener
+	 */
+	public void unsubscribe(File file, IFileTailListener listener) {
+		if (file == null) {
+			return;
+		}
+		Path path = getPath(file);
+		Tail tail;
+		synchronized (tails) {
+			tail = tails.get(path);
+			if (tail == null) {
+				return;
+			}
+			tail.subscriptions.removeIf(sub -> sub.listener == listener);
+			if (!tail.subscriptions.isEmpty()) {
+				return;
+			}
+			tails.remove(path);
+
+			// Stop watching the directory if nothing else in it is followed
+			Path directory = path.getParent();
+			boolean used = false;
+			for (Path other : tails.keySet()) {
+				used |= directory != null && directory.equals(other.getParent());
+			}
+			if (!used) {
+				WatchKey key = directories.remove(directory);
+				if (key != null) {
+					key.cancel();
+				}
+			}
+		}
+
+		// Close the file
+		synchronized (tail) {
+			close(tail);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation reads everything that was appended to a file and hands it
+	 * to the file's listeners on the calling thread. It should be called once
+	 * the file is complete so that the listeners have all of the data before
+	 * they unsubscribe.
+	 *
+	 * @param file
+	 *            The file
+	 */
+	public void drain(File file) {
+		Tail tail;
+		synchronized (tails) {
+			tail = (file != null) ? tails.get(getPath(file)) : null;
+		}
+		if (tail != null) {
+			read(tail);
+		}
+	}
+
+	/**
+	 * This operation stops the service and closes the followed files.
+	 */
+	public void shutdown() {
+		running = false;
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+		}
+		thread.interrupt();
+		List<Tail> all;
+		synchronized (tails) {
+			all = new ArrayList<Tail>(tails.values());
+			tails.clear();
+			directories.clear();
+		}
+		for (Tail tail : all) {
+			synchronized (tail) {
+				tail.subscriptions.clear();
+				close(tail);
+			}
+		}
+	}
+
+	/**
+	 * This operation is run by the service thread. It reads the files that the
+	 * WatchService reports as changed and all of the files every rescan
+	 * interval.
+	 */
+	private void watch() {
+		long interval = TimeUnit.MILLISECONDS.toNanos(RESCAN_INTERVAL);
+		long lastRescan = System.nanoTime();
+		while (running) {
+			WatchKey key = null;
+			long wait = lastRescan + interval - System.nanoTime();
+			try {
+				if (watchService != null) {
+					key = watchService.poll(Math.max(wait, 0),
+							TimeUnit.NANOSECONDS);
+				} else if (wait > 0) {
+					Thread.sleep(TimeUnit.NANOSECONDS.toMillis(wait) + 1);
+				}
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				// The service was shut down
+				break;
+			}
+
+			// Check everything if the interval elapsed, whether or not the
+			// WatchService reported anything
+			if (System.nanoTime() - lastRescan >= interval) {
+				rescan();
+				lastRescan = System.nanoTime();
+			}
+			if (key == null) {
+				continue;
+			}
+
+			// Read the changed files
+			Path directory = (Path) key.watchable();
+			boolean overflow = false;
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+					overflow = true;
+				} else {
+					Tail tail;
+					synchronized (tails) {
+						tail = tails
+								.get(directory.resolve((Path) event.context()));
+					}
+					if (tail != null) {
+						read(tail);
+					}
+				}
+			}
+			if (!key.reset()) {
+				// The directory is gone, so watch it again if it comes back
+				synchronized (tails) {
+					directories.remove(directory, key);
+				}
+			}
+
+			// Some events were lost, so check everything
+			if (overflow) {
+				readAll();
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation registers the directories of the followed files that are
+	 * not watched yet with the WatchService and then reads all of the files.
+	 */
+	private void rescan() {
+		synchronized (tails) {
+			for (Path path : tails.keySet()) {
+				watchDirectory(path.getParent());
+			}
+		}
+		readAll();
+	}
+
+	/**
+	 * This operation reads all of the followed files.
+	 */
+	private void readAll() {
+		List<Tail> all;
+		synchronized (tails) {
+			all = new ArrayList<Tail>(tails.values());
+		}
+		for (Tail tail : all) {
+			read(tail);
+		}
+	}
+
+	/**
+	 * This operation reads the data of a file that some of its listeners have
+	 * not received and hands it to them.
+	 *
+	 * @param tail
+	 *            The file
+	 */
+	private void read(Tail tail) {
+		synchronized (tail) {
+			if (tail.subscriptions.isEmpty()) {
+				return;
+			}
+			try {
+				// Open the file if it was just created
+				if (tail.channel == null) {
+					if (!tail.file.exists()) {
+						return;
+					}
+					tail.channel = FileChannel.open(tail.file.toPath(),
+							StandardOpenOption.READ);
+					tail.buffer = ByteBuffer.allocate(CHUNK_SIZE);
+				}
+
+				// Start over if the file was truncated
+				long size = tail.channel.size();
+				long start = getStart(tail);
+				if (size < start) {
+					for (Subscription sub : tail.subscriptions) {
+						sub.position = 0;
+					}
+					start = 0;
+				}
+
+				// Read the new data and hand each listener the part it has
+				// not received
+				while (start < size) {
+					tail.buffer.clear();
+					int count = tail.channel.read(tail.buffer, start);
+					if (count <= 0) {
+						break;
+					}
+					tail.buffer.flip();
+					long end = start + count;
+					for (Subscription sub : tail.subscriptions) {
+						if (sub.position >= start && sub.position < end) {
+							ByteBuffer view = tail.buffer.asReadOnlyBuffer();
+							view.position((int) (sub.position - start));
+							try {
+								sub.listener.dataAppended(tail.file, view);
+							} catch (RuntimeException e) {
+								logger.error(getClass().getName()
+										+ " Exception!", e);
+							}
+							sub.position = end;
+						}
+					}
+					start = getStart(tail);
+				}
+			} catch (IOException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+				close(tail);
+			}
+		}
+	}
+
+	/**
+	 * This operation returns the position of the first byte of a file that
+	 * one of its listeners has not received.
+	 *
+	 * @param tail
+	 *            The file
+	 * @return The position
+	 */
+	private long getStart(Tail tail) {
+		long start = Long.MAX_VALUE;
+		for (Subscription sub : tail.subscriptions) {
+			start = Math.min(start, sub.position);
+		}
+		return start;
+	}
+
+	/**
+	 * This operation closes the channel of a file.
+	 *
+	 * @param tail
+	 *            The file
+	 */
+	private void close(Tail tail) {
+		if (tail.channel != null) {
+			try {
+				tail.channel.close();
+			} catch (IOException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+			tail.channel = null;
+			tail.buffer = null;
+		}
+	}
+
+	/**
+	 * This operation registers a directory with the WatchService if it is not
+	 * already watched. Directories that do not exist are skipped and tried
+	 * again by the next rescan. It must be called while holding the lock on
+	 * the tails.
+	 *
+	 * @param directory
+	 *            The directory
+	 */
+	private void watchDirectory(Path directory) {
+		if (watchService == null || directory == null) {
+			return;
+		}
+		// Forget the key if the directory was deleted since it was registered
+		WatchKey key = directories.get(directory);
+		if (key != null && key.isValid()) {
+			return;
+		}
+		directories.remove(directory);
+		if (!directory.toFile().isDirectory()) {
+			return;
+		}
+		try {
+			directories.put(directory,
+					directory.register(watchService,
+							StandardWatchEventKinds.ENTRY_CREATE,
+							StandardWatchEventKinds.ENTRY_MODIFY));
+		} catch (IOException | ClosedWatchServiceException e) {
+			// The file will still be checked every rescan interval
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+	}
+
+	/**
+	 * This operation returns the absolute, normalized path of a file so that
+	 * it matches the paths reported by the WatchService.
+	 *
+	 * @param file
+	 *            The file
+	 * @return The path
+	 */
+	private Path getPath(File file) {
+		return file.toPath().toAbsolutePath().normalize();
+	}
+
+}
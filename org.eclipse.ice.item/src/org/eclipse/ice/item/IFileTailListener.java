@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+/**
+ * This interface is realized by classes that subscribe to a file with the
+ * {@link FileTailService} to receive the data that is appended to it.
+ *
+ * @author Jay Jay Billings
+ */
+public interface IFileTailListener {
+
+	/**
+	 * This operation hands the listener data that was appended to the file.
+	 * The data is delivered in the order it was written and none of it is
+	 * delivered twice.
+	 *
+	 * The buffer is read-only and is shared with the other listeners of the
+	 * file. It is only valid until this operation returns, so listeners that
+	 * need the data later must copy it.
+	 *
+	 * @param file
+	 *            The file
+	 * @param data
+	 *            The appended data, from the buffer's position to its limit
+	 */
+	public void dataAppended(File file, ByteBuffer data);
+}
@@ -18,6 +18,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URI;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -41,6 +42,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -55,6 +57,7 @@ import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.ICEObject.ListComponent;
 import org.eclipse.ice.datastructures.componentVisitor.IComponentVisitor;
 import org.eclipse.ice.datastructures.componentVisitor.IReactorComponent;
+import org.eclipse.ice.datastructures.entry.AbstractEntry;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.AdaptiveTreeComposite;
 import org.eclipse.ice.datastructures.form.DataComponent;
@@ -117,7 +120,10 @@ import org.slf4j.LoggerFactory;
  * dependency checks to determine if Entries should or should not be notified
  * that their parents have changed or been marked ready. The default
  * implementation of setupForm() will add Entries with parents to the Registry
- * if the Item is loaded from a file, otherwise it will do nothing.
+ * if the Item is loaded from a file, otherwise it will do nothing. The default
+ * review only updates the Registry with the Entries that were modified since
+ * the last review unless the Registry, the Components of the Form or its
+ * Entries were replaced, in which case all of the Entries are reviewed again.
  *
  * The only Actions available to the Item by default are actions to write the
  * Item's Form to an XML file or a "tagged output" where the tags of Entries are
@@ -357,6 +363,55 @@ public class Item
 	 */
 	protected ArrayList<IEntry> entryList;
 
+	/**
+	 * The Registry that was updated by the last review or null if there was no
+	 * review.
+	 */
+	@XmlTransient()
+	private Registry reviewedRegistry;
+
+	/**
+	 * The Components of the Form at the last review.
+	 */
+	@XmlTransient()
+	private ArrayList<Component> reviewedComponents;
+
+	/**
+	 * The DataComponent structure count at the last review.
+	 * 
+	 * @see DataComponent#getStructureChangeCount()
+	 */
+	@XmlTransient()
+	private long reviewedStructureCount;
+
+	/**
+	 * The names of the Entries in the Entry list at the last review, in the
+	 * same order.
+	 */
+	@XmlTransient()
+	private ArrayList<String> reviewedEntryNames;
+
+	/**
+	 * The Entry modification count at the last review. Entries with greater
+	 * modification stamps were changed after the review.
+	 * 
+	 * @see AbstractEntry#getModificationCount()
+	 */
+	@XmlTransient()
+	private long reviewedModificationCount;
+
+	/**
+	 * The time in milliseconds that the last review of the Form took.
+	 */
+	@XmlTransient()
+	private long lastReviewTime;
+
+	/**
+	 * The number of Entries that were reviewed by the last review of the Form.
+	 */
+	@XmlTransient()
+	private int lastReviewedEntryCount;
+
 	/**
 	 * The string that is used to describe the process by which the Item class
 	 * writes the Form in ICE's native XML format.
@@ -948,7 +1003,7 @@ public class Item
 				// Set the status
 				retStatus = FormStatus.Processed;
 			} else if (actionName.equals(taggedExportActionString)) {
-				System.out.println("Executing Tagged Output Writer");
+				logger.debug("Item Message: Executing Tagged Output Writer");
 				// Otherwise write the file to a tagged output if requested -
 				// first create the action
 				action = actionFactory.getAction("Tagged Output Writer");
@@ -959,38 +1014,33 @@ public class Item
 				}
 				// Setup the IFile handle
 				outputFile = project.getFile(filename + ".dat");
-				try {
-					// Setup the dictionary
-					propsDictionary = new Hashtable<String, String>();
-					// Set the output file name
-					propsDictionary.put("iceTaggedOutputFileName",
-							outputFile.getLocationURI().getPath());
-					// Add the key-value pairs
-					for (IEntry i : entryList) {
-						System.out.println("Looping - " + i.getName());
-						// Use tags if they are available
-						if (i.getTag() != null) {
-							System.out.println("Putting in " + i.getTag() + ", " + i.getValue());
-							propsDictionary.put(i.getTag(), i.getValue());
-						} else {
-							// Otherwise just use the Entry's name
-							propsDictionary.put(i.getName(), i.getValue());
-							logger.info("Item Message: Processing value "
-									+ i.getTag() + " = " + i.getValue());
-						}
+				// Setup the dictionary
+				propsDictionary = new Hashtable<String, String>();
+				// Set the output file name
+				propsDictionary.put("iceTaggedOutputFileName",
+						outputFile.getLocationURI().getPath());
+				// Add the key-value pairs
+				for (IEntry i : entryList) {
+					logger.debug("Item Message: Looping - " + i.getName());
+					// Use tags if they are available
+					if (i.getTag() != null) {
+						logger.debug("Item Message: Putting in " + i.getTag() + ", "
+								+ i.getValue());
+						propsDictionary.put(i.getTag(), i.getValue());
+					} else {
+						// Otherwise just use the Entry's name
+						propsDictionary.put(i.getName(), i.getValue());
+						logger.info("Item Message: Processing value "
+								+ i.getTag() + " = " + i.getValue());
 					}
-					// Write the file. This will always overwrite an existing
-					// file
-					retStatus = action.execute(propsDictionary);
-					// Refresh the project space so that the file is added or
-					// updated
-					project.refreshLocal(IResource.DEPTH_ONE, null);
-					// Notify any observers of the change
-					notifyListenersOfProjectChange();
-				} catch (CoreException e) {
-					// TODO Auto-generated catch block
-					logger.error(getClass().getName() + " Exception!", e);
 				}
+				// Write the file. This will always overwrite an existing
+				// file
+				retStatus = action.execute(propsDictionary);
+				// Refresh the file so that it is added or updated
+				refreshResource(outputFile, IResource.DEPTH_ZERO);
+				// Notify any observers of the change
+				notifyListenersOfProjectChange();
 
 			}
 		}
@@ -1152,21 +1202,50 @@ public class Item
 		// Local Declarations
 		FormStatus retStatus = FormStatus.InfoError;
 		boolean updateStatus = true;
-
-		registerUpdateables();
+		long startTime = System.currentTimeMillis();
+		int numReviewed = 0;
+
+		// Take the counts before the review so that anything that changes
+		// during the review is reviewed again next time.
+		long structureCount = DataComponent.getStructureChangeCount();
+		long modificationCount = AbstractEntry.getModificationCount();
+		ArrayList<Component> components = new ArrayList<Component>(
+				form.getComponents());
+
+		// Review everything again if the Registry or the Entries changed
+		boolean reviewAll = !isReviewCurrent(components, structureCount);
+		if (reviewAll) {
+			registerUpdateables();
+		}
 
 		// Update the values of the Entries in the Registry
 		for (IEntry entry : entryList) {
-			if (registry.containsKey(entry.getName())) {
+			if ((reviewAll || isModifiedSinceReview(entry))
+					&& registry.containsKey(entry.getName())) {
 				updateStatus = registry.updateValue(entry.getName(),
 						entry.getValue());
+				numReviewed++;
 			}
 		}
 
 		// Dispatch the updates
 		registry.dispatch();
 
-		logger.info("Item Message: Entries reviewed.");
+		// Remember the review
+		reviewedRegistry = registry;
+		reviewedComponents = components;
+		reviewedStructureCount = structureCount;
+		reviewedEntryNames = new ArrayList<String>(entryList.size());
+		for (IEntry entry : entryList) {
+			reviewedEntryNames.add(entry.getName());
+		}
+		reviewedModificationCount = modificationCount;
+		lastReviewedEntryCount = numReviewed;
+		lastReviewTime = System.currentTimeMillis() - startTime;
+
+		logger.info("Item Message: Entries reviewed. Reviewed " + numReviewed
+				+ " of " + entryList.size() + " Entries of Form "
+				+ form.getId() + " in " + lastReviewTime + " ms.");
 
 		// Set the status
 		if (updateStatus) {
@@ -1176,6 +1255,92 @@ public class Item
 
 	}
 
+	/**
+	 * This operation determines whether the Registry and the list of Entries
+	 * are the ones that were used by the last review, in which case only the
+	 * Entries that were modified since then need to be reviewed.
+	 * 
+	 * @param components
+	 *            The current Components of the Form
+	 * @param structureCount
+	 *            The current DataComponent structure count
+	 * @return True if the last review is still current, false otherwise
+	 */
+	private boolean isReviewCurrent(ArrayList<Component> components,
+			long structureCount) {
+
+		// The Registry must not have been replaced and no Entries may have
+		// been added or removed.
+		if (reviewedRegistry == null || reviewedRegistry != registry
+				|| reviewedStructureCount != structureCount
+				|| reviewedEntryNames.size() != entryList.size()
+				|| reviewedComponents.size() != components.size()) {
+			return false;
+		}
+
+		// The Form must hold the same Components
+		for (int i = 0; i < components.size(); i++) {
+			if (components.get(i) != reviewedComponents.get(i)) {
+				return false;
+			}
+		}
+
+		// The Entries may have been changed without their DataComponents, so
+		// make sure that the list of Entries holds the same Entries under the
+		// same names, since the Registry is keyed by name.
+		int numEntries = 0;
+		for (Component component : componentMap.get("data")) {
+			for (IEntry entry : ((DataComponent) component)
+					.retrieveAllEntries()) {
+				if (numEntries >= entryList.size()
+						|| entryList.get(numEntries) != entry
+						|| !entry.getName()
+								.equals(reviewedEntryNames.get(numEntries))) {
+					return false;
+				}
+				numEntries++;
+			}
+		}
+
+		return numEntries == entryList.size();
+	}
+
+	/**
+	 * This operation determines whether an Entry was modified since the last
+	 * review.
+	 * 
+	 * @param entry
+	 *            The Entry
+	 * @return True if the Entry was modified or if it does not record its
+	 *         modifications, false otherwise
+	 */
+	private boolean isModifiedSinceReview(IEntry entry) {
+		return !(entry instanceof AbstractEntry)
+				|| ((AbstractEntry) entry)
+						.getModificationStamp() > reviewedModificationCount;
+	}
+
+	/**
+	 * This operation returns the time that the last review of the Form by the
+	 * default implementation of reviewEntries() took.
+	 * 
+	 * @return The time in milliseconds
+	 */
+	public long getLastReviewTime() {
+		return lastReviewTime;
+	}
+
+	/**
+	 * This operation returns the number of Entries that were reviewed by the
+	 * last review of the Form by the default implementation of
+	 * reviewEntries().
+	 * 
+	 * @return The number of Entries
+	 */
+	public int getLastReviewedEntryCount() {
+		return lastReviewedEntryCount;
+	}
+
 	/**
 	 * This operation performs dependency matching by registering IUpdateable
 	 * objects with the registry based on values and child names. Subclasses
@@ -1643,20 +1808,90 @@ public class Item
 
 	/**
 	 * This utility method can be used by subclasses to refresh the project
-	 * space after the addition or removal of files and folders.
+	 * space after the addition or removal of files and folders. It refreshes
+	 * every file in the project, which is slow for large projects, so
+	 * subclasses should prefer refreshResource(), refreshLocation() or
+	 * requestRefresh() to refresh only the files and folders they changed.
 	 */
 	protected void refreshProjectSpace() {
 		// Refresh the Project just in case
 		if (project != null) {
-			try {
-				project.refreshLocal(IResource.DEPTH_INFINITE, null);
-			} catch (CoreException e) {
-				logger.error(getClass().getName() + " Exception!", e);
-			}
+			WorkspaceRefresher.getInstance().refresh(project,
+					IResource.DEPTH_INFINITE);
 		}
 		return;
 	}
 
+	/**
+	 * This utility method can be used by subclasses to refresh a file or
+	 * folder that was changed outside of the workspace API. The refresh
+	 * happens right away, so the resource can be used as soon as this
+	 * operation returns.
+	 * 
+	 * @param resource
+	 *            The file or folder. It may be a handle to a resource that the
+	 *            workspace does not know about yet.
+	 * @param depth
+	 *            The depth of the refresh, one of IResource.DEPTH_ZERO,
+	 *            DEPTH_ONE or DEPTH_INFINITE
+	 */
+	protected void refreshResource(IResource resource, int depth) {
+		WorkspaceRefresher.getInstance().refresh(resource, depth);
+	}
+
+	/**
+	 * This utility method refreshes the workspace resources at a location in
+	 * the file system right away. Locations outside of the workspace are
+	 * ignored.
+	 * 
+	 * @param location
+	 *            The absolute path of the file or folder
+	 * @param depth
+	 *            The depth of the refresh, one of IResource.DEPTH_ZERO,
+	 *            DEPTH_ONE or DEPTH_INFINITE
+	 */
+	protected void refreshLocation(String location, int depth) {
+		for (IResource resource : getResourcesForLocation(location)) {
+			refreshResource(resource, depth);
+		}
+	}
+
+	/**
+	 * This utility method can be used by subclasses to ask for a refresh of a
+	 * file or folder when the resource is not needed right away. The refresh
+	 * happens shortly afterward, together with the other requests made in the
+	 * meantime, so that repeated requests only refresh the resource once.
+	 * 
+	 * @param resource
+	 *            The file or folder
+	 * @param depth
+	 *            The depth of the refresh, one of IResource.DEPTH_ZERO,
+	 *            DEPTH_ONE or DEPTH_INFINITE
+	 */
+	protected void requestRefresh(IResource resource, int depth) {
+		WorkspaceRefresher.getInstance().requestRefresh(resource, depth);
+	}
+
+	/**
+	 * This operation returns the workspace resources at a location in the
+	 * file system.
+	 * 
+	 * @param location
+	 *            The absolute path of the file or folder
+	 * @return The resources, which are empty if the location is not in the
+	 *         workspace
+	 */
+	private IResource[] getResourcesForLocation(String location) {
+		if (project == null || location == null) {
+			return new IResource[0];
+		}
+		IWorkspaceRoot root = project.getWorkspace().getRoot();
+		File file = new File(location);
+		URI uri = file.toURI();
+		return file.isDirectory() ? root.findContainersForLocationURI(uri)
+				: root.findFilesForLocationURI(uri);
+	}
+
 	/**
 	 * <p>
 	 * This method is intended to discover and create {@link ICEResource}
@@ -1744,6 +1979,13 @@ public class Item
 	 * are returned as a list of 'file names'. For example, the file
 	 * /path/to/file.txt is returned as file.txt.
 	 * 
+	 * The names are read from the file system, not the workspace. The
+	 * workspace folder for the directory is only scheduled for a refresh with
+	 * requestRefresh(), so it may not know about the files yet when this
+	 * operation returns. Callers that need the workspace resources of the files
+	 * right away should call refreshLocation() on the directory or flush() the
+	 * {@link WorkspaceRefresher} first.
+	 * 
 	 * @param directory
 	 *            The directory where the Item should search for files with the
 	 *            given type
@@ -1759,9 +2001,6 @@ public class Item
 		// Local Declarations
 		ArrayList<String> files = new ArrayList<String>();
 
-		// Refresh the Project just in case
-		refreshProjectSpace();
-
 		// Make sure we were given a valid directory
 		if (Files.isDirectory(Paths.get(directory))) {
 			// Read through the directory searching for files with the
@@ -1774,8 +2013,11 @@ public class Item
 					}
 				}
 
-				// Refresh the Project just in case
-				refreshProjectSpace();
+				// The directory is read from the file system, so the workspace
+				// only needs to catch up eventually
+				for (IResource resource : getResourcesForLocation(directory)) {
+					requestRefresh(resource, IResource.DEPTH_ONE);
+				}
 
 			} catch (IOException ex) {
 				ex.printStackTrace();
@@ -1813,8 +2055,9 @@ public class Item
 				Files.copy(Paths.get(sourceDir + separator + fileName),
 						Paths.get(destinationDir + separator + fileName),
 						StandardCopyOption.REPLACE_EXISTING);
-				// Refresh the Project just in case
-				refreshProjectSpace();
+				// Refresh the copy
+				refreshLocation(destinationDir + separator + fileName,
+						IResource.DEPTH_ZERO);
 			} catch (IOException e) {
 				logger.error(getClass().getName() + " Exception!", e);
 			}
@@ -1847,11 +2090,17 @@ public class Item
 		if (Files.exists(Paths.get(sourceDir + separator + fileName))) {
 			try {
 				// Move the file, this deletes the file in sourceDir.
+				IResource[] sources = getResourcesForLocation(
+						sourceDir + separator + fileName);
 				Files.move(Paths.get(sourceDir + separator + fileName),
 						Paths.get(destinationDir + separator + fileName),
 						StandardCopyOption.REPLACE_EXISTING);
-				// Refresh the Project just in case
-				refreshProjectSpace();
+				// Refresh the old and new locations of the file
+				for (IResource source : sources) {
+					refreshResource(source, IResource.DEPTH_INFINITE);
+				}
+				refreshLocation(destinationDir + separator + fileName,
+						IResource.DEPTH_INFINITE);
 			} catch (IOException e) {
 				logger.error(getClass().getName() + " Exception!", e);
 			}
@@ -1870,6 +2119,8 @@ public class Item
 
 		// Make sure the given absolute path is a directory
 		if (Files.isDirectory(Paths.get(directory))) {
+			// Find the folder in the workspace before it is gone
+			IResource[] folders = getResourcesForLocation(directory);
 			try {
 
 				// Walk the directory tree, deleting all the files it contains.
@@ -1892,8 +2143,10 @@ public class Item
 
 						});
 
-				// Refresh the Project just in case
-				refreshProjectSpace();
+				// Remove the folder from the workspace
+				for (IResource folder : folders) {
+					refreshResource(folder, IResource.DEPTH_INFINITE);
+				}
 			} catch (IOException e) {
 				logger.error(getClass().getName() + " Exception!", e);
 			}
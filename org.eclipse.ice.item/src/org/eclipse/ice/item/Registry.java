@@ -14,6 +14,7 @@ package org.eclipse.ice.item;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 
@@ -24,6 +25,11 @@ import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
  * Registry and it will call their update method when the value of a key is
  * initially set or changed.
  * </p>
+ * <p>
+ * Only the keys that were set, updated or registered against since the last
+ * call to dispatch() are dispatched, so dispatching is cheap when few values
+ * change.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
@@ -47,6 +53,12 @@ public class Registry {
 	 */
 	private HashMap<String, String> keysAndValues;
 
+	/**
+	 * The keys that must be dispatched by the next call to dispatch(), in the
+	 * order in which they were changed.
+	 */
+	private LinkedHashSet<String> changedKeys;
+
 	/**
 	 * <p>
 	 * The constructor.
@@ -55,6 +67,7 @@ public class Registry {
 	public Registry() {
 		keysAndValues = new HashMap<String, String>();
 		keysAndComponents = new HashMap<String, ArrayList<IUpdateable>>();
+		changedKeys = new LinkedHashSet<String>();
 	}
 
 	/**
@@ -102,6 +115,9 @@ public class Registry {
 					|| keysAndValues.containsKey(key);
 		}
 
+		// The new registrant needs the value at the next dispatch
+		changedKeys.add(key);
+
 		return retVal;
 	}
 
@@ -114,14 +130,16 @@ public class Registry {
 	 */
 	public void dispatch() {
 
-		// Loop over all the keys and update the ones that need it.
-		for (String aKey : keysAndValues.keySet()) {
-			// Debug info
+		// Take the changed keys first since updates may change them again
+		ArrayList<String> keys = new ArrayList<String>(changedKeys);
+		changedKeys.clear();
+
+		// Loop over the changed keys and update the ones that need it.
+		for (String aKey : keys) {
 			// Only do the update for keys that have registrants
 			if (keysAndComponents.containsKey(aKey)) {
 				for (IUpdateable registrant : keysAndComponents.get(aKey)) {
 					registrant.update(aKey, keysAndValues.get(aKey));
-					// Debug information
 				}
 			}
 		}
@@ -154,6 +172,7 @@ public class Registry {
 
 		// Set the value against the key
 		keysAndValues.put(key, value);
+		changedKeys.add(key);
 		// Set the return value by making sure it actually made it into the map
 		retVal = keysAndValues.containsKey(key);
 
@@ -209,6 +228,7 @@ public class Registry {
 		// Update the value if it is in the map
 		if (keysAndValues.containsKey(key)) {
 			keysAndValues.put(key, value);
+			changedKeys.add(key);
 			retVal = true;
 		}
 
@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class refreshes parts of the workspace after files were changed outside
+ * of the workspace API. Refreshing a whole project walks every file in it,
+ * which takes seconds on projects that hold many job folders, so Items should
+ * only refresh the files and folders that they touched.
+ *
+ * Resources can be refreshed right away with refresh(), for callers that use
+ * the resources immediately, or with requestRefresh(), which waits
+ * {@link #DEBOUNCE_DELAY} milliseconds and then refreshes everything that was
+ * requested in the meantime in one workspace job. Repeated requests for the
+ * same resource, and requests for resources that are inside a folder that is
+ * already going to be refreshed, are only refreshed once.
+ *
+ * The number of refreshes and the time they took are recorded and the time of
+ * each refresh is logged at the debug level.
+ *
+ * @author Jay Jay Billings
+ */
+public class WorkspaceRefresher {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(WorkspaceRefresher.class);
+
+	/**
+	 * The time in milliseconds that requested refreshes wait for other
+	 * requests.
+	 */
+	public static final long DEBOUNCE_DELAY = 250;
+
+	/**
+	 * The number of nanoseconds in a millisecond.
+	 */
+	private static final long NANOS_PER_MILLI = 1000000;
+
+	/**
+	 * The refresher shared by all Items.
+	 */
+	private static WorkspaceRefresher instance;
+
+	/**
+	 * The resources waiting to be refreshed and the depth of their refresh.
+	 */
+	private final Map<IResource, Integer> pending = new LinkedHashMap<IResource, Integer>();
+
+	/**
+	 * The job that refreshes the pending resources.
+	 */
+	private final WorkspaceJob refreshJob;
+
+	/**
+	 * True if the job was scheduled to refresh the pending resources.
+	 */
+	private boolean scheduled = false;
+
+	/**
+	 * The number of refresh requests.
+	 */
+	private long requestCount = 0;
+
+	/**
+	 * The number of requests that were covered by an earlier request.
+	 */
+	private long coalescedCount = 0;
+
+	/**
+	 * The number of refreshes.
+	 */
+	private long refreshCount = 0;
+
+	/**
+	 * The total time taken by refreshes in nanoseconds.
+	 */
+	private long totalRefreshTime = 0;
+
+	/**
+	 * The longest time taken by a refresh in nanoseconds.
+	 */
+	private long maxRefreshTime = 0;
+
+	/**
+	 * The constructor.
+	 */
+	public WorkspaceRefresher() {
+		refreshJob = new WorkspaceJob("ICE Workspace Refresh") {
+			@Override
+			public IStatus runInWorkspace(IProgressMonitor monitor)
+					throws CoreException {
+				flush();
+				return Status.OK_STATUS;
+			}
+		};
+		refreshJob.setSystem(true);
+	}
+
+	/**
+	 * This operation returns the refresher shared by all Items.
+	 *
+	 * @return The refresher
+	 */
+	public static synchronized WorkspaceRefresher getInstance() {
+		if (instance == null) {
+			instance = new WorkspaceRefresher();
+		}
+		return instance;
+	}
+
+	/**
+	 * This operation refreshes a resource right away. Any pending request that
+	 * this refresh covers is dropped.
+	 *
+	 * @param resource
+	 *            The resource. It may be a handle to a file or folder that the
+	 *            workspace does not know about yet.
+	 * @param depth
+	 *            The depth of the refresh, one of IResource.DEPTH_ZERO,
+	 *            DEPTH_ONE or DEPTH_INFINITE
+	 * @return True if the refresh succeeded, false otherwise
+	 */
+	public boolean refresh(IResource resource, int depth) {
+
+		if (resource == null) {
+			return false;
+		}
+
+		// This refresh makes covered requests unnecessary
+		synchronized (this) {
+			removeCovered(resource, depth);
+		}
+
+		// Refresh the resource and record the time it took
+		long start = System.nanoTime();
+		try {
+			resource.refreshLocal(depth, null);
+		} catch (CoreException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return false;
+		} finally {
+			long time = System.nanoTime() - start;
+			synchronized (this) {
+				refreshCount++;
+				totalRefreshTime += time;
+				maxRefreshTime = Math.max(maxRefreshTime, time);
+			}
+			logger.debug("WorkspaceRefresher Message: Refreshed "
+					+ resource.getFullPath() + " to depth " + depth + " in "
+					+ (time / NANOS_PER_MILLI) + " ms.");
+		}
+
+		return true;
+	}
+
+	/**
+	 * This operation requests a refresh of a resource. The refresh happens on
+	 * a workspace job after {@link #DEBOUNCE_DELAY} milliseconds, together with
+	 * any other requests made in the meantime.
+	 *
+	 * @param resource
+	 *            The resource
+	 * @param depth
+	 *            The depth of the refresh, one of IResource.DEPTH_ZERO,
+	 *            DEPTH_ONE or DEPTH_INFINITE
+	 */
+	public void requestRefresh(IResource resource, int depth) {
+
+		if (resource == null) {
+			return;
+		}
+
+		boolean schedule = false;
+		synchronized (this) {
+			requestCount++;
+			// Skip the request if a pending one already covers it
+			for (Map.Entry<IResource, Integer> entry : pending.entrySet()) {
+				if (covers(entry.getKey(), entry.getValue(), resource, depth)) {
+					coalescedCount++;
+					return;
+				}
+			}
+			// Replace the pending requests that this one covers
+			coalescedCount += removeCovered(resource, depth);
+			pending.put(resource, depth);
+			if (!scheduled) {
+				scheduled = true;
+				schedule = true;
+			}
+		}
+
+		if (schedule) {
+			refreshJob.schedule(DEBOUNCE_DELAY);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation refreshes all of the pending resources right away on the
+	 * calling thread.
+	 */
+	public void flush() {
+
+		Map<IResource, Integer> resources;
+		synchronized (this) {
+			resources = new LinkedHashMap<IResource, Integer>(pending);
+			pending.clear();
+			scheduled = false;
+		}
+
+		for (Map.Entry<IResource, Integer> entry : resources.entrySet()) {
+			refresh(entry.getKey(), entry.getValue());
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns the number of refresh requests.
+	 *
+	 * @return The number of requests
+	 */
+	public synchronized long getRequestCount() {
+		return requestCount;
+	}
+
+	/**
+	 * This operation returns the number of requests that did not need their
+	 * own refresh because another request covered them.
+	 *
+	 * @return The number of coalesced requests
+	 */
+	public synchronized long getCoalescedCount() {
+		return coalescedCount;
+	}
+
+	/**
+	 * This operation returns the number of refreshes that were performed.
+	 *
+	 * @return The number of refreshes
+	 */
+	public synchronized long getRefreshCount() {
+		return refreshCount;
+	}
+
+	/**
+	 * This operation returns the total time taken by refreshes.
+	 *
+	 * @return The time in milliseconds
+	 */
+	public synchronized long getTotalRefreshTime() {
+		return totalRefreshTime / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * This operation returns the longest time taken by a refresh.
+	 *
+	 * @return The time in milliseconds
+	 */
+	public synchronized long getMaxRefreshTime() {
+		return maxRefreshTime / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * This operation removes the pending requests that a refresh covers. The
+	 * caller must hold the lock of the refresher.
+	 *
+	 * @param resource
+	 *            The resource that is refreshed
+	 * @param depth
+	 *            The depth of the refresh
+	 * @return The number of requests removed
+	 */
+	private int removeCovered(IResource resource, int depth) {
+		int removed = 0;
+		Iterator<Map.Entry<IResource, Integer>> iterator = pending.entrySet()
+				.iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<IResource, Integer> entry = iterator.next();
+			if (covers(resource, depth, entry.getKey(), entry.getValue())) {
+				iterator.remove();
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * This operation returns whether refreshing one resource also refreshes
+	 * another.
+	 *
+	 * @param resource
+	 *            The resource that is refreshed
+	 * @param depth
+	 *            The depth of its refresh
+	 * @param other
+	 *            The other resource
+	 * @param otherDepth
+	 *            The depth of the refresh of the other resource
+	 * @return True if the first refresh covers the second
+	 */
+	private boolean covers(IResource resource, int depth, IResource other,
+			int otherDepth) {
+		if (resource.equals(other)) {
+			return depth >= otherDepth;
+		} else if (depth == IResource.DEPTH_INFINITE) {
+			return resource.getFullPath().isPrefixOf(other.getFullPath());
+		} else if (depth == IResource.DEPTH_ONE) {
+			return otherDepth == IResource.DEPTH_ZERO
+					&& resource.getFullPath()
+							.equals(other.getFullPath().removeLastSegments(1));
+		}
+		return false;
+	}
+
+}
@@ -13,6 +13,8 @@
 package org.eclipse.ice.item.action;
 
 import java.util.Dictionary;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -49,6 +51,11 @@ import org.slf4j.LoggerFactory;
  * Actions may update the dictionary passed to execute() at their discretion, so
  * keep in mind that it may change if you depend on it in the client class.
  * 
+ * Subclasses should change their status with setStatus() so that the
+ * registered IActionStatusListeners are notified. This is how clients learn
+ * that an Action that returned FormStatus.Processing from execute() has
+ * finished, without polling getStatus().
+ * 
  * @author Jay Jay Billings, Alex McCaskey
  */
 public abstract class Action {
@@ -102,6 +109,11 @@ public abstract class Action {
 	 */
 	protected FormStatus status;
 
+	/**
+	 * The listeners that are notified when the status changes.
+	 */
+	private final List<IActionStatusListener> statusListeners = new CopyOnWriteArrayList<IActionStatusListener>();
+
 	/**
 	 * This static method initializes the data structures necessary for Eclipse
 	 * Console output for the Action.execute method.
@@ -157,10 +169,47 @@ public abstract class Action {
 		} else {
 			logger.error(errorMessage, exception);
 		}
-		status = FormStatus.InfoError;
+		setStatus(FormStatus.InfoError);
 		return status;
 	}
 
+	/**
+	 * This operation sets the status of the Action and notifies the status
+	 * listeners.
+	 * 
+	 * @param newStatus
+	 *            The new status
+	 */
+	protected void setStatus(FormStatus newStatus) {
+		status = newStatus;
+		for (IActionStatusListener listener : statusListeners) {
+			listener.statusChanged(this, newStatus);
+		}
+	}
+
+	/**
+	 * This operation registers a listener that is notified when the status of
+	 * the Action changes.
+	 * 
+	 * @param listener
+	 *            The listener
+	 */
+	public void addStatusListener(IActionStatusListener listener) {
+		if (listener != null) {
+			statusListeners.add(listener);
+		}
+	}
+
+	/**
+	 * This operation unregisters a status listener.
+	 * 
+	 * @param listener
+	 *            The listener
+	 */
+	public void removeStatusListener(IActionStatusListener listener) {
+		statusListeners.remove(listener);
+	}
+
 	/**
 	 * This operation can be used by subclasses to post text to the Eclipse
 	 * Console.
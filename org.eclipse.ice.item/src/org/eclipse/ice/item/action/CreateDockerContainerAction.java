@@ -50,7 +50,7 @@ public class CreateDockerContainerAction extends RemoteExecutionAction {
 	public CreateDockerContainerAction() {
 		// Initialize the cancelled flag and
 		// the form status.
-		status = FormStatus.ReadyToProcess;
+		setStatus(FormStatus.ReadyToProcess);
 	}
 
 	/*
@@ -73,7 +73,7 @@ public class CreateDockerContainerAction extends RemoteExecutionAction {
 		
 		// Now that we're executing, set the
 		// status to Processing
-		status = FormStatus.Processing;
+		setStatus(FormStatus.Processing);
 		
 		try {
 			dockerClient = new DockerClientFactory().getDockerClient();
@@ -150,7 +150,7 @@ public class CreateDockerContainerAction extends RemoteExecutionAction {
 			}
 			
 		} else {
-			status = FormStatus.InfoError;
+			setStatus(FormStatus.InfoError);
 		}
 
 		return status;
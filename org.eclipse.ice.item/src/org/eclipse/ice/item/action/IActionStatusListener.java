@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item.action;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+
+/**
+ * This interface is implemented by classes that need to know when the status
+ * of an {@link Action} changes, such as the ICEJob that waits for Actions that
+ * finish on their own threads.
+ * 
+ * @author Jay Jay Billings
+ */
+public interface IActionStatusListener {
+
+	/**
+	 * This operation is called when the status of an Action changes. It is
+	 * called on the thread that changed the status, so it should return
+	 * quickly.
+	 * 
+	 * @param action
+	 *            The Action
+	 * @param status
+	 *            The new status of the Action
+	 */
+	public void statusChanged(Action action, FormStatus status);
+
+}
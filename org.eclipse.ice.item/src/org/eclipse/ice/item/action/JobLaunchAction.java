@@ -30,6 +30,7 @@ import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -41,6 +42,8 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
@@ -1221,7 +1224,6 @@ public class JobLaunchAction extends Action implements Runnable {
 		// Local Declarations
 		DataComponent loginInfoComp;
 		IEntry usernameEntry;
-		Thread processThread = new Thread(this);
 		formSubmitted = new AtomicBoolean();
 		formSubmitted.set(true);
 
@@ -1261,8 +1263,13 @@ public class JobLaunchAction extends Action implements Runnable {
 			status = FormStatus.NeedsInfo;
 		}
 
-		// Start the thread
-		processThread.start();
+		// Start the launch on the shared launch threads
+		try {
+			ICEExecutors.execute(Workload.LAUNCH, this);
+		} catch (RejectedExecutionException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			status = FormStatus.InfoError;
+		}
 
 		return status;
 	}
@@ -243,7 +243,7 @@ public class LocalExecutionAction extends Action {
 	public LocalExecutionAction() {
 		// Initialize the cancelled flag and 
 		// the form status.
-		status = FormStatus.ReadyToProcess;
+		setStatus(FormStatus.ReadyToProcess);
 		cancelled = new AtomicBoolean(false);
 	}
 	
@@ -292,16 +292,16 @@ public class LocalExecutionAction extends Action {
 			} catch (IOException e) {
 				// Complain
 				logger.error(getClass().getName() + " Exception!", e);
-				status = FormStatus.InfoError;
+				setStatus(FormStatus.InfoError);
 				return status;
 			}
 
 			// Return successful FormStatus flag.
-			status = FormStatus.Processed;
+			setStatus(FormStatus.Processed);
 			return status;
 		} else {
 			logger.error("Local Execution Error - the input data map was not valid.");
-			status = FormStatus.InfoError;
+			setStatus(FormStatus.InfoError);
 			return status;
 		}
 	}
@@ -359,13 +359,13 @@ public class LocalExecutionAction extends Action {
 				// // Look for still running jobs and watch them
 				// Otherwise something has gone really wrong and the launch
 				// is over.
-				status = FormStatus.InfoError;
+				setStatus(FormStatus.InfoError);
 				return;
 			}
 		}
 
 		// Return the right flag if everything worked
-		status = FormStatus.Processed;
+		setStatus(FormStatus.Processed);
 
 		return;
 	}
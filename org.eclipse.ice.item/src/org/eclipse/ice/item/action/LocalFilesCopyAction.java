@@ -228,7 +228,7 @@ public class LocalFilesCopyAction extends Action {
 
 		// Validate the data
 		if (helper.isDataValid()) {
-			status = FormStatus.Processing;
+			setStatus(FormStatus.Processing);
 			// Get a reference to the IProject and IFolders
 			// for this local execution
 			project = helper.getProject();
@@ -253,7 +253,7 @@ public class LocalFilesCopyAction extends Action {
 						e);
 			}
 			
-			status = FormStatus.Processed;
+			setStatus(FormStatus.Processed);
 			return status;
 		} else {
 			return actionError("Invalid input for Local Files Copy. See class documentation.", null);
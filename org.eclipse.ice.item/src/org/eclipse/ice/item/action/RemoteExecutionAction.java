@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Dictionary;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -25,6 +26,8 @@ import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.remote.core.IRemoteConnection;
@@ -278,15 +281,12 @@ public class RemoteExecutionAction extends RemoteAction implements Runnable {
 
 		// Now that we're executing, set the
 		// status to Processing
-		status = FormStatus.Processing;
+		setStatus(FormStatus.Processing);
 
 		// Initialize the cancelled and submitted booleans
 		cancelled = new AtomicBoolean(false);
 		formSubmitted = new AtomicBoolean(true);
 
-		// Create the Thread to process this remote execution
-		Thread processThread = new Thread(this);
-
 		// Create the ExecutionHelper.
 		helper = new ExecutionHelper(dictionary);
 
@@ -321,8 +321,12 @@ public class RemoteExecutionAction extends RemoteAction implements Runnable {
 						null);
 			}
 
-			// Start the remote execution thread.
-			processThread.start();
+			// Start the remote execution on the shared launch threads.
+			try {
+				ICEExecutors.execute(Workload.LAUNCH, this);
+			} catch (RejectedExecutionException e) {
+				return actionError("Remote Execution Error - too many launches are running.", e);
+			}
 
 			return status;
 		} else {
@@ -350,9 +354,9 @@ public class RemoteExecutionAction extends RemoteAction implements Runnable {
 			formSubmitted.set(true);
 
 			// Set the status
-			status = FormStatus.Processing;
+			setStatus(FormStatus.Processing);
 		} else {
-			status = FormStatus.InfoError;
+			setStatus(FormStatus.InfoError);
 		}
 		return status;
 	}
@@ -424,7 +428,7 @@ public class RemoteExecutionAction extends RemoteAction implements Runnable {
 		}
 
 		// Return successful FormStatus flag.
-		status = FormStatus.Processed;
+		setStatus(FormStatus.Processed);
 		return;
 	}
 
@@ -450,7 +454,7 @@ public class RemoteExecutionAction extends RemoteAction implements Runnable {
 
 			if (cancelled.get()) {
 				logger.info("Remote Execution Action cancelled while waiting for form to be submitted.");
-				status = FormStatus.ReadyToProcess;
+				setStatus(FormStatus.ReadyToProcess);
 				return;
 			}
 		}
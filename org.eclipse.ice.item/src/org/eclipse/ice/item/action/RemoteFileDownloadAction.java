@@ -123,7 +123,7 @@ public class RemoteFileDownloadAction extends RemoteAction {
 
 		// Set the status to Processing since we are 
 		// starting this execution.
-		status = FormStatus.Processing;
+		setStatus(FormStatus.Processing);
 		
 		// Get the remote and local directory
 		String localDir = dictionary.get("localJobLaunchDirectory");
@@ -214,7 +214,7 @@ public class RemoteFileDownloadAction extends RemoteAction {
 			return actionError(getClass().getName() + " Exception! Error in downloading the files.", e);
 		}
 
-		status = FormStatus.Processed;
+		setStatus(FormStatus.Processed);
 		return status;
 	}
 
@@ -157,7 +157,7 @@ public class RemoteFileUploadAction extends RemoteAction {
 
 		// Now that we're executing, set the status 
 		// as Processing 
-		status = FormStatus.Processing;
+		setStatus(FormStatus.Processing);
 		
 		// Get the input parameters we need.
 		String hostName = dictionary.get("hostname");
@@ -291,7 +291,7 @@ public class RemoteFileUploadAction extends RemoteAction {
 
 		// If we make it here, then we've successfully uploaded
 		// the files.
-		status = FormStatus.Processed;
+		setStatus(FormStatus.Processed);
 		return status;
 	}
 
@@ -12,15 +12,29 @@
 package org.eclipse.ice.item.jobLauncher;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.item.action.Action;
+import org.eclipse.ice.item.action.IActionStatusListener;
 import org.eclipse.remote.core.IRemoteConnection;
 import org.eclipse.remote.core.IRemoteConnectionType;
 import org.eclipse.remote.core.IRemoteServicesManager;
@@ -40,6 +54,17 @@ import com.spotify.docker.client.DockerException;
  * The ICEJob is a subclass of the Eclipse Job class that provides a run
  * implementation that executes a list of ICE Actions.
  * 
+ * The Actions may depend on each other. An Action is started as soon as all of
+ * the Actions it depends on have finished, so Actions that do not depend on
+ * each other, such as uploading input files while a container starts, run at
+ * the same time on their own threads. By default, each Action depends on the
+ * one before it in the list, so they run one after the other.
+ * 
+ * The Job learns that an Action which returned FormStatus.Processing from
+ * execute() has finished from the Action's status events. Actions that do not
+ * publish events are still checked periodically. The time taken by each
+ * Action is recorded and is available from getActionTimes().
+ * 
  * @author Alex McCaskey
  *
  */
@@ -50,11 +75,22 @@ public class ICEJob extends Job {
 	 */
 	protected static final Logger logger = LoggerFactory.getLogger(ICEJob.class);
 
+	/**
+	 * The time in milliseconds between checks of the status of an Action that
+	 * is still processing, in case it does not publish status events.
+	 */
+	private static final long STATUS_CHECK_INTERVAL = 1000;
+
 	/**
 	 * The list of Actions to execute
 	 */
 	protected List<Action> actions;
 
+	/**
+	 * The Actions that each Action depends on.
+	 */
+	protected Map<Action, List<Action>> dependencies;
+
 	/**
 	 * The key-value pairs to be used as input to each Action.
 	 */
@@ -63,28 +99,102 @@ public class ICEJob extends Job {
 	/**
 	 * The Form Status produced by the Action executions.
 	 */
-	protected FormStatus status;
+	protected volatile FormStatus status;
 
 	/**
-	 * Reference to the currently executing Action.
+	 * Reference to the most recently started Action.
 	 */
-	protected Action currentlyRunningAction;
+	protected volatile Action currentlyRunningAction;
 
 	/**
-	 * The Constructor.
+	 * The Actions that are running.
+	 */
+	private final Set<Action> runningActions = Collections.synchronizedSet(new HashSet<Action>());
+
+	/**
+	 * The time each finished Action took in milliseconds, in the order they
+	 * finished. It is keyed by the Action itself since several Actions may
+	 * have the same name.
+	 */
+	private final Map<Action, Long> actionTimes = Collections.synchronizedMap(new LinkedHashMap<Action, Long>());
+
+	/**
+	 * The result of an Action that has finished.
+	 */
+	private static class ActionResult {
+
+		/**
+		 * The Action.
+		 */
+		private final Action action;
+
+		/**
+		 * The final status of the Action.
+		 */
+		private final FormStatus status;
+
+		/**
+		 * The exception thrown by the Action, if any.
+		 */
+		private final Exception exception;
+
+		/**
+		 * The constructor.
+		 * 
+		 * @param finishedAction
+		 *            The Action
+		 * @param finalStatus
+		 *            The final status of the Action
+		 * @param thrown
+		 *            The exception thrown by the Action or null
+		 */
+		private ActionResult(Action finishedAction, FormStatus finalStatus, Exception thrown) {
+			action = finishedAction;
+			status = finalStatus;
+			exception = thrown;
+		}
+	}
+
+	/**
+	 * The Constructor. The Actions are executed one after the other.
 	 * 
 	 * @param actionsToExecute
 	 *            The list of Actions to execute in this Job
 	 * @param map
 	 *            The map of input parameters for each Action
-	 * @param jobStatus
-	 *            The reference to the FormStatus to update.
 	 */
 	public ICEJob(List<Action> actionsToExecute, Dictionary<String, String> map) {
+		this(actionsToExecute, null, map);
+	}
+
+	/**
+	 * The Constructor.
+	 * 
+	 * @param actionsToExecute
+	 *            The list of Actions to execute in this Job
+	 * @param actionDependencies
+	 *            The Actions that each Action depends on. Actions that are not
+	 *            keys in the map do not depend on any other Action. If the map
+	 *            is null, each Action depends on the one before it in the list.
+	 * @param map
+	 *            The map of input parameters for each Action
+	 */
+	public ICEJob(List<Action> actionsToExecute, Map<Action, List<Action>> actionDependencies,
+			Dictionary<String, String> map) {
 		super("ICE Job Launch");
 		actions = actionsToExecute;
 		actionDataMap = map;
 		status = FormStatus.Processing;
+
+		// Chain the Actions if there are no dependencies
+		if (actionDependencies == null) {
+			dependencies = new HashMap<Action, List<Action>>();
+			for (int i = 1; i < actions.size(); i++) {
+				dependencies.put(actions.get(i), Collections.singletonList(actions.get(i - 1)));
+			}
+		} else {
+			dependencies = actionDependencies;
+		}
 	}
 
 	/*
@@ -96,51 +206,112 @@ public class ICEJob extends Job {
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
 		final int ticks = 100;
-		int worked = 0;
 		monitor.beginTask("Executing the Job Launch Action...", ticks);
 		status = FormStatus.Processing;
+		actionTimes.clear();
 
 		// Clear any existing Eclipse Console content
 		Action.clearConsole();
 
-		// Execute the Actions
+		// Count the unfinished dependencies of each Action and find the
+		// Actions that depend on it
+		Map<Action, Integer> waitingOn = new HashMap<Action, Integer>();
+		Map<Action, List<Action>> dependents = new HashMap<Action, List<Action>>();
+		List<Action> ready = new ArrayList<Action>();
 		for (Action action : actions) {
-			// Get a reference to the Current Action
-			currentlyRunningAction = action;
-			monitor.subTask("Executing " + currentlyRunningAction.getActionName() + "...");
-
-			// Execute the Action
-			FormStatus tempStatus = currentlyRunningAction.execute(actionDataMap);
+			List<Action> required = dependencies.get(action);
+			int count = 0;
+			if (required != null) {
+				for (Action requiredAction : required) {
+					if (!actions.contains(requiredAction)) {
+						return error("The " + action.getActionName() + " Action depends on an Action that is not "
+								+ "part of the Job.", null);
+					}
+					List<Action> list = dependents.get(requiredAction);
+					if (list == null) {
+						list = new ArrayList<Action>();
+						dependents.put(requiredAction, list);
+					}
+					list.add(action);
+					count++;
+				}
+			}
+			waitingOn.put(action, count);
+			if (count == 0) {
+				ready.add(action);
+			}
+		}
+		if (ready.isEmpty() && !actions.isEmpty()) {
+			return error("The Job's Actions depend on each other in a cycle.", null);
+		}
 
-			// If the Action returned with an InfoError status,
-			// then we need to report that and throw an Error
-			// Eclipse Status
-			if (tempStatus.equals(FormStatus.InfoError)) {
-				return error("Error in executing the " + action.getActionName() + " Action.", null);
+		// Run the Actions as they become ready
+		final LinkedBlockingQueue<ActionResult> finished = new LinkedBlockingQueue<ActionResult>();
+		int remaining = actions.size();
+		int running = 0;
+		while (remaining > 0) {
+			// Start everything that is ready on the shared launch threads
+			for (final Action action : ready) {
+				currentlyRunningAction = action;
+				runningActions.add(action);
+				monitor.subTask("Executing " + action.getActionName() + "...");
+				try {
+					ICEExecutors.execute(Workload.LAUNCH, () -> finished.add(executeAction(action)));
+				} catch (RejectedExecutionException e) {
+					runningActions.remove(action);
+					cancelRunningActions();
+					return error("Unable to start the " + action.getActionName() + " Action.", e);
+				}
+				running++;
 			}
+			ready.clear();
 
-			// Check for Eclipse Job cancellations.
-			if (monitor.isCanceled()) {
-				currentlyRunningAction.cancel();
-				status = FormStatus.Processed;
-				return Status.CANCEL_STATUS;
+			// Check for cycles among the Actions that remain
+			if (running == 0) {
+				return error("The Job's Actions depend on each other in a cycle.", null);
 			}
 
-			// If the Action is still processing, then
-			// lets just wait until its done.
-			while (tempStatus.equals(FormStatus.Processing)) {
+			// Wait for an Action to finish, checking for cancellations
+			ActionResult result = null;
+			while (result == null) {
+				if (monitor.isCanceled()) {
+					cancelRunningActions();
+					status = FormStatus.Processed;
+					return Status.CANCEL_STATUS;
+				}
 				try {
-					Thread.sleep(100);
-				} catch (InterruptedException e1) {
-					// Complain
-					return error("Error in executing the " + action.getActionName() + " Action.", e1);
+					result = finished.poll(100, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					cancelRunningActions();
+					return error("Interrupted while executing the Job's Actions.", e);
 				}
-				tempStatus = currentlyRunningAction.getStatus();
+			}
+			running--;
+			remaining--;
+			runningActions.remove(result.action);
+
+			// If the Action returned with an InfoError status, then we
+			// need to report that and throw an Error Eclipse Status
+			if (result.exception != null || FormStatus.InfoError.equals(result.status)) {
+				cancelRunningActions();
+				return error("Error in executing the " + result.action.getActionName() + " Action.",
+						result.exception);
 			}
 
 			// Increment the worked ticker
-			worked += ticks / actions.size();
-			monitor.worked(worked);
+			monitor.worked(ticks / actions.size());
+
+			// Release the Actions that were waiting on this one
+			List<Action> released = dependents.get(result.action);
+			if (released != null) {
+				for (Action action : released) {
+					int count = waitingOn.get(action) - 1;
+					waitingOn.put(action, count);
+					if (count == 0) {
+						ready.add(action);
+					}
+				}
+			}
 		}
 
 		// Once done executing all Actions, indicate
@@ -157,6 +328,67 @@ public class ICEJob extends Job {
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * This operation executes an Action and, if it is still processing when
+	 * execute() returns, waits until it is done. It also records the time the
+	 * Action took.
+	 * 
+	 * @param action
+	 *            The Action
+	 * @return The result of the Action
+	 */
+	private ActionResult executeAction(Action action) {
+
+		// Release the latch when the Action stops processing
+		final CountDownLatch done = new CountDownLatch(1);
+		IActionStatusListener listener = new IActionStatusListener() {
+			@Override
+			public void statusChanged(Action changedAction, FormStatus newStatus) {
+				if (!FormStatus.Processing.equals(newStatus)) {
+					done.countDown();
+				}
+			}
+		};
+
+		long start = System.nanoTime();
+		FormStatus actionStatus = null;
+		action.addStatusListener(listener);
+		try {
+			// Execute the Action
+			actionStatus = action.execute(actionDataMap);
+
+			// If the Action is still processing, wait until it is done.
+			// Actions that do not publish events are checked periodically.
+			while (FormStatus.Processing.equals(actionStatus)) {
+				done.await(STATUS_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+				actionStatus = action.getStatus();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new ActionResult(action, FormStatus.InfoError, e);
+		} catch (RuntimeException e) {
+			return new ActionResult(action, FormStatus.InfoError, e);
+		} finally {
+			action.removeStatusListener(listener);
+			long elapsed = (System.nanoTime() - start) / 1000000;
+			actionTimes.put(action, elapsed);
+			logger.info("ICEJob Message: " + action.getActionName() + " finished in " + elapsed + " ms.");
+		}
+
+		return new ActionResult(action, actionStatus, null);
+	}
+
+	/**
+	 * This operation cancels all of the Actions that are running.
+	 */
+	private void cancelRunningActions() {
+		synchronized (runningActions) {
+			for (Action action : runningActions) {
+				action.cancel();
+			}
+		}
+	}
+
 	/**
 	 * This private utility method cleans up the docker 
 	 * container used in this launch, and removes the 
@@ -221,7 +453,7 @@ public class ICEJob extends Job {
 	}
 
 	/**
-	 * Return the currently executing Action.
+	 * Return the most recently started Action.
 	 * 
 	 * @return
 	 */
@@ -229,6 +461,29 @@ public class ICEJob extends Job {
 		return currentlyRunningAction;
 	}
 
+	/**
+	 * Return the Actions that are running.
+	 * 
+	 * @return A copy of the set of running Actions
+	 */
+	public Set<Action> getRunningActions() {
+		synchronized (runningActions) {
+			return new HashSet<Action>(runningActions);
+		}
+	}
+
+	/**
+	 * Return the time each finished Action took, keyed by the Action, in the
+	 * order the Actions finished.
+	 * 
+	 * @return A copy of the times in milliseconds
+	 */
+	public Map<Action, Long> getActionTimes() {
+		synchronized (actionTimes) {
+			return new LinkedHashMap<Action, Long>(actionTimes);
+		}
+	}
+
 	/**
 	 * This operation cancels this Job from the Eclipse and ICE perspectives.
 	 * 
@@ -238,8 +493,18 @@ public class ICEJob extends Job {
 		// Cancel this Job
 		cancel();
 
-		// Cancel the Action.
-		return currentlyRunningAction.cancel();
+		// Cancel the Actions.
+		FormStatus cancelStatus = FormStatus.ReadyToProcess;
+		synchronized (runningActions) {
+			for (Action action : runningActions) {
+				cancelStatus = action.cancel();
+			}
+		}
+		if (runningActions.isEmpty() && currentlyRunningAction != null) {
+			cancelStatus = currentlyRunningAction.cancel();
+		}
+
+		return cancelStatus;
 	}
 
 	/**
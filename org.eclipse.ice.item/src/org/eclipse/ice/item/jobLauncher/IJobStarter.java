@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item.jobLauncher;
+
+/**
+ * This interface is implemented by the code that actually launches a job once
+ * the {@link JobScheduler} has picked a host for it.
+ *
+ * @author Jay Jay Billings
+ */
+public interface IJobStarter {
+
+	/**
+	 * This operation launches a job on the host that the scheduler picked. It
+	 * is called without any scheduler locks held, either by the thread that
+	 * submitted the request or by the thread that released the resources the
+	 * job was waiting for. The resources on the host stay reserved until
+	 * {@link JobScheduler#release(JobRequest)} is called for the request.
+	 *
+	 * @param request
+	 *            The request that was scheduled
+	 * @param hostname
+	 *            The name of the host on which the job should run
+	 * @return True if the job was launched, false if it could not be. The
+	 *         scheduler frees the resources of a job that could not be
+	 *         launched.
+	 */
+	public boolean start(JobRequest request, String hostname);
+
+}
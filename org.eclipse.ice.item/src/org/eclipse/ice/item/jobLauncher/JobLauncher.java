@@ -12,15 +12,16 @@
  *******************************************************************************/
 package org.eclipse.ice.item.jobLauncher;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,6 +30,7 @@ import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
@@ -40,6 +42,8 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 import org.eclipse.ice.datastructures.entry.FileEntry;
 import org.eclipse.ice.datastructures.entry.IEntry;
@@ -50,7 +54,9 @@ import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.datastructures.form.ResourceComponent;
 import org.eclipse.ice.datastructures.form.TableComponent;
 import org.eclipse.ice.datastructures.resource.ICEResource;
+import org.eclipse.ice.item.FileTailService;
 import org.eclipse.ice.item.IActionFactory;
+import org.eclipse.ice.item.IFileTailListener;
 import org.eclipse.ice.item.Item;
 import org.eclipse.ice.item.ItemType;
 import org.eclipse.ice.item.action.Action;
@@ -244,6 +250,12 @@ public class JobLauncher extends Item {
 	@XmlTransient()
 	private ICEJob launchJob;
 
+	/**
+	 * The request for the last launch that was submitted to the JobScheduler.
+	 */
+	@XmlTransient()
+	private JobRequest launchRequest;
+
 	/**
 	 * Reference to the job IFolder containing the job launch files.
 	 */
@@ -261,7 +273,145 @@ public class JobLauncher extends Item {
 	 * this Job Launch.
 	 */
 	@XmlTransient()
-	private File processOutput;
+	private volatile File processOutput;
+
+	/**
+	 * The channel to which the stdout and stderr of the current launch are
+	 * copied. It writes to the processOutput file.
+	 */
+	@XmlTransient()
+	private FileChannel outputChannel;
+
+	/**
+	 * The listener that copies the stdout and stderr of the current launch
+	 * into the outputChannel.
+	 */
+	@XmlTransient()
+	private LineCopier outputCopier;
+
+	/**
+	 * This class copies the data appended to the stdout and stderr files into
+	 * an output channel one line at a time, so that the lines of the two files
+	 * are never mixed. The bytes after the last end of line of a file are held
+	 * back until the line is complete, the held back bytes grow larger than
+	 * {@link FileTailService#CHUNK_SIZE} or the output is finished. The
+	 * channel is the lock for writing to it.
+	 * 
+	 * @author Jay Jay Billings
+	 */
+	private class LineCopier implements IFileTailListener {
+
+		/**
+		 * The channel to which the lines are written.
+		 */
+		private final FileChannel channel;
+
+		/**
+		 * The bytes of the incomplete last line of each file.
+		 */
+		private final Map<File, ByteArrayOutputStream> partialLines = new HashMap<File, ByteArrayOutputStream>();
+
+		/**
+		 * The constructor.
+		 * 
+		 * @param outputChannel
+		 *            The channel to which the lines are written
+		 */
+		private LineCopier(FileChannel outputChannel) {
+			channel = outputChannel;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see org.eclipse.ice.item.IFileTailListener#dataAppended(java.io.File,
+		 * java.nio.ByteBuffer)
+		 */
+		@Override
+		public void dataAppended(File file, ByteBuffer data) {
+
+			// Find the end of the last complete line
+			int end = -1;
+			for (int i = data.limit() - 1; end < 0 && i >= data.position(); i--) {
+				if (data.get(i) == '\n') {
+					end = i + 1;
+				}
+			}
+
+			synchronized (channel) {
+				ByteArrayOutputStream partial = partialLines.get(file);
+				if (partial == null) {
+					partial = new ByteArrayOutputStream();
+					partialLines.put(file, partial);
+				}
+				try {
+					// Write the complete lines, starting with the part that
+					// was held back
+					if (end >= 0) {
+						writePartial(partial);
+						ByteBuffer lines = data.duplicate();
+						lines.limit(end);
+						write(lines);
+						data.position(end);
+					}
+					// Hold back the rest of the data
+					byte[] rest = new byte[data.remaining()];
+					data.get(rest);
+					partial.write(rest, 0, rest.length);
+					if (partial.size() > FileTailService.CHUNK_SIZE) {
+						writePartial(partial);
+					}
+				} catch (IOException e) {
+					logger.error(JobLauncher.this.getClass().getName() + " Exception!", e);
+				}
+			}
+		}
+
+		/**
+		 * This operation writes the bytes that were held back for every file.
+		 * It should be called once the files are complete.
+		 * 
+		 * @throws IOException
+		 */
+		private void flush() throws IOException {
+			synchronized (channel) {
+				for (ByteArrayOutputStream partial : partialLines.values()) {
+					writePartial(partial);
+				}
+			}
+		}
+
+		/**
+		 * This operation writes the bytes that were held back for a file and
+		 * forgets them. It must be called while holding the lock on the
+		 * channel.
+		 * 
+		 * @param partial
+		 *            The bytes that were held back
+		 * @throws IOException
+		 */
+		private void writePartial(ByteArrayOutputStream partial)
+				throws IOException {
+			if (partial.size() > 0) {
+				write(ByteBuffer.wrap(partial.toByteArray()));
+				partial.reset();
+			}
+		}
+
+		/**
+		 * This operation writes all of the bytes in a buffer to the channel.
+		 * It must be called while holding the lock on the channel.
+		 * 
+		 * @param bytes
+		 *            The bytes
+		 * @throws IOException
+		 */
+		private void write(ByteBuffer bytes) throws IOException {
+			while (bytes.hasRemaining()) {
+				channel.write(bytes);
+			}
+		}
+	}
 
 	/**
 	 * This is a utility class used to describe a type of file by the
@@ -489,8 +639,8 @@ public class JobLauncher extends Item {
 		String separator = System.getProperty("file.separator");
 
 		try {
-			// Refresh the project space
-			project.refreshLocal(IResource.DEPTH_INFINITE, null);
+			// Refresh the job folder
+			refreshResource(currentJobFolder, IResource.DEPTH_INFINITE);
 
 			IResource[] latestMembers = currentJobFolder.members();
 			// Get the names of the current resources
@@ -777,6 +927,9 @@ public class JobLauncher extends Item {
 		IEntry entry1 = new StringEntry();
 		IEntry entry2 = new StringEntry();
 		IEntry entry3 = new StringEntry();
+		IEntry entry4 = new StringEntry();
+		IEntry entry5 = new StringEntry();
+		IEntry entry6 = new StringEntry();
 
 		// Initialize the host and input lists
 		hosts = new ArrayList<String>();
@@ -795,10 +948,19 @@ public class JobLauncher extends Item {
 		entry1.setName("Hostnames");
 		entry2.setName("Operating Systems");
 		entry3.setName("Execution Path");
+		entry4.setName("Cores");
+		entry4.setDescription("The number of cores on the host. Leave it empty if it is not known.");
+		entry5.setName("Memory (MB)");
+		entry5.setDescription("The memory of the host in megabytes. Leave it empty if it is not known.");
+		entry6.setName("Maximum Jobs");
+		entry6.setDescription("The number of jobs that may run on the host at once. Leave it empty for no limit.");
 		// Add the Entries to the the array list of column names
 		columnNames.add(entry1);
 		columnNames.add(entry2);
 		columnNames.add(entry3);
+		columnNames.add(entry4);
+		columnNames.add(entry5);
+		columnNames.add(entry6);
 		// Set the row template
 		hostsTable.setRowTemplate(columnNames);
 
@@ -894,6 +1056,12 @@ public class JobLauncher extends Item {
 	 * Job Launch. Subclasses can override this getActions method to provide a 
 	 * custom set of Actions to perform the Job Launch. 
 	 * </p>
+	 * <p>
+	 * The launch is handed to the JobScheduler, which places it on the least
+	 * loaded of the selected hosts that has room for it. If none of them has
+	 * room, the launch waits in the scheduler's queue and the status stays
+	 * Processing until it is started.
+	 * </p>
 	 * 
 	 * @param actionName
 	 *            <p>
@@ -909,7 +1077,6 @@ public class JobLauncher extends Item {
 
 		// Local Declarations
 		FormStatus localStatus = FormStatus.InfoError;
-		List<Action> actionList = new ArrayList<Action>();
 
 		// Only process the job if the Item is enabled
 		if (isEnabled()) {
@@ -931,55 +1098,35 @@ public class JobLauncher extends Item {
 					return FormStatus.InfoError;
 				}
 
-				// Get a reference to the local IFolder for this job launch
-				currentJobFolder = createLocalJobLaunchFolder();
-				if (currentJobFolder == null || !currentJobFolder.exists()) {
-					logger.error("Could not create a valid local job launch IFolder reference.");
+				// Ask the JobScheduler for a host. The job is launched right
+				// away if one of the hosts has room for it and queued if not.
+				// The output file of the last launch is not reported until this
+				// launch starts and creates its own.
+				processOutput = null;
+				final Dictionary<String, String> launchData = actionDataMap;
+				JobRequest request = createJobRequest(
+						(jobRequest, hostname) -> launch(jobRequest, hostname, launchData));
+				launchRequest = request;
+				status = FormStatus.Processing;
+				if (request == null || !JobScheduler.getInstance().submit(request)) {
+					logger.error("JobLauncher Error - No host can run the job.");
 					status = FormStatus.InfoError;
 					return status;
 				}
 
-				// Refresh the IProject since we just made a new IFolder
-				refreshProjectSpace();
-
-				// Create the output files in the project space
-				createOutputFiles();
-
-				// Get the Actions that should be executed for 
-				// this Job Launch
-				actionList = getActions();
-				
-				// If any of those Actions were null, then we have a problem
-				if (actionList == null || actionList.contains(null)) {
-					logger.error("Invalid Job Launch Actions.");
-					return FormStatus.InfoError;
+				if (JobRequest.State.Queued.equals(request.getState())) {
+					logger.info("JobLauncher Message: The job is queued until one of the hosts "
+							+ request.getHosts() + " has room for it.");
+				} else {
+					// Sleep the thread for a second to give
+					// the Action time to do its thing
+					try {
+						Thread.sleep(1000);
+					} catch (InterruptedException e) {
+						logger.error(getClass().getName() + " Exception!", e);
+					}
 				}
 
-				// Create the Eclipse Job for this Job Launch!
-				launchJob = createICEJob(actionList);
-
-				// Schedule it for execution,
-				// Give the Item a little time to
-				// return the Processing status
-				launchJob.schedule();
-
-				// Set the status to Processing
-				status = FormStatus.Processing;
-
-				// Invoke the output streaming thread
-				writeOutputData();
-
-				// Monitor the Action's status
-				monitorActionStatus();
-				
-				// Sleep the thread for a second to give
-				// the Action time to do its thing
-				try {
-					Thread.sleep(1000);
-				} catch (InterruptedException e) {
-					logger.error(getClass().getName() + " Exception!", e);
-				}
-			
 				// Return the new status
 				return status;
 
@@ -995,50 +1142,268 @@ public class JobLauncher extends Item {
 		}
 	}
 
+	/**
+	 * This operation launches the job on the host picked by the JobScheduler.
+	 * It creates the job folder, the output files and the ICEJob and schedules
+	 * the ICEJob. The resources reserved on the host are released once the
+	 * ICEJob is done.
+	 * 
+	 * @param request
+	 *            The request that was scheduled
+	 * @param hostname
+	 *            The host on which the job should run
+	 * @param launchData
+	 *            The action data map of the launch
+	 * @return True if the ICEJob was scheduled, false otherwise
+	 */
+	private boolean launch(final JobRequest request, String hostname, Dictionary<String, String> launchData) {
+
+		// Point the action data map at the picked host
+		actionDataMap = launchData;
+		ArrayList<IEntry> hostRow = getHostRow(hostname);
+		if (hostRow != null) {
+			actionDataMap.put("hostname", hostname);
+			actionDataMap.put("os", hostRow.get(1).getValue());
+			actionDataMap.put("installDir", hostRow.get(2).getValue());
+		}
+
+		// Get a reference to the local IFolder for this job launch
+		currentJobFolder = createLocalJobLaunchFolder();
+		if (currentJobFolder == null || !currentJobFolder.exists()) {
+			logger.error("Could not create a valid local job launch IFolder reference.");
+			status = FormStatus.InfoError;
+			return false;
+		}
+
+		// Refresh the new IFolder
+		refreshResource(currentJobFolder, IResource.DEPTH_ONE);
+
+		// Create the output files in the project space
+		createOutputFiles();
+
+		// Get the Actions that should be executed for
+		// this Job Launch
+		List<Action> actionList = getActions();
+
+		// If any of those Actions were null, then we have a problem
+		if (actionList == null || actionList.contains(null)) {
+			logger.error("Invalid Job Launch Actions.");
+			status = FormStatus.InfoError;
+			return false;
+		}
+
+		// Create the Eclipse Job for this Job Launch!
+		final ICEJob job = createICEJob(actionList);
+		launchJob = job;
+
+		// Point the Item at any Action that needs more information
+		for (Action jobAction : actionList) {
+			jobAction.addStatusListener((changedAction, actionStatus) -> {
+				if (FormStatus.NeedsInfo.equals(actionStatus)) {
+					action = changedAction;
+				}
+			});
+		}
+
+		// Set the status to Processing and start streaming the output
+		status = FormStatus.Processing;
+		writeOutputData();
+
+		// Finish the output, pick up the final status of the Job and free
+		// the host when it is done
+		job.addJobChangeListener(new JobChangeAdapter() {
+			@Override
+			public void done(IJobChangeEvent event) {
+				finishOutputData(job);
+				// A Job canceled before it ran is still Processing
+				FormStatus jobStatus = job.getStatus();
+				status = FormStatus.Processing.equals(jobStatus) ? FormStatus.Processed : jobStatus;
+				JobScheduler.getInstance().release(request);
+			}
+		});
+
+		// Schedule it for execution
+		job.schedule();
+
+		return true;
+	}
+
+	/**
+	 * This operation creates the request that is submitted to the JobScheduler
+	 * for a launch. The job may run on any of the selected rows of the hosts
+	 * table, or on the first row if none are selected. It needs the number of
+	 * MPI processes times the larger of the number of OpenMP and TBB threads
+	 * in cores. The capacity of each host in the table is passed on to the
+	 * scheduler. Subclasses can override this operation to ask for memory or
+	 * to pick the hosts differently.
+	 * 
+	 * @param starter
+	 *            The starter that launches the job once it has a host
+	 * @return The request or null if the hosts table is empty
+	 */
+	protected JobRequest createJobRequest(IJobStarter starter) {
+
+		// Local Declarations
+		List<String> hostnames = new ArrayList<String>();
+		int numThreads = 1;
+		int numProcs = Integer.parseInt(actionDataMap.get("numProcs"));
+		JobScheduler scheduler = JobScheduler.getInstance();
+
+		// Get the hosts from the selected rows of the table
+		ArrayList<Integer> rowIds = hostsTable.getSelectedRows();
+		if (rowIds == null) {
+			rowIds = new ArrayList<Integer>();
+			if (hostsTable.numberOfRows() > 0) {
+				rowIds.add(hostsTable.getRowIds().get(0));
+			}
+		}
+		for (int rowId : rowIds) {
+			ArrayList<IEntry> row = hostsTable.getRow(rowId);
+			if (row == null) {
+				continue;
+			}
+			String hostname = row.get(0).getValue();
+			// Describe the host to the scheduler. Capacities that are not in
+			// the table are not limited, even on the local host, so launches
+			// that oversubscribe it run as they always have.
+			scheduler.setHost(hostname, (int) getHostCapacity(row, 3, 0), getHostCapacity(row, 4, 0),
+					(int) getHostCapacity(row, 5, 0));
+			hostnames.add(hostname);
+		}
+		if (hostnames.isEmpty()) {
+			return null;
+		}
+
+		// Each process needs a core for each of its threads
+		DataComponent parallelData = (DataComponent) form.getComponent(JobLauncherForm.parallelId);
+		if (parallelData != null) {
+			IEntry openMPEntry = parallelData.retrieveEntry("Number of OpenMP Threads");
+			if (openMPEntry != null) {
+				numThreads = Math.max(numThreads, Integer.parseInt(openMPEntry.getValue()));
+			}
+		}
+		numThreads = Math.max(numThreads, Integer.parseInt(actionDataMap.get("numTBBThreads")));
+
+		String jobName = (executableCommandName != null) ? executableCommandName : getName();
+		return new JobRequest(jobName, hostnames, numProcs * numThreads, 0, starter);
+	}
+
+	/**
+	 * This operation reads a capacity from a row of the hosts table.
+	 * 
+	 * @param row
+	 *            The row
+	 * @param column
+	 *            The column of the capacity
+	 * @param defaultValue
+	 *            The value to use if the capacity is empty or invalid
+	 * @return The capacity
+	 */
+	private long getHostCapacity(ArrayList<IEntry> row, int column, long defaultValue) {
+		// Rows from older tables may not have the column
+		if (row.size() > column) {
+			String value = row.get(column).getValue();
+			if (value != null && !value.trim().isEmpty()) {
+				try {
+					return Long.parseLong(value.trim());
+				} catch (NumberFormatException e) {
+					logger.error("JobLauncher Error: Invalid host capacity " + value + ".");
+				}
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * This operation returns the row of the hosts table for a host.
+	 * 
+	 * @param hostname
+	 *            The hostname
+	 * @return The row or null if the host is not in the table
+	 */
+	private ArrayList<IEntry> getHostRow(String hostname) {
+		for (int rowId : hostsTable.getRowIds()) {
+			ArrayList<IEntry> row = hostsTable.getRow(rowId);
+			if (row != null && row.get(0).getValue().equals(hostname)) {
+				return row;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * This operation returns the time at which the last launch is expected to
+	 * start, as estimated by the JobScheduler.
+	 * 
+	 * @return The time in milliseconds, the start time if the launch is
+	 *         already running or -1 if it is not known
+	 */
+	public long getEstimatedStartTime() {
+		JobRequest request = launchRequest;
+		return (request != null) ? JobScheduler.getInstance().getEstimatedStartTime(request) : -1;
+	}
+
 	/**
 	 * This operation can be overrided by subclasses to return 
 	 * a custom ICEJob class. By default, it returns an ICEJob 
-	 * initialized with a list of Actions and the configured 
-	 * action data map. 
+	 * initialized with a list of Actions, their dependencies from
+	 * getActionDependencies() and the configured action data map. 
 	 * 
 	 * @param actionList List of Actions to execute.
 	 * @return
 	 */
 	protected ICEJob createICEJob(List<Action> actionList) {
-		// TODO Auto-generated method stub
-		return new ICEJob(actionList, actionDataMap);
+		return new ICEJob(actionList, getActionDependencies(actionList), actionDataMap);
 	}
 
 	/**
-	 * This private operation kicks off a thread that monitors 
-	 * the status of running Actions, and stops when the status 
-	 * reports Processed. 
-	 */
-	private void monitorActionStatus() {
-		// Keep the status in sync
-		if (status.equals(FormStatus.Processing)) {
-			Thread statusThread = new Thread(new Runnable() {
-				@Override
-				public void run() {
-					while (!status.equals(FormStatus.Processed)) {
-						// Sleep for a bit
-						Thread.currentThread();
-						try {
-							Thread.sleep(100);
-						} catch (InterruptedException e) {
-							logger.error(getClass().getName() + " Exception!", e);
-						}
+	 * This operation returns the Actions that each Action in the list depends
+	 * on. The ICEJob starts an Action once all of the Actions it depends on are
+	 * done, so Actions that do not depend on each other run at the same time.
+	 * Subclasses can override this method to describe the dependencies of a
+	 * custom set of Actions.
+	 * 
+	 * By default, each Action depends on the one before it, except that the
+	 * Create Docker Container Action depends on nothing. It runs alongside the
+	 * Actions before it, and the Action after it waits for both.
+	 * 
+	 * @param actionList
+	 *            List of Actions to execute.
+	 * @return The dependencies of each Action, or null if each Action depends
+	 *         on the one before it.
+	 */
+	protected Map<Action, List<Action>> getActionDependencies(List<Action> actionList) {
+
+		// Find the Docker Action
+		int dockerIndex = -1;
+		for (int i = 0; i < actionList.size(); i++) {
+			if ("Create Docker Container".equals(actionList.get(i).getActionName())) {
+				dockerIndex = i;
+				break;
+			}
+		}
 
-						// Set the status
-						status = launchJob.getStatus();
-					}
+		// Without Docker, the Actions run one after the other
+		if (dockerIndex < 0) {
+			return null;
+		}
 
-					return;
+		Map<Action, List<Action>> dependencies = new HashMap<Action, List<Action>>();
+		for (int i = 1; i < actionList.size(); i++) {
+			List<Action> required = new ArrayList<Action>();
+			if (i == dockerIndex + 1) {
+				// Wait for the container and the Actions before it
+				required.add(actionList.get(dockerIndex));
+				if (dockerIndex > 0) {
+					required.add(actionList.get(dockerIndex - 1));
 				}
-			});
-
-			statusThread.start();
+			} else if (i != dockerIndex) {
+				required.add(actionList.get(i - 1));
+			}
+			dependencies.put(actionList.get(i), required);
 		}
+
+		return dependencies;
 	}
 
 	/**
@@ -1051,7 +1416,9 @@ public class JobLauncher extends Item {
 	 * returns an Action list that starts with copying files to the local 
 	 * working directory. If local, the next Action is the Local Execution Action. 
 	 * If remote, it returns the Remote File Upload, Remote Execution, and Remote 
-	 * File Download Actions, in that order. 
+	 * File Download Actions, in that order. If Docker is enabled, the Create 
+ * Docker Container Action follows the Local Files Copy Action and runs at 
+ * the same time as it. 
 	 * 
 	 * @return actions List of Actions to execute. 
 	 */
@@ -1069,13 +1436,10 @@ public class JobLauncher extends Item {
 		// If docker launch is enabled, then 
 		// we need to launch the correct container and 
 		// modify the hostname/port in the action data map 
-		// to point to that container 
+		// to point to that container. The Job does this while 
+		// the files are copied, before the upload starts.
 		if (enableDocker) {
-			Action dockerAction = actionFactory.getAction("Create Docker Container");
-			
-			// This execution should create the container and remote connection 
-			// and modify the host/port/connectionName in the map.
-			dockerAction.execute(actionDataMap);
+			actionList.add(actionFactory.getAction("Create Docker Container"));
 		}
 		
 		// Create the List of Actions to execute... The list is
@@ -1141,6 +1505,11 @@ public class JobLauncher extends Item {
 	 */
 	@Override
 	public FormStatus cancelProcess() {
+		// A queued launch is simply taken out of the queue
+		if (launchRequest != null && JobScheduler.getInstance().cancel(launchRequest)) {
+			status = FormStatus.ReadyToProcess;
+			return status;
+		}
 		// Cancel the running Eclipse Job and the
 		// currently executing Action
 		status = launchJob.cancelICEJob();
@@ -1165,99 +1534,124 @@ public class JobLauncher extends Item {
 		if (project != null) {
 			// Get the file
 			IFile outputFileHandle = currentJobFolder.getFile(outputFilename);
-			processOutput = outputFileHandle.getLocation().toFile();
+			File outputFileLocation = outputFileHandle.getLocation().toFile();
 			// Create a new file if it does not already exist
 			try {
-				processOutput.createNewFile();
+				outputFileLocation.createNewFile();
 			} catch (Exception fileFailException) {
 				logger.info("Item Message: Unable to create output " + "file in workspace. Aborting.");
 				fileFailException.printStackTrace();
 				return;
 			}
+			// Only publish the file once it exists
+			processOutput = outputFileLocation;
 
-			refreshProjectSpace();
+			refreshResource(outputFileHandle, IResource.DEPTH_ZERO);
 		}
 	}
 
 	/**
-	 * This operations grabs the information from the stdout and stderr files
-	 * and puts it into the output file for JobLauncher that is consumed by
-	 * clients.
+	 * This operation returns the file that collects the output of the current
+	 * launch. A launch that is waiting in the JobScheduler's queue does not
+	 * have one yet, so clients should ask again until it starts.
+	 * 
+	 * @return The output file of the current launch or null if the launch has
+	 *         not started
+	 */
+	@Override
+	public File getOutputFile() {
+		File output = processOutput;
+		return (output != null) ? new File(output.toURI()) : null;
+	}
+
+	/**
+	 * This operations subscribes to the stdout and stderr files with the
+	 * FileTailService so that everything written to them is copied into the
+	 * output file for JobLauncher that is consumed by clients. The data is
+	 * written to the output file one complete line at a time, without decoding
+	 * it, so the lines of stdout and stderr are not mixed.
 	 */
 	private void writeOutputData() {
 
-		// Create the thread
-		Thread streamingThread = new Thread(new Runnable() {
-			@Override
-			public void run() {
-				// Local Declarations
-				File stdout = new File(actionDataMap.get("stdOutFileName")),
-						stderr = new File(actionDataMap.get("stdErrFileName"));
-				FileWriter outputFileWriter = null;
-				BufferedWriter outputFileBufferedWriter = null;
-				FileReader stdoutReader = null, stderrReader = null;
-				BufferedReader stdoutBufferredReader = null, stderrBufferredReader = null;
-				String line = null;
+		// Open the output file for writing
+		if (processOutput == null) {
+			return;
+		}
+		try {
+			outputChannel = FileChannel.open(processOutput.toPath(), StandardOpenOption.WRITE,
+					StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		} catch (IOException e) {
+			// Complain and return
+			logger.error(getClass().getName() + " Exception!", e);
+			return;
+		}
 
-				try {
-					// Open the output file for writing
-					outputFileWriter = new FileWriter(processOutput);
-					outputFileBufferedWriter = new BufferedWriter(outputFileWriter);
-					// Open the JobLauncherAction stdout file for reading
-					stdoutReader = new FileReader(stdout);
-					stdoutBufferredReader = new BufferedReader(stdoutReader);
-					// Open the JobLauncherAction stderr file
-					stderrReader = new FileReader(stderr);
-					stderrBufferredReader = new BufferedReader(stderrReader);
-					// Run until the launcher is done processing
-					while (status.equals(FormStatus.Processing) || status.equals(FormStatus.NeedsInfo)) {
-						// Read stdout into the output file
-						while ((line = stdoutBufferredReader.readLine()) != null) {
-							outputFileBufferedWriter.write(line);
-							outputFileBufferedWriter.write("\r\n");
-						}
-						// Read stderr into the output file
-						while ((line = stderrBufferredReader.readLine()) != null) {
-							outputFileBufferedWriter.write(line);
-							outputFileBufferedWriter.write("\r\n");
-						}
-						// Flush!
-						outputFileBufferedWriter.flush();
-						// Sleep for a bit
-						Thread.currentThread();
-						Thread.sleep(100);
-						//status = launchJob.getStatus();
-						// Monitor for the current Action,
-						// we need to set this.action to ICEJob's
-						// current Action in case the status goes to
-						// NeedsInfo
-						action = launchJob.getCurrentAction();
-						//System.out.println("Streaming - " + status);
+		// Copy the data into the output file as it arrives
+		outputCopier = new LineCopier(outputChannel);
+
+		// Follow stdout and stderr
+		logger.info("JobLauncher Message: Starting output data stream.");
+		FileTailService tailService = FileTailService.getInstance();
+		tailService.subscribe(new File(actionDataMap.get("stdOutFileName")), outputCopier);
+		tailService.subscribe(new File(actionDataMap.get("stdErrFileName")), outputCopier);
+
+		return;
+	}
+
+	/**
+	 * This operation copies the rest of the stdout and stderr files into the
+	 * output file once the Job is done, appends the time taken by each stage of
+	 * the launch and closes the output file.
+	 * 
+	 * @param job
+	 *            The Job that is done
+	 */
+	private void finishOutputData(ICEJob job) {
+
+		// Local Declarations
+		FileChannel channel = outputChannel;
+		File stdout = new File(actionDataMap.get("stdOutFileName")),
+				stderr = new File(actionDataMap.get("stdErrFileName"));
+		FileTailService tailService = FileTailService.getInstance();
+
+		if (channel == null) {
+			return;
+		}
+
+		// Copy the rest of the output and stop following the files
+		tailService.drain(stdout);
+		tailService.drain(stderr);
+		tailService.unsubscribe(stdout, outputCopier);
+		tailService.unsubscribe(stderr, outputCopier);
+
+		try {
+			synchronized (channel) {
+				// Write the last lines if they did not end with an end of line
+				outputCopier.flush();
+				// Record how long each stage of the launch took
+				Map<Action, Long> times = job.getActionTimes();
+				if (!times.isEmpty()) {
+					StringBuilder timeText = new StringBuilder("Job Launch Stage Times:\r\n");
+					for (Map.Entry<Action, Long> time : times.entrySet()) {
+						timeText.append("  " + time.getKey().getActionName() + ": " + time.getValue() + " ms\r\n");
+					}
+					ByteBuffer timeBytes = ByteBuffer.wrap(timeText.toString().getBytes(StandardCharsets.UTF_8));
+					while (timeBytes.hasRemaining()) {
+						channel.write(timeBytes);
 					}
-					// Close stdout
-					stdoutBufferredReader.close();
-					stdoutReader.close();
-					// Close stderr
-					stderrBufferredReader.close();
-					stderrReader.close();
-					// Close the output file
-					outputFileBufferedWriter.close();
-					outputFileWriter.close();
-					// Check the project space to see if new resources were
-					// downloaded that should be added to the ICEResource.
-					updateResourceComponent();
-				} catch (IOException | InterruptedException e) {
-					// Complain and return
-					logger.error(getClass().getName() + " Exception!", e);
-					return;
 				}
-
+				// Close the output file
+				channel.close();
 			}
-		});
+		} catch (IOException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+		outputChannel = null;
+		outputCopier = null;
 
-		// Start the thread
-		logger.info("JobLauncher Message: Starting output data stream.");
-		streamingThread.start();
+		// Check the project space to see if new resources were
+		// downloaded that should be added to the ICEResource.
+		updateResourceComponent();
 
 		return;
 	}
@@ -1284,6 +1678,33 @@ public class JobLauncher extends Item {
 	 *            </p>
 	 */
 	public void addHost(String hostname, String os, String execInstallPath) {
+		addHost(hostname, os, execInstallPath, 0, 0, 0);
+	}
+
+	/**
+	 * <p>
+	 * This operation adds a host with a known capacity to the set of available
+	 * hosts. The JobScheduler uses the capacity to decide whether a job fits on
+	 * the host and how many jobs may run on it at once. A value of zero or less
+	 * than zero means that the capacity is not known and not limited. This is
+	 * also the case for the local host, so that runs which oversubscribe it
+	 * are not rejected.
+	 * </p>
+	 * 
+	 * @param hostname
+	 *            The hostname of the new host.
+	 * @param os
+	 *            The operating system of the new host.
+	 * @param execInstallPath
+	 *            The installation path of the executable on the host.
+	 * @param cores
+	 *            The number of cores on the host.
+	 * @param memory
+	 *            The memory of the host in megabytes.
+	 * @param maxJobs
+	 *            The maximum number of jobs that may run on the host at once.
+	 */
+	public void addHost(String hostname, String os, String execInstallPath, int cores, long memory, int maxJobs) {
 
 		// Local Declarations
 		ArrayList<IEntry> row = new ArrayList<IEntry>();
@@ -1301,6 +1722,9 @@ public class JobLauncher extends Item {
 			row.get(0).setValue(hostname);
 			row.get(1).setValue(os);
 			row.get(2).setValue(execInstallPath);
+			row.get(3).setValue((cores > 0) ? String.valueOf(cores) : "");
+			row.get(4).setValue((memory > 0) ? String.valueOf(memory) : "");
+			row.get(5).setValue((maxJobs > 0) ? String.valueOf(maxJobs) : "");
 
 			// Update the host table
 			hosts.add(hostname);
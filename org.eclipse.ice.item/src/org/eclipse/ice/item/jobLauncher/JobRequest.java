@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item.jobLauncher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class describes a job that should be launched by the
+ * {@link JobScheduler}. It lists the hosts on which the job may run, in order
+ * of preference, and the number of cores and the memory that it needs on the
+ * host that is picked. The {@link IJobStarter} is called once the job has been
+ * placed on a host.
+ *
+ * The scheduler records the state of the request, the host that it was placed
+ * on and the times at which it was submitted and started, so requests also
+ * serve as the entries of the queue view.
+ *
+ * @author Jay Jay Billings
+ */
+public class JobRequest {
+
+	/**
+	 * The states of a request.
+	 */
+	public enum State {
+		/**
+		 * The request was created but not submitted.
+		 */
+		New,
+		/**
+		 * The request is waiting for a host.
+		 */
+		Queued,
+		/**
+		 * The request was placed on a host and the job was launched.
+		 */
+		Running,
+		/**
+		 * The job is done and its resources were released.
+		 */
+		Done,
+		/**
+		 * The request was canceled before it was placed on a host.
+		 */
+		Canceled
+	}
+
+	/**
+	 * The name of the job. Jobs with the same name are expected to take about
+	 * the same time to run.
+	 */
+	private final String name;
+
+	/**
+	 * The names of the hosts on which the job may run, in order of preference.
+	 */
+	private final List<String> hosts;
+
+	/**
+	 * The number of cores the job uses.
+	 */
+	private final int cores;
+
+	/**
+	 * The memory the job uses in megabytes.
+	 */
+	private final long memory;
+
+	/**
+	 * The starter that launches the job.
+	 */
+	private final IJobStarter starter;
+
+	/**
+	 * The state of the request.
+	 */
+	private volatile State state = State.New;
+
+	/**
+	 * The host on which the job was placed or null if it was not placed yet.
+	 */
+	private volatile String host;
+
+	/**
+	 * The time at which the request was submitted in milliseconds.
+	 */
+	private volatile long submitTime;
+
+	/**
+	 * The time at which the job was started in milliseconds.
+	 */
+	private volatile long startTime;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param jobName
+	 *            The name of the job
+	 * @param hostnames
+	 *            The names of the hosts on which the job may run, in order of
+	 *            preference
+	 * @param numCores
+	 *            The number of cores the job uses. Values less than one are
+	 *            set to one.
+	 * @param megabytes
+	 *            The memory the job uses in megabytes, or zero if it is not
+	 *            known
+	 * @param jobStarter
+	 *            The starter that launches the job
+	 */
+	public JobRequest(String jobName, List<String> hostnames, int numCores,
+			long megabytes, IJobStarter jobStarter) {
+		if (hostnames == null || hostnames.isEmpty() || jobStarter == null) {
+			throw new IllegalArgumentException("JobRequest Error: "
+					+ "A request needs at least one host and a starter.");
+		}
+		name = (jobName != null) ? jobName : "";
+		hosts = Collections.unmodifiableList(new ArrayList<String>(hostnames));
+		cores = Math.max(1, numCores);
+		memory = Math.max(0, megabytes);
+		starter = jobStarter;
+	}
+
+	/**
+	 * This operation returns the name of the job.
+	 *
+	 * @return The name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * This operation returns the names of the hosts on which the job may run.
+	 *
+	 * @return The hosts in order of preference
+	 */
+	public List<String> getHosts() {
+		return hosts;
+	}
+
+	/**
+	 * This operation returns the number of cores the job uses.
+	 *
+	 * @return The number of cores
+	 */
+	public int getCores() {
+		return cores;
+	}
+
+	/**
+	 * This operation returns the memory the job uses.
+	 *
+	 * @return The memory in megabytes, or zero if it is not known
+	 */
+	public long getMemory() {
+		return memory;
+	}
+
+	/**
+	 * This operation returns the starter that launches the job.
+	 *
+	 * @return The starter
+	 */
+	public IJobStarter getStarter() {
+		return starter;
+	}
+
+	/**
+	 * This operation returns the state of the request.
+	 *
+	 * @return The state
+	 */
+	public State getState() {
+		return state;
+	}
+
+	/**
+	 * This operation returns the host on which the job was placed.
+	 *
+	 * @return The hostname or null if the job was not placed yet
+	 */
+	public String getHost() {
+		return host;
+	}
+
+	/**
+	 * This operation returns the time at which the request was submitted.
+	 *
+	 * @return The time in milliseconds or zero if it was not submitted
+	 */
+	public long getSubmitTime() {
+		return submitTime;
+	}
+
+	/**
+	 * This operation returns the time at which the job was started.
+	 *
+	 * @return The time in milliseconds or zero if it was not started
+	 */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * This operation marks the request as queued. It is called by the
+	 * scheduler.
+	 *
+	 * @param time
+	 *            The time of submission in milliseconds
+	 */
+	void queued(long time) {
+		submitTime = time;
+		state = State.Queued;
+	}
+
+	/**
+	 * This operation marks the request as running on a host. It is called by
+	 * the scheduler.
+	 *
+	 * @param hostname
+	 *            The host on which the job was placed
+	 * @param time
+	 *            The time at which the job was started in milliseconds
+	 */
+	void started(String hostname, long time) {
+		host = hostname;
+		startTime = time;
+		state = State.Running;
+	}
+
+	/**
+	 * This operation sets the state of the request. It is called by the
+	 * scheduler.
+	 *
+	 * @param newState
+	 *            The new state
+	 */
+	void setState(State newState) {
+		state = newState;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return name + " (" + cores + " cores, " + memory + " MB, " + state
+				+ ((host != null) ? " on " + host : "") + ")";
+	}
+
+}
@@ -0,0 +1,720 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item.jobLauncher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class places job launches on hosts. It knows the number of cores, the
+ * memory and the maximum number of concurrent jobs of each host and the
+ * resources used by the jobs running on it. A {@link JobRequest} that is
+ * submitted is placed on the least loaded of its hosts that has room for it.
+ * If none of its hosts has room, it waits in the queue until a running job
+ * releases its resources.
+ *
+ * The queue is first come, first served, except that a request that fits on a
+ * host is started even if a request that was submitted before it is still
+ * waiting for a bigger host. Requests that could never fit on any of their
+ * hosts are rejected when they are submitted.
+ *
+ * A capacity of zero means that the capacity is not known, in which case it is
+ * not limited. Hosts that were never described are not limited at all.
+ *
+ * The scheduler also estimates when queued jobs will start from the time
+ * that earlier jobs with the same name took to run. All of ICE shares the
+ * scheduler returned by getInstance(), so launches from different Items share
+ * the limits of the hosts. Other instances may be created for testing with
+ * stand-in hosts.
+ *
+ * @author Jay Jay Billings
+ */
+public class JobScheduler {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(JobScheduler.class);
+
+	/**
+	 * The scheduler shared by all of ICE.
+	 */
+	private static JobScheduler instance;
+
+	/**
+	 * The hosts, keyed by hostname.
+	 */
+	private final Map<String, Host> hosts = new HashMap<String, Host>();
+
+	/**
+	 * The requests that are waiting for a host, in the order they were
+	 * submitted.
+	 */
+	private final List<JobRequest> queue = new ArrayList<JobRequest>();
+
+	/**
+	 * The requests whose jobs are running.
+	 */
+	private final List<JobRequest> running = new ArrayList<JobRequest>();
+
+	/**
+	 * The number of finished jobs and their total run time in milliseconds,
+	 * keyed by job name.
+	 */
+	private final Map<String, long[]> runTimes = new HashMap<String, long[]>();
+
+	/**
+	 * The number of finished jobs of any name and their total run time in
+	 * milliseconds.
+	 */
+	private final long[] totalRunTime = new long[2];
+
+	/**
+	 * This class holds the capacity of a host and the resources used by the
+	 * jobs running on it.
+	 */
+	private static class Host {
+
+		/**
+		 * The hostname.
+		 */
+		private final String name;
+
+		/**
+		 * The number of cores, or zero if it is not known.
+		 */
+		private int cores;
+
+		/**
+		 * The memory in megabytes, or zero if it is not known.
+		 */
+		private long memory;
+
+		/**
+		 * The maximum number of concurrent jobs, or zero if it is not
+		 * limited.
+		 */
+		private int maxJobs;
+
+		/**
+		 * The number of cores used by running jobs.
+		 */
+		private int usedCores;
+
+		/**
+		 * The memory in megabytes used by running jobs.
+		 */
+		private long usedMemory;
+
+		/**
+		 * The number of running jobs.
+		 */
+		private int jobs;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param hostname
+		 *            The hostname
+		 */
+		private Host(String hostname) {
+			name = hostname;
+		}
+
+		/**
+		 * This operation returns whether a job could ever run on the host.
+		 *
+		 * @param request
+		 *            The request for the job
+		 * @return True if the host is big enough for the job
+		 */
+		private boolean canRun(JobRequest request) {
+			return (cores == 0 || request.getCores() <= cores)
+					&& (memory == 0 || request.getMemory() <= memory);
+		}
+
+		/**
+		 * This operation returns whether a job fits next to some running jobs.
+		 *
+		 * @param request
+		 *            The request for the job
+		 * @param jobCount
+		 *            The number of running jobs
+		 * @param coreCount
+		 *            The number of cores used by the running jobs
+		 * @param memoryUsed
+		 *            The memory used by the running jobs
+		 * @return True if the job fits
+		 */
+		private boolean fits(JobRequest request, int jobCount, int coreCount,
+				long memoryUsed) {
+			return (maxJobs == 0 || jobCount < maxJobs)
+					&& (cores == 0 || coreCount + request.getCores() <= cores)
+					&& (memory == 0
+							|| memoryUsed + request.getMemory() <= memory);
+		}
+
+		/**
+		 * This operation returns how busy the host is, as the largest fraction
+		 * of its cores, memory or job slots that is used. Hosts without
+		 * limits count their running jobs instead.
+		 *
+		 * @return The load of the host
+		 */
+		private double getLoad() {
+			double load = 0.0;
+			boolean limited = false;
+			if (cores > 0) {
+				load = Math.max(load, (double) usedCores / cores);
+				limited = true;
+			}
+			if (memory > 0) {
+				load = Math.max(load, (double) usedMemory / memory);
+				limited = true;
+			}
+			if (maxJobs > 0) {
+				load = Math.max(load, (double) jobs / maxJobs);
+				limited = true;
+			}
+			return limited ? load : jobs;
+		}
+	}
+
+	/**
+	 * This operation returns the scheduler shared by all of ICE.
+	 *
+	 * @return The scheduler
+	 */
+	public static synchronized JobScheduler getInstance() {
+		if (instance == null) {
+			instance = new JobScheduler();
+		}
+		return instance;
+	}
+
+	/**
+	 * This operation describes a host. A host that is described again keeps
+	 * its running jobs and only changes its capacity. Any value less than one
+	 * means that the capacity is not known and not limited.
+	 *
+	 * @param hostname
+	 *            The name of the host
+	 * @param cores
+	 *            The number of cores on the host
+	 * @param memory
+	 *            The memory of the host in megabytes
+	 * @param maxJobs
+	 *            The maximum number of jobs that may run on the host at once
+	 */
+	public void setHost(String hostname, int cores, long memory, int maxJobs) {
+		List<JobRequest> started;
+		synchronized (this) {
+			Host host = getHost(hostname);
+			host.cores = Math.max(0, cores);
+			host.memory = Math.max(0, memory);
+			host.maxJobs = Math.max(0, maxJobs);
+			// A bigger host may have room for queued jobs
+			started = placeQueuedRequests();
+		}
+		start(started);
+	}
+
+	/**
+	 * This operation returns the number of jobs running on a host.
+	 *
+	 * @param hostname
+	 *            The name of the host
+	 * @return The number of running jobs
+	 */
+	public synchronized int getRunningJobs(String hostname) {
+		Host host = hosts.get(hostname);
+		return (host != null) ? host.jobs : 0;
+	}
+
+	/**
+	 * This operation returns the number of cores used by the jobs running on a
+	 * host.
+	 *
+	 * @param hostname
+	 *            The name of the host
+	 * @return The number of used cores
+	 */
+	public synchronized int getUsedCores(String hostname) {
+		Host host = hosts.get(hostname);
+		return (host != null) ? host.usedCores : 0;
+	}
+
+	/**
+	 * This operation submits a request. The job is started right away, on the
+	 * calling thread, if one of its hosts has room for it. Otherwise it waits
+	 * in the queue.
+	 *
+	 * @param request
+	 *            The request
+	 * @return True if the request was accepted, false if it was already
+	 *         submitted or if none of its hosts could ever run it
+	 */
+	public boolean submit(JobRequest request) {
+
+		List<JobRequest> started;
+		synchronized (this) {
+			if (request == null || request.getState() != JobRequest.State.New) {
+				return false;
+			}
+			// Reject jobs that are too big for all of their hosts
+			boolean possible = false;
+			for (String hostname : request.getHosts()) {
+				possible |= getHost(hostname).canRun(request);
+			}
+			if (!possible) {
+				logger.error("JobScheduler Error: None of the hosts "
+						+ request.getHosts() + " can run " + request + ".");
+				return false;
+			}
+			// Queue the request and place whatever fits
+			request.queued(getCurrentTime());
+			queue.add(request);
+			started = placeQueuedRequests();
+		}
+		start(started);
+
+		if (request.getState() == JobRequest.State.Queued) {
+			logger.info("JobScheduler Message: Queued " + request
+					+ " behind " + (getQueue().size() - 1) + " other jobs.");
+		}
+
+		return true;
+	}
+
+	/**
+	 * This operation removes a request from the queue. Requests whose jobs are
+	 * already running are not affected.
+	 *
+	 * @param request
+	 *            The request
+	 * @return True if the request was removed from the queue
+	 */
+	public synchronized boolean cancel(JobRequest request) {
+		if (queue.remove(request)) {
+			request.setState(JobRequest.State.Canceled);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * This operation frees the resources of a job that is done and starts any
+	 * queued jobs that now fit. The run time of the job is recorded for the
+	 * estimates of start times.
+	 *
+	 * @param request
+	 *            The request of the job that is done
+	 */
+	public void release(JobRequest request) {
+		finish(request, true);
+	}
+
+	/**
+	 * This operation returns the requests that are waiting for a host.
+	 *
+	 * @return The queued requests in the order in which they were submitted
+	 */
+	public synchronized List<JobRequest> getQueue() {
+		return new ArrayList<JobRequest>(queue);
+	}
+
+	/**
+	 * This operation returns the requests whose jobs are running.
+	 *
+	 * @return The running requests in the order in which they were started
+	 */
+	public synchronized List<JobRequest> getRunning() {
+		return new ArrayList<JobRequest>(running);
+	}
+
+	/**
+	 * This operation returns the expected run time of a job. It is the
+	 * average time taken by the finished jobs with the same name, or by all
+	 * finished jobs if none had the same name.
+	 *
+	 * @param name
+	 *            The name of the job
+	 * @return The run time in milliseconds, or -1 if no job has finished yet
+	 */
+	public synchronized long getEstimatedRunTime(String name) {
+		long[] times = runTimes.get(name);
+		if (times == null) {
+			times = totalRunTime;
+		}
+		return (times[0] > 0) ? times[1] / times[0] : -1;
+	}
+
+	/**
+	 * This operation returns the estimated start time of a queued request.
+	 *
+	 * @param request
+	 *            The request
+	 * @return The time in milliseconds at which the job is expected to start,
+	 *         its start time if it is running, or -1 if it is not known
+	 */
+	public synchronized long getEstimatedStartTime(JobRequest request) {
+		if (request.getState() == JobRequest.State.Running) {
+			return request.getStartTime();
+		}
+		Long time = getEstimatedStartTimes().get(request);
+		return (time != null) ? time : -1;
+	}
+
+	/**
+	 * This operation estimates when each queued request will start. It
+	 * replays the queue against the expected end times of the running jobs,
+	 * placing each request on the host where it could start first.
+	 *
+	 * @return The estimated start times in milliseconds, in queue order. A
+	 *         time of -1 means that the start time is not known because it
+	 *         depends on jobs whose run time is not known.
+	 */
+	public synchronized Map<JobRequest, Long> getEstimatedStartTimes() {
+
+		Map<JobRequest, Long> estimates = new LinkedHashMap<JobRequest, Long>();
+		Map<String, List<Plan>> plans = new HashMap<String, List<Plan>>();
+		long now = getCurrentTime();
+
+		// The running jobs end after their expected run time, or now if they
+		// are late
+		for (JobRequest request : running) {
+			long runTime = getEstimatedRunTime(request.getName());
+			long end = (runTime < 0) ? -1
+					: Math.max(now, request.getStartTime() + runTime);
+			getPlans(plans, request.getHost()).add(new Plan(request, now, end));
+		}
+
+		// Replay the queue
+		for (JobRequest request : queue) {
+			long runTime = getEstimatedRunTime(request.getName());
+			long start = -1;
+			String bestHost = null;
+			for (String hostname : request.getHosts()) {
+				long hostStart = getEarliestStart(getHost(hostname),
+						getPlans(plans, hostname), request, now, runTime);
+				if (hostStart >= 0 && (start < 0 || hostStart < start)) {
+					start = hostStart;
+					bestHost = hostname;
+				}
+			}
+			if (bestHost != null) {
+				long end = (runTime < 0) ? -1 : start + runTime;
+				getPlans(plans, bestHost).add(new Plan(request, start, end));
+			}
+			estimates.put(request, start);
+		}
+
+		return estimates;
+	}
+
+	/**
+	 * This operation returns the current time. Subclasses may override it to
+	 * test the estimates with a fixed clock.
+	 *
+	 * @return The current time in milliseconds
+	 */
+	protected long getCurrentTime() {
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * This class is a job planned on a host while the start times are
+	 * estimated.
+	 */
+	private static class Plan {
+
+		/**
+		 * The request of the job.
+		 */
+		private final JobRequest request;
+
+		/**
+		 * The start time of the job.
+		 */
+		private final long start;
+
+		/**
+		 * The end time of the job, or -1 if it is not known.
+		 */
+		private final long end;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param jobRequest
+		 *            The request of the job
+		 * @param startTime
+		 *            The start time of the job
+		 * @param endTime
+		 *            The end time of the job, or -1 if it is not known
+		 */
+		private Plan(JobRequest jobRequest, long startTime, long endTime) {
+			request = jobRequest;
+			start = startTime;
+			end = endTime;
+		}
+
+		/**
+		 * This operation returns whether the job is running at a time.
+		 *
+		 * @param time
+		 *            The time
+		 * @return True if the job is running
+		 */
+		private boolean isRunningAt(long time) {
+			return start <= time && (end < 0 || time < end);
+		}
+	}
+
+	/**
+	 * This operation returns the planned jobs of a host, creating the list if
+	 * needed.
+	 *
+	 * @param plans
+	 *            The planned jobs of all hosts
+	 * @param hostname
+	 *            The name of the host
+	 * @return The planned jobs of the host
+	 */
+	private List<Plan> getPlans(Map<String, List<Plan>> plans,
+			String hostname) {
+		List<Plan> hostPlans = plans.get(hostname);
+		if (hostPlans == null) {
+			hostPlans = new ArrayList<Plan>();
+			plans.put(hostname, hostPlans);
+		}
+		return hostPlans;
+	}
+
+	/**
+	 * This operation finds the first time at which a job fits on a host for
+	 * its whole run, given the jobs planned on the host. The job can only
+	 * start now or when a planned job ends.
+	 *
+	 * @param host
+	 *            The host
+	 * @param hostPlans
+	 *            The jobs planned on the host
+	 * @param request
+	 *            The request of the job
+	 * @param now
+	 *            The current time
+	 * @param runTime
+	 *            The expected run time of the job, or -1 if it is not known
+	 * @return The start time, or -1 if it is not known
+	 */
+	private long getEarliestStart(Host host, List<Plan> hostPlans,
+			JobRequest request, long now, long runTime) {
+
+		if (!host.canRun(request)) {
+			return -1;
+		}
+
+		// Collect the times at which the job could start
+		TreeSet<Long> times = new TreeSet<Long>();
+		times.add(now);
+		for (Plan plan : hostPlans) {
+			if (plan.end >= 0) {
+				times.add(plan.end);
+			}
+		}
+
+		// Take the first one at which the job fits until it ends
+		for (long start : times) {
+			long end = (runTime < 0) ? -1 : start + runTime;
+			boolean fits = fitsAt(host, hostPlans, request, start);
+			for (Plan plan : hostPlans) {
+				if (!fits) {
+					break;
+				}
+				if (plan.start > start && (end < 0 || plan.start < end)) {
+					fits = fitsAt(host, hostPlans, request, plan.start);
+				}
+			}
+			if (fits) {
+				return start;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * This operation returns whether a job fits on a host next to the jobs
+	 * planned to be running there at a given time.
+	 *
+	 * @param host
+	 *            The host
+	 * @param hostPlans
+	 *            The jobs planned on the host
+	 * @param request
+	 *            The request of the job
+	 * @param time
+	 *            The time
+	 * @return True if the job fits
+	 */
+	private boolean fitsAt(Host host, List<Plan> hostPlans, JobRequest request,
+			long time) {
+		int jobCount = 0, coreCount = 0;
+		long memoryUsed = 0;
+		for (Plan plan : hostPlans) {
+			if (plan.isRunningAt(time)) {
+				jobCount++;
+				coreCount += plan.request.getCores();
+				memoryUsed += plan.request.getMemory();
+			}
+		}
+		return host.fits(request, jobCount, coreCount, memoryUsed);
+	}
+
+	/**
+	 * This operation returns a host, creating an unlimited host if it was not
+	 * described yet. The caller must hold the lock of the scheduler.
+	 *
+	 * @param hostname
+	 *            The name of the host
+	 * @return The host
+	 */
+	private Host getHost(String hostname) {
+		Host host = hosts.get(hostname);
+		if (host == null) {
+			host = new Host(hostname);
+			hosts.put(hostname, host);
+		}
+		return host;
+	}
+
+	/**
+	 * This operation places every queued request that fits on one of its
+	 * hosts, in queue order, and reserves the resources of the host. The
+	 * caller must hold the lock of the scheduler and must start the returned
+	 * requests once it has released the lock.
+	 *
+	 * @return The requests that were placed
+	 */
+	private List<JobRequest> placeQueuedRequests() {
+
+		List<JobRequest> placed = new ArrayList<JobRequest>();
+		Iterator<JobRequest> iterator = queue.iterator();
+		while (iterator.hasNext()) {
+			JobRequest request = iterator.next();
+			// Find the least loaded host with room for the job
+			Host bestHost = null;
+			for (String hostname : request.getHosts()) {
+				Host host = getHost(hostname);
+				if (host.fits(request, host.jobs, host.usedCores,
+						host.usedMemory)
+						&& (bestHost == null
+								|| host.getLoad() < bestHost.getLoad())) {
+					bestHost = host;
+				}
+			}
+			// Reserve the resources
+			if (bestHost != null) {
+				bestHost.jobs++;
+				bestHost.usedCores += request.getCores();
+				bestHost.usedMemory += request.getMemory();
+				request.started(bestHost.name, getCurrentTime());
+				iterator.remove();
+				running.add(request);
+				placed.add(request);
+			}
+		}
+
+		return placed;
+	}
+
+	/**
+	 * This operation calls the starters of requests that were placed. A job
+	 * that fails to start releases its resources without being recorded.
+	 *
+	 * @param placed
+	 *            The requests that were placed
+	 */
+	private void start(List<JobRequest> placed) {
+		for (JobRequest request : placed) {
+			boolean started = false;
+			logger.info("JobScheduler Message: Starting " + request + ".");
+			try {
+				started = request.getStarter().start(request,
+						request.getHost());
+			} catch (RuntimeException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+			if (!started) {
+				logger.error("JobScheduler Error: Unable to start " + request
+						+ ".");
+				finish(request, false);
+			}
+		}
+	}
+
+	/**
+	 * This operation frees the resources of a running job and starts any
+	 * queued jobs that now fit.
+	 *
+	 * @param request
+	 *            The request of the job
+	 * @param record
+	 *            True if the run time of the job should be recorded
+	 */
+	private void finish(JobRequest request, boolean record) {
+
+		List<JobRequest> started;
+		synchronized (this) {
+			if (!running.remove(request)) {
+				return;
+			}
+			// Free the resources
+			Host host = getHost(request.getHost());
+			host.jobs--;
+			host.usedCores -= request.getCores();
+			host.usedMemory -= request.getMemory();
+			request.setState(JobRequest.State.Done);
+
+			// Record the run time
+			if (record) {
+				long runTime = getCurrentTime() - request.getStartTime();
+				long[] times = runTimes.get(request.getName());
+				if (times == null) {
+					times = new long[2];
+					runTimes.put(request.getName(), times);
+				}
+				times[0]++;
+				times[1] += runTime;
+				totalRunTime[0]++;
+				totalRunTime[1] += runTime;
+			}
+
+			started = placeQueuedRequests();
+		}
+		start(started);
+
+		return;
+	}
+
+}
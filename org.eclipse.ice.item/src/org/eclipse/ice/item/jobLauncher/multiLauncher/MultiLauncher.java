@@ -14,6 +14,7 @@ package org.eclipse.ice.item.jobLauncher.multiLauncher;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -21,6 +22,8 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.componentVisitor.IComponentVisitor;
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
@@ -58,7 +61,9 @@ import org.eclipse.ice.item.jobLauncher.JobLauncherForm;
  * When jobs are launched in sequential mode, the MultiLauncher launches a
  * thread and monitors each job launcher until it finishes, then launches the
  * next or breaks out if there was an error. When jobs are launched in parallel,
- * the job launchers are processed asynchronously.
+ * the thread starts all of the job launchers, which are then processed
+ * asynchronously. Either way, no job is started unless the thread could be
+ * started on one of the shared launch threads.
  * </p>
  * <p>
  * This class implements Runnable and uses itself as the thread. The run()
@@ -460,23 +465,23 @@ public class MultiLauncher extends Item implements Runnable {
 	 */
 	private FormStatus launchSequentially() {
 
-		// Local Declarations
-		Thread launchThread = new Thread(this);
-
 		// Set the status flag
 		multiLaunchStatus.set(FormStatus.Processing);
 
 		// Launch the thread
-		launchThread.start();
+		if (!startLaunchThread()) {
+			return FormStatus.InfoError;
+		}
 
 		return FormStatus.Processing;
 	}
 
 	/**
 	 * <p>
-	 * This operation launches the jobs in parallel. They jobs are launched
-	 * asynchronously on their own threads, which they manage, so that this
-	 * operation need not be threaded.
+	 * This operation launches the jobs in parallel. The MultiLauncher thread
+	 * is started first and launches the jobs, which run asynchronously on
+	 * their own threads, so no job is started if the MultiLauncher thread
+	 * cannot be started.
 	 * </p>
 	 * 
 	 * @return <p>
@@ -485,9 +490,24 @@ public class MultiLauncher extends Item implements Runnable {
 	 */
 	private FormStatus launchInParallel() {
 
-		// Local Declarations
-		FormStatus retVal = FormStatus.InfoError;
-		Thread launchThread = new Thread(this);
+		// Set the status flag
+		multiLaunchStatus.set(FormStatus.Processing);
+
+		// Launch the thread
+		if (!startLaunchThread()) {
+			return FormStatus.InfoError;
+		}
+
+		return FormStatus.Processing;
+	}
+
+	/**
+	 * <p>
+	 * This operation starts each job that is ready to process. It stops at
+	 * the first job that is not ready, whose status then fails the launch.
+	 * </p>
+	 */
+	private void launchParallelJobs() {
 
 		// Launch each job
 		for (Item job : runningLaunchers) {
@@ -497,7 +517,7 @@ public class MultiLauncher extends Item implements Runnable {
 						+ "Launching parallel job " + job.getName()
 						+ " with id " + job.getId());
 				// Launch it
-				retVal = job.process("Launch the Job");
+				job.process("Launch the Job");
 			} else {
 				logger.info("MultiLauncher Message: "
 						+ "Unable to launch parallel job!");
@@ -509,13 +529,30 @@ public class MultiLauncher extends Item implements Runnable {
 			}
 		}
 
-		// Set the status flag
-		multiLaunchStatus.set(FormStatus.Processing);
+		return;
+	}
 
-		// Launch the thread
-		launchThread.start();
+	/**
+	 * <p>
+	 * This operation runs the MultiLauncher on the shared launch threads.
+	 * </p>
+	 * 
+	 * @return <p>
+	 *         True if it was started, false if too many launches are already
+	 *         running.
+	 *         </p>
+	 */
+	private boolean startLaunchThread() {
+
+		try {
+			ICEExecutors.execute(Workload.LAUNCH, this);
+		} catch (RejectedExecutionException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			multiLaunchStatus.set(FormStatus.InfoError);
+			return false;
+		}
 
-		return retVal;
+		return true;
 	}
 
 	/**
@@ -714,6 +751,11 @@ public class MultiLauncher extends Item implements Runnable {
 
 		/*----- Read the documentation on the class before editing this! -----*/
 
+		// Parallel launch block. The jobs manage their own threads.
+		if (!isSequential.get()) {
+			launchParallelJobs();
+		}
+
 		// Sequential launch block. Make sure we are in the correct mode.
 		if (isSequential.get()) {
 			// Loop over all of the launchers
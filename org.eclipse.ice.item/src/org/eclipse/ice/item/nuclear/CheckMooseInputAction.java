@@ -30,7 +30,6 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
@@ -44,6 +43,7 @@ import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.datastructures.form.TreeComposite;
 import org.eclipse.ice.datastructures.form.iterator.BreadthFirstTreeCompositeIterator;
 import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
+import org.eclipse.ice.item.WorkspaceRefresher;
 import org.eclipse.ice.item.action.RemoteAction;
 import org.eclipse.ice.item.utilities.moose.MOOSEFileHandler;
 import org.eclipse.remote.core.IRemoteConnection;
@@ -304,11 +304,16 @@ public class CheckMooseInputAction extends RemoteAction {
 	 * @return
 	 */
 	private boolean validateFileEntries(IProject project, TreeComposite tree) {
-		refreshProjectSpace(project);
 
 		// Loop over all file entries and make sure they exist
 		for (final IEntry entry : getFileEntries(tree)) {
 			try {
+				// Refresh the file in case it was added outside of the
+				// workspace
+				if (!entry.getValue().isEmpty()) {
+					WorkspaceRefresher.getInstance().refresh(project.getFile(entry.getValue()),
+							IResource.DEPTH_ZERO);
+				}
 				// Check the entry value validity, if bad throw an exception
 				if (entry.getValue().isEmpty() || !project.getFile(entry.getValue()).exists()) {
 					throw new Exception("Error launching the Job, can't find file " + entry.getValue());
@@ -372,22 +377,6 @@ public class CheckMooseInputAction extends RemoteAction {
 		return;
 	}
 
-	/**
-	 * This utility method can be used by subclasses to refresh the project
-	 * space after the addition or removal of files and folders.
-	 */
-	protected void refreshProjectSpace(IProject project) {
-		// Refresh the Project just in case
-		if (project != null) {
-			try {
-				project.refreshLocal(IResource.DEPTH_INFINITE, null);
-			} catch (CoreException e) {
-				logger.error(getClass().getName() + " Exception!", e);
-			}
-		}
-		return;
-	}
-
 	/**
 	 * This operation loads an ICE Component from an XML String.
 	 * @param <T>
@@ -26,6 +26,9 @@ import java.util.Date;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -38,8 +41,14 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
 import org.eclipse.ice.datastructures.entry.DiscreteEntry;
 import org.eclipse.ice.datastructures.entry.ExecutableEntry;
 import org.eclipse.ice.datastructures.entry.FileEntry;
@@ -50,6 +59,7 @@ import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.datastructures.form.ResourceComponent;
 import org.eclipse.ice.datastructures.form.TableComponent;
 import org.eclipse.ice.datastructures.form.TreeComposite;
+import org.eclipse.ice.datastructures.form.TreeCompositeIndex;
 import org.eclipse.ice.datastructures.form.iterator.BreadthFirstTreeCompositeIterator;
 import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
 import org.eclipse.ice.datastructures.resource.ICEResource;
@@ -120,6 +130,34 @@ public class MOOSE extends Item {
 	@XmlTransient()
 	private boolean registered = false;
 
+	/**
+	 * The number of milliseconds that Postprocessor samples are collected
+	 * before they are written to their CSV files.
+	 */
+	@XmlTransient()
+	public static final long POSTPROCESSOR_FLUSH_DELAY = 500;
+
+	/**
+	 * The in-memory time series of the Postprocessor values posted by the
+	 * running simulation.
+	 */
+	@XmlTransient()
+	private final PostprocessorStore postprocessorStore = new PostprocessorStore();
+
+	/**
+	 * The Job that writes the posted Postprocessor samples to their CSV files
+	 * in batches.
+	 */
+	@XmlTransient()
+	private Job postprocessorFlushJob;
+
+	/**
+	 * True if the flush Job has been scheduled but has not started to drain
+	 * the store yet.
+	 */
+	@XmlTransient()
+	private final AtomicBoolean postprocessorFlushScheduled = new AtomicBoolean(false);
+
 	/**
 	 * Nullary constructor.
 	 */
@@ -267,6 +305,19 @@ public class MOOSE extends Item {
 		return status;
 	}
 
+	/**
+	 * This operation returns the output file of the MooseLauncher's current
+	 * launch, which only exists once the launch has started, or the output
+	 * file of this Item if there is no launch.
+	 * 
+	 * @see org.eclipse.ice.item.Item#getOutputFile()
+	 */
+	@Override
+	public File getOutputFile() {
+		File launchOutput = (mooseLauncher != null) ? mooseLauncher.getOutputFile() : null;
+		return (launchOutput != null) ? launchOutput : super.getOutputFile();
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -361,8 +412,8 @@ public class MOOSE extends Item {
 			// Launch the Moose application
 			retStatus = mooseLauncher.process(actionName);
 
-			// Set our outputFile as the MooseLauncher's output file
-			// so we can see the streaming output
+			// The MooseLauncher's output file is reported by getOutputFile()
+			// once the launch starts so we can see the streaming output
 			outputFile = mooseLauncher.getOutputFile();
 
 		} else if ("Write MOOSE File".equals(actionName)) {
@@ -375,10 +426,13 @@ public class MOOSE extends Item {
 
 		// Keep the status in sync
 		if (status.equals(FormStatus.Processing)) {
-			Thread statusThread = new Thread(new Runnable() {
+			final Runnable statusMonitor = new Runnable() {
 				@Override
 				public void run() {
-					while (!status.equals(FormStatus.Processed)) {
+					// Stop once the launch is done, even if it failed, so
+					// that the launch thread is returned to the pool
+					while (status.equals(FormStatus.Processing)
+							|| status.equals(FormStatus.NeedsInfo)) {
 						// Sleep for a bit
 						Thread.currentThread();
 						try {
@@ -393,9 +447,25 @@ public class MOOSE extends Item {
 
 					return;
 				}
-			});
-
-			statusThread.start();
+			};
+			try {
+				ICEExecutors.execute(Workload.LAUNCH, statusMonitor);
+			} catch (RejectedExecutionException e) {
+				// The job is already running, so follow it from a workspace
+				// Job instead of reporting a failure
+				logger.warn("MOOSE Message: All launch threads are busy. "
+						+ "Following the status of the job from a workspace "
+						+ "Job.");
+				Job statusJob = new Job("MOOSE Status Monitor") {
+					@Override
+					protected IStatus run(IProgressMonitor monitor) {
+						statusMonitor.run();
+						return Status.OK_STATUS;
+					}
+				};
+				statusJob.setSystem(true);
+				statusJob.schedule();
+			}
 		}
 		return retStatus;
 	}
@@ -559,23 +629,20 @@ public class MOOSE extends Item {
 
 			// If one already exists in the tree, then we shouldn't add another
 			// one
-			for (int i = 0; i < outputs.getNumberOfChildren(); i++) {
-				if ("ICEUpdater".equals(outputs.getChildAtIndex(i).getName())) {
-
-					// Check that the current one is configured correctly
-					iceUpdater = outputs.getChildAtIndex(i);
-					DataComponent data = (DataComponent) iceUpdater.getDataNodes().get(0);
-					IEntry itemIdEntry = data.retrieveEntry("item_id");
-					if (Integer.valueOf(itemIdEntry.getValue()) != getId()) {
-						itemIdEntry.setValue(String.valueOf(getId()));
-					}
-					data.retrieveEntry("url").setValue("http://" + host + ":"
-							+ System.getProperty("org.eclipse.equinox.http.jetty.http.port") + "/ice/update");
-					// Now we have a valid ICEUpdater, so we don't need
-					// to create a new one.
-					iNeedUpdater = false;
-					break;
+			iceUpdater = getChildByName(outputs, "ICEUpdater");
+			if (iceUpdater != null) {
+
+				// Check that the current one is configured correctly
+				DataComponent data = (DataComponent) iceUpdater.getDataNodes().get(0);
+				IEntry itemIdEntry = data.retrieveEntry("item_id");
+				if (Integer.valueOf(itemIdEntry.getValue()) != getId()) {
+					itemIdEntry.setValue(String.valueOf(getId()));
 				}
+				data.retrieveEntry("url").setValue("http://" + host + ":"
+						+ System.getProperty("org.eclipse.equinox.http.jetty.http.port") + "/ice/update");
+				// Now we have a valid ICEUpdater, so we don't need
+				// to create a new one.
+				iNeedUpdater = false;
 			}
 
 			// If we didnt find one, the iNeedUpdater should be true
@@ -601,12 +668,10 @@ public class MOOSE extends Item {
 		} else {
 			// if there was already an ICEUpdater block, remove it
 			// If we already have one, then we shouldn't add another one
-			for (int i = 0; i < outputs.getNumberOfChildren(); i++) {
-				if ("ICEUpdater".equals(outputs.getChildAtIndex(i).getName())) {
-					// Remove the existing
-					outputs.removeChild(outputs.getChildAtIndex(i));
-					break;
-				}
+			iceUpdater = getChildByName(outputs, "ICEUpdater");
+			if (iceUpdater != null) {
+				// Remove the existing
+				outputs.removeChild(iceUpdater);
 			}
 		}
 
@@ -717,7 +782,7 @@ public class MOOSE extends Item {
 
 		} else if (updateable instanceof TreeComposite) {
 			// If this is a tree composite we should reset our variables
-			Thread varThread = new Thread(new Runnable() {
+			ICEExecutors.execute(Workload.IO, new Runnable() {
 
 				@Override
 				public void run() {
@@ -734,7 +799,6 @@ public class MOOSE extends Item {
 				}
 
 			});
-			varThread.start();
 
 		}
 
@@ -748,9 +812,34 @@ public class MOOSE extends Item {
 	 * @return
 	 */
 	private TreeComposite getTopLevelTreeByName(String name) {
+		return getChildByName(modelTree, name);
+	}
+
+	/**
+	 * This method finds the child of a TreeComposite that has the given name.
+	 * The child is looked up in the path index of the tree instead of
+	 * scanning the children, unless the name contains the path separator.
+	 * 
+	 * @param parent
+	 *            The parent
+	 * @param name
+	 *            The name of the child
+	 * @return The first child with the name or null if there is none
+	 */
+	private TreeComposite getChildByName(TreeComposite parent, String name) {
+
+		// Look the child up in the index
+		if (!name.contains(TreeCompositeIndex.SEPARATOR)) {
+			TreeCompositeIndex index = parent.getIndex();
+			String parentPath = index.getPath(parent);
+			if (parentPath != null) {
+				return index.getNode(TreeCompositeIndex.getChildPath(parentPath, name));
+			}
+		}
 
-		for (int i = 0; i < modelTree.getNumberOfChildren(); i++) {
-			TreeComposite child = modelTree.getChildAtIndex(i);
+		// Names with separators can't be looked up by path
+		for (int i = 0; i < parent.getNumberOfChildren(); i++) {
+			TreeComposite child = parent.getChildAtIndex(i);
 			if (child.getName().equals(name)) {
 				return child;
 			}
@@ -811,8 +900,8 @@ public class MOOSE extends Item {
 			// be of the format pp_name:time:value
 			String[] data = text.split(":");
 			String name = data[0];
-			Double time = Double.valueOf(data[1]);
-			Double value = Double.valueOf(data[2]);
+			double time = Double.parseDouble(data[1]);
+			double value = Double.parseDouble(data[2]);
 
 			// We need the jobLaunch directory to create new VizResources
 			IFolder directory = mooseLauncher.getJobLaunchFolder();
@@ -821,41 +910,115 @@ public class MOOSE extends Item {
 				return false;
 			}
 
-			// Refresh the project space
-			refreshProjectSpace();
+			// Store the sample and write it to disk with the rest of the
+			// batch
+			postprocessorStore.add(name, time, value);
+			schedulePostprocessorFlush();
+		}
 
-			// Grab the new Postprocessor CSV file
-			IFile dataFile = directory.getFile(name + ".csv");
+		return true;
+	}
 
-			// Get a reference to the ResourceComponent
-			ResourceComponent comp = (ResourceComponent) form.getComponent(3);
+	/**
+	 * This operation returns the in-memory time series of the Postprocessor
+	 * values posted by the running simulation. Code in ICE that needs the
+	 * latest samples should read from it instead of from the CSV files, which
+	 * are only updated in batches. The plots on the Resource page are drawn
+	 * by the visualization service from the CSV resources and are refreshed
+	 * when a batch is written.
+	 * 
+	 * @return The Postprocessor store
+	 */
+	public PostprocessorStore getPostprocessorStore() {
+		return postprocessorStore;
+	}
 
-			try {
+	/**
+	 * This operation schedules the Job that writes the pending Postprocessor
+	 * samples to disk if it is not already scheduled.
+	 */
+	private void schedulePostprocessorFlush() {
+
+		if (postprocessorFlushScheduled.compareAndSet(false, true)) {
+			synchronized (postprocessorStore) {
+				if (postprocessorFlushJob == null) {
+					postprocessorFlushJob = new Job("MOOSE Postprocessor Writer") {
+						@Override
+						protected IStatus run(IProgressMonitor monitor) {
+							flushPostprocessors();
+							return Status.OK_STATUS;
+						}
+					};
+					postprocessorFlushJob.setSystem(true);
+				}
+			}
+			postprocessorFlushJob.schedule(POSTPROCESSOR_FLUSH_DELAY);
+		}
+
+		return;
+	}
 
-				if (!dataFile.exists()) {
-					// If the file hasn't been created yet, we need to create
-					// it and start filling it with post processor data
-					String initialData = "Time," + name + "\n" + time + "," + value + "\n";
-					dataFile.create(new ByteArrayInputStream(initialData.getBytes()), true, null);// .createNewFile();
+	/**
+	 * This operation writes the pending Postprocessor samples to one CSV file
+	 * per Postprocessor in the job launch directory. Each file is written once
+	 * per batch and the directory is only refreshed once.
+	 */
+	private void flushPostprocessors() {
 
-					// Create the VizResource, and add it to the
-					// ResourceComponent
-					ICEResource resource = getResource(dataFile.getLocation().toOSString());
-					comp.add(resource);
+		// Samples posted from now on go into the next batch
+		postprocessorFlushScheduled.set(false);
 
-				} else {
+		synchronized (postprocessorStore) {
 
-					// Write the data to the existing resource
-					dataFile.appendContents(new ByteArrayInputStream(new String(time + "," + value + "\n").getBytes()),
-							IResource.FORCE, null);
-				}
+			// Leave the samples pending until there is somewhere to write
+			// them
+			IFolder directory = mooseLauncher.getJobLaunchFolder();
+			if (directory == null) {
+				return;
+			}
+			Map<String, String> batch = postprocessorStore.drainPending();
+			if (batch.isEmpty()) {
+				return;
+			}
+
+			// Refresh the launch directory so that files written outside of
+			// the workspace are found
+			refreshResource(directory, IResource.DEPTH_ONE);
+
+			// Get a reference to the ResourceComponent
+			ResourceComponent comp = (ResourceComponent) form.getComponent(3);
+
+			for (Map.Entry<String, String> rows : batch.entrySet()) {
 
-			} catch (IOException | CoreException e) {
-				logger.error(getClass().getName() + " Exception!", e);
+				// Grab the Postprocessor CSV file
+				String name = rows.getKey();
+				IFile dataFile = directory.getFile(name + ".csv");
+
+				try {
+					if (!dataFile.exists()) {
+						// If the file hasn't been created yet, we need to
+						// create it and start filling it with post processor
+						// data
+						String initialData = "Time," + name + "\n"
+								+ rows.getValue();
+						dataFile.create(new ByteArrayInputStream(initialData.getBytes()), true, null);
+
+						// Create the VizResource, and add it to the
+						// ResourceComponent
+						ICEResource resource = getResource(dataFile.getLocation().toOSString());
+						comp.add(resource);
+					} else {
+						// Write the batch to the existing resource
+						dataFile.appendContents(new ByteArrayInputStream(rows.getValue().getBytes()),
+								IResource.FORCE, null);
+					}
+				} catch (IOException | CoreException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				}
 			}
 		}
 
-		return true;
+		return;
 	}
 
 	/**
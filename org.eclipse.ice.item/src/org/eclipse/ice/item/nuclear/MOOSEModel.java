@@ -40,6 +40,7 @@ import javax.xml.bind.annotation.XmlTransient;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
@@ -224,8 +225,8 @@ public class MOOSEModel extends Item {
 			// Write the Moose tree to file
 			writer.write(form, outputFile);
 
-			// Refresh the Project space
-			refreshProjectSpace();
+			// Refresh the file
+			refreshResource(outputFile, IResource.DEPTH_ZERO);
 
 			// Update the status
 			retStatus = FormStatus.Processed;
@@ -409,9 +410,9 @@ public class MOOSEModel extends Item {
 
 				String animal = Paths.get(uri.getRawPath()).getFileName().toString();
 
-				// Refresh the project space now that
+				// Refresh the MOOSE folder now that
 				// we've create 2 more files
-				refreshProjectSpace();
+				refreshResource(mooseFolder, IResource.DEPTH_ONE);
 
 				// Get the YAML and Syntax files file.
 				yamlFile = mooseFolder.getFile(animal + ".yaml");
@@ -452,8 +453,9 @@ public class MOOSEModel extends Item {
 			createCleanMOOSEFile(yamlFile.getName());
 			createCleanMOOSEFile(syntaxFile.getName());
 
-			// Refresh the space
-			refreshProjectSpace();
+			// Refresh the cleaned files
+			refreshResource(yamlFile, IResource.DEPTH_ZERO);
+			refreshResource(syntaxFile, IResource.DEPTH_ZERO);
 
 			// Get the IReader instance
 			IReader.getIReaders();
@@ -1357,9 +1359,9 @@ public class MOOSEModel extends Item {
 	}
 
 	/**
-	 * This method scans the Form's TreeComposite with ID=2 for the Mesh block.
-	 * If the Mesh block was found, it will return the corresponding
-	 * TreeComposite. Otherwise, it will return null.
+	 * This method looks up the Mesh block in the path index of the Form's
+	 * TreeComposite with ID=2. If the Mesh block was found, it will return the
+	 * corresponding TreeComposite. Otherwise, it will return null.
 	 *
 	 * @return The Mesh block's TreeComposite, or null if it could not be found.
 	 */
@@ -1370,21 +1372,8 @@ public class MOOSEModel extends Item {
 
 		// Try to find the Mesh block on the TreeComposite
 		TreeComposite tree = (TreeComposite) form.getComponent(mooseTreeCompositeId);
-		TreeComposite treeCur = null;
-
-		// Check if the tree has children
-		if (tree != null && tree.getNumberOfChildren() > 0) {
-
-			// Iterate through the tree's children
-			tree.resetChildIterator();
-			while ((treeCur = tree.getNextChild()) != null) {
-
-				// Try to find the Mesh block by name
-				if ("Mesh".equals(treeCur.getName())) {
-					meshTree = treeCur;
-					break;
-				}
-			}
+		if (tree != null) {
+			meshTree = tree.getIndex().getNode("/Mesh");
 		}
 
 		return meshTree;
@@ -1578,11 +1567,11 @@ public class MOOSEModel extends Item {
 					updateMeshResource();
 
 					// Also change the file type on the Mesh block to
-					// "FileEntry"
-					if (meshBlock == null) {
-						meshBlock = findMeshBlock();
-					}
-					DataComponent meshDataComp = (DataComponent) meshBlock.getActiveDataNode();
+					// "FileEntry". The block is looked up in the index every
+					// time in case it was replaced.
+					meshBlock = findMeshBlock();
+					DataComponent meshDataComp = (meshBlock != null) ? (DataComponent) meshBlock.getActiveDataNode()
+							: null;
 					if (meshDataComp != null && meshDataComp.retrieveEntry("file") != null) {
 						String meshFileName = meshDataComp.retrieveEntry("file").getValue();
 						if (!meshFileName.isEmpty() && ((AdaptiveTreeComposite) meshBlock).getType() == null) {
@@ -1648,9 +1637,7 @@ public class MOOSEModel extends Item {
 
 					// Try updating the Mesh block so the file parameter will
 					// be set correctly depending on the current block type
-					if (meshBlock == null) {
-						meshBlock = findMeshBlock();
-					}
+					meshBlock = findMeshBlock();
 					if (meshBlock != null) {
 						update(meshBlock);
 					}
@@ -1685,7 +1672,7 @@ public class MOOSEModel extends Item {
 		// Check if the MOOSE folder exists; create it if it doesn't
 		IFolder mooseFolder = project.getFolder("MOOSE");
 
-		refreshProjectSpace();
+		refreshResource(mooseFolder, IResource.DEPTH_ONE);
 		// If the MOOSE folder doesn't exist, create it
 		if (!mooseFolder.exists()) {
 			mooseFolder.create(true, true, null);
@@ -1724,7 +1711,7 @@ public class MOOSEModel extends Item {
 			// Record the line number of the footer
 			footerLine = fileLines.indexOf(footer);
 			deleteLines(file, footerLine, fileLines.size() - footerLine + 1);
-			refreshProjectSpace();
+			refreshResource(file, IResource.DEPTH_ZERO);
 		}
 
 		// Cut off the header, if there is one
@@ -1733,7 +1720,7 @@ public class MOOSEModel extends Item {
 			// Record the line number
 			headerLine = fileLines.indexOf(header);
 			deleteLines(file, 1, headerLine + 1);
-			refreshProjectSpace();
+			refreshResource(file, IResource.DEPTH_ZERO);
 
 		}
 
@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.item.nuclear;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is an in-memory store for the Postprocessor values posted by a
+ * running MOOSE simulation. Each Postprocessor has a {@link TimeSeries} of
+ * primitive time and value arrays that keeps the most recent samples up to a
+ * fixed retention, so that code running in ICE can read the data directly
+ * instead of re-parsing a CSV file. The arrays start small and grow as
+ * samples arrive, so a Postprocessor with few samples does not hold the full
+ * retention in memory.
+ *
+ * Samples that have not been written to disk yet are kept separately from the
+ * retained history, so none are lost if the history wraps before a flush.
+ * {@link #drainPending()} returns them as CSV rows, grouped by Postprocessor,
+ * so that the MOOSE Item can write each file once per batch.
+ *
+ * This class is thread safe.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class PostprocessorStore {
+
+	/**
+	 * The default number of samples retained in memory per Postprocessor.
+	 */
+	public static final int DEFAULT_RETENTION = 100000;
+
+	/**
+	 * The number of samples that the arrays of a new time series can hold.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The number of samples retained per Postprocessor.
+	 */
+	private final int retention;
+
+	/**
+	 * The time series, keyed by Postprocessor name in the order they were
+	 * first posted. It is also the lock for the map.
+	 */
+	private final Map<String, TimeSeries> series = new LinkedHashMap<String, TimeSeries>();
+
+	/**
+	 * The time series of a single Postprocessor.
+	 *
+	 * @author Jay Jay Billings
+	 *
+	 */
+	public static class TimeSeries {
+
+		/**
+		 * The maximum number of retained samples.
+		 */
+		private final int retention;
+
+		/**
+		 * The retained times, stored as a ring once the retention is reached.
+		 */
+		private double[] times;
+
+		/**
+		 * The retained values, stored as a ring once the retention is reached.
+		 */
+		private double[] values;
+
+		/**
+		 * The index of the oldest retained sample.
+		 */
+		private int start = 0;
+
+		/**
+		 * The number of retained samples.
+		 */
+		private int size = 0;
+
+		/**
+		 * The total number of samples ever added.
+		 */
+		private long total = 0;
+
+		/**
+		 * The samples that have not been written to disk yet, as interleaved
+		 * time and value pairs.
+		 */
+		private double[] pending = new double[16];
+
+		/**
+		 * The number of doubles used in the pending array.
+		 */
+		private int pendingLength = 0;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param retention
+		 *            The number of samples to retain
+		 */
+		private TimeSeries(int retention) {
+			this.retention = retention;
+			times = new double[Math.min(retention, INITIAL_CAPACITY)];
+			values = new double[times.length];
+		}
+
+		/**
+		 * This operation adds a sample, dropping the oldest retained sample if
+		 * the series is full.
+		 *
+		 * @param time
+		 *            The time
+		 * @param value
+		 *            The value
+		 */
+		private synchronized void add(double time, double value) {
+
+			// Make room for the sample. The arrays only wrap once they hold
+			// the full retention, so the samples start at zero until then.
+			if (size == times.length && size < retention) {
+				int capacity = (int) Math.min(retention, 2L * size);
+				times = Arrays.copyOf(times, capacity);
+				values = Arrays.copyOf(values, capacity);
+			}
+
+			// Retain the sample
+			int index = (start + size) % times.length;
+			times[index] = time;
+			values[index] = value;
+			if (size < times.length) {
+				size++;
+			} else {
+				start = (start + 1) % times.length;
+			}
+			total++;
+
+			// Queue it for the disk
+			if (pendingLength + 2 > pending.length) {
+				pending = Arrays.copyOf(pending, pending.length * 2);
+			}
+			pending[pendingLength++] = time;
+			pending[pendingLength++] = value;
+
+			return;
+		}
+
+		/**
+		 * This operation appends the samples that have not been written to
+		 * disk as "time,value" rows and forgets them.
+		 *
+		 * @param rows
+		 *            The builder that the rows should be appended to
+		 * @return The number of rows that were appended
+		 */
+		private synchronized int drainPending(StringBuilder rows) {
+			int count = pendingLength / 2;
+			for (int i = 0; i < pendingLength; i += 2) {
+				rows.append(pending[i]).append(',').append(pending[i + 1])
+						.append('\n');
+			}
+			pendingLength = 0;
+			return count;
+		}
+
+		/**
+		 * This operation returns the number of retained samples.
+		 *
+		 * @return The number of samples
+		 */
+		public synchronized int size() {
+			return size;
+		}
+
+		/**
+		 * This operation returns the total number of samples that were added,
+		 * including the ones that are no longer retained.
+		 *
+		 * @return The total number of samples
+		 */
+		public synchronized long getTotalCount() {
+			return total;
+		}
+
+		/**
+		 * This operation returns the retained times, oldest first.
+		 *
+		 * @return A copy of the times
+		 */
+		public synchronized double[] getTimes() {
+			return copy(times);
+		}
+
+		/**
+		 * This operation returns the retained values, oldest first.
+		 *
+		 * @return A copy of the values
+		 */
+		public synchronized double[] getValues() {
+			return copy(values);
+		}
+
+		/**
+		 * This operation returns the most recent value.
+		 *
+		 * @return The value or NaN if the series is empty
+		 */
+		public synchronized double getLatestValue() {
+			return (size > 0) ? values[(start + size - 1) % values.length]
+					: Double.NaN;
+		}
+
+		/**
+		 * This operation copies the retained samples of one of the rings in
+		 * chronological order.
+		 *
+		 * @param ring
+		 *            The ring to copy
+		 * @return The copy
+		 */
+		private double[] copy(double[] ring) {
+			double[] copy = new double[size];
+			int firstPart = Math.min(size, ring.length - start);
+			System.arraycopy(ring, start, copy, 0, firstPart);
+			System.arraycopy(ring, 0, copy, firstPart, size - firstPart);
+			return copy;
+		}
+	}
+
+	/**
+	 * The constructor. It uses the default retention.
+	 */
+	public PostprocessorStore() {
+		this(DEFAULT_RETENTION);
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param retention
+	 *            The number of samples retained in memory per Postprocessor
+	 */
+	public PostprocessorStore(int retention) {
+		if (retention < 1) {
+			throw new IllegalArgumentException(
+					"PostprocessorStore Error: The retention must be "
+							+ "positive.");
+		}
+		this.retention = retention;
+	}
+
+	/**
+	 * This operation adds a sample to a Postprocessor.
+	 *
+	 * @param name
+	 *            The name of the Postprocessor
+	 * @param time
+	 *            The time
+	 * @param value
+	 *            The value
+	 * @return True if this was the first sample of the Postprocessor
+	 */
+	public boolean add(String name, double time, double value) {
+
+		TimeSeries timeSeries;
+		boolean created = false;
+		synchronized (series) {
+			timeSeries = series.get(name);
+			if (timeSeries == null) {
+				timeSeries = new TimeSeries(retention);
+				series.put(name, timeSeries);
+				created = true;
+			}
+		}
+		timeSeries.add(time, value);
+
+		return created;
+	}
+
+	/**
+	 * This operation returns the time series of a Postprocessor.
+	 *
+	 * @param name
+	 *            The name of the Postprocessor
+	 * @return The time series or null if nothing was posted for it
+	 */
+	public TimeSeries getSeries(String name) {
+		synchronized (series) {
+			return series.get(name);
+		}
+	}
+
+	/**
+	 * This operation returns the names of the Postprocessors that have
+	 * samples, in the order they were first posted.
+	 *
+	 * @return The names
+	 */
+	public List<String> getNames() {
+		synchronized (series) {
+			return new ArrayList<String>(series.keySet());
+		}
+	}
+
+	/**
+	 * This operation removes the samples that have not been written to disk
+	 * from every Postprocessor and returns them as CSV rows.
+	 *
+	 * @return The rows keyed by Postprocessor name. Postprocessors without new
+	 *         samples are not included.
+	 */
+	public Map<String, String> drainPending() {
+
+		Map<String, String> rows = new LinkedHashMap<String, String>();
+		for (String name : getNames()) {
+			StringBuilder builder = new StringBuilder();
+			if (getSeries(name).drainPending(builder) > 0) {
+				rows.put(name, builder.toString());
+			}
+		}
+
+		return rows;
+	}
+
+	/**
+	 * This operation removes all Postprocessors and their samples.
+	 */
+	public void clear() {
+		synchronized (series) {
+			series.clear();
+		}
+	}
+
+}
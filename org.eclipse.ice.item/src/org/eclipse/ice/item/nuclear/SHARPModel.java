@@ -161,8 +161,8 @@ public class SHARPModel extends Item {
 				}
 				// Close the writer
 				writer.close();
-				// Refresh the project
-				project.refreshLocal(IResource.DEPTH_INFINITE, null);
+				// Refresh the file
+				refreshResource(outputFile, IResource.DEPTH_ZERO);
 			} catch (CoreException e) {
 				// Complain
 				logger.info("SHARPModel Exception: "
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.materials.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.ice.datastructures.form.Material;
+import org.eclipse.ice.materials.MaterialsIndex;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing {@link MaterialsIndex}.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class MaterialsIndexTester {
+
+	/**
+	 * This operation creates a material with a density.
+	 *
+	 * @param name
+	 *            The name of the material
+	 * @param density
+	 *            The density
+	 * @return The material
+	 */
+	private Material createMaterial(String name, double density) {
+		Material material = new Material();
+		material.setName(name);
+		material.setProperty(Material.DENSITY, density);
+		return material;
+	}
+
+	/**
+	 * This operation checks the snapshot and the prefix queries.
+	 */
+	@Test
+	public void checkSnapshotAndPrefix() {
+
+		MaterialsIndex index = new MaterialsIndex();
+		assertTrue(index.isEmpty());
+		index.put("Fe", createMaterial("Fe", 7.87));
+		index.put("C", createMaterial("C", 2.26));
+		index.put("F", createMaterial("F", 0.0017));
+		assertEquals(3, index.size());
+
+		// The snapshot is sorted and shared until the index changes
+		List<Material> snapshot = index.snapshot();
+		assertEquals("C", snapshot.get(0).getName());
+		assertEquals("F", snapshot.get(1).getName());
+		assertEquals("Fe", snapshot.get(2).getName());
+		assertSame(snapshot, index.snapshot());
+		index.remove("C");
+		assertNotSame(snapshot, index.snapshot());
+		assertEquals(2, index.snapshot().size());
+
+		// Check the prefixes
+		assertEquals(2, index.withPrefix("F").size());
+		assertEquals(1, index.withPrefix("Fe").size());
+		assertEquals(0, index.withPrefix("X").size());
+		assertEquals(2, index.withPrefix("").size());
+
+		return;
+	}
+
+	/**
+	 * This operation checks the property range queries.
+	 */
+	@Test
+	public void checkRange() {
+
+		MaterialsIndex index = new MaterialsIndex();
+		index.put("Fe", createMaterial("Fe", 7.87));
+		index.put("C", createMaterial("C", 2.26));
+		index.put("Al", createMaterial("Al", 2.70));
+		index.put("None", new Material());
+
+		// Check the range, which is returned in ascending order of value
+		List<Material> matches = index.inRange(Material.DENSITY, 2.0, 3.0);
+		assertEquals(2, matches.size());
+		assertEquals("C", matches.get(0).getName());
+		assertEquals("Al", matches.get(1).getName());
+		assertEquals(3, index.inRange(Material.DENSITY, 0.0, 10.0).size());
+		assertEquals(1,
+				index.inRange(Material.DENSITY, 7.87, 7.87).size());
+		assertEquals(0, index.inRange(Material.DENSITY, 3.0, 2.0).size());
+		assertEquals(0, index.inRange("No such property", 0.0, 1.0).size());
+
+		// Adding a material rebuilds the property index
+		index.put("Cu", createMaterial("Cu", 8.96));
+		assertEquals(2, index.inRange(Material.DENSITY, 7.0, 9.0).size());
+
+		return;
+	}
+}
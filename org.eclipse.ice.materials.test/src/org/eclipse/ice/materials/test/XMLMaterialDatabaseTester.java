@@ -230,4 +230,58 @@ public class XMLMaterialDatabaseTester {
 			fail();
 		}
 	}
+
+	/**
+	 * This operation checks that a material is written again when it changes,
+	 * even if its hash code does not.
+	 */
+	@Test
+	public void checkChangedMaterialIsWritten() {
+
+		// Two values with the same hash code
+		double firstValue = 0.0;
+		double secondValue = Double.longBitsToDouble(0x3FF000003FF00000L);
+		assertEquals(Double.valueOf(firstValue).hashCode(),
+				Double.valueOf(secondValue).hashCode());
+
+		// Write a single material to the database files
+		Material co2 = TestMaterialFactory.createCO2();
+		co2.setProperty(Material.DENSITY, firstValue);
+		ArrayList<Material> materials = new ArrayList<Material>();
+		materials.add(co2);
+		ICEList<Material> jaxbMaterialsList = new ICEList<Material>();
+		jaxbMaterialsList.setList(materials);
+
+		try {
+			JAXBContext jaxbContext = JAXBContext.newInstance(ICEList.class,
+					Material.class);
+			Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
+			jaxbMarshaller.marshal(jaxbMaterialsList, userTestFile);
+			jaxbMarshaller.marshal(jaxbMaterialsList, defaultTestFile);
+		} catch (JAXBException e) {
+			e.printStackTrace();
+			fail();
+		}
+
+		// Load it and change the density without changing the hash code
+		XMLMaterialsDatabase database = new XMLMaterialsDatabase(userTestFile,
+				defaultTestFile);
+		database.start();
+		Material loaded = database.getMaterials().get(0);
+		int hash = loaded.hashCode();
+		loaded.setProperty(Material.DENSITY, secondValue);
+		assertEquals(hash, loaded.hashCode());
+		database.updateMaterial(loaded);
+
+		// Restart the service and make sure the change was saved
+		database.stop();
+		database.start();
+		List<Material> reloadedMaterials = database.getMaterials();
+		assertEquals(1, reloadedMaterials.size());
+		assertEquals(secondValue,
+				reloadedMaterials.get(0).getProperty(Material.DENSITY), 0.0);
+		database.stop();
+
+		return;
+	}
 }
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.ice.materials;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.ice.datastructures.ICEObject.IElementSource;
@@ -39,6 +40,54 @@ public interface IMaterialsDatabase extends IElementSource<Material> {
 	 */
 	public List<Material> getMaterials();
 
+	/**
+	 * This operation returns the materials whose names start with the given
+	 * prefix. The default implementation scans all of the materials.
+	 * Realizations that index their materials should override it.
+	 * 
+	 * @param prefix
+	 *            The prefix of the names. All materials are returned if it is
+	 *            null or empty.
+	 * @return The matching Materials
+	 */
+	public default List<Material> getMaterialsWithPrefix(String prefix) {
+		List<Material> matches = new ArrayList<Material>();
+		for (Material material : getMaterials()) {
+			if (prefix == null || material.getName().startsWith(prefix)) {
+				matches.add(material);
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * This operation returns the materials that have the given property with a
+	 * value in the closed range [min, max]. The default implementation scans
+	 * all of the materials. Realizations that index their materials should
+	 * override it.
+	 * 
+	 * @param property
+	 *            The name of the property
+	 * @param min
+	 *            The lower bound of the value
+	 * @param max
+	 *            The upper bound of the value
+	 * @return The matching Materials
+	 */
+	public default List<Material> getMaterialsInRange(String property,
+			double min, double max) {
+		List<Material> matches = new ArrayList<Material>();
+		for (Material material : getMaterials()) {
+			if (material.hasProperty(property)) {
+				double value = material.getProperty(property);
+				if (value >= min && value <= max) {
+					matches.add(material);
+				}
+			}
+		}
+		return matches;
+	}
+
 	/**
 	 * This operation creates a new material in the database. If the new
 	 * Material is already in the database, it updates the existing record.
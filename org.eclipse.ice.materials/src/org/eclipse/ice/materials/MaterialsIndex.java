@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation -
+ *   Jay Jay Billings
+ *******************************************************************************/
+package org.eclipse.ice.materials;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.ice.datastructures.form.Material;
+import org.eclipse.ice.datastructures.form.MaterialPropertyRegistry;
+
+/**
+ * This class is the in-memory store behind the XMLMaterialsDatabase. It keeps
+ * the materials sorted by name and maintains read-optimized views of them:
+ * <ul>
+ * <li>An immutable snapshot of all materials that is shared by every reader
+ * until the next modification, instead of a new copy per call.</li>
+ * <li>Name prefix queries answered from the sorted name map.</li>
+ * <li>Property range queries answered by binary search over a per-property
+ * index of values, built the first time a property is queried.</li>
+ * </ul>
+ * The snapshot and property indices are discarded whenever a material is
+ * added, replaced or removed. Materials that are modified in place without
+ * being put back into the index are not reflected in the property indices
+ * until the next modification.
+ *
+ * This class is thread safe.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class MaterialsIndex {
+
+	/**
+	 * The materials, sorted by name.
+	 */
+	private final TreeMap<String, Material> byName = new TreeMap<String, Material>();
+
+	/**
+	 * The immutable snapshot of the materials or null if it must be rebuilt.
+	 */
+	private List<Material> snapshot;
+
+	/**
+	 * The property range indices, keyed by property id.
+	 */
+	private final Map<Integer, PropertyIndex> propertyIndices = new HashMap<Integer, PropertyIndex>();
+
+	/**
+	 * A sorted index of the values of a single property.
+	 *
+	 * @author Jay Jay Billings
+	 *
+	 */
+	private static class PropertyIndex {
+
+		/**
+		 * The property values in ascending order.
+		 */
+		private final double[] values;
+
+		/**
+		 * The materials, in the same order as the values.
+		 */
+		private final Material[] materials;
+
+		/**
+		 * The constructor. It indexes the materials that have the property.
+		 *
+		 * @param id
+		 *            The id of the property
+		 * @param property
+		 *            The name of the property
+		 * @param source
+		 *            The materials to index
+		 */
+		private PropertyIndex(int id, String property,
+				Collection<Material> source) {
+
+			// Gather the materials that have the property
+			ArrayList<Material> withProperty = new ArrayList<Material>();
+			for (Material material : source) {
+				if (material.hasProperty(property)) {
+					withProperty.add(material);
+				}
+			}
+
+			// Sort them by value
+			Material[] sorted = withProperty
+					.toArray(new Material[withProperty.size()]);
+			Arrays.sort(sorted, (first, second) -> Double
+					.compare(first.getProperty(id), second.getProperty(id)));
+			materials = sorted;
+			values = new double[sorted.length];
+			for (int i = 0; i < sorted.length; i++) {
+				values[i] = sorted[i].getProperty(id);
+			}
+		}
+
+		/**
+		 * This operation returns the materials whose values are in the closed
+		 * range [min, max].
+		 *
+		 * @param min
+		 *            The lower bound
+		 * @param max
+		 *            The upper bound
+		 * @return The materials, in ascending order of value
+		 */
+		private List<Material> find(double min, double max) {
+			int start = lowerBound(min);
+			int end = start;
+			while (end < values.length && values[end] <= max) {
+				end++;
+			}
+			return Collections.unmodifiableList(
+					Arrays.asList(Arrays.copyOfRange(materials, start, end)));
+		}
+
+		/**
+		 * This operation returns the index of the first value that is greater
+		 * than or equal to the key.
+		 *
+		 * @param key
+		 *            The key
+		 * @return The index, which is values.length if there is none
+		 */
+		private int lowerBound(double key) {
+			int low = 0;
+			int high = values.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (values[mid] < key) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+	}
+
+	/**
+	 * This operation adds or replaces a material.
+	 *
+	 * @param name
+	 *            The name of the material
+	 * @param material
+	 *            The material
+	 */
+	public synchronized void put(String name, Material material) {
+		byName.put(name, material);
+		invalidate();
+	}
+
+	/**
+	 * This operation removes a material.
+	 *
+	 * @param name
+	 *            The name of the material
+	 * @return The material that was removed or null if there was none
+	 */
+	public synchronized Material remove(String name) {
+		Material removed = byName.remove(name);
+		if (removed != null) {
+			invalidate();
+		}
+		return removed;
+	}
+
+	/**
+	 * This operation returns the material with the given name.
+	 *
+	 * @param name
+	 *            The name
+	 * @return The material or null if there is none
+	 */
+	public synchronized Material get(String name) {
+		return byName.get(name);
+	}
+
+	/**
+	 * This operation removes all materials.
+	 */
+	public synchronized void clear() {
+		byName.clear();
+		invalidate();
+	}
+
+	/**
+	 * This operation returns the number of materials.
+	 *
+	 * @return The number of materials
+	 */
+	public synchronized int size() {
+		return byName.size();
+	}
+
+	/**
+	 * This operation returns true if there are no materials.
+	 *
+	 * @return True if the index is empty
+	 */
+	public synchronized boolean isEmpty() {
+		return byName.isEmpty();
+	}
+
+	/**
+	 * This operation returns an immutable snapshot of the materials sorted by
+	 * name. The same snapshot is returned until the index is modified.
+	 *
+	 * @return The materials
+	 */
+	public synchronized List<Material> snapshot() {
+		if (snapshot == null) {
+			snapshot = Collections.unmodifiableList(
+					new ArrayList<Material>(byName.values()));
+		}
+		return snapshot;
+	}
+
+	/**
+	 * This operation returns the materials whose names start with the prefix.
+	 *
+	 * @param prefix
+	 *            The prefix
+	 * @return The matching materials, sorted by name
+	 */
+	public synchronized List<Material> withPrefix(String prefix) {
+		if (prefix == null || prefix.isEmpty()) {
+			return snapshot();
+		}
+		return Collections.unmodifiableList(new ArrayList<Material>(
+				byName.subMap(prefix, prefix + Character.MAX_VALUE).values()));
+	}
+
+	/**
+	 * This operation returns the materials that have the given property with a
+	 * value in the closed range [min, max].
+	 *
+	 * @param property
+	 *            The name of the property
+	 * @param min
+	 *            The lower bound
+	 * @param max
+	 *            The upper bound
+	 * @return The matching materials in ascending order of the property value
+	 */
+	public synchronized List<Material> inRange(String property, double min,
+			double max) {
+		int id = MaterialPropertyRegistry.findId(property);
+		if (id < 0 || min > max) {
+			return Collections.emptyList();
+		}
+		PropertyIndex index = propertyIndices.get(id);
+		if (index == null) {
+			index = new PropertyIndex(id, property, byName.values());
+			propertyIndices.put(id, index);
+		}
+		return index.find(min, max);
+	}
+
+	/**
+	 * This operation discards the snapshot and the property indices after a
+	 * modification.
+	 */
+	private void invalidate() {
+		snapshot = null;
+		propertyIndices.clear();
+	}
+
+}
@@ -12,24 +12,31 @@
  *******************************************************************************/
 package org.eclipse.ice.materials;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
 
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.form.Material;
+import org.eclipse.ice.datastructures.form.MaterialPropertyCache;
 import org.eclipse.ice.datastructures.form.MaterialStack;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleActivator;
@@ -53,6 +60,13 @@ import ca.odell.glazedlists.gui.TableFormat;
  * bundle. It stores the (possibly) modified user list of Materials in its
  * bundle directory in the workspace.
  *
+ * The database file is not read until the materials are first requested. The
+ * materials are kept in a {@link MaterialsIndex}, which serves shared,
+ * immutable snapshots and prefix and property range queries. Each material is
+ * marshalled to XML separately and the result is cached with a copy of the
+ * material, so writing the database only re-marshals the materials whose
+ * content changed and skips the write entirely if nothing did.
+ *
  * @author Jay Jay Billings
  *
  */
@@ -84,10 +98,95 @@ public class XMLMaterialsDatabase
 	private JAXBContext jaxbContext;
 
 	/**
-	 * The list of materials loaded from the database. They are stored as a
-	 * Hashtable for fast, sychronized manipulation.
+	 * The list of materials loaded from the database. They are stored in an
+	 * index for fast, sychronized manipulation and queries.
+	 */
+	protected MaterialsIndex materialsMap = new MaterialsIndex();
+
+	/**
+	 * The file that should be loaded the first time the materials are needed
+	 * or null if they have already been loaded.
+	 */
+	private File pendingLoad;
+
+	/**
+	 * The XML for each material that was last written or read, keyed by the
+	 * name of the material. It is used to skip re-marshalling materials that
+	 * have not changed.
+	 */
+	private final Map<String, MaterialXML> xmlCache = new HashMap<String, MaterialXML>();
+
+	/**
+	 * The XML element name of each material in the database file.
 	 */
-	protected Hashtable<String, Material> materialsMap;
+	private static final QName listElementName = new QName("ListElement");
+
+	/**
+	 * The marshalled form of a single material.
+	 *
+	 * @author Jay Jay Billings
+	 *
+	 */
+	private static class MaterialXML {
+
+		/**
+		 * A deep copy of the material when it was marshalled or read.
+		 */
+		private final Material content;
+
+		/**
+		 * The XML of the material or null if it has not been marshalled yet.
+		 */
+		private final byte[] xml;
+
+		/**
+		 * The constructor
+		 *
+		 * @param material
+		 *            The material, which is copied
+		 * @param xml
+		 *            The XML or null
+		 */
+		private MaterialXML(Material material, byte[] xml) {
+			this.content = deepCopy(material);
+			this.xml = xml;
+		}
+
+		/**
+		 * This operation checks whether or not the material still has the
+		 * content it had when this entry was created.
+		 *
+		 * @param material
+		 *            The current material
+		 * @return True if the material is unchanged, false otherwise
+		 */
+		private boolean matches(Material material) {
+			return content.equals(material);
+		}
+
+		/**
+		 * This operation copies a material and, unlike Material.clone(), its
+		 * components, so that later changes to the components of the original
+		 * do not show up in the copy.
+		 *
+		 * @param material
+		 *            The material to copy
+		 * @return The copy
+		 */
+		private static Material deepCopy(Material material) {
+			Material copy = new Material();
+			copy.setName(material.getName());
+			for (Map.Entry<String, Double> property : material.getProperties()
+					.entrySet()) {
+				copy.setProperty(property.getKey(), property.getValue());
+			}
+			for (MaterialStack stack : material.getComponents()) {
+				copy.addComponent(new MaterialStack(
+						deepCopy(stack.getMaterial()), stack.getAmount()));
+			}
+			return copy;
+		}
+	}
 
 	/**
 	 * The service registration to publish and unpublish this class as an
@@ -129,7 +228,35 @@ public class XMLMaterialsDatabase
 	 */
 	@Override
 	public List<Material> getMaterials() {
-		return new ArrayList<Material>(materialsMap.values());
+		ensureLoaded();
+		return materialsMap.snapshot();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.ice.materials.IMaterialsDatabase#getMaterialsWithPrefix(java
+	 * .lang.String)
+	 */
+	@Override
+	public List<Material> getMaterialsWithPrefix(String prefix) {
+		ensureLoaded();
+		return materialsMap.withPrefix(prefix);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.ice.materials.IMaterialsDatabase#getMaterialsInRange(java.
+	 * lang.String, double, double)
+	 */
+	@Override
+	public List<Material> getMaterialsInRange(String property, double min,
+			double max) {
+		ensureLoaded();
+		return materialsMap.inRange(property, min, max);
 	}
 
 	/*
@@ -142,6 +269,7 @@ public class XMLMaterialsDatabase
 	@Override
 	public void addMaterial(Material material) {
 		if (material != null) {
+			ensureLoaded();
 			materialsMap.put(material.getName(), material);
 		}
 
@@ -157,6 +285,7 @@ public class XMLMaterialsDatabase
 	@Override
 	public void deleteMaterial(String name) {
 		if (name != null) {
+			ensureLoaded();
 			materialsMap.remove(name);
 		}
 	}
@@ -171,6 +300,7 @@ public class XMLMaterialsDatabase
 	@Override
 	public void deleteMaterial(Material material) {
 		if (material != null) {
+			ensureLoaded();
 			materialsMap.remove(material.getName());
 		}
 	}
@@ -185,10 +315,21 @@ public class XMLMaterialsDatabase
 	@Override
 	public void updateMaterial(Material material) {
 		if (material != null) {
+			ensureLoaded();
 			materialsMap.put(material.getName(), material);
 		}
 	}
 
+	/**
+	 * This operation loads the database file that was selected by start() if
+	 * it has not been loaded yet.
+	 */
+	private synchronized void ensureLoaded() {
+		if (pendingLoad != null) {
+			loadDatabase(pendingLoad);
+		}
+	}
+
 	/**
 	 * This operation loads the database that is in the provided file.
 	 *
@@ -196,23 +337,28 @@ public class XMLMaterialsDatabase
 	 *            the file that contains a materials database in XML and which
 	 *            should be loaded.
 	 */
-	private void loadDatabase(File fileToLoad) {
-		try {
+	private synchronized void loadDatabase(File fileToLoad) {
+
+		// Anything that was waiting to be loaded is replaced by this file
+		pendingLoad = null;
 
-			// Create the input stream
-			FileInputStream stream = new FileInputStream(fileToLoad);
+		try (FileInputStream stream = new FileInputStream(fileToLoad)) {
 			// Create the necessary JAXB equipment to load the file
 			Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
 			// And unmarshall it into the list
 			ICEList<Material> rawList = (ICEList<Material>) jaxbUnmarshaller
 					.unmarshal(stream);
 
-			// Load the list into the material map
-			materialsMap = new Hashtable<String, Material>();
+			// Load the list into the material map and remember what each
+			// material looked like when it was read
+			materialsMap.clear();
+			xmlCache.clear();
 			for (Material material : rawList.getList()) {
 				materialsMap.put(material.getName(), material);
+				xmlCache.put(material.getName(),
+						new MaterialXML(material, null));
 			}
-		} catch (JAXBException | FileNotFoundException e) {
+		} catch (JAXBException | IOException e) {
 			logger.error(getClass().getName() + " Exception!", e);
 		}
 		return;
@@ -220,24 +366,97 @@ public class XMLMaterialsDatabase
 
 	/**
 	 * This operation writes the database to disk in the user database file.
+	 * Only the materials that changed since they were last read or written are
+	 * marshalled again, and nothing is written if none changed.
+	 *
+	 * @param force
+	 *            True if the file should be written even if nothing changed
 	 */
-	private void writeDatabase() {
+	private synchronized void writeDatabase(boolean force) {
+
+		// Nothing to write if the database was never loaded
+		if (pendingLoad != null) {
+			return;
+		}
+
+		List<Material> materials = materialsMap.snapshot();
+
+		// Check for changes. The cache has an entry for every material that
+		// was read or written, so any difference in the names or content
+		// means the file is out of date.
+		boolean changed = force || !userDatabase.exists()
+				|| materials.size() != xmlCache.size();
+		for (int i = 0; !changed && i < materials.size(); i++) {
+			Material material = materials.get(i);
+			MaterialXML cached = xmlCache.get(material.getName());
+			changed = cached == null || !cached.matches(material);
+		}
+		if (!changed) {
+			logger.info("Database unchanged, skipping write.");
+			return;
+		}
 
+		File tempFile = null;
 		try {
-			// Create the necessary JAXB equipment to dump the file
+			// Create the necessary JAXB equipment to dump the materials
 			Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
 			jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-			// Create the ICEList of Materials
-			ICEList<Material> materialsList = new ICEList<Material>();
-			materialsList.setList(new ArrayList<Material>(getMaterials()));
-			// And dump it into the file
-			jaxbMarshaller.marshal(materialsList, userDatabase);
-		} catch (JAXBException e) {
+			jaxbMarshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+
+			// Write the list to a temporary file next to the database and
+			// then move it into place
+			tempFile = File.createTempFile(userDatabase.getName(), ".tmp",
+					userDatabase.getAbsoluteFile().getParentFile());
+			Map<String, MaterialXML> newCache = new HashMap<String, MaterialXML>();
+			try (OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+				out.write(("<?xml version=\"1.0\" encoding=\"UTF-8\" "
+						+ "standalone=\"yes\"?>\n<ICEList>\n")
+								.getBytes(StandardCharsets.UTF_8));
+				for (Material material : materials) {
+					MaterialXML cached = xmlCache.get(material.getName());
+					// Marshal the material if it changed or was never
+					// marshalled
+					if (cached == null || cached.xml == null
+							|| !cached.matches(material)) {
+						ByteArrayOutputStream xml = new ByteArrayOutputStream();
+						jaxbMarshaller.marshal(
+								new JAXBElement<Object>(listElementName,
+										Object.class, material),
+								xml);
+						xml.write('\n');
+						cached = new MaterialXML(material,
+								xml.toByteArray());
+					}
+					out.write(cached.xml);
+					newCache.put(material.getName(), cached);
+				}
+				out.write("</ICEList>\n".getBytes(StandardCharsets.UTF_8));
+			}
+			Files.move(tempFile.toPath(), userDatabase.toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+
+			// Keep the cache in sync with the file
+			xmlCache.clear();
+			xmlCache.putAll(newCache);
+		} catch (JAXBException | IOException e) {
 			System.err.println("XMLMaterialDatabase: Error writing database!");
 			logger.error(getClass().getName() + " Exception!", e);
+			if (tempFile != null) {
+				tempFile.delete();
+			}
 		}
 	}
 
+	/**
+	 * This operation recomputes the derived properties of every compound
+	 * material in the database. The materials are updated in parallel and the
+	 * sums over components are shared between materials with the same
+	 * composition by the default {@link MaterialPropertyCache}.
+	 */
+	public void updateDerivedProperties() {
+		MaterialPropertyCache.getDefault().updateAll(getMaterials());
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -248,7 +467,7 @@ public class XMLMaterialsDatabase
 		// Load the default database
 		loadDatabase(defaultDatabase);
 		// Overwrite the user database
-		writeDatabase();
+		writeDatabase(true);
 	}
 
 	/**
@@ -268,12 +487,15 @@ public class XMLMaterialsDatabase
 			logger.error("Unable to initialize JAXB!", e);
 		}
 
-		// Choose which database to load and do so
-		if (userDatabase.exists()) {
-			logger.info("Loading user-modified database.");
-			loadDatabase(userDatabase);
-		} else {
-			loadDatabase(defaultDatabase);
+		// Choose which database to load. It is loaded the first time it is
+		// needed.
+		synchronized (this) {
+			if (userDatabase.exists()) {
+				logger.info("Loading user-modified database.");
+				pendingLoad = userDatabase;
+			} else {
+				pendingLoad = defaultDatabase;
+			}
 		}
 
 		// Throw some info in the log
@@ -325,7 +547,7 @@ public class XMLMaterialsDatabase
 	public void stop() {
 
 		// Write the database
-		writeDatabase();
+		writeDatabase(false);
 
 		logger.info("Service stopped!");
 
@@ -360,7 +582,7 @@ public class XMLMaterialsDatabase
 	public EventList<Material> getElements() {
 		// Create a new event list and return it using the standard factory
 		// method for GlazedLists.
-		EventList<Material> list = GlazedLists.eventList(materialsMap.values());
+		EventList<Material> list = GlazedLists.eventList(getMaterials());
 		return list;
 	}
 
@@ -377,12 +599,10 @@ public class XMLMaterialsDatabase
 
 		// Build and return a table format if there are materials in the
 		// database
-		if (!materialsMap.isEmpty()) {
-			// Get the properties off the map. Pulling back the array is more
-			// efficient than getting an iterator. I think...
-			Material[] emptyArray = {};
-			Map<String, Double> props = materialsMap.values()
-					.toArray(emptyArray)[0].getProperties();
+		List<Material> materials = getMaterials();
+		if (!materials.isEmpty()) {
+			// Get the properties off the first material
+			Map<String, Double> props = materials.get(0).getProperties();
 			ArrayList<String> propNames = new ArrayList<String>(props.keySet());
 			// Initialize the table format
 			format = new MaterialWritableTableFormat(propNames);
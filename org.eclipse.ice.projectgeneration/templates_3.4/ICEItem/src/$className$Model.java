@@ -148,7 +148,7 @@ public class $className$Model extends Model {
 			writer = ioService.getWriter(writerName);
 			retStatus = FormStatus.Processing;
 			writer.write(form, outputFile);
-			refreshProjectSpace();
+			refreshResource(outputFile, IResource.DEPTH_ZERO);
 			retStatus = FormStatus.Processed;
 		} else {
 			retStatus = super.process(actionName);
@@ -20,6 +20,8 @@ import org.eclipse.eavp.viz.datastructures.VizObject.IVizUpdateable;
 import org.eclipse.eavp.viz.datastructures.VizObject.IVizUpdateableListener;
 import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.Composite;
+import org.eclipse.ice.datastructures.concurrent.ICEExecutors;
+import org.eclipse.ice.datastructures.concurrent.Workload;
 
 /**
  * A PlantComposite is a container for {@link PlantComponent}s. Duplicate
@@ -247,9 +249,9 @@ public class PlantComposite extends PlantComponent
 			final List<PlantComponent> components, final boolean added) {
 
 		if (components != null && !components.isEmpty()) {
-			// Create a thread to notify IPlantCompositeListeners that
-			// PlantComponents were either added or removed.
-			Thread notifierThread = new Thread() {
+			// Notify IPlantCompositeListeners that PlantComponents were either
+			// added or removed on the shared notification threads.
+			ICEExecutors.execute(Workload.NOTIFICATION, new Runnable() {
 				@Override
 				public void run() {
 					if (added) {
@@ -268,8 +270,7 @@ public class PlantComposite extends PlantComponent
 						listener.update(PlantComposite.this);
 					}
 				}
-			};
-			notifierThread.start();
+			});
 		}
 
 		return;
@@ -12,6 +12,7 @@
 package org.eclipse.ice.reflectivity.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.apache.commons.math.MathException;
@@ -33,6 +34,7 @@ import org.eclipse.ice.reflectivity.ReflectivityProfile;
 import org.eclipse.ice.reflectivity.ScatteringDensityProfile;
 import org.eclipse.ice.reflectivity.Slab;
 import org.eclipse.ice.reflectivity.Tile;
+import org.eclipse.ice.reflectivity.TileArray;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -658,4 +660,149 @@ public class ReflectivityCalculatorTester {
 		return;
 	}
 
+	/**
+	 * This operation tests
+	 * {@link ReflectivityCalculator#generateAdaptiveTiles(Slab[], int, double)}
+	 * .
+	 * 
+	 * @throws MathException
+	 */
+	@Test
+	public void testGenerateAdaptiveTiles() throws MathException {
+
+		// Create the calculator
+		ReflectivityCalculator calculator = new ReflectivityCalculator();
+
+		// Generate the uniform tiles
+		int numRough = 41;
+		double[] zInt = new double[ReflectivityCalculator.maxRoughSize];
+		double[] rufInt = new double[ReflectivityCalculator.maxRoughSize];
+		calculator.getInterfacialProfile(numRough, zInt, rufInt);
+		Tile[] uniformTiles = calculator.generateTiles(slabs, numRough, zInt,
+				rufInt);
+
+		// Without a tolerance every interface should get every layer, so the
+		// tiles should be the same as the uniform tiles
+		TileArray tiles = calculator.generateAdaptiveTiles(slabs, numRough,
+				0.0);
+		assertEquals(uniformTiles.length, tiles.size());
+		for (int i = 0; i < uniformTiles.length; i++) {
+			assertEquals(uniformTiles[i].scatteringLength,
+					tiles.scatteringLength[i], 0.0);
+			assertEquals(uniformTiles[i].trueAbsLength,
+					tiles.trueAbsLength[i], 0.0);
+			assertEquals(uniformTiles[i].incAbsLength, tiles.incAbsLength[i],
+					0.0);
+			assertEquals(uniformTiles[i].thickness, tiles.thickness[i], 0.0);
+		}
+
+		// A tolerance should need fewer tiles for the same total thickness
+		TileArray coarseTiles = calculator.generateAdaptiveTiles(slabs,
+				numRough, 0.01);
+		assertTrue(coarseTiles.size() < tiles.size());
+		double thickness = 0.0;
+		double coarseThickness = 0.0;
+		for (int i = 0; i < tiles.size(); i++) {
+			thickness += tiles.thickness[i];
+		}
+		for (int i = 0; i < coarseTiles.size(); i++) {
+			coarseThickness += coarseTiles.thickness[i];
+		}
+		assertEquals(thickness, coarseThickness, thickness * 1.0e-12);
+
+		// Sharp interfaces and a single layer of roughness should not need
+		// any tiles but the slabs
+		Slab[] sharpSlabs = new Slab[slabs.length];
+		for (int i = 0; i < slabs.length; i++) {
+			sharpSlabs[i] = new Slab();
+			sharpSlabs[i].scatteringLength = slabs[i].scatteringLength;
+			sharpSlabs[i].thickness = slabs[i].thickness;
+		}
+		assertEquals(slabs.length, calculator
+				.generateAdaptiveTiles(sharpSlabs, numRough, 0.01).size());
+		assertEquals(slabs.length,
+				calculator.generateAdaptiveTiles(slabs, 1, 0.0).size());
+
+		return;
+	}
+
+	/**
+	 * This operation tests
+	 * {@link ReflectivityCalculator#getAdaptiveReflectivityProfile()} against
+	 * {@link ReflectivityCalculator#getReflectivityProfile()} for a large
+	 * stack of slabs.
+	 */
+	@Test
+	public void testGetAdaptiveReflectivityProfile() {
+
+		// Create a stack of alternating layers between the air and the
+		// substrate. Half of the interfaces are sharp and the contrast
+		// between the layers is small compared to the substrate.
+		int numLayers = 200;
+		Slab[] stack = new Slab[numLayers + 2];
+		stack[0] = new Slab();
+		stack[0].thickness = 200.0;
+		for (int i = 1; i <= numLayers; i++) {
+			stack[i] = new Slab();
+			stack[i].scatteringLength = (i % 2 == 0) ? 4.0e-6 : 4.1e-6;
+			stack[i].trueAbsLength = 2.27931868269305E-09;
+			stack[i].incAbsLength = 4.74626235093697E-09;
+			stack[i].thickness = 20.0;
+			stack[i].interfaceWidth = (i % 4 == 0) ? 0.0 : 3.0;
+		}
+		stack[numLayers + 1] = new Slab();
+		stack[numLayers + 1].scatteringLength = 2.070e-6;
+		stack[numLayers + 1].trueAbsLength = 4.74981478870069E-11;
+		stack[numLayers + 1].incAbsLength = 1.99769988072137E-12;
+		stack[numLayers + 1].thickness = 100.0;
+		stack[numLayers + 1].interfaceWidth = 17.5;
+
+		// Create the wave vector
+		double[] waveVector = new double[402];
+		for (int i = 0; i < waveVector.length; i++) {
+			waveVector[i] = 0.005 + 0.0005 * i;
+		}
+
+		// Calculate the uniform and adaptive profiles
+		ReflectivityCalculator calc = new ReflectivityCalculator();
+		long start = System.currentTimeMillis();
+		ReflectivityProfile uniform = calc.getReflectivityProfile(stack, 41,
+				0.0002, 0.03, 4.25, waveVector, false);
+		long uniformTime = System.currentTimeMillis() - start;
+		start = System.currentTimeMillis();
+		ReflectivityProfile adaptive = calc.getAdaptiveReflectivityProfile(
+				stack, 41, 0.001, 0.0002, 0.03, 4.25, waveVector, false);
+		long adaptiveTime = System.currentTimeMillis() - start;
+		System.out.println("ReflectivityCalculatorTester Message: "
+				+ uniform.depth.length / 2 + " uniform tiles in "
+				+ uniformTime + " ms, " + adaptive.depth.length / 2
+				+ " adaptive tiles in " + adaptiveTime + " ms");
+
+		// The adaptive profile should need fewer tiles and match the uniform
+		// profile within the tolerance
+		assertTrue(adaptive.depth.length < uniform.depth.length);
+		assertEquals(uniform.reflectivity.length,
+				adaptive.reflectivity.length);
+		for (int i = 0; i < uniform.reflectivity.length; i++) {
+			assertEquals(uniform.reflectivity[i], adaptive.reflectivity[i],
+					Math.abs(uniform.reflectivity[i]) * tol);
+		}
+
+		// The incident medium correction should have been undone
+		assertEquals(0.0, stack[0].scatteringLength, 0.0);
+		assertEquals(2.070e-6, stack[numLayers + 1].scatteringLength, 0.0);
+
+		// Without a tolerance only the tiles of the sharp interfaces, which
+		// have no thickness, should be left out
+		adaptive = calc.getAdaptiveReflectivityProfile(stack, 41, 0.0,
+				0.0002, 0.03, 4.25, waveVector, false);
+		assertTrue(adaptive.depth.length < uniform.depth.length);
+		for (int i = 0; i < uniform.reflectivity.length; i++) {
+			assertEquals(uniform.reflectivity[i], adaptive.reflectivity[i],
+					Math.abs(uniform.reflectivity[i]) * 1.0e-9);
+		}
+
+		return;
+	}
+
 }
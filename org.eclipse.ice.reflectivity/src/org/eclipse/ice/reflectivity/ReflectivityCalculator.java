@@ -14,7 +14,6 @@
 package org.eclipse.ice.reflectivity;
 
 import org.apache.commons.math.MathException;
-import org.apache.commons.math.complex.Complex;
 import org.apache.commons.math.special.Erf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,65 +68,164 @@ public class ReflectivityCalculator {
 	 */
 	public double getModSqrdSpecRef(double waveVectorQ, double wavelength,
 			Tile[] tiles) {
+		return getModSqrdSpecRef(waveVectorQ, wavelength,
+				new TileArray(tiles));
+	}
+
+	/**
+	 * This operation returns the value of the squared modulus of the specular
+	 * reflectivity for a single wave vector Q from tiles stored in columns.
+	 *
+	 * The complex arithmetic of the Parratt recursion is done on pairs of
+	 * doubles in the same order as Apache Commons Math's Complex does it, so
+	 * no objects are created for each tile.
+	 *
+	 * @param waveVectorQ
+	 *            the value of the wave vector
+	 * @param wavelength
+	 *            the wavelength of the incident neutrons
+	 * @param tiles
+	 *            the tiles that contain the physical parameters needed for the
+	 *            calculation, including the scattering densities, absorption
+	 *            parameters and thicknesses.
+	 * @return the squared modulus of the specular reflectivity
+	 */
+	public double getModSqrdSpecRef(double waveVectorQ, double wavelength,
+			TileArray tiles) {
 
 		double modSqrdSpecRef = 0.0;
 
 		if (wavelength > 0.0) {
 			// Variables only needed if we are going to do the work, i.e. -
 			// wavelength > 0.0.
-			Tile tile;
-			Complex aNm1Sq, fNm1N, rNm1N = new Complex(0.0, 0.0), one = new Complex(
-					1.0, 0.0), qN = new Complex(0.0, 0.0), rNNp1 = new Complex(
-					0.0, 0.0);
+			double[] result = new double[2];
+			double qSq = waveVectorQ * waveVectorQ;
+			double rNm1NRe = 0.0, rNm1NIm = 0.0, rNNp1Re = 0.0, rNNp1Im = 0.0;
+			double qNRe, qNIm, qNm1Re, qNm1Im;
+			double aRe, aIm, aSqRe, aSqIm, fRe, fIm, yRe, yIm, zRe, zIm;
+			double expFac, phase;
 			// Get the bottom tile
-			int nLayers = tiles.length;
-			tile = tiles[nLayers - 1];
+			int nLayers = tiles.size();
+			int tile = nLayers - 1;
 			// Starting point--no reflected beam in bottom-most (bulk) layer
-			double qCSq = 16.0 * Math.PI * tile.scatteringLength;
-			double muLAbs = tile.trueAbsLength;
-			double mulInc = tile.incAbsLength;
-			double thickness = tile.thickness;
+			double qCSq = 16.0 * Math.PI * tiles.scatteringLength[tile];
 			// Setup other values for the problem
-			double betaNm1 = 4.0 * Math.PI * (muLAbs + mulInc / wavelength);
-			Complex qNm1 = new Complex(waveVectorQ * waveVectorQ - qCSq, -2.0
-					* betaNm1);
-			qNm1 = qNm1.sqrt();
+			double betaNm1 = 4.0 * Math.PI * (tiles.trueAbsLength[tile]
+					+ tiles.incAbsLength[tile] / wavelength);
+			sqrt(qSq - qCSq, -2.0 * betaNm1, result);
+			qNm1Re = result[0];
+			qNm1Im = result[1];
 			// Loop through to calculate recursion formula described in Parratt.
 			// Start at the bottom and work up.
 			for (int i = nLayers - 1; i > 0; i--) {
 				// Get the tile above tile[i] (started at the bottom
-				tile = tiles[i - 1];
+				tile = i - 1;
 				// Calculate the normal component of Q for layer and layer-1
-				qN = qNm1;
-				qCSq = 16.0 * Math.PI * tile.scatteringLength;
-				muLAbs = tile.trueAbsLength;
-				mulInc = tile.incAbsLength;
-				thickness = tile.thickness;
-				betaNm1 = 4.0 * Math.PI * (muLAbs + mulInc / wavelength);
-				qNm1 = new Complex(waveVectorQ * waveVectorQ - qCSq, -2.0
-						* betaNm1);
-				qNm1 = qNm1.sqrt();
+				qNRe = qNm1Re;
+				qNIm = qNm1Im;
+				qCSq = 16.0 * Math.PI * tiles.scatteringLength[tile];
+				betaNm1 = 4.0 * Math.PI * (tiles.trueAbsLength[tile]
+						+ tiles.incAbsLength[tile] / wavelength);
+				sqrt(qSq - qCSq, -2.0 * betaNm1, result);
+				qNm1Re = result[0];
+				qNm1Im = result[1];
 				// Calculate phase factor, e^(-0.5*d*qNm1)
-				aNm1Sq = (new Complex(qNm1.getImaginary(), qNm1.getReal())
-						.multiply(-0.5 * thickness)).exp();
+				expFac = Math.exp(qNm1Im * (-0.5 * tiles.thickness[tile]));
+				phase = qNm1Re * (-0.5 * tiles.thickness[tile]);
+				aRe = expFac * Math.cos(phase);
+				aIm = expFac * Math.sin(phase);
 				// CDiv(qNm1-qN,qNm1+qN)
-				fNm1N = qNm1.subtract(qN).divide(qNm1.add(qN));
+				divide(qNm1Re - qNRe, qNm1Im - qNIm, qNm1Re + qNRe,
+						qNm1Im + qNIm, result);
+				fRe = result[0];
+				fIm = result[1];
 				// Calculate the reflectivity amplitude.
 				// CMult(aNm1Sq, CMult(aNm1Sq, CDiv(CAdd(rNNp1, fNm1N),
 				// CAdd(CMult(rNNp1, fNm1N), CReal(1)))))
-				Complex y = rNNp1.multiply(fNm1N).add(one);
-				Complex z = rNNp1.add(fNm1N);
-				rNm1N = aNm1Sq.multiply(aNm1Sq).multiply(z.divide((y)));
+				yRe = rNNp1Re * fRe - rNNp1Im * fIm + 1.0;
+				yIm = rNNp1Re * fIm + rNNp1Im * fRe;
+				zRe = rNNp1Re + fRe;
+				zIm = rNNp1Im + fIm;
+				aSqRe = aRe * aRe - aIm * aIm;
+				aSqIm = aRe * aIm + aIm * aRe;
+				divide(zRe, zIm, yRe, yIm, result);
+				rNm1NRe = aSqRe * result[0] - aSqIm * result[1];
+				rNm1NIm = aSqRe * result[1] + aSqIm * result[0];
 				// Carry over to the next iteration
-				rNNp1 = rNm1N;
+				rNNp1Re = rNm1NRe;
+				rNNp1Im = rNm1NIm;
 			}
-			modSqrdSpecRef = rNm1N.getReal() * rNm1N.getReal()
-					+ rNm1N.getImaginary() * rNm1N.getImaginary();
+			modSqrdSpecRef = rNm1NRe * rNm1NRe + rNm1NIm * rNm1NIm;
 		}
 
 		return modSqrdSpecRef;
 	}
 
+	/**
+	 * This operation computes the principal square root of a complex number.
+	 *
+	 * @param re
+	 *            the real part of the number
+	 * @param im
+	 *            the imaginary part of the number
+	 * @param result
+	 *            OUTPUT - the real and imaginary parts of the square root
+	 */
+	private static void sqrt(double re, double im, double[] result) {
+		if (re == 0.0 && im == 0.0) {
+			result[0] = 0.0;
+			result[1] = 0.0;
+			return;
+		}
+		// Compute the modulus without overflowing
+		double modulus;
+		if (Math.abs(re) < Math.abs(im)) {
+			double q = re / im;
+			modulus = Math.abs(im) * Math.sqrt(1 + q * q);
+		} else {
+			double q = im / re;
+			modulus = Math.abs(re) * Math.sqrt(1 + q * q);
+		}
+		double t = Math.sqrt((Math.abs(re) + modulus) / 2.0);
+		if (re >= 0.0) {
+			result[0] = t;
+			result[1] = im / (2.0 * t);
+		} else {
+			result[0] = Math.abs(im) / (2.0 * t);
+			result[1] = (im >= 0.0 ? 1.0 : -1.0) * t;
+		}
+	}
+
+	/**
+	 * This operation divides one complex number by another using Smith's
+	 * algorithm.
+	 *
+	 * @param re
+	 *            the real part of the dividend
+	 * @param im
+	 *            the imaginary part of the dividend
+	 * @param divRe
+	 *            the real part of the divisor
+	 * @param divIm
+	 *            the imaginary part of the divisor
+	 * @param result
+	 *            OUTPUT - the real and imaginary parts of the quotient
+	 */
+	private static void divide(double re, double im, double divRe,
+			double divIm, double[] result) {
+		if (Math.abs(divRe) < Math.abs(divIm)) {
+			double q = divRe / divIm;
+			double denominator = divRe * q + divIm;
+			result[0] = (re * q + im) / denominator;
+			result[1] = (im * q - re) / denominator;
+		} else {
+			double q = divIm / divRe;
+			double denominator = divIm * q + divRe;
+			result[0] = (im * q + re) / denominator;
+			result[1] = (im - re * q) / denominator;
+		}
+	}
+
 	/**
 	 * This operation convolutes the data in refFit with a Gaussian resolution
 	 * function in q, calculated from theta, delThe, and delLamOLam.
@@ -572,9 +670,9 @@ public class ReflectivityCalculator {
 			Slab slabP1, double dist) throws MathException {
 
 		// Compute the exponentials
-		double tExpFac = Erf.erf(cE * dist / slab.interfaceWidth);
-		double bExpFac = Erf.erf(cE * (dist - slab.thickness)
-				/ (slabP1.interfaceWidth));
+		double tExpFac = getInterfaceErf(dist, slab.interfaceWidth);
+		double bExpFac = getInterfaceErf(dist - slab.thickness,
+				slabP1.interfaceWidth);
 
 		// Update the slab properties
 		updateSlab.scatteringLength = getTileValue(slabM1.scatteringLength,
@@ -588,6 +686,415 @@ public class ReflectivityCalculator {
 		return;
 	}
 
+	/**
+	 * This operation evaluates the error function profile of an interface at a
+	 * distance from its center. Interfaces without any width are sharp steps.
+	 *
+	 * @param dist
+	 *            the distance from the center of the interface
+	 * @param interfaceWidth
+	 *            the width of the interface
+	 * @return the value of the profile between -1 and 1
+	 * @throws MathException
+	 *             Thrown if the error function cannot be evaluated
+	 */
+	private double getInterfaceErf(double dist, double interfaceWidth)
+			throws MathException {
+		if (interfaceWidth > 0.0) {
+			return Erf.erf(cE * dist / interfaceWidth);
+		}
+		return Math.signum(dist);
+	}
+
+	/**
+	 * This operation generates the tiles for a stack of slabs like
+	 * generateTiles(), but picks the number of ordinate steps for each
+	 * interface separately instead of using the same number everywhere.
+	 *
+	 * An interface is split into the fewest steps for which the largest jump
+	 * in the profile between two neighboring tiles is at most the tolerance
+	 * times its contrast. The contrast of an interface is the largest change
+	 * in scattering length, true absorption or incoherent absorption across
+	 * it relative to the largest change of that property at any interface in
+	 * the stack. Interfaces are treated as sharp, with no steps at all, if
+	 * they have no width or if their contrast is within the tolerance. The
+	 * width of each interface sets the thickness of its steps and whether or
+	 * not it overlaps the interface on the other side of the slab.
+	 *
+	 * A tolerance of zero gives every interface with width and contrast the
+	 * maximum number of steps, which gives the same tiles as generateTiles()
+	 * if every interface has both. Otherwise the only tiles that are left out
+	 * are the ones that do not change the profile.
+	 *
+	 * @param slabs
+	 *            the slabs of materials that define the system
+	 * @param maxRough
+	 *            the largest number of ordinate steps for an interface. It is
+	 *            made odd and no interfaces are tiled if it is less than 2.
+	 * @param tolerance
+	 *            the relative tolerance of the profile, between 0 and 1
+	 * @return the system of generated tiles
+	 * @throws MathException
+	 *             Thrown if the error function cannot be calculated
+	 */
+	public TileArray generateAdaptiveTiles(Slab[] slabs, int maxRough,
+			double tolerance) throws MathException {
+
+		// Local Declarations
+		int numSlabs = slabs.length;
+		Slab refSlab, secondRefSlab, thirdRefSlab;
+		InterfaceProfiles profiles = new InterfaceProfiles();
+		double gDMid = 0.0, step = 0.0, dist = 0.0;
+
+		// Pick the number of steps for each interface. Interface i is between
+		// slabs i-1 and i and has the width of slab i.
+		int[] numRough = getInterfaceSteps(slabs, maxRough, tolerance,
+				profiles);
+
+		// Compute the thickness of each half interface and the number of tiles
+		double[] halfThickness = new double[numSlabs];
+		int numTiles = numSlabs;
+		for (int i = 1; i < numSlabs; i++) {
+			if (numRough[i] > 0) {
+				halfThickness[i] = 0.5 * profiles.getTotalThickness(numRough[i])
+						* slabs[i].interfaceWidth;
+				numTiles += numRough[i] + 1;
+			}
+		}
+		TileArray tiles = new TileArray(numTiles);
+
+		// Evaluate the first half of the vacuum interface below the first
+		// slab
+		refSlab = slabs[0];
+		tiles.add(refSlab.scatteringLength, refSlab.trueAbsLength,
+				refSlab.incAbsLength, refSlab.thickness);
+		addInterfaceTiles(tiles, refSlab, slabs[1], numRough[1], false,
+				profiles);
+
+		// Calculate gradation of layers
+		for (int i = 1; i < numSlabs - 1; i++) {
+			refSlab = slabs[i];
+			secondRefSlab = slabs[i + 1];
+			thirdRefSlab = slabs[i - 1];
+			gDMid = refSlab.thickness - halfThickness[i]
+					- halfThickness[i + 1];
+			int numLayerSteps = Math.max(numRough[i], numRough[i + 1]);
+			if (gDMid <= 1.0e-10 && numLayerSteps > 0) {
+				// The interfaces are overlapping. Step through the entire slab
+				step = refSlab.thickness / (numLayerSteps + 1);
+				// Take the first half step
+				dist = step / 4.0;
+				addLayerTile(tiles, thirdRefSlab, refSlab, secondRefSlab, dist,
+						step / 2.0);
+				dist += 0.75 * step;
+				// Take the remaining steps
+				for (int j = 0; j < numLayerSteps; j++) {
+					addLayerTile(tiles, thirdRefSlab, refSlab, secondRefSlab,
+							dist, step);
+					dist += step;
+				}
+				// Take final half step
+				dist = refSlab.thickness - step / 4.0;
+				addLayerTile(tiles, thirdRefSlab, refSlab, secondRefSlab, dist,
+						step / 2.0);
+			} else {
+				// Evaluate contributions from interfaces separately. Top
+				// interface, central bulk-like portion and bottom interface.
+				addInterfaceTiles(tiles, thirdRefSlab, refSlab, numRough[i],
+						true, profiles);
+				tiles.add(refSlab.scatteringLength, refSlab.trueAbsLength,
+						refSlab.incAbsLength, gDMid);
+				addInterfaceTiles(tiles, refSlab, secondRefSlab,
+						numRough[i + 1], false, profiles);
+			}
+		}
+
+		// Evaluate substrate gradation and handle the last layer
+		refSlab = slabs[numSlabs - 1];
+		addInterfaceTiles(tiles, slabs[numSlabs - 2], refSlab,
+				numRough[numSlabs - 1], true, profiles);
+		tiles.add(refSlab.scatteringLength, refSlab.trueAbsLength,
+				refSlab.incAbsLength, refSlab.thickness);
+
+		return tiles;
+	}
+
+	/**
+	 * This operation picks the number of ordinate steps for each interface
+	 * for generateAdaptiveTiles().
+	 *
+	 * @param slabs
+	 *            the slabs of materials that define the system
+	 * @param maxRough
+	 *            the largest number of ordinate steps for an interface
+	 * @param tolerance
+	 *            the relative tolerance of the profile
+	 * @param profiles
+	 *            the interfacial profiles
+	 * @return the number of steps of each interface. Element i is for the
+	 *         interface above slab i and element 0 is not used.
+	 * @throws MathException
+	 *             Thrown if the error function cannot be calculated
+	 */
+	private int[] getInterfaceSteps(Slab[] slabs, int maxRough,
+			double tolerance, InterfaceProfiles profiles)
+			throws MathException {
+
+		// Local Declarations
+		int numSlabs = slabs.length;
+		int[] numRough = new int[numSlabs];
+		double maxScatContrast = 0.0, maxTrueAbsContrast = 0.0,
+				maxIncAbsContrast = 0.0;
+
+		// Make sure that the largest number of steps is odd and not too large
+		if (maxRough < 2) {
+			return numRough;
+		} else if (maxRough % 2 == 0) {
+			maxRough++;
+		}
+		maxRough = Math.min(maxRough, maxRoughSize);
+
+		// Find the largest contrast of each property
+		for (int i = 1; i < numSlabs; i++) {
+			maxScatContrast = Math.max(maxScatContrast, Math.abs(
+					slabs[i].scatteringLength - slabs[i - 1].scatteringLength));
+			maxTrueAbsContrast = Math.max(maxTrueAbsContrast, Math.abs(
+					slabs[i].trueAbsLength - slabs[i - 1].trueAbsLength));
+			maxIncAbsContrast = Math.max(maxIncAbsContrast, Math.abs(
+					slabs[i].incAbsLength - slabs[i - 1].incAbsLength));
+		}
+
+		for (int i = 1; i < numSlabs; i++) {
+			// Sharp interfaces do not need steps and neither do interfaces
+			// with a contrast within the tolerance
+			if (slabs[i].interfaceWidth <= 0.0) {
+				continue;
+			}
+			double contrast = Math.max(
+					getRelativeContrast(slabs[i].scatteringLength,
+							slabs[i - 1].scatteringLength, maxScatContrast),
+					Math.max(
+							getRelativeContrast(slabs[i].trueAbsLength,
+									slabs[i - 1].trueAbsLength,
+									maxTrueAbsContrast),
+							getRelativeContrast(slabs[i].incAbsLength,
+									slabs[i - 1].incAbsLength,
+									maxIncAbsContrast)));
+			if (contrast <= tolerance) {
+				continue;
+			}
+			// Find the fewest odd number of steps with small enough jumps. The
+			// largest jump shrinks as the number of steps grows.
+			int low = 0, high = (maxRough - 1) / 2;
+			if (contrast * profiles.getMaxStep(maxRough) > tolerance) {
+				low = high;
+			}
+			while (low < high) {
+				int mid = (low + high) / 2;
+				if (contrast * profiles.getMaxStep(2 * mid + 1) <= tolerance) {
+					high = mid;
+				} else {
+					low = mid + 1;
+				}
+			}
+			numRough[i] = 2 * low + 1;
+		}
+
+		return numRough;
+	}
+
+	/**
+	 * This operation returns the contrast of a property across an interface
+	 * relative to the largest contrast of the property in the stack.
+	 *
+	 * @param value
+	 *            the value below the interface
+	 * @param valueM1
+	 *            the value above the interface
+	 * @param maxContrast
+	 *            the largest contrast of the property
+	 * @return the relative contrast between 0 and 1
+	 */
+	private double getRelativeContrast(double value, double valueM1,
+			double maxContrast) {
+		return (maxContrast > 0.0) ? Math.abs(value - valueM1) / maxContrast
+				: 0.0;
+	}
+
+	/**
+	 * This operation adds the tiles of one half of an interface.
+	 *
+	 * @param tiles
+	 *            the tiles to add to
+	 * @param slabM1
+	 *            the slab above the interface
+	 * @param slab
+	 *            the slab below the interface, which has its width
+	 * @param numRough
+	 *            the number of ordinate steps of the interface or zero if it
+	 *            is sharp
+	 * @param upperHalf
+	 *            true if the half below the center of the interface should be
+	 *            added, false for the half above it
+	 * @param profiles
+	 *            the interfacial profiles
+	 * @throws MathException
+	 *             Thrown if the error function cannot be calculated
+	 */
+	private void addInterfaceTiles(TileArray tiles, Slab slabM1, Slab slab,
+			int numRough, boolean upperHalf, InterfaceProfiles profiles)
+			throws MathException {
+
+		// Sharp interfaces do not have tiles
+		if (numRough < 1) {
+			return;
+		}
+
+		// Add the tiles of the half
+		double[] zInt = profiles.getZInt(numRough);
+		double[] rufInt = profiles.getRufInt(numRough);
+		int first = upperHalf ? numRough / 2 + 1 : 0;
+		int last = upperHalf ? numRough : numRough / 2;
+		Tile tile = new Tile();
+		for (int j = first; j <= last; j++) {
+			updateTileByInterface(tile, slabM1, slab, zInt[j], rufInt[j]);
+			tiles.add(tile.scatteringLength, tile.trueAbsLength,
+					tile.incAbsLength, tile.thickness);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation adds a tile of a slab whose interfaces overlap.
+	 *
+	 * @param tiles
+	 *            the tiles to add to
+	 * @param slabM1
+	 *            the slab above the middle slab
+	 * @param slab
+	 *            the middle slab
+	 * @param slabP1
+	 *            the slab below the middle slab
+	 * @param dist
+	 *            the distance of the center of the tile from the top of the
+	 *            middle slab
+	 * @param thickness
+	 *            the thickness of the tile
+	 * @throws MathException
+	 *             Thrown if the error function cannot be evaluated
+	 */
+	private void addLayerTile(TileArray tiles, Slab slabM1, Slab slab,
+			Slab slabP1, double dist, double thickness) throws MathException {
+		Tile tile = new Tile();
+		updateTileByLayer(tile, slabM1, slab, slabP1, dist);
+		tiles.add(tile.scatteringLength, tile.trueAbsLength,
+				tile.incAbsLength, thickness);
+	}
+
+	/**
+	 * This class computes and keeps the interfacial profiles for each number of
+	 * ordinate steps that is needed while generating adaptive tiles.
+	 */
+	private class InterfaceProfiles {
+
+		/**
+		 * The normalized step widths for each number of steps.
+		 */
+		private final double[][] zInts = new double[maxRoughSize + 1][];
+
+		/**
+		 * The error function values for each number of steps.
+		 */
+		private final double[][] rufInts = new double[maxRoughSize + 1][];
+
+		/**
+		 * This operation computes the profile for a number of steps if it has
+		 * not been computed yet.
+		 *
+		 * @param numRough
+		 *            the number of steps
+		 * @throws MathException
+		 *             Thrown if the error function cannot be calculated
+		 */
+		private void load(int numRough) throws MathException {
+			if (zInts[numRough] == null) {
+				double[] zInt = new double[numRough + 1];
+				double[] rufInt = new double[numRough + 1];
+				getInterfacialProfile(numRough, zInt, rufInt);
+				zInts[numRough] = zInt;
+				rufInts[numRough] = rufInt;
+			}
+		}
+
+		/**
+		 * This operation returns the normalized step widths.
+		 *
+		 * @param numRough
+		 *            the number of steps
+		 * @return the step widths
+		 * @throws MathException
+		 *             Thrown if the error function cannot be calculated
+		 */
+		public double[] getZInt(int numRough) throws MathException {
+			load(numRough);
+			return zInts[numRough];
+		}
+
+		/**
+		 * This operation returns the error function values of the steps.
+		 *
+		 * @param numRough
+		 *            the number of steps
+		 * @return the error function values
+		 * @throws MathException
+		 *             Thrown if the error function cannot be calculated
+		 */
+		public double[] getRufInt(int numRough) throws MathException {
+			load(numRough);
+			return rufInts[numRough];
+		}
+
+		/**
+		 * This operation returns the total normalized thickness of an
+		 * interface.
+		 *
+		 * @param numRough
+		 *            the number of steps
+		 * @return the sum of the step widths
+		 * @throws MathException
+		 *             Thrown if the error function cannot be calculated
+		 */
+		public double getTotalThickness(int numRough) throws MathException {
+			double totalThickness = 0.0;
+			for (double z : getZInt(numRough)) {
+				totalThickness += z;
+			}
+			return totalThickness;
+		}
+
+		/**
+		 * This operation returns the largest jump of the profile between two
+		 * neighboring tiles, including the slabs on either side, as a fraction
+		 * of the contrast of the interface.
+		 *
+		 * @param numRough
+		 *            the number of steps
+		 * @return the largest jump between 0 and 1
+		 * @throws MathException
+		 *             Thrown if the error function cannot be calculated
+		 */
+		public double getMaxStep(int numRough) throws MathException {
+			double[] rufInt = getRufInt(numRough);
+			double maxStep = Math.max(1.0 + rufInt[0],
+					1.0 - rufInt[numRough]);
+			for (int j = 0; j < numRough; j++) {
+				maxStep = Math.max(maxStep, rufInt[j + 1] - rufInt[j]);
+			}
+			return 0.5 * maxStep;
+		}
+	}
+
 	/**
 	 * This is a convenience operation that performs a lengthy, complicated
 	 * update operation. In the original code this formula was used for several
@@ -632,6 +1139,32 @@ public class ReflectivityCalculator {
 	 */
 	public double[] convoluteReflectivity(double deltaQ0, double deltaQ1ByQ,
 			double wavelength, boolean getRQ4, double[] waveVector, Tile[] tiles) {
+		return convoluteReflectivity(deltaQ0, deltaQ1ByQ, wavelength, getRQ4,
+				waveVector, new TileArray(tiles));
+	}
+
+	/**
+	 * This operation computes the convolution of the reflectivity with a
+	 * variable Gaussian resolution function for tiles stored in columns.
+	 *
+	 * @param deltaQ0
+	 *            - FIXME!
+	 * @param deltaQ1ByQ
+	 *            - FIXME!
+	 * @param wavelength
+	 *            - FIXME!
+	 * @param getRQ4
+	 *            - FIXME! True if the routine should compute rq^4, false
+	 *            otherwise.
+	 * @param waveVector
+	 *            The wave vector - FIXME!
+	 * @param tiles
+	 *            The tiles that define the layered structure of the materials.
+	 * @return the reflectivity
+	 */
+	public double[] convoluteReflectivity(double deltaQ0, double deltaQ1ByQ,
+			double wavelength, boolean getRQ4, double[] waveVector,
+			TileArray tiles) {
 
 		// Local Declarations
 		double qEff = 0.0;
@@ -704,29 +1237,43 @@ public class ReflectivityCalculator {
 	 * @return The neutron scattering density profile.
 	 */
 	public ScatteringDensityProfile getScatteringDensityProfile(Tile[] tiles) {
+		return getScatteringDensityProfile(new TileArray(tiles));
+	}
+
+	/**
+	 * This operation computes the neutron scattering density profile for a set
+	 * of tiles stored in columns. Each tile is a step of two points.
+	 *
+	 * @param tiles
+	 *            the set of tiles that define the material
+	 * @return The neutron scattering density profile.
+	 */
+	public ScatteringDensityProfile getScatteringDensityProfile(
+			TileArray tiles) {
 		// Create an empty profile
+		int numTiles = tiles.size();
 		ScatteringDensityProfile profile = new ScatteringDensityProfile();
-		profile.depth = new double[2 * tiles.length];
-		profile.scatteringDensity = new double[2 * tiles.length];
+		profile.depth = new double[2 * numTiles];
+		profile.scatteringDensity = new double[2 * numTiles];
 
 		// Put down the first tile as two steps. Step one
 		profile.depth[0] = -10.0;
 		// Note that I am doing 2.0*n because that layer is the same as the
 		// first slab. The original code ready n[slab] + n[tile], but they are
 		// always the same.
-		profile.scatteringDensity[0] = 2.0 * tiles[0].scatteringLength;
-		double sumD = tiles[0].thickness;
+		profile.scatteringDensity[0] = 2.0 * tiles.scatteringLength[0];
+		double sumD = tiles.thickness[0];
 		// Step two
 		profile.depth[1] = sumD;
-		profile.scatteringDensity[1] = 2.0 * tiles[0].scatteringLength;
+		profile.scatteringDensity[1] = 2.0 * tiles.scatteringLength[0];
 
 		// Load the remaining tiles
-		for (int i = 1; i < tiles.length; i++) {
+		for (int i = 1; i < numTiles; i++) {
 			profile.depth[2 * i] = sumD;
-			sumD += tiles[i].thickness;
+			sumD += tiles.thickness[i];
 			profile.depth[2 * i + 1] = sumD;
-			profile.scatteringDensity[2 * i] = tiles[i].scatteringLength
-					+ tiles[0].scatteringLength;
+			profile.scatteringDensity[2 * i] = tiles.scatteringLength[i]
+					+ tiles.scatteringLength[0];
 			profile.scatteringDensity[2 * i + 1] = profile.scatteringDensity[2 * i];
 		}
 
@@ -800,12 +1347,12 @@ public class ReflectivityCalculator {
 				slabs[i].scatteringLength += qCCorr;
 			}
 
-			// Calculate the reflectivities
+			// Calculate the reflectivities and get the scattering profile from
+			// the same columns
+			TileArray tileArray = new TileArray(tiles);
 			double[] reflectivity = convoluteReflectivity(deltaQ0, deltaQ1ByQ,
-					wavelength, getRQ4, waveVector, tiles);
-
-			// Get the scattering profile
-			ScatteringDensityProfile scatteringProfile = getScatteringDensityProfile(tiles);
+					wavelength, getRQ4, waveVector, tileArray);
+			ScatteringDensityProfile scatteringProfile = getScatteringDensityProfile(tileArray);
 
 			// Put everything into the reflectivity profile
 			profile.depth = scatteringProfile.depth;
@@ -824,4 +1371,74 @@ public class ReflectivityCalculator {
 		return profile;
 	}
 
+	/**
+	 * This operation returns the reflectivity profile for the given wave vector
+	 * and set of slabs like getReflectivityProfile(), but tiles the interfaces
+	 * with generateAdaptiveTiles() so that interfaces with little roughness or
+	 * contrast do not cost as many tiles.
+	 *
+	 * @param slabs
+	 *            the slabs that define the material
+	 * @param maxRough
+	 *            the largest number of layers of roughness of an interface
+	 * @param tolerance
+	 *            the relative tolerance of the interfacial profiles, between 0
+	 *            and 1
+	 * @param deltaQ0
+	 *            FIXME!
+	 * @param deltaQ1ByQ
+	 *            FIXME!
+	 * @param wavelength
+	 *            FIXME!
+	 * @param waveVector
+	 *            the wave vector
+	 * @param getRQ4
+	 *            true if the RQ^4 should be calculated, false otherwise
+	 * @return The reflectivity profile. It contains both the reflectivity as a
+	 *         function of the wave vector and the neutron scattering density as
+	 *         a function of depth.
+	 */
+	public ReflectivityProfile getAdaptiveReflectivityProfile(Slab[] slabs,
+			int maxRough, double tolerance, double deltaQ0, double deltaQ1ByQ,
+			double wavelength, double[] waveVector, boolean getRQ4) {
+
+		ReflectivityProfile profile = new ReflectivityProfile();
+
+		// Correct the refractive indices for incident medium
+		double qCCorr = slabs[0].scatteringLength;
+		for (int i = 0; i < slabs.length; i++) {
+			slabs[i].scatteringLength -= qCCorr;
+		}
+
+		try {
+			// Generate the tiled roughness layers
+			TileArray tiles = generateAdaptiveTiles(slabs, maxRough,
+					tolerance);
+
+			// Calculate the reflectivities and get the scattering profile
+			double[] reflectivity = convoluteReflectivity(deltaQ0, deltaQ1ByQ,
+					wavelength, getRQ4, waveVector, tiles);
+			ScatteringDensityProfile scatteringProfile = getScatteringDensityProfile(tiles);
+
+			// Put everything into the reflectivity profile
+			profile.depth = scatteringProfile.depth;
+			profile.reflectivity = reflectivity;
+			profile.waveVector = waveVector;
+			profile.scatteringDensity = scatteringProfile.scatteringDensity;
+
+		} catch (MathException e) {
+			// Complain
+			logger.error(getClass().getName() + " Exception!", e);
+			// Null out the profile so no bad data is returned
+			profile = null;
+		} finally {
+			// Un-correct the refractive indices for incident medium
+			for (int i = 0; i < slabs.length; i++) {
+				slabs[i].scatteringLength += qCCorr;
+			}
+		}
+
+		return profile;
+	}
+
 }
@@ -31,6 +31,7 @@ import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.datastructures.form.Material;
+import org.eclipse.ice.datastructures.form.MaterialPropertyRegistry;
 import org.eclipse.ice.datastructures.form.ResourceComponent;
 import org.eclipse.ice.datastructures.resource.VizResource;
 import org.eclipse.ice.item.model.Model;
@@ -81,6 +82,11 @@ public class ReflectivityModel extends Model {
 	 */
 	private static final String WaveLengthEntryName = "Wave Length";
 
+	/**
+	 * The roughness tolerance entry name.
+	 */
+	private static final String ToleranceEntryName = "Roughness Tolerance";
+
 	/**
 	 * The entry name for the chi squared analysis entry
 	 */
@@ -154,17 +160,22 @@ public class ReflectivityModel extends Model {
 					.getComponent(matListId);
 			ArrayList<Slab> slabs = new ArrayList<Slab>();
 
-			// Create the slabs from the materials
-			for (Material mat : matList) {
+			// Create the slabs from a copy of the materials that was made under
+			// the list's read lock since the table may be editing it. The
+			// property ids are looked up once instead of hashing the names for
+			// every slab.
+			int thicknessId = MaterialPropertyRegistry.getId("Thickness (A)");
+			int roughnessId = MaterialPropertyRegistry.getId("Roughness (A)");
+			for (Material mat : matList.snapshot()) {
 				Slab slab = new Slab();
-				slab.thickness = mat.getProperty("Thickness (A)");
-				slab.interfaceWidth = mat.getProperty("Roughness (A)");
+				slab.thickness = mat.getProperty(thicknessId);
+				slab.interfaceWidth = mat.getProperty(roughnessId);
 				slab.scatteringLength = mat
-						.getProperty(Material.SCAT_LENGTH_DENSITY);
+						.getProperty(Material.SCAT_LENGTH_DENSITY_ID);
 				slab.trueAbsLength = mat
-						.getProperty(Material.MASS_ABS_COHERENT);
+						.getProperty(Material.MASS_ABS_COHERENT_ID);
 				slab.incAbsLength = mat
-						.getProperty(Material.MASS_ABS_INCOHERENT);
+						.getProperty(Material.MASS_ABS_INCOHERENT_ID);
 				slabs.add(slab);
 			}
 
@@ -188,6 +199,16 @@ public class ReflectivityModel extends Model {
 					((DataComponent) form.getComponent(paramsCompId))
 							.retrieveEntry(WaveLengthEntryName).getValue());
 
+			// Get the roughness tolerance from the form. Forms that were
+			// created before it was added use the uniform roughness layers.
+			double tolerance = 0.0;
+			IEntry toleranceEntry = ((DataComponent) form
+					.getComponent(paramsCompId))
+							.retrieveEntry(ToleranceEntryName);
+			if (toleranceEntry != null) {
+				tolerance = Double.parseDouble(toleranceEntry.getValue());
+			}
+
 			// Get the wave vector, r data, and error bars from the file picker
 			// in the paramters
 			// component.
@@ -223,24 +244,32 @@ public class ReflectivityModel extends Model {
 					error[i] = errorDataPoint;
 				}
 
-				// Calculate the reflectivity - first is regular R calculation
+				// Calculate the reflectivity. The roughness layers are only
+				// placed where they are needed if there is a tolerance.
 				ReflectivityCalculator calculator = new ReflectivityCalculator();
-				ReflectivityProfile profile = calculator.getReflectivityProfile(
-						slabs.toArray(new Slab[slabs.size()]), numRough,
-						deltaQ0, deltaQ1ByQ, wavelength, waveVector, false);
-
-				// The second profile is for the QR^4 data model
-				ReflectivityProfile rq4Profile = calculator
-						.getReflectivityProfile(
-								slabs.toArray(new Slab[slabs.size()]), numRough,
-								deltaQ0, deltaQ1ByQ, wavelength, waveVector,
-								true);
+				Slab[] slabArray = slabs.toArray(new Slab[slabs.size()]);
+				ReflectivityProfile profile = null;
+				if (tolerance > 0.0 && numRough > 1) {
+					profile = calculator.getAdaptiveReflectivityProfile(
+							slabArray, numRough, tolerance, deltaQ0,
+							deltaQ1ByQ, wavelength, waveVector, false);
+				} else {
+					profile = calculator.getReflectivityProfile(slabArray,
+							numRough, deltaQ0, deltaQ1ByQ, wavelength,
+							waveVector, false);
+				}
 
 				// Get the data from the profile
 				double[] reflectivity = profile.reflectivity;
 				double[] scatDensity = profile.scatteringDensity;
 				double[] depth = profile.depth;
-				double[] rq4 = rq4Profile.reflectivity;
+
+				// The RQ^4 profile is the reflectivity scaled by Q^4 after the
+				// convolution, so it does not need to be calculated again.
+				double[] rq4 = new double[reflectivity.length];
+				for (int i = 0; i < reflectivity.length; i++) {
+					rq4[i] = Math.pow(waveVector[i], 4.0) * reflectivity[i];
+				}
 				double[] rq4Data = new double[rq4.length];
 
 				// Get the chi squared analysis from the data and calculate rq4
@@ -510,6 +539,19 @@ public class ReflectivityModel extends Model {
 		waveEntry.setDescription("The wavelength of the neutron beam.");
 		paramComponent.addEntry(waveEntry);
 
+		// Add an entry for the roughness tolerance
+		IEntry toleranceEntry = new ContinuousEntry("0", "1");
+		toleranceEntry.setDefaultValue("0");
+		toleranceEntry.setValue("0");
+		toleranceEntry.setId(6);
+		toleranceEntry.setName(ToleranceEntryName);
+		toleranceEntry.setDescription(
+				"The relative tolerance of the roughness layers. Interfaces are "
+						+ "only divided into as many layers as they need to "
+						+ "stay within it. Zero uses the same number of layers "
+						+ "for every interface.");
+		paramComponent.addEntry(toleranceEntry);
+
 		// Configure a list of property names for the materials
 		ArrayList<String> names = new ArrayList<String>();
 		names.add("Material ID");
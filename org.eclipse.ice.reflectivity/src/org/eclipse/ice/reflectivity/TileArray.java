@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation - Jay Jay Billings,
+ *   Jordan H. Deyton, Dasha Gorin, Alexander J. McCaskey, Taylor Patterson,
+ *   Claire Saunders, Matthew Wang, Anna Wojtowicz
+ *******************************************************************************/
+package org.eclipse.ice.reflectivity;
+
+import java.util.Arrays;
+
+/**
+ * This class stores a stack of tiles as parallel arrays instead of as an array
+ * of {@link Tile}s. The properties of tile i are the i-th elements of the
+ * arrays, so the reflectivity calculation can walk the stack without
+ * dereferencing an object for every tile at every wave vector.
+ *
+ * Like Tile, it has public fields because it is made for a calculation. The
+ * arrays may be longer than the number of tiles, which is returned by size().
+ * It should not be used outside of its package.
+ *
+ * @author Jay Jay Billings
+ *
+ */
+public class TileArray {
+
+	/**
+	 * The scattering lengths of the tiles.
+	 */
+	public double[] scatteringLength;
+
+	/**
+	 * The true absorption lengths of the tiles.
+	 */
+	public double[] trueAbsLength;
+
+	/**
+	 * The incoherent absorption lengths of the tiles.
+	 */
+	public double[] incAbsLength;
+
+	/**
+	 * The thicknesses of the tiles.
+	 */
+	public double[] thickness;
+
+	/**
+	 * The number of tiles.
+	 */
+	private int size;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param capacity
+	 *            the number of tiles that can be added before the arrays need
+	 *            to grow
+	 */
+	public TileArray(int capacity) {
+		int length = Math.max(capacity, 1);
+		scatteringLength = new double[length];
+		trueAbsLength = new double[length];
+		incAbsLength = new double[length];
+		thickness = new double[length];
+		size = 0;
+	}
+
+	/**
+	 * This constructor copies the properties of an array of tiles.
+	 *
+	 * @param tiles
+	 *            the tiles
+	 */
+	public TileArray(Tile[] tiles) {
+		this(tiles.length);
+		for (Tile tile : tiles) {
+			add(tile.scatteringLength, tile.trueAbsLength, tile.incAbsLength,
+					tile.thickness);
+		}
+	}
+
+	/**
+	 * This operation returns the number of tiles.
+	 *
+	 * @return the number of tiles
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * This operation adds a tile to the bottom of the stack.
+	 *
+	 * @param scatLength
+	 *            the scattering length of the tile
+	 * @param trueAbs
+	 *            the true absorption length of the tile
+	 * @param incAbs
+	 *            the incoherent absorption length of the tile
+	 * @param thick
+	 *            the thickness of the tile
+	 */
+	public void add(double scatLength, double trueAbs, double incAbs,
+			double thick) {
+		// Grow the arrays if they are full
+		if (size == thickness.length) {
+			int length = 2 * size;
+			scatteringLength = Arrays.copyOf(scatteringLength, length);
+			trueAbsLength = Arrays.copyOf(trueAbsLength, length);
+			incAbsLength = Arrays.copyOf(incAbsLength, length);
+			thickness = Arrays.copyOf(thickness, length);
+		}
+		scatteringLength[size] = scatLength;
+		trueAbsLength[size] = trueAbs;
+		incAbsLength[size] = incAbs;
+		thickness[size] = thick;
+		size++;
+	}
+
+	/**
+	 * This operation creates an array of Tiles with the same properties.
+	 *
+	 * @return the Tiles
+	 */
+	public Tile[] toTiles() {
+		Tile[] tiles = new Tile[size];
+		for (int i = 0; i < size; i++) {
+			tiles[i] = new Tile();
+			tiles[i].scatteringLength = scatteringLength[i];
+			tiles[i].trueAbsLength = trueAbsLength[i];
+			tiles[i].incAbsLength = incAbsLength[i];
+			tiles[i].thickness = thickness[i];
+		}
+		return tiles;
+	}
+
+}
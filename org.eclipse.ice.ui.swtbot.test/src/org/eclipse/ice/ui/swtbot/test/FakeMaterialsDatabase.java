@@ -13,7 +13,6 @@ package org.eclipse.ice.ui.swtbot.test;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Hashtable;
 
 import org.eclipse.ice.datastructures.form.Material;
 import org.eclipse.ice.materials.MaterialWritableTableFormat;
@@ -96,7 +95,7 @@ public class FakeMaterialsDatabase extends XMLMaterialsDatabase {
 		Collections.sort(materials);
 
 		// Load the list into the material map
-		materialsMap = new Hashtable<String, Material>();
+		materialsMap.clear();
 		for (Material material : materials) {
 			materialsMap.put(material.getName(), material);
 		}
@@ -273,7 +273,7 @@ public class VibeKVPair extends Item implements IReader, IWriter {
 				outStream.close();
 				if (project != null) {
 					inputFile = project.getFile("case_6.dat");
-					project.refreshLocal(IResource.DEPTH_INFINITE, null);
+					refreshResource(inputFile, IResource.DEPTH_ZERO);
 				} else {
 					inputFile = ResourcesPlugin.getWorkspace().getRoot()
 							.getFile(new Path(defaultFilePath));
@@ -291,9 +291,6 @@ public class VibeKVPair extends Item implements IReader, IWriter {
 				System.err.println("VibeKVPair Message: "
 						+ "Error!  Could not load the default"
 						+ " Vibe case data!");
-			} catch (CoreException e) {
-				// TODO Auto-generated catch block
-				logger.error(getClass().getName() + " Exception!",e);
 			}
 		} else {
 			// Get the file
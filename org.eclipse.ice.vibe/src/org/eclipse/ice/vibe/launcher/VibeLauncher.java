@@ -19,6 +19,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 import org.eclipse.ice.datastructures.entry.DiscreteEntry;
 import org.eclipse.ice.datastructures.entry.IEntry;
@@ -242,7 +243,8 @@ public class VibeLauncher extends JobLauncher {
 	 */
 	@Override
 	public void update(IUpdateable component) {
-		refreshProjectSpace();
+		// The input files are at the top of the project
+		requestRefresh(project, IResource.DEPTH_ONE);
 		if (component instanceof IEntry) {
 			// Determine whether the file selector needs to be added to or
 			// removed from the form
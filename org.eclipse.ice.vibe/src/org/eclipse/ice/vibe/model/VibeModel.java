@@ -240,8 +240,8 @@ public class VibeModel extends Model {
 					outStream.write(fileByte);
 				}
 				outStream.close();
-				project.refreshLocal(IResource.DEPTH_INFINITE, null);
 				inputFile = project.getFile("case_6.conf");
+				refreshResource(inputFile, IResource.DEPTH_ZERO);
 
 			} catch (URISyntaxException e) {
 				logger.error(getClass().getName() + " Exception!",e);
@@ -255,10 +255,6 @@ public class VibeModel extends Model {
 				logger.error(getClass().getName() + " Exception!",e);
 				System.err.println("VibeModel Message: Error!  Could not load the default"
 						+ " VIBE case data!");
-			} catch (CoreException e) {
-				logger.error(getClass().getName() + " Exception!",e);
-				System.err.println("VibeModel Message: Error!  Could not load the default"
-						+ " VIBE case data!");
 			}
 		} else {
 			// Get the file